@@ -0,0 +1,63 @@
+#!/usr/bin/env bash
+# Time from JVM launch to the first successful request (GET /actuator/health/liveness),
+# plain fat jar vs. the fast-startup build (Spring AOT + AppCDS archive).
+#
+#   ./mvnw -Pfast-startup package -DskipTests
+#   scripts/startup-benchmark.sh
+#
+# RUNS      runs per variant, the median is reported (default 5)
+# PORT      server port (default 8080)
+# JAVA      java executable (default: java on PATH)
+# APP_OPTS  extra JVM options for both variants, e.g. the datasource of the target environment
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS=${RUNS:-5}
+PORT=${PORT:-8080}
+JAVA=${JAVA:-java}
+APP_OPTS=${APP_OPTS:-}
+JAR=target/crm-0.0.1-SNAPSHOT.jar
+FAST_DIR=target/fast-startup
+URL="http://localhost:${PORT}/actuator/health/liveness"
+
+if [[ ! -f "$JAR" || ! -f "$FAST_DIR/application.jsa" ]]; then
+	echo "Build first: ./mvnw -Pfast-startup package -DskipTests" >&2
+	exit 1
+fi
+
+# prints the milliseconds until $URL answered 200
+time_to_first_request() {
+	local log started pid
+	log=$(mktemp)
+	started=$(date +%s%N)
+	# shellcheck disable=SC2086
+	"$JAVA" $APP_OPTS "$@" --server.port="$PORT" >"$log" 2>&1 &
+	pid=$!
+	until curl -fs -o /dev/null "$URL"; do
+		if ! kill -0 "$pid" 2>/dev/null; then
+			echo "Application exited before answering, log: $log" >&2
+			exit 1
+		fi
+		sleep 0.02
+	done
+	echo $(( ($(date +%s%N) - started) / 1000000 ))
+	kill "$pid"
+	wait "$pid" 2>/dev/null || true
+	rm -f "$log"
+}
+
+measure() {
+	local label=$1 samples=() ms
+	shift
+	for ((i = 0; i < RUNS; i++)); do
+		ms=$(time_to_first_request "$@")
+		samples+=("$ms")
+	done
+	printf '%-34s median %6d ms   runs: %s\n' "$label" \
+		"$(printf '%s\n' "${samples[@]}" | sort -n | sed -n "$(( (RUNS + 1) / 2 ))p")" "${samples[*]}"
+}
+
+measure "fat jar" -jar "$JAR"
+measure "extracted + AOT + CDS" -XX:SharedArchiveFile="$FAST_DIR/application.jsa" -Dspring.aot.enabled=true \
+	-jar "$FAST_DIR/crm-0.0.1-SNAPSHOT.jar"
@@ -0,0 +1,28 @@
+package com.bank.crm.archive;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.archive")
+public class ArchivalProperties {
+
+	private boolean enabled = false;
+
+	private String cron = "0 0 2 * * *";
+
+	// COMPLETED/CANCELED requests untouched for longer than this are archived
+	private Duration minAge = Duration.ofDays(90);
+
+	// Rows per transaction; kept well below SQL Server's lock escalation threshold (5000)
+	private int batchSize = 500;
+
+	// Pause between batches so OLTP traffic gets the log and the locks back
+	private Duration pause = Duration.ofMillis(200);
+
+	// Upper bound of one run; the rest is picked up by the next run
+	private Duration maxRunTime = Duration.ofMinutes(30);
+}
@@ -0,0 +1,13 @@
+package com.bank.crm.archive;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+public record ArchivalRunReport(LocalDateTime startedAt, LocalDateTime cutoff, long rowsMoved, int batches,
+		Duration elapsed, long lockWaitMillis) {
+
+	public double rowsPerSecond() {
+		long millis = elapsed.toMillis();
+		return millis == 0 ? rowsMoved : rowsMoved * 1000.0 / millis;
+	}
+}
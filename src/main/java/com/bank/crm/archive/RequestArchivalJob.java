@@ -0,0 +1,136 @@
+package com.bank.crm.archive;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.crm.shard.ShardContext;
+import com.bank.crm.shard.ShardRouter;
+
+// Moves closed requests from dbo.service_requests to dbo.service_requests_archive.
+// Each batch is a single DELETE TOP (n) ... OUTPUT INTO in its own short transaction,
+// so a batch is atomic, holds at most batchSize row locks and never waits on rows
+// that OLTP traffic has locked (READPAST); those are picked up by a later run.
+// "Last changed before the cutoff" is spelled out per column rather than as
+// COALESCE(updated_at, created_at), so it seeks on ix_service_requests_archivable.
+@Component
+@ConditionalOnProperty(prefix = "crm.archive", name = "enabled", havingValue = "true")
+public class RequestArchivalJob {
+
+	private static final Logger log = LoggerFactory.getLogger(RequestArchivalJob.class);
+
+	// Closed and last changed before the cutoff (bound twice)
+	static final String ARCHIVABLE = """
+			status IN ('COMPLETED', 'CANCELED')
+			  AND (updated_at < ? OR (updated_at IS NULL AND created_at < ?))
+			""";
+
+	static final String MOVE_BATCH_SQL = """
+			DELETE TOP (?) FROM dbo.service_requests WITH (ROWLOCK, READPAST)
+			OUTPUT DELETED.id, DELETED.customer_id, DELETED.request_type_id, DELETED.request_details, DELETED.status,
+			       DELETED.assigned_to_id, DELETED.created_at, DELETED.updated_at, SYSDATETIME()
+			INTO dbo.service_requests_archive (id, customer_id, request_type_id, request_details, status,
+			       assigned_to_id, created_at, updated_at, archived_at)
+			WHERE """ + ARCHIVABLE;
+
+	// Lock waits of the current session; needs no VIEW SERVER STATE for the own session
+	private static final String LOCK_WAIT_SQL = """
+			SELECT COALESCE(SUM(wait_time_ms), 0) FROM sys.dm_exec_session_wait_stats
+			WHERE session_id = @@SPID AND wait_type LIKE 'LCK%'
+			""";
+
+	private final ArchivalProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ShardRouter shardRouter;
+
+	private volatile boolean lockWaitAvailable = true;
+
+	public RequestArchivalJob(ArchivalProperties properties, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager, ShardRouter shardRouter) {
+		this.properties = properties;
+		this.shardRouter = shardRouter;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	@Scheduled(cron = "${crm.archive.cron:0 0 2 * * *}")
+	public void run() {
+		archive();
+	}
+
+	public ArchivalRunReport archive() {
+		LocalDateTime startedAt = LocalDateTime.now();
+		LocalDateTime cutoff = startedAt.minus(properties.getMinAge());
+		long deadline = System.nanoTime() + properties.getMaxRunTime().toNanos();
+		long started = System.nanoTime();
+		long rowsMoved = 0;
+		long lockWaitMillis = 0;
+		int batches = 0;
+
+		log.info("Archiving COMPLETED/CANCELED service requests last changed before {}", cutoff);
+		// shards one after another; the maxRunTime budget is shared
+		for (int shard = 0; shard < shardRouter.shardCount() && System.nanoTime() < deadline; shard++) {
+			try (ShardContext.Scope scope = shardRouter.routeTo(shard)) {
+				while (System.nanoTime() < deadline) {
+					long[] batch = transactionTemplate.execute(status -> {
+						long lockWaitBefore = sessionLockWaitMillis();
+						int moved = jdbcTemplate.update(MOVE_BATCH_SQL, properties.getBatchSize(),
+								Timestamp.valueOf(cutoff), Timestamp.valueOf(cutoff));
+						return new long[] { moved, sessionLockWaitMillis() - lockWaitBefore };
+					});
+					batches++;
+					rowsMoved += batch[0];
+					lockWaitMillis += batch[1];
+					if (batch[0] < properties.getBatchSize()) {
+						break;
+					}
+					if (!pause()) {
+						break;
+					}
+				}
+			}
+		}
+
+		ArchivalRunReport report = new ArchivalRunReport(startedAt, cutoff, rowsMoved, batches,
+				Duration.ofNanos(System.nanoTime() - started), lockWaitMillis);
+		log.info("Archived {} service requests in {} batches ({} ms, {} rows/sec, lock wait {} ms)", report.rowsMoved(),
+				report.batches(), report.elapsed().toMillis(), String.format("%.1f", report.rowsPerSecond()),
+				lockWaitAvailable ? report.lockWaitMillis() : "n/a");
+		return report;
+	}
+
+	private long sessionLockWaitMillis() {
+		if (!lockWaitAvailable) {
+			return 0;
+		}
+		try {
+			Long waited = jdbcTemplate.queryForObject(LOCK_WAIT_SQL, Long.class);
+			return waited != null ? waited : 0;
+		} catch (DataAccessException e) {
+			lockWaitAvailable = false;
+			log.warn("Lock wait statistics are not available, reporting without them: {}", e.getMessage());
+			return 0;
+		}
+	}
+
+	private boolean pause() {
+		try {
+			Thread.sleep(properties.getPause().toMillis());
+			return true;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+}
@@ -0,0 +1,50 @@
+package com.bank.crm.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+// Small on-heap LRU map: once maxEntries is reached the least recently read or
+// written entry is dropped. Every operation takes the same lock, which is fine for
+// the short, allocation-free critical sections used here.
+public class BoundedLruCache<K, V> {
+
+	private final Map<K, V> entries;
+
+	public BoundedLruCache(int maxEntries) {
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("maxEntries must be positive");
+		}
+		this.entries = new LinkedHashMap<>(Math.min(maxEntries, 1024), 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	public synchronized V get(K key) {
+		return entries.get(key);
+	}
+
+	public synchronized void put(K key, V value) {
+		entries.put(key, value);
+	}
+
+	// Replaces the value only when the key is cached; returns the new value or null
+	public synchronized V update(K key, UnaryOperator<V> change) {
+		return entries.computeIfPresent(key, (k, value) -> change.apply(value));
+	}
+
+	public synchronized void remove(K key) {
+		entries.remove(key);
+	}
+
+	public synchronized void clear() {
+		entries.clear();
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+}
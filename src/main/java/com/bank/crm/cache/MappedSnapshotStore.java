@@ -0,0 +1,289 @@
+package com.bank.crm.cache;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.CRC32C;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+
+// ServiceRequestDtos serialized into a memory-mapped file: the bytes live in the page
+// cache, not on the Java heap, and are still there after a restart. Records are only
+// appended; an id -> offset map on the heap points at the latest record of each id.
+//
+// File: header | record*   record: int bodyLength, int crc32c(body), body
+// body: byte kind, long id, long storedAtMillis, then for ENTRY the DTO fields
+// (strings as int length + UTF-8, -1 for null; status as ordinal + 1, 0 for null;
+// times as epoch second UTC + nano, Long.MIN_VALUE for null).
+// A TOMBSTONE record hides the earlier records of its id when the file is reopened.
+// When the file is full the live records are moved down over the dead ones; a crash
+// in the middle leaves the dirty flag set and the file is started empty on reopen.
+public class MappedSnapshotStore implements AutoCloseable {
+
+	private static final int MAGIC = 0x43524d53; // "CRMS"
+	private static final int LAYOUT_VERSION = 1;
+	private static final int HEADER_SIZE = 32;
+	private static final int FLAGS_AT = 12;
+	private static final int WRITE_POSITION_AT = 16;
+	private static final int RECORD_PREFIX = 8;
+	private static final byte ENTRY = 1;
+	private static final byte TOMBSTONE = 2;
+	private static final int COPY_CHUNK = 64 * 1024;
+
+	// the file is discarded when RequestStatus constants were added, removed or reordered
+	private static final int STATUS_FINGERPRINT = Arrays.toString(RequestStatus.values()).hashCode();
+
+	private final FileChannel channel;
+	private final FileLock lock;
+	private final MappedByteBuffer buffer;
+	private final int capacity;
+	private final long ttlMillis;
+	private final Map<Long, Integer> offsets = new HashMap<>();
+	private ByteBuffer scratch = ByteBuffer.allocate(4096);
+	private int writePosition;
+
+	public MappedSnapshotStore(Path file, int capacity, long ttlMillis, long nowMillis) throws IOException {
+		if (capacity < HEADER_SIZE * 2) {
+			throw new IllegalArgumentException("Snapshot file size is too small: " + capacity);
+		}
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		this.capacity = capacity;
+		this.ttlMillis = ttlMillis;
+		this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE);
+		try {
+			this.lock = channel.tryLock();
+			if (lock == null) {
+				throw new IOException("Snapshot file " + file + " is in use by another process");
+			}
+			this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+		if (!reopen(nowMillis)) {
+			reset();
+		}
+	}
+
+	// Latest record of the id if it was stored no earlier than ttl before now
+	public synchronized ServiceRequestDto get(long id, long nowMillis) {
+		Integer offset = offsets.get(id);
+		if (offset == null) {
+			return null;
+		}
+		if (nowMillis - buffer.getLong(offset + RECORD_PREFIX + 9) >= ttlMillis) {
+			remove(id);
+			return null;
+		}
+		int bodyLength = buffer.getInt(offset);
+		return decode(buffer.slice(offset + RECORD_PREFIX, bodyLength));
+	}
+
+	public synchronized void put(ServiceRequestDto request, long nowMillis) {
+		ByteBuffer body = encode(request, nowMillis);
+		if (RECORD_PREFIX + body.remaining() > (capacity - HEADER_SIZE) / 4) {
+			remove(request.getId());
+			return;
+		}
+		offsets.put(request.getId(), append(body, nowMillis));
+	}
+
+	public synchronized void remove(long id) {
+		if (offsets.remove(id) == null) {
+			return;
+		}
+		ByteBuffer body = scratch.clear();
+		body.put(TOMBSTONE).putLong(id).putLong(0L).flip();
+		append(body, Long.MIN_VALUE);
+	}
+
+	public synchronized int size() {
+		return offsets.size();
+	}
+
+	public synchronized int usedBytes() {
+		return writePosition;
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		buffer.force();
+		try {
+			lock.release();
+		} finally {
+			channel.close();
+		}
+	}
+
+	private int append(ByteBuffer body, long nowMillis) {
+		int recordLength = RECORD_PREFIX + body.remaining();
+		if (writePosition + recordLength > capacity) {
+			compact(nowMillis);
+			if (writePosition + recordLength > capacity) {
+				reset();
+			}
+		}
+		int offset = writePosition;
+		CRC32C crc = new CRC32C();
+		crc.update(body.duplicate());
+		buffer.putInt(offset, body.remaining());
+		buffer.putInt(offset + 4, (int) crc.getValue());
+		buffer.put(offset + RECORD_PREFIX, body, body.position(), body.remaining());
+		writePosition = offset + recordLength;
+		buffer.putLong(WRITE_POSITION_AT, writePosition);
+		return offset;
+	}
+
+	// Moves the live, unexpired records to the front, keeping their order (tombstones
+	// are no longer needed). Destinations never pass their sources, so a forward
+	// chunked copy is safe. nowMillis is Long.MIN_VALUE when expiry is not checked.
+	private void compact(long nowMillis) {
+		buffer.putInt(FLAGS_AT, 1);
+		int[] live = offsets.values().stream().mapToInt(Integer::intValue).sorted().toArray();
+		byte[] chunk = new byte[COPY_CHUNK];
+		int target = HEADER_SIZE;
+		for (int source : live) {
+			long id = buffer.getLong(source + RECORD_PREFIX + 1);
+			if (nowMillis != Long.MIN_VALUE && nowMillis - buffer.getLong(source + RECORD_PREFIX + 9) >= ttlMillis) {
+				offsets.remove(id);
+				continue;
+			}
+			int recordLength = RECORD_PREFIX + buffer.getInt(source);
+			for (int copied = 0; copied < recordLength; copied += COPY_CHUNK) {
+				int n = Math.min(COPY_CHUNK, recordLength - copied);
+				buffer.get(source + copied, chunk, 0, n);
+				buffer.put(target + copied, chunk, 0, n);
+			}
+			offsets.put(id, target);
+			target += recordLength;
+		}
+		writePosition = target;
+		buffer.putLong(WRITE_POSITION_AT, writePosition);
+		buffer.putInt(FLAGS_AT, 0);
+	}
+
+	private void reset() {
+		offsets.clear();
+		writePosition = HEADER_SIZE;
+		buffer.putInt(0, MAGIC);
+		buffer.putInt(4, LAYOUT_VERSION);
+		buffer.putInt(8, STATUS_FINGERPRINT);
+		buffer.putInt(FLAGS_AT, 0);
+		buffer.putLong(WRITE_POSITION_AT, writePosition);
+	}
+
+	// Rebuilds the index from the records; a torn or corrupt tail ends the scan
+	private boolean reopen(long nowMillis) {
+		if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != LAYOUT_VERSION || buffer.getInt(8) != STATUS_FINGERPRINT
+				|| buffer.getInt(FLAGS_AT) != 0) {
+			return false;
+		}
+		long end = buffer.getLong(WRITE_POSITION_AT);
+		if (end < HEADER_SIZE || end > capacity) {
+			return false;
+		}
+		int offset = HEADER_SIZE;
+		while (offset + RECORD_PREFIX <= end) {
+			int bodyLength = buffer.getInt(offset);
+			if (bodyLength < 17 || offset + RECORD_PREFIX + bodyLength > end) {
+				break;
+			}
+			CRC32C crc = new CRC32C();
+			crc.update(buffer.slice(offset + RECORD_PREFIX, bodyLength));
+			if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+				break;
+			}
+			byte kind = buffer.get(offset + RECORD_PREFIX);
+			long id = buffer.getLong(offset + RECORD_PREFIX + 1);
+			if (kind == ENTRY && nowMillis - buffer.getLong(offset + RECORD_PREFIX + 9) < ttlMillis) {
+				offsets.put(id, offset);
+			} else {
+				offsets.remove(id);
+			}
+			offset += RECORD_PREFIX + bodyLength;
+		}
+		writePosition = offset;
+		buffer.putLong(WRITE_POSITION_AT, writePosition);
+		return true;
+	}
+
+	private ByteBuffer encode(ServiceRequestDto request, long nowMillis) {
+		while (true) {
+			try {
+				ByteBuffer out = scratch.clear();
+				out.put(ENTRY).putLong(request.getId()).putLong(nowMillis);
+				putString(out, request.getCustomerId());
+				putString(out, request.getRequestType());
+				putString(out, request.getRequestDetails());
+				out.put((byte) (request.getStatus() == null ? 0 : request.getStatus().ordinal() + 1));
+				putString(out, request.getAssignedTo());
+				putTime(out, request.getCreatedAt());
+				putTime(out, request.getUpdatedAt());
+				return out.flip();
+			} catch (BufferOverflowException e) {
+				scratch = ByteBuffer.allocate(scratch.capacity() * 2);
+			}
+		}
+	}
+
+	private static ServiceRequestDto decode(ByteBuffer in) {
+		in.position(17);
+		long id = in.getLong(1);
+		String customerId = getString(in);
+		String requestType = getString(in);
+		String requestDetails = getString(in);
+		int status = in.get();
+		String assignedTo = getString(in);
+		return new ServiceRequestDto(id, customerId, requestType, requestDetails,
+				status == 0 ? null : RequestStatus.values()[status - 1], assignedTo, getTime(in), getTime(in));
+	}
+
+	private static void putString(ByteBuffer out, String value) {
+		if (value == null) {
+			out.putInt(-1);
+			return;
+		}
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		out.putInt(bytes.length).put(bytes);
+	}
+
+	private static String getString(ByteBuffer in) {
+		int length = in.getInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.get(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	private static void putTime(ByteBuffer out, LocalDateTime value) {
+		if (value == null) {
+			out.putLong(Long.MIN_VALUE);
+			return;
+		}
+		out.putLong(value.toEpochSecond(ZoneOffset.UTC)).putInt(value.getNano());
+	}
+
+	private static LocalDateTime getTime(ByteBuffer in) {
+		long seconds = in.getLong();
+		return seconds == Long.MIN_VALUE ? null : LocalDateTime.ofEpochSecond(seconds, in.getInt(), ZoneOffset.UTC);
+	}
+}
@@ -0,0 +1,207 @@
+package com.bank.crm.cache;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Read-through cache of single requests for CrmService.getServiceRequestById and
+// getServiceRequestsInOrder.
+// Tier 1 is a heap LRU of DTOs; tier 2 (crm.request-cache.snapshot.enabled) is a
+// MappedSnapshotStore that keeps serialized DTOs off the heap and across restarts,
+// so agent screens reopened after a deployment don't all go to SQL Server at once.
+// Every committed change evicts the request from both tiers. As in
+// CustomerSummaryCache, a load only fills the cache when no change for its stripe
+// arrived while it ran. Counters: crm.request.cache{result=heap_hit|snapshot_hit|miss}
+@Component
+public class RequestCache implements AutoCloseable {
+
+	private static final Logger log = LoggerFactory.getLogger(RequestCache.class);
+
+	private static final int STRIPES = 1024;
+
+	private final RequestCacheProperties properties;
+	private final Clock clock;
+	private final BoundedLruCache<Long, Cached> heap;
+	private final MappedSnapshotStore snapshot;
+	private final AtomicLongArray changes = new AtomicLongArray(STRIPES);
+	private final Counter heapHits;
+	private final Counter snapshotHits;
+	private final Counter misses;
+
+	@Autowired
+	public RequestCache(RequestCacheProperties properties, MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, Clock.systemUTC());
+	}
+
+	RequestCache(RequestCacheProperties properties, MeterRegistry meterRegistry, Clock clock) {
+		this.properties = properties;
+		this.clock = clock;
+		this.heap = new BoundedLruCache<>(properties.getMaxEntries());
+		this.snapshot = properties.isEnabled() && properties.getSnapshot().isEnabled() ? openSnapshot() : null;
+		this.heapHits = meterRegistry.counter("crm.request.cache", "result", "heap_hit");
+		this.snapshotHits = meterRegistry.counter("crm.request.cache", "result", "snapshot_hit");
+		this.misses = meterRegistry.counter("crm.request.cache", "result", "miss");
+		if (snapshot != null) {
+			Gauge.builder("crm.request.cache.snapshot.entries", snapshot, MappedSnapshotStore::size)
+					.register(meterRegistry);
+			Gauge.builder("crm.request.cache.snapshot.used", snapshot, MappedSnapshotStore::usedBytes)
+					.baseUnit("bytes").register(meterRegistry);
+		}
+	}
+
+	private MappedSnapshotStore openSnapshot() {
+		RequestCacheProperties.Snapshot config = properties.getSnapshot();
+		Path path = Path.of(config.getPath());
+		try {
+			MappedSnapshotStore store = new MappedSnapshotStore(path,
+					(int) Math.min(config.getSize().toBytes(), Integer.MAX_VALUE), properties.getTtl().toMillis(),
+					clock.millis());
+			log.info("Request snapshot {} reopened with {} entries", path, store.size());
+			return store;
+		} catch (IOException e) {
+			log.warn("Request snapshot {} not available, caching on the heap only: {}", path, e.getMessage());
+			return null;
+		}
+	}
+
+	// The loader runs on a miss; what it throws (404) is passed on and nothing is cached
+	public ServiceRequestDto get(Long id, Supplier<ServiceRequestDto> loader) {
+		if (!properties.isEnabled()) {
+			return loader.get();
+		}
+		long now = clock.millis();
+		ServiceRequestDto hit = lookup(id, now);
+		if (hit != null) {
+			return hit;
+		}
+		misses.increment();
+
+		int stripe = stripe(id);
+		long changesBefore = changes.get(stripe);
+		ServiceRequestDto loaded = loader.get();
+		synchronized (heap) {
+			if (loaded != null && changes.get(stripe) == changesBefore) {
+				heap.put(id, new Cached(loaded, now));
+				if (snapshot != null) {
+					snapshot.put(loaded, now);
+				}
+			}
+		}
+		return loaded;
+	}
+
+	// Batch form of get for multi-get: the loader is called once with the ids that were
+	// not cached and returns the requests it found by id (ids it leaves out don't exist)
+	public Map<Long, ServiceRequestDto> getAll(Collection<Long> ids,
+			Function<List<Long>, Map<Long, ServiceRequestDto>> loader) {
+		if (!properties.isEnabled()) {
+			return loader.apply(List.copyOf(ids));
+		}
+		long now = clock.millis();
+		Map<Long, ServiceRequestDto> result = new HashMap<>();
+		List<Long> missing = new ArrayList<>();
+		for (Long id : ids) {
+			ServiceRequestDto hit = lookup(id, now);
+			if (hit != null) {
+				result.put(id, hit);
+			} else {
+				missing.add(id);
+			}
+		}
+		if (missing.isEmpty()) {
+			return result;
+		}
+		misses.increment(missing.size());
+
+		long[] changesBefore = new long[missing.size()];
+		for (int i = 0; i < changesBefore.length; i++) {
+			changesBefore[i] = changes.get(stripe(missing.get(i)));
+		}
+		Map<Long, ServiceRequestDto> loaded = loader.apply(missing);
+		synchronized (heap) {
+			for (int i = 0; i < changesBefore.length; i++) {
+				Long id = missing.get(i);
+				ServiceRequestDto request = loaded.get(id);
+				if (request != null && changes.get(stripe(id)) == changesBefore[i]) {
+					heap.put(id, new Cached(request, now));
+					if (snapshot != null) {
+						snapshot.put(request, now);
+					}
+				}
+			}
+		}
+		result.putAll(loaded);
+		return result;
+	}
+
+	// Heap, then snapshot; counts the hit
+	private ServiceRequestDto lookup(Long id, long now) {
+		Cached cached = heap.get(id);
+		if (cached != null && now - cached.cachedAtMillis() < properties.getTtl().toMillis()) {
+			heapHits.increment();
+			return cached.request();
+		}
+		if (snapshot != null) {
+			ServiceRequestDto stored = snapshot.get(id, now);
+			if (stored != null) {
+				snapshotHits.increment();
+				heap.put(id, new Cached(stored, now));
+				return stored;
+			}
+		}
+		return null;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onServiceRequestChanged(ServiceRequestChangedEvent event) {
+		if (properties.isEnabled()) {
+			invalidate(event.requestId());
+		}
+	}
+
+	public void invalidate(Long id) {
+		synchronized (heap) {
+			changes.incrementAndGet(stripe(id));
+			heap.remove(id);
+			if (snapshot != null) {
+				snapshot.remove(id);
+			}
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (snapshot != null) {
+			snapshot.close();
+		}
+	}
+
+	private static int stripe(Long id) {
+		long h = id;
+		return (int) (h ^ (h >>> 32)) & (STRIPES - 1);
+	}
+
+	private record Cached(ServiceRequestDto request, long cachedAtMillis) {
+	}
+}
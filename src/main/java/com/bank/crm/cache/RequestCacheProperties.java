@@ -0,0 +1,38 @@
+package com.bank.crm.cache;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.request-cache")
+public class RequestCacheProperties {
+
+	// Off: every read goes to the database as before
+	private boolean enabled = false;
+
+	// Requests kept as objects on the heap (least recently used are dropped)
+	private int maxEntries = 10_000;
+
+	// An entry is reloaded after this long in either tier; bounds how long a change
+	// made through another node (or while this one was down) can go unseen
+	private Duration ttl = Duration.ofMinutes(5);
+
+	private Snapshot snapshot = new Snapshot();
+
+	@Data
+	public static class Snapshot {
+
+		// Second tier in a memory-mapped file that is reopened on startup
+		private boolean enabled = false;
+
+		// One file per node; a second process on the same file runs without the tier
+		private String path = "cache/request-snapshot.bin";
+
+		// Mapped at once, so at most 2GB
+		private DataSize size = DataSize.ofMegabytes(256);
+	}
+}
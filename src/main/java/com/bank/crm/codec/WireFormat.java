@@ -0,0 +1,21 @@
+package com.bank.crm.codec;
+
+import org.springframework.http.MediaType;
+
+// Encodings the CRM speaks with other services; all carry the same Jackson model
+public enum WireFormat {
+
+	JSON(MediaType.APPLICATION_JSON),
+	CBOR(MediaType.APPLICATION_CBOR),
+	SMILE(new MediaType("application", "x-jackson-smile"));
+
+	private final MediaType mediaType;
+
+	WireFormat(MediaType mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public MediaType mediaType() {
+		return mediaType;
+	}
+}
@@ -0,0 +1,23 @@
+package com.bank.crm.codec;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.wire-format")
+public class WireFormatProperties {
+
+	// Request body encoding for hosts without an entry in hosts
+	private WireFormat outbound = WireFormat.JSON;
+
+	// host[:port] -> encoding, e.g. crm.wire-format.hosts.[backoffice-service:8080]=CBOR
+	private Map<String, WireFormat> hosts = new HashMap<>();
+
+	// After a 415 the host is sent JSON for this long before the binary format is tried again
+	private Duration jsonFallback = Duration.ofMinutes(10);
+}
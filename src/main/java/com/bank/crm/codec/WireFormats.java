@@ -0,0 +1,95 @@
+package com.bank.crm.codec;
+
+import java.net.URI;
+import java.time.Clock;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+// Picks the request body encoding for outbound calls. Hosts configured for CBOR or
+// Smile get the body wrapped in an HttpEntity with that Content-Type, so RestTemplate
+// writes it with the matching converter; everything else is passed through and
+// written as JSON exactly as before. A host that answers 415 is sent JSON until
+// jsonFallback has passed.
+@Component
+public class WireFormats {
+
+	private static final Logger log = LoggerFactory.getLogger(WireFormats.class);
+
+	private final WireFormatProperties properties;
+	private final Clock clock;
+
+	// host -> epoch millis until which it is sent JSON
+	private final Map<String, Long> jsonUntil = new ConcurrentHashMap<>();
+
+	@Autowired
+	public WireFormats(WireFormatProperties properties) {
+		this(properties, Clock.systemUTC());
+	}
+
+	WireFormats(WireFormatProperties properties, Clock clock) {
+		this.properties = properties;
+		this.clock = clock;
+	}
+
+	public WireFormat formatFor(String url) {
+		String host = host(url);
+		WireFormat configured = properties.getHosts().getOrDefault(host, properties.getOutbound());
+		if (configured == WireFormat.JSON) {
+			return WireFormat.JSON;
+		}
+		Long until = jsonUntil.get(host);
+		if (until == null) {
+			return configured;
+		}
+		if (clock.millis() < until) {
+			return WireFormat.JSON;
+		}
+		jsonUntil.remove(host, until);
+		return configured;
+	}
+
+	// Argument for restTemplate.postForEntity(url, request, ...)
+	public Object request(String url, Object body) {
+		return request(url, body, HttpHeaders.EMPTY);
+	}
+
+	public Object request(String url, Object body, HttpHeaders extraHeaders) {
+		WireFormat format = formatFor(url);
+		if (format == WireFormat.JSON && extraHeaders.isEmpty()) {
+			return body;
+		}
+		HttpHeaders headers = new HttpHeaders();
+		headers.addAll(extraHeaders);
+		if (format != WireFormat.JSON) {
+			headers.setContentType(format.mediaType());
+		}
+		return new HttpEntity<>(body, headers);
+	}
+
+	// Called after a 415; true when the call should be repeated as JSON
+	public boolean fallBackToJson(String url) {
+		WireFormat rejected = formatFor(url);
+		if (rejected == WireFormat.JSON) {
+			return false;
+		}
+		String host = host(url);
+		jsonUntil.put(host, clock.millis() + properties.getJsonFallback().toMillis());
+		log.warn("{} does not accept {}, sending JSON for the next {}", host, rejected, properties.getJsonFallback());
+		return true;
+	}
+
+	private static String host(String url) {
+		URI uri = URI.create(url);
+		if (uri.getHost() == null) {
+			return url;
+		}
+		return uri.getPort() == -1 ? uri.getHost() : uri.getHost() + ":" + uri.getPort();
+	}
+}
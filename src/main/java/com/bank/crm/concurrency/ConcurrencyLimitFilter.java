@@ -0,0 +1,101 @@
+package com.bank.crm.concurrency;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Sheds load on /api/crm with 503 + Retry-After once a group has as many requests in
+// flight as its adaptive limit (GradientLimit). Reads (GET/HEAD and read-paths),
+// writes and bulk endpoints (bulk-paths) have separate limits, so a burst of
+// bulk updates or trigger sends cannot starve single writes or the agent screens,
+// and their long latencies do not shrink the writes limit.
+// Gauges: crm.concurrency.limit{group}, crm.concurrency.in_flight{group}
+// Counter: crm.concurrency.rejected{group}
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+	private final ConcurrencyLimitProperties properties;
+	private final AntPathMatcher matcher = new AntPathMatcher();
+	private final Group reads;
+	private final Group writes;
+	private final Group bulk;
+
+	public ConcurrencyLimitFilter(ConcurrencyLimitProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.reads = new Group("reads", new GradientLimit(properties.getReads(), properties), meterRegistry);
+		this.writes = new Group("writes", new GradientLimit(properties.getWrites(), properties), meterRegistry);
+		this.bulk = new Group("bulk", new GradientLimit(properties.getBulk(), properties), meterRegistry);
+	}
+
+	@Override
+	protected boolean shouldNotFilter(HttpServletRequest request) {
+		String path = request.getRequestURI();
+		return properties.getExcludedPaths().stream().anyMatch(pattern -> matcher.match(pattern, path));
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		Group group = groupOf(request);
+		int inFlight = group.limit.tryAcquire();
+		if (inFlight < 0) {
+			group.rejected.increment();
+			response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+			response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+			return;
+		}
+		long started = System.nanoTime();
+		boolean failed = true;
+		try {
+			chain.doFilter(request, response);
+			failed = response.getStatus() >= 500;
+		} finally {
+			group.limit.release(inFlight, System.nanoTime() - started, failed);
+		}
+	}
+
+	Group groupOf(HttpServletRequest request) {
+		String path = request.getRequestURI();
+		if (properties.getBulkPaths().stream().anyMatch(pattern -> matcher.match(pattern, path))) {
+			return bulk;
+		}
+		String method = request.getMethod();
+		if (HttpMethod.GET.matches(method) || HttpMethod.HEAD.matches(method)) {
+			return reads;
+		}
+		return properties.getReadPaths().stream().anyMatch(pattern -> matcher.match(pattern, path)) ? reads : writes;
+	}
+
+	static final class Group {
+
+		final GradientLimit limit;
+		final Counter rejected;
+
+		Group(String name, GradientLimit limit, MeterRegistry meterRegistry) {
+			this.limit = limit;
+			this.rejected = Counter.builder("crm.concurrency.rejected")
+					.description("Requests turned away with 503 by the adaptive concurrency limit")
+					.tag("group", name)
+					.register(meterRegistry);
+			Gauge.builder("crm.concurrency.limit", limit, GradientLimit::limit)
+					.description("Current adaptive concurrency limit")
+					.tag("group", name)
+					.register(meterRegistry);
+			Gauge.builder("crm.concurrency.in_flight", limit, GradientLimit::inFlight)
+					.description("Requests currently being processed")
+					.tag("group", name)
+					.register(meterRegistry);
+		}
+	}
+}
@@ -0,0 +1,66 @@
+package com.bank.crm.concurrency;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.concurrency-limit")
+public class ConcurrencyLimitProperties {
+
+	private boolean enabled = true;
+
+	// GET requests of the agent screens
+	private Limit reads = new Limit(100, 10, 500);
+
+	// creates, status updates, forwards and inbound triggers
+	private Limit writes = new Limit(40, 4, 200);
+
+	// bulk status updates and bulk trigger sends; each one holds a slot for many rows or calls
+	private Limit bulk = new Limit(8, 1, 32);
+
+	// POST endpoints that only read and count as reads (Ant patterns)
+	private List<String> readPaths = new ArrayList<>(List.of("/api/crm/requests/batch"));
+
+	// Endpoints limited by the bulk group instead of reads/writes (Ant patterns)
+	private List<String> bulkPaths = new ArrayList<>(
+			List.of("/api/crm/requests/bulk/**", "/api/crm/requests/trigger/send"));
+
+	// Latency may grow by this factor over the long-term average before the limit shrinks
+	private double rttTolerance = 1.5;
+
+	// Share of each new estimate taken into the limit
+	private double smoothing = 0.2;
+
+	// Samples in the long-term latency average
+	private int longWindow = 600;
+
+	// Limit is multiplied by this on a 5xx or an exception
+	private double backoffRatio = 0.9;
+
+	// Long-running endpoints that would hold a slot for minutes (Ant patterns)
+	private List<String> excludedPaths = new ArrayList<>(
+			List.of("/api/crm/requests/import", "/api/crm/reports/daily/rebuild"));
+
+	@Data
+	public static class Limit {
+
+		private int initialLimit;
+
+		private int minLimit;
+
+		private int maxLimit;
+
+		public Limit() {
+		}
+
+		Limit(int initialLimit, int minLimit, int maxLimit) {
+			this.initialLimit = initialLimit;
+			this.minLimit = minLimit;
+			this.maxLimit = maxLimit;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.bank.crm.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Concurrency limit that follows the latency of the requests it lets through
+// (the gradient algorithm of Netflix concurrency-limits). While latency stays within
+// rttTolerance of its long-term average the limit grows by about sqrt(limit) per
+// sample; when latency rises, e.g. because SQL Server slowed down, the limit shrinks
+// in proportion, so requests are turned away at once instead of queueing for a
+// connection. A failed request (5xx, exception) multiplies the limit by backoffRatio.
+final class GradientLimit {
+
+	private final int minLimit;
+	private final int maxLimit;
+	private final double rttTolerance;
+	private final double smoothing;
+	private final int longWindow;
+	private final double backoffRatio;
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private volatile int limit;
+	// guarded by this
+	private double estimatedLimit;
+	private double longRttNanos;
+	private long samples;
+
+	GradientLimit(ConcurrencyLimitProperties.Limit bounds, ConcurrencyLimitProperties properties) {
+		this.minLimit = bounds.getMinLimit();
+		this.maxLimit = bounds.getMaxLimit();
+		this.rttTolerance = properties.getRttTolerance();
+		this.smoothing = properties.getSmoothing();
+		this.longWindow = properties.getLongWindow();
+		this.backoffRatio = properties.getBackoffRatio();
+		this.estimatedLimit = bounds.getInitialLimit();
+		this.limit = bounds.getInitialLimit();
+	}
+
+	// In-flight count at the time of the acquire, or -1 when the limit is reached
+	int tryAcquire() {
+		while (true) {
+			int current = inFlight.get();
+			if (current >= limit) {
+				return -1;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return current + 1;
+			}
+		}
+	}
+
+	void release(int inFlightAtStart, long rttNanos, boolean failed) {
+		inFlight.decrementAndGet();
+		update(inFlightAtStart, rttNanos, failed);
+	}
+
+	private synchronized void update(int inFlightAtStart, long rttNanos, boolean failed) {
+		if (failed) {
+			estimatedLimit = Math.max(minLimit, estimatedLimit * backoffRatio);
+			limit = (int) estimatedLimit;
+			return;
+		}
+		double shortRtt = Math.max(1, rttNanos);
+		samples++;
+		longRttNanos = samples == 1 ? shortRtt : longRttNanos + (shortRtt - longRttNanos) / Math.min(samples, longWindow);
+		// latency has dropped well below the average (load went away): let the average follow faster
+		if (longRttNanos / shortRtt > 2) {
+			longRttNanos *= 0.95;
+		}
+		// not using the limit we have, so latency says nothing about a higher one
+		if (inFlightAtStart < estimatedLimit / 2) {
+			return;
+		}
+		double gradient = Math.max(0.5, Math.min(1.0, rttTolerance * longRttNanos / shortRtt));
+		double newLimit = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+		newLimit = estimatedLimit * (1 - smoothing) + newLimit * smoothing;
+		estimatedLimit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+		limit = (int) estimatedLimit;
+	}
+
+	int limit() {
+		return limit;
+	}
+
+	int inFlight() {
+		return inFlight.get();
+	}
+}
@@ -0,0 +1,20 @@
+package com.bank.crm.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Boot registers Module beans with Jackson2ObjectMapperBuilder, so Blackbird applies to
+// the JSON, CBOR and Smile converters of Spring MVC and RestTemplate alike. It
+// replaces reflective getter/setter/constructor calls with LambdaMetafactory-generated
+// accessors once per property; DTOs stay plain Lombok beans.
+@Configuration
+public class JacksonConfig {
+
+	@Bean
+	public Module blackbirdModule() {
+		return new BlackbirdModule();
+	}
+}
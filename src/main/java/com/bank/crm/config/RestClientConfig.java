@@ -7,12 +7,15 @@ import org.springframework.http.client.SimpleClientHttpRequestFactory; // <--- I
 import org.springframework.web.client.RestTemplate;
 import java.time.Duration;
 
+import com.bank.crm.deadline.DeadlineAwareRequestFactory;
+
 @Configuration
 public class RestClientConfig {
 
 	@Bean
 	public RestTemplate restTemplate(RestTemplateBuilder builder) {
-		SimpleClientHttpRequestFactory requestFactory = new SimpleClientHttpRequestFactory();
+		// timeouts are shortened per call to the inbound request's remaining Deadline
+		SimpleClientHttpRequestFactory requestFactory = new DeadlineAwareRequestFactory();
 
 		requestFactory.setConnectTimeout(Duration.ofSeconds(10));
 		requestFactory.setReadTimeout(Duration.ofSeconds(30));
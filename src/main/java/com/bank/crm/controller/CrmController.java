@@ -3,6 +3,7 @@ package com.bank.crm.controller;
 import java.util.List;
 
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,16 +14,28 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 
+import com.bank.crm.dto.BulkStatusUpdateDto;
+import com.bank.crm.dto.BulkStatusUpdateResultDto;
+import com.bank.crm.dto.BulkTriggerResultDto;
+import com.bank.crm.dto.BulkTriggerSendDto;
 import com.bank.crm.dto.CreateRequestDto;
+import com.bank.crm.dto.PaymentLookupDto;
 import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.dto.ServiceRequestLookupDto;
 import com.bank.crm.dto.UpdateRequestStatusDto;
 import com.bank.crm.dto.event.PaymentCompletedEvent;
 import com.bank.crm.dto.event.TriggerRequestEvent;
 import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.ratelimit.SourceRateLimiter;
 import com.bank.crm.service.CrmService;
+import com.bank.crm.service.trigger.TriggerWriteBehind;
 
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.persistence.EntityNotFoundException;
@@ -33,10 +46,19 @@ import jakarta.validation.Valid;
 @Tag(name = "CRM Service Request API", description = "APIs for managing customer service requests")
 public class CrmController {
 
+	// Identifies the calling service when the body does not carry sourceService
+	static final String SOURCE_HEADER = "X-Source-Service";
+
 	private CrmService crmService;
 
-	public CrmController(CrmService crmService) {
+	private SourceRateLimiter rateLimiter;
+
+	private TriggerWriteBehind triggerWriteBehind;
+
+	public CrmController(CrmService crmService, SourceRateLimiter rateLimiter, TriggerWriteBehind triggerWriteBehind) {
 		this.crmService = crmService;
+		this.rateLimiter = rateLimiter;
+		this.triggerWriteBehind = triggerWriteBehind;
 	}
 
 	@PostMapping
@@ -58,6 +80,31 @@ public class CrmController {
 		return ResponseEntity.ok(requestDto);
 	}
 
+	@GetMapping("/batch")
+	@Operation(summary = "Get many service requests by ID in one call", description = "Returns one entry per id, in the order of 'ids', with found=false for ids that do not exist. For long lists use POST /batch: the URL must fit the server's 8 KB request-header limit.")
+	@ApiResponse(responseCode = "200", description = "Entries in request order", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ServiceRequestLookupDto.class))))
+	@ApiResponse(responseCode = "400", description = "Too many ids; the reason is in the body")
+	public ResponseEntity<?> getRequestsByIds(@RequestParam List<Long> ids) {
+		return lookupInOrder(ids);
+	}
+
+	@PostMapping("/batch")
+	@Operation(summary = "Get many service requests by ID, ids in the body", description = "Same as GET /batch with a JSON array of up to crm.multi-get.max-ids ids as the body.")
+	@ApiResponse(responseCode = "200", description = "Entries in request order", content = @Content(array = @ArraySchema(schema = @Schema(implementation = ServiceRequestLookupDto.class))))
+	@ApiResponse(responseCode = "400", description = "Too many ids or a null id; the reason is in the body")
+	public ResponseEntity<?> postRequestsByIds(@RequestBody List<Long> ids) {
+		return lookupInOrder(ids);
+	}
+
+	// 400 carries the reason as plain text
+	private ResponseEntity<?> lookupInOrder(List<Long> ids) {
+		try {
+			return ResponseEntity.ok(crmService.getServiceRequestsInOrder(ids));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	@GetMapping
 	@Operation(summary = "Get all service requests")
 	@ApiResponse(responseCode = "200", description = "Requests retrieved successfully")
@@ -78,6 +125,18 @@ public class CrmController {
 
 	}
 
+	@PutMapping("/bulk/status")
+	@Operation(summary = "Update the status of many service requests at once", description = "Selects requests by 'ids' or by 'filter'. COMPLETED and CANCELED requests are skipped.")
+	@ApiResponse(responseCode = "200", description = "Bulk update applied; returns affected/skipped counts", content = @Content(schema = @Schema(implementation = BulkStatusUpdateResultDto.class)))
+	@ApiResponse(responseCode = "400", description = "Invalid selection (both or neither of ids/filter, or too many requests); the reason is in the body")
+	public ResponseEntity<?> bulkUpdateStatus(@Valid @RequestBody BulkStatusUpdateDto bulkDto) {
+		try {
+			return ResponseEntity.ok(crmService.bulkUpdateStatus(bulkDto));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
 	@PostMapping("/{id}/forward")
 	@Operation(summary = "Forward a request to the back-office (simulation)")
 	@ApiResponse(responseCode = "200", description = "Request forwarded successfully")
@@ -93,8 +152,14 @@ public class CrmController {
 	@ApiResponse(responseCode = "400", description = "The information in the Event is incorrect")
 	@ApiResponse(responseCode = "404", description = "No related Service Request found")
 	@ApiResponse(responseCode = "409", description = "Unable to process request in current state (Conflict)")
+	@ApiResponse(responseCode = "429", description = "Too many triggers from this source; retry after the Retry-After seconds")
 	public ResponseEntity<ServiceRequestDto> handlePaymentCompletedTrigger(
-			@RequestBody @Valid PaymentCompletedEvent event) {
+			@RequestBody @Valid PaymentCompletedEvent event,
+			@RequestHeader(name = SOURCE_HEADER, defaultValue = "payment-service") String source) {
+		long retryAfter = rateLimiter.tryAcquire(source);
+		if (retryAfter > 0) {
+			return tooManyRequests(retryAfter).build();
+		}
 		try {
 			ServiceRequestDto paymentCompletedTrigger = crmService.processPaymentCompletedTrigger(event);
 			return ResponseEntity.ok(paymentCompletedTrigger);
@@ -108,15 +173,33 @@ public class CrmController {
 
 	}
 
+	@GetMapping("/payments/{paymentTransactionRef}")
+	@Operation(summary = "Find the payment with this transaction reference and the request it completed")
+	@ApiResponse(responseCode = "200", description = "Payment found")
+	@ApiResponse(responseCode = "404", description = "No payment with this reference")
+	public ResponseEntity<PaymentLookupDto> findPayment(@PathVariable String paymentTransactionRef) {
+		return ResponseEntity.ok(crmService.findPaymentByTransactionRef(paymentTransactionRef));
+	}
+
 	
 	@PostMapping("/trigger/receive")
 	@Operation(summary = "Receive Trigger from Another Microservice")
 	@ApiResponse(responseCode = "202", description = "Trigger received successfully and accepted for processing.")
 	@ApiResponse(responseCode = "404", description = "Not Found - The ServiceRequest specified by 'relatedId' was not found.")
+	@ApiResponse(responseCode = "429", description = "Too Many Requests - The source exceeded its trigger rate; retry after the Retry-After seconds.")
 	@ApiResponse(responseCode = "500", description = "Internal Server Error - An unexpected error occurred while processing the trigger.")
-	public ResponseEntity<String> receiveTrigger(@Valid @RequestBody TriggerRequestEvent triggerRequest) {
+	public ResponseEntity<String> receiveTrigger(@Valid @RequestBody TriggerRequestEvent triggerRequest,
+			@RequestHeader(name = SOURCE_HEADER, required = false) String sourceHeader) {
+		String source = triggerRequest.getSourceService() != null ? triggerRequest.getSourceService() : sourceHeader;
+		long retryAfter = rateLimiter.tryAcquire(source);
+		if (retryAfter > 0) {
+			return tooManyRequests(retryAfter).body("Trigger rate limit exceeded for source: " + source);
+		}
 		try {
-			crmService.processIncomingTrigger(triggerRequest);
+			// grouped with other triggers into one commit when crm.trigger-write-behind is on
+			if (!triggerWriteBehind.apply(triggerRequest)) {
+				crmService.processIncomingTrigger(triggerRequest);
+			}
 
 			return ResponseEntity.accepted().body("Trigger received and processing started for action: "
 					+ triggerRequest.getAction() + " on ServiceRequest ID: " + triggerRequest.getRelatedId());
@@ -150,4 +233,23 @@ public class CrmController {
 		}
 
 	}
+
+	@PostMapping("/trigger/send")
+	@Operation(summary = "Send the same trigger for many service requests", description = "Calls run concurrently, at most crm.bulk.trigger-parallelism at a time. Returns one outcome per distinct id, in request order.")
+	@ApiResponse(responseCode = "200", description = "All calls finished; see the per-id outcomes", content = @Content(schema = @Schema(implementation = BulkTriggerResultDto.class)))
+	@ApiResponse(responseCode = "400", description = "No ids, no action or more than crm.bulk.max-requests ids; the reason is in the body")
+	public ResponseEntity<?> sendTriggers(@Valid @RequestBody BulkTriggerSendDto bulkDto) {
+		try {
+			return ResponseEntity.ok(crmService.bulkTriggerOtherMicroservice(bulkDto));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(e.getMessage());
+		}
+	}
+
+	// Retry-After is whole seconds, rounded up so the retry finds a permit
+	private static ResponseEntity.BodyBuilder tooManyRequests(long retryAfterNanos) {
+		long seconds = Math.max(1L, (retryAfterNanos + 999_999_999L) / 1_000_000_000L);
+		return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).header(HttpHeaders.RETRY_AFTER,
+				String.valueOf(seconds));
+	}
 }
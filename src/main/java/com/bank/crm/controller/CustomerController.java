@@ -0,0 +1,57 @@
+package com.bank.crm.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.crm.customer.CustomerSummary;
+import com.bank.crm.customer.CustomerSummaryCache;
+import com.bank.crm.customer.CustomerSummaryProperties;
+import com.bank.crm.dto.CustomerRequestsDto;
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.service.CrmService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/crm/customers")
+@Tag(name = "CRM Customer API", description = "Service requests of one customer")
+public class CustomerController {
+
+	private CustomerSummaryCache summaryCache;
+
+	private CrmService crmService;
+
+	private CustomerSummaryProperties properties;
+
+	public CustomerController(CustomerSummaryCache summaryCache, CrmService crmService,
+			CustomerSummaryProperties properties) {
+		this.summaryCache = summaryCache;
+		this.crmService = crmService;
+		this.properties = properties;
+	}
+
+	@GetMapping("/{customerId}/requests")
+	@Operation(summary = "Get a customer's request summary", description = "Counts by status, latest activity and the most recent requests. Archived requests are not included.")
+	@ApiResponse(responseCode = "200", description = "Summary, all counts zero for a customer without requests")
+	public ResponseEntity<CustomerRequestsDto> getCustomerRequests(@PathVariable String customerId,
+			@RequestParam(required = false) Integer limit) {
+		int recent = limit == null ? properties.getRecentRequests()
+				: Math.max(0, Math.min(limit, properties.getMaxRecentRequests()));
+
+		CustomerSummary summary = summaryCache.get(customerId);
+		// the cached summary may predate the customer's first request, so it cannot skip this read
+		List<ServiceRequestDto> recentRequests = recent == 0 ? List.of()
+				: crmService.getRecentRequestsOfCustomer(customerId, recent);
+
+		return ResponseEntity.ok(new CustomerRequestsDto(customerId, summary.openCount(), summary.total(),
+				summary.countsByStatus(), summary.lastActivityAt(), recentRequests));
+	}
+}
@@ -0,0 +1,77 @@
+package com.bank.crm.controller;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.crm.dto.ImportReportDto;
+import com.bank.crm.importer.ImportFormat;
+import com.bank.crm.importer.ServiceRequestImporter;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+// curl -H 'Content-Type: text/csv' --data-binary @legacy.csv \
+//      'http://localhost:8080/api/crm/requests/import?importId=legacy-2024'
+@RestController
+@RequestMapping("/api/crm/requests/import")
+@Tag(name = "CRM Service Request Import API", description = "Bulk load of historical service requests")
+public class ImportController {
+
+	private ServiceRequestImporter importer;
+
+	public ImportController(ServiceRequestImporter importer) {
+		this.importer = importer;
+	}
+
+	@PostMapping(consumes = { "text/csv", "application/x-ndjson" })
+	@Operation(summary = "Import service requests from CSV or NDJSON", description = "The body is read as a stream and committed in chunks. Send the same file with the same importId again to continue after the last committed chunk. Imported requests publish no change events and get no status history rows: search finds them after its next catch-up scan and customer summaries after their next load, but the daily rollups, which are built from the status history, never count them.")
+	@ApiResponse(responseCode = "200", description = "Import finished or stopped at unreadable input (complete=false)")
+	@ApiResponse(responseCode = "400", description = "Invalid importId or CSV header")
+	@ApiResponse(responseCode = "409", description = "The same importId is already being imported, or was started before shards were added")
+	public ResponseEntity<ImportReportDto> importRequests(@RequestParam String importId,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType, InputStream body) throws IOException {
+		ImportFormat format = MediaType.parseMediaType(ImportFormat.NDJSON.mediaType()).includes(contentType)
+				? ImportFormat.NDJSON
+				: ImportFormat.CSV;
+		try {
+			return ResponseEntity.ok(importer.importRequests(importId, format, body));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).build();
+		}
+	}
+
+	@GetMapping("/{importId}/errors")
+	@Operation(summary = "Download the rejected rows of an import", description = "CSV of row number and reason, for all runs of the importId")
+	@ApiResponse(responseCode = "200", description = "Error report")
+	@ApiResponse(responseCode = "404", description = "No report for this importId")
+	public ResponseEntity<Resource> getErrors(@PathVariable String importId) {
+		if (!ServiceRequestImporter.isValidImportId(importId)) {
+			return ResponseEntity.badRequest().build();
+		}
+		Path report = importer.errorReport(importId);
+		if (!Files.isRegularFile(report)) {
+			return ResponseEntity.notFound().build();
+		}
+		return ResponseEntity.ok().contentType(MediaType.parseMediaType(ImportFormat.CSV.mediaType()))
+				.body(new FileSystemResource(report));
+	}
+}
@@ -0,0 +1,75 @@
+package com.bank.crm.controller;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.crm.dto.DailyRollupDto;
+import com.bank.crm.report.BackfillRunReport;
+import com.bank.crm.report.DailyRollupStore;
+import com.bank.crm.report.RollupBackfillJob;
+import com.bank.crm.report.RollupProperties;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/crm/reports")
+@ConditionalOnProperty(prefix = "crm.rollup", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "CRM Report API", description = "Daily request counts from dbo.request_daily_rollup")
+public class ReportController {
+
+	private DailyRollupStore rollupStore;
+
+	private RollupBackfillJob backfillJob;
+
+	private RollupProperties properties;
+
+	public ReportController(DailyRollupStore rollupStore, RollupBackfillJob backfillJob, RollupProperties properties) {
+		this.rollupStore = rollupStore;
+		this.backfillJob = backfillJob;
+		this.properties = properties;
+	}
+
+	@GetMapping("/daily")
+	@Operation(summary = "Daily counts per request type", description = "Created, completed, canceled and back-office forward attempts per day (dates inclusive). Changes of the last crm.rollup.flush-interval may not be counted yet.")
+	@ApiResponse(responseCode = "200", description = "One row per day and request type with activity")
+	@ApiResponse(responseCode = "400", description = "'to' before 'from' or range longer than crm.rollup.max-report-days")
+	public ResponseEntity<List<DailyRollupDto>> getDaily(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String requestType) {
+		if (to.isBefore(from) || ChronoUnit.DAYS.between(from, to) >= properties.getMaxReportDays()) {
+			return ResponseEntity.badRequest().build();
+		}
+		return ResponseEntity.ok(rollupStore.find(from, to, requestType));
+	}
+
+	@PostMapping("/daily/rebuild")
+	@Operation(summary = "Rebuild daily counts from the status history", description = "Replaces the rows of the given days (before today), one day per transaction. Runs until done.")
+	@ApiResponse(responseCode = "200", description = "Rebuilt")
+	@ApiResponse(responseCode = "400", description = "Invalid range or range includes today")
+	@ApiResponse(responseCode = "409", description = "A rebuild is already running")
+	public ResponseEntity<BackfillRunReport> rebuild(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		try {
+			return ResponseEntity.ok(backfillJob.rebuild(from, to));
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().build();
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(HttpStatus.CONFLICT).build();
+		}
+	}
+}
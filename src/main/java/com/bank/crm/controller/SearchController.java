@@ -0,0 +1,55 @@
+package com.bank.crm.controller;
+
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.crm.dto.SearchHitDto;
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.search.RequestSearchIndex;
+import com.bank.crm.service.CrmService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/crm/requests")
+@ConditionalOnProperty(prefix = "crm.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+@Tag(name = "CRM Service Request Search API", description = "Full-text search over request type and details")
+public class SearchController {
+
+	private RequestSearchIndex searchIndex;
+
+	private CrmService crmService;
+
+	public SearchController(RequestSearchIndex searchIndex, CrmService crmService) {
+		this.searchIndex = searchIndex;
+		this.crmService = crmService;
+	}
+
+	@GetMapping("/search")
+	@Operation(summary = "Search service requests", description = "Words are matched against requestType and requestDetails (Thai and English); a word ending in * matches as a prefix. Best match first.")
+	@ApiResponse(responseCode = "200", description = "Matching requests, possibly empty (always empty until the index is first built after startup)")
+	@ApiResponse(responseCode = "400", description = "Empty query")
+	public ResponseEntity<List<SearchHitDto>> search(@RequestParam("q") String query,
+			@RequestParam(defaultValue = "20") int limit) {
+		if (query.isBlank()) {
+			return ResponseEntity.badRequest().build();
+		}
+		List<RequestSearchIndex.Hit> hits = searchIndex.search(query, limit);
+		Map<Long, ServiceRequestDto> requests = crmService
+				.getServiceRequestsByIds(hits.stream().map(RequestSearchIndex.Hit::id).toList());
+
+		// archived requests stay in the index until the next rebuild; they are dropped here
+		List<SearchHitDto> result = hits.stream().filter(hit -> requests.containsKey(hit.id()))
+				.map(hit -> new SearchHitDto(hit.id(), hit.score(), requests.get(hit.id()))).toList();
+		return ResponseEntity.ok(result);
+	}
+}
@@ -0,0 +1,45 @@
+package com.bank.crm.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.bank.crm.dto.StatusHistoryDto;
+import com.bank.crm.history.StatusHistoryStore;
+import com.bank.crm.service.CrmService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@RestController
+@RequestMapping("/api/crm/requests")
+@Tag(name = "CRM Service Request History API", description = "Audit trail of service request status changes")
+public class StatusHistoryController {
+
+	private StatusHistoryStore historyStore;
+
+	private CrmService crmService;
+
+	public StatusHistoryController(StatusHistoryStore historyStore, CrmService crmService) {
+		this.historyStore = historyStore;
+		this.crmService = crmService;
+	}
+
+	@GetMapping("/{id}/history")
+	@Operation(summary = "Get the status history of a service request", description = "Oldest change first. Changes from the last few hundred milliseconds may not be listed yet.")
+	@ApiResponse(responseCode = "200", description = "History found")
+	@ApiResponse(responseCode = "404", description = "Request not found")
+	public ResponseEntity<List<StatusHistoryDto>> getHistory(@PathVariable Long id) {
+		List<StatusHistoryDto> history = historyStore.findByRequestId(id);
+		if (history.isEmpty()) {
+			// 404 when the request itself does not exist (active or archived)
+			crmService.getServiceRequestById(id);
+		}
+		return ResponseEntity.ok(history);
+	}
+}
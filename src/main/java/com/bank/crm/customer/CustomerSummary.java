@@ -0,0 +1,52 @@
+package com.bank.crm.customer;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import com.bank.crm.entity.RequestStatus;
+
+// Request counts by status and the latest activity of one customer. Immutable;
+// a transition produces a new summary.
+public record CustomerSummary(Map<RequestStatus, Long> countsByStatus, LocalDateTime lastActivityAt,
+		long loadedAtMillis) {
+
+	private static final Set<RequestStatus> CLOSED = EnumSet.of(RequestStatus.COMPLETED, RequestStatus.CANCELED);
+
+	public CustomerSummary {
+		countsByStatus = Collections.unmodifiableMap(copy(countsByStatus));
+	}
+
+	public long total() {
+		return countsByStatus.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	public long openCount() {
+		return countsByStatus.entrySet().stream().filter(e -> !CLOSED.contains(e.getKey()))
+				.mapToLong(Map.Entry::getValue).sum();
+	}
+
+	// previousStatus is null for a new request
+	CustomerSummary apply(RequestStatus previousStatus, RequestStatus newStatus, LocalDateTime activityAt) {
+		EnumMap<RequestStatus, Long> counts = copy(countsByStatus);
+		if (previousStatus != newStatus) {
+			if (previousStatus != null) {
+				counts.computeIfPresent(previousStatus, (status, count) -> count > 1 ? count - 1 : null);
+			}
+			counts.merge(newStatus, 1L, Long::sum);
+		}
+		LocalDateTime latest = lastActivityAt == null || (activityAt != null && activityAt.isAfter(lastActivityAt))
+				? activityAt
+				: lastActivityAt;
+		return new CustomerSummary(counts, latest, loadedAtMillis);
+	}
+
+	private static EnumMap<RequestStatus, Long> copy(Map<RequestStatus, Long> counts) {
+		EnumMap<RequestStatus, Long> copy = new EnumMap<>(RequestStatus.class);
+		copy.putAll(counts);
+		return copy;
+	}
+}
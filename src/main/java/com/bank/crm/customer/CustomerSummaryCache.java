@@ -0,0 +1,115 @@
+package com.bank.crm.customer;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bank.crm.cache.BoundedLruCache;
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.repository.StatusCountView;
+import com.bank.crm.shard.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Per-customer status counts for the contact-centre screen. A summary is loaded with
+// one grouped query on ix_service_requests_customer (per shard) the first time a customer is
+// opened and then kept current from ServiceRequestChangedEvent, so reopening the
+// customer never touches the database until the summary expires (crm.customer-summary.ttl).
+@Component
+public class CustomerSummaryCache {
+
+	// Changes are counted per stripe of customers; a load is only cached when no
+	// change for its stripe arrived while it ran, otherwise it could miss that change
+	private static final int STRIPES = 1024;
+
+	private final CustomerSummaryProperties properties;
+	private final ServiceRequestRepository repo;
+	private final ShardRouter shardRouter;
+	private final Clock clock;
+	private final BoundedLruCache<String, CustomerSummary> cache;
+	private final AtomicLongArray changes = new AtomicLongArray(STRIPES);
+	private final Counter hits;
+	private final Counter misses;
+
+	@Autowired
+	public CustomerSummaryCache(CustomerSummaryProperties properties, ServiceRequestRepository repo,
+			ShardRouter shardRouter, MeterRegistry meterRegistry) {
+		this(properties, repo, shardRouter, meterRegistry, Clock.systemUTC());
+	}
+
+	CustomerSummaryCache(CustomerSummaryProperties properties, ServiceRequestRepository repo, ShardRouter shardRouter,
+			MeterRegistry meterRegistry, Clock clock) {
+		this.properties = properties;
+		this.repo = repo;
+		this.shardRouter = shardRouter;
+		this.clock = clock;
+		this.cache = new BoundedLruCache<>(properties.getMaxEntries());
+		this.hits = meterRegistry.counter("crm.customer.summary", "result", "hit");
+		this.misses = meterRegistry.counter("crm.customer.summary", "result", "miss");
+	}
+
+	public CustomerSummary get(String customerId) {
+		CustomerSummary cached = cache.get(customerId);
+		if (cached != null && clock.millis() - cached.loadedAtMillis() < properties.getTtl().toMillis()) {
+			hits.increment();
+			return cached;
+		}
+		misses.increment();
+
+		int stripe = stripe(customerId);
+		long changesBefore = changes.get(stripe);
+		CustomerSummary loaded = load(customerId);
+		synchronized (cache) {
+			if (changes.get(stripe) == changesBefore) {
+				cache.put(customerId, loaded);
+			}
+		}
+		return loaded;
+	}
+
+	private CustomerSummary load(String customerId) {
+		long loadedAt = clock.millis();
+		EnumMap<RequestStatus, Long> counts = new EnumMap<>(RequestStatus.class);
+		LocalDateTime lastActivity = null;
+		// every shard: after a shard is added the customer's older rows stay on its previous home
+		for (StatusCountView row : shardRouter.queryAllShards(() -> repo.summarizeCustomer(customerId),
+				Comparator.comparing(StatusCountView::getStatus))) {
+			counts.merge(row.getStatus(), row.getRequests(), Long::sum);
+			if (lastActivity == null || row.getLastActivity().isAfter(lastActivity)) {
+				lastActivity = row.getLastActivity();
+			}
+		}
+		return new CustomerSummary(counts, lastActivity, loadedAt);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onServiceRequestChanged(ServiceRequestChangedEvent event) {
+		ServiceRequestDto request = event.request();
+		LocalDateTime activityAt = request.getUpdatedAt() != null ? request.getUpdatedAt() : request.getCreatedAt();
+		RequestStatus previousStatus = event.operation() == ServiceRequestChangedEvent.Operation.CREATED ? null
+				: event.previousStatus();
+		synchronized (cache) {
+			changes.incrementAndGet(stripe(request.getCustomerId()));
+			cache.update(request.getCustomerId(), summary -> summary.apply(previousStatus, request.getStatus(), activityAt));
+		}
+	}
+
+	int size() {
+		return cache.size();
+	}
+
+	private static int stripe(String customerId) {
+		int h = customerId.hashCode();
+		return (h ^ (h >>> 16)) & (STRIPES - 1);
+	}
+}
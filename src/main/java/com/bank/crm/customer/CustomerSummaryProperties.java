@@ -0,0 +1,24 @@
+package com.bank.crm.customer;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.customer-summary")
+public class CustomerSummaryProperties {
+
+	// Customers whose summary is kept in memory (least recently used are dropped)
+	private int maxEntries = 10_000;
+
+	// A summary is reloaded after this long, which also picks up rows moved by the
+	// archival job (it publishes no change events)
+	private Duration ttl = Duration.ofMinutes(5);
+
+	// Latest requests returned with the summary when the caller gives no limit
+	private int recentRequests = 10;
+
+	private int maxRecentRequests = 50;
+}
@@ -0,0 +1,64 @@
+package com.bank.crm.deadline;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+// Time budget of the inbound request being handled by the current thread, as an
+// absolute System.nanoTime() value. Set by DeadlineFilter, read by
+// DeadlineAwareRequestFactory for every outbound call; threads without a deadline
+// (scheduled jobs) keep the configured client timeouts.
+public final class Deadline {
+
+	private static final ThreadLocal<Long> CURRENT = new ThreadLocal<>();
+
+	private Deadline() {
+	}
+
+	public interface Scope extends AutoCloseable {
+		@Override
+		void close();
+	}
+
+	public static Scope start(Duration budget) {
+		return enter(System.nanoTime() + budget.toNanos());
+	}
+
+	private static Scope enter(Long deadlineNanos) {
+		Long previous = CURRENT.get();
+		CURRENT.set(deadlineNanos);
+		return () -> {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		};
+	}
+
+	public static boolean isSet() {
+		return CURRENT.get() != null;
+	}
+
+	// Remaining budget in nanos (may be negative), Long.MAX_VALUE without a deadline
+	public static long remainingNanos() {
+		Long deadline = CURRENT.get();
+		return deadline == null ? Long.MAX_VALUE : deadline - System.nanoTime();
+	}
+
+	public static boolean expired() {
+		return remainingNanos() <= 0;
+	}
+
+	// Runs task on another thread under the caller's deadline
+	public static <T> Callable<T> propagate(Callable<T> task) {
+		Long deadline = CURRENT.get();
+		if (deadline == null) {
+			return task;
+		}
+		return () -> {
+			try (Scope scope = enter(deadline)) {
+				return task.call();
+			}
+		};
+	}
+}
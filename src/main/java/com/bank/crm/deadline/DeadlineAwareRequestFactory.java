@@ -0,0 +1,39 @@
+package com.bank.crm.deadline;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.net.SocketTimeoutException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+
+// Caps the connect and read timeout of each outbound call at the remaining Deadline of
+// the calling thread; a call made after the budget is spent fails at once with a
+// SocketTimeoutException (ResourceAccessException from RestTemplate). Without a
+// deadline the configured timeouts apply unchanged. The read timeout bounds each
+// read, so a response trickling in can still overrun the budget slightly.
+public class DeadlineAwareRequestFactory extends SimpleClientHttpRequestFactory {
+
+	@Override
+	protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
+		super.prepareConnection(connection, httpMethod);
+		if (!Deadline.isSet()) {
+			return;
+		}
+		long remainingMillis = TimeUnit.NANOSECONDS.toMillis(Deadline.remainingNanos());
+		if (remainingMillis <= 0) {
+			throw new SocketTimeoutException("Request deadline exceeded before calling " + connection.getURL());
+		}
+		// super has applied the configured timeouts
+		connection.setConnectTimeout(cap(connection.getConnectTimeout(), remainingMillis));
+		connection.setReadTimeout(cap(connection.getReadTimeout(), remainingMillis));
+	}
+
+	// 0 means "no timeout" for HttpURLConnection
+	private static int cap(int configuredMillis, long remainingMillis) {
+		if (configuredMillis > 0 && configuredMillis <= remainingMillis) {
+			return configuredMillis;
+		}
+		return (int) Math.min(remainingMillis, Integer.MAX_VALUE);
+	}
+}
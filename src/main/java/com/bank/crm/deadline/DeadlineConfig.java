@@ -0,0 +1,22 @@
+package com.bank.crm.deadline;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+@ConditionalOnProperty(prefix = "crm.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+	// First filter, so the budget also covers time spent in later filters
+	@Bean
+	public FilterRegistrationBean<DeadlineFilter> deadlineFilter(DeadlineProperties properties) {
+		FilterRegistrationBean<DeadlineFilter> registration = new FilterRegistrationBean<>(
+				new DeadlineFilter(properties));
+		registration.addUrlPatterns("/api/*");
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+}
@@ -0,0 +1,52 @@
+package com.bank.crm.deadline;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+// Starts the Deadline of every /api request: the caller's remaining budget from the
+// header (capped at maxBudget), else the endpoint default, else defaultBudget
+public class DeadlineFilter extends OncePerRequestFilter {
+
+	private final DeadlineProperties properties;
+	private final AntPathMatcher matcher = new AntPathMatcher();
+
+	public DeadlineFilter(DeadlineProperties properties) {
+		this.properties = properties;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+			throws ServletException, IOException {
+		try (Deadline.Scope deadline = Deadline.start(budgetFor(request))) {
+			chain.doFilter(request, response);
+		}
+	}
+
+	Duration budgetFor(HttpServletRequest request) {
+		String header = request.getHeader(properties.getHeader());
+		if (header != null) {
+			try {
+				Duration sent = Duration.ofMillis(Math.max(0, Long.parseLong(header.trim())));
+				return sent.compareTo(properties.getMaxBudget()) > 0 ? properties.getMaxBudget() : sent;
+			} catch (NumberFormatException e) {
+				// ignored: fall back to the endpoint default
+			}
+		}
+		String path = request.getRequestURI();
+		for (Map.Entry<String, Duration> endpoint : properties.getEndpoints().entrySet()) {
+			if (matcher.match(endpoint.getKey(), path)) {
+				return endpoint.getValue();
+			}
+		}
+		return properties.getDefaultBudget();
+	}
+}
@@ -0,0 +1,29 @@
+package com.bank.crm.deadline;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.deadline")
+public class DeadlineProperties {
+
+	private boolean enabled = true;
+
+	// Remaining budget sent by the caller in milliseconds (relative, so clocks need not agree)
+	private String header = "X-Request-Timeout-Ms";
+
+	// Budget when the caller sends no header and no endpoint entry matches
+	private Duration defaultBudget = Duration.ofSeconds(30);
+
+	// Upper bound for budgets sent by callers
+	private Duration maxBudget = Duration.ofSeconds(60);
+
+	// Ant-style path pattern -> default budget, first match wins,
+	// e.g. crm.deadline.endpoints.[/api/crm/requests/*/forward]=10s
+	private Map<String, Duration> endpoints = new LinkedHashMap<>();
+}
@@ -0,0 +1,27 @@
+package com.bank.crm.dictionary;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// assignedTo <-> dbo.assignees.id; created by Hibernate through Spring's bean container.
+// Only looks names up: the converter also binds query parameters, so writers register
+// new names first (CrmService.registerNames) and an unknown filter value matches nothing
+@Converter
+public class AssigneeConverter implements AttributeConverter<String, Integer> {
+
+	private final RequestDictionaries dictionaries;
+
+	public AssigneeConverter(RequestDictionaries dictionaries) {
+		this.dictionaries = dictionaries;
+	}
+
+	@Override
+	public Integer convertToDatabaseColumn(String assignedTo) {
+		return assignedTo == null ? null : dictionaries.assignees().existingIdOf(assignedTo);
+	}
+
+	@Override
+	public String convertToEntityAttribute(Integer id) {
+		return id == null ? null : dictionaries.assignees().nameOf(id);
+	}
+}
@@ -0,0 +1,16 @@
+package com.bank.crm.dictionary;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.dictionary")
+public class DictionaryProperties {
+
+	// Distinct request types accepted; dbo.request_types.id is a SMALLINT, so at most 32767
+	private int maxRequestTypes = 1000;
+
+	// Distinct assignees accepted
+	private int maxAssignees = 100_000;
+}
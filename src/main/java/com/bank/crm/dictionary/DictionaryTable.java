@@ -0,0 +1,121 @@
+package com.bank.crm.dictionary;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+// One name <-> small integer key table (id IDENTITY, name UNIQUE), fully cached.
+// The cache holds one String per key and hands out that instance on every read,
+// so thousands of loaded rows of the same type share a single String.
+// Keys are only ever added, never changed, so a cached mapping can't go stale.
+// A new name is refused once the table holds maxEntries names, so free text can't
+// grow it without bound or past the range of its key column.
+public class DictionaryTable {
+
+	// Never an IDENTITY(1, 1) key, so a filter on it matches no row
+	public static final int UNKNOWN = 0;
+
+	private final JdbcTemplate jdbcTemplate;
+	private final String table;
+	private final int maxEntries;
+	private final String selectAllSql;
+	private final String selectIdSql;
+	private final String selectNameSql;
+	private final String insertSql;
+	private final String countSql;
+	private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+	private final Map<Integer, String> names = new ConcurrentHashMap<>();
+
+	DictionaryTable(JdbcTemplate jdbcTemplate, String table, int maxEntries) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.table = table;
+		this.maxEntries = maxEntries;
+		this.selectAllSql = "SELECT id, name FROM " + table;
+		this.selectIdSql = "SELECT id FROM " + table + " WHERE name = ?";
+		this.selectNameSql = "SELECT name FROM " + table + " WHERE id = ?";
+		this.insertSql = "INSERT INTO " + table + " (name) VALUES (?)";
+		this.countSql = "SELECT COUNT(*) FROM " + table;
+	}
+
+	public void loadAll() {
+		jdbcTemplate.query(selectAllSql, rs -> {
+			put(rs.getInt("id"), rs.getString("name"));
+		});
+	}
+
+	// Key of the name; a name seen for the first time gets a new row.
+	// IllegalArgumentException when that would take the table past maxEntries
+	public int idOf(String name) {
+		Integer id = ids.get(name);
+		return id != null ? id : register(name);
+	}
+
+	// Key of an already registered name, UNKNOWN when there is none; never inserts,
+	// so names that only appear in query filters don't end up in the table
+	public int existingIdOf(String name) {
+		Integer id = ids.get(name);
+		if (id == null) {
+			id = find(name);
+			if (id == null) {
+				return UNKNOWN;
+			}
+			put(id, name);
+		}
+		return id;
+	}
+
+	// Canonical instance of the name stored under the key
+	public String nameOf(int id) {
+		String name = names.get(id);
+		if (name != null) {
+			return name;
+		}
+		List<String> found = jdbcTemplate.queryForList(selectNameSql, String.class, id);
+		if (found.isEmpty()) {
+			throw new IllegalStateException("No " + table + " entry with id " + id);
+		}
+		return put(id, found.get(0));
+	}
+
+	public int size() {
+		return names.size();
+	}
+
+	// Serialized so one node inserts a new name once; other nodes inserting the same
+	// name concurrently hit the unique constraint and read the winner's key
+	private synchronized int register(String name) {
+		Integer id = ids.get(name);
+		if (id != null) {
+			return id;
+		}
+		id = find(name);
+		if (id == null) {
+			if (jdbcTemplate.queryForObject(countSql, Integer.class) >= maxEntries) {
+				throw new IllegalArgumentException(
+						"Cannot add '" + name + "': " + table + " already holds " + maxEntries + " names");
+			}
+			try {
+				jdbcTemplate.update(insertSql, name);
+			} catch (DuplicateKeyException e) {
+				// inserted by another node in between
+			}
+			id = find(name);
+		}
+		put(id, name);
+		return id;
+	}
+
+	private Integer find(String name) {
+		List<Integer> found = jdbcTemplate.queryForList(selectIdSql, Integer.class, name);
+		return found.isEmpty() ? null : found.get(0);
+	}
+
+	private String put(int id, String name) {
+		String canonical = names.computeIfAbsent(id, key -> name);
+		ids.putIfAbsent(canonical, id);
+		return canonical;
+	}
+}
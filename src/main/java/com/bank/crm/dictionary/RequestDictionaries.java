@@ -0,0 +1,73 @@
+package com.bank.crm.dictionary;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.shard.ShardRoutingDataSource;
+
+// dbo.request_types and dbo.assignees (db/009_request_dictionaries.sql): service_requests
+// stores their keys instead of repeating the strings on every row and index entry.
+// The dictionaries live in the shard 0 database only, so a key means the same name on
+// every shard. Lookups go through their own DataSource instance: Spring does not join
+// them to the caller's JPA transaction, so a name registered while saving a request
+// stays registered (and cached) even if that transaction rolls back. Writers register
+// names before they save (CrmService.registerNames, the importer's row check), so the
+// converters find them cached and a flush never waits for a second connection; the
+// converters themselves never register a name.
+@Component
+public class RequestDictionaries {
+
+	private static final Logger log = LoggerFactory.getLogger(RequestDictionaries.class);
+
+	private final DictionaryTable requestTypes;
+	private final DictionaryTable assignees;
+
+	@Autowired
+	public RequestDictionaries(DataSource dataSource, ObjectProvider<ShardRoutingDataSource> shards,
+			DictionaryProperties properties) {
+		this(shards.getIfAvailable() != null ? shards.getIfAvailable().shard(0) : dataSource, properties);
+	}
+
+	public RequestDictionaries(DataSource home) {
+		this(home, new DictionaryProperties());
+	}
+
+	public RequestDictionaries(DataSource home, DictionaryProperties properties) {
+		if (properties.getMaxRequestTypes() > Short.MAX_VALUE) {
+			throw new IllegalArgumentException("crm.dictionary.max-request-types must be at most " + Short.MAX_VALUE);
+		}
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(new DelegatingDataSource(home));
+		this.requestTypes = new DictionaryTable(jdbcTemplate, "dbo.request_types", properties.getMaxRequestTypes());
+		this.assignees = new DictionaryTable(jdbcTemplate, "dbo.assignees", properties.getMaxAssignees());
+	}
+
+	// Both tables are small; loading them up front spares the first requests a round trip
+	@EventListener(ApplicationReadyEvent.class)
+	public void preload() {
+		try {
+			requestTypes.loadAll();
+			assignees.loadAll();
+			log.info("Loaded {} request types and {} assignees", requestTypes.size(), assignees.size());
+		} catch (DataAccessException e) {
+			log.warn("Could not preload request dictionaries, names are loaded on first use: {}", e.getMessage());
+		}
+	}
+
+	public DictionaryTable requestTypes() {
+		return requestTypes;
+	}
+
+	public DictionaryTable assignees() {
+		return assignees;
+	}
+}
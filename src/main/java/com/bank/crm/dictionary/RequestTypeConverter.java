@@ -0,0 +1,27 @@
+package com.bank.crm.dictionary;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+// requestType <-> dbo.request_types.id; created by Hibernate through Spring's bean container.
+// Only looks names up: the converter also binds query parameters, so writers register
+// new names first (CrmService.registerNames) and an unknown filter value matches nothing
+@Converter
+public class RequestTypeConverter implements AttributeConverter<String, Short> {
+
+	private final RequestDictionaries dictionaries;
+
+	public RequestTypeConverter(RequestDictionaries dictionaries) {
+		this.dictionaries = dictionaries;
+	}
+
+	@Override
+	public Short convertToDatabaseColumn(String requestType) {
+		return requestType == null ? null : (short) dictionaries.requestTypes().existingIdOf(requestType);
+	}
+
+	@Override
+	public String convertToEntityAttribute(Short id) {
+		return id == null ? null : dictionaries.requestTypes().nameOf(id);
+	}
+}
@@ -0,0 +1,18 @@
+package com.bank.crm.dto;
+
+import com.bank.crm.entity.RequestStatus;
+
+import lombok.Data;
+
+// Criteria for bulk operations; null fields are not filtered on
+@Data
+public class BulkRequestFilter {
+
+	private RequestStatus currentStatus;
+
+	private String requestType;
+
+	private String customerId;
+
+	private String assignedTo;
+}
@@ -0,0 +1,24 @@
+package com.bank.crm.dto;
+
+import java.util.List;
+
+import com.bank.crm.entity.RequestStatus;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+// Either ids or filter selects the requests, not both
+@Data
+public class BulkStatusUpdateDto {
+
+	private List<Long> ids;
+
+	@Valid
+	private BulkRequestFilter filter;
+
+	@NotNull(message = "Status is required")
+	private RequestStatus status;
+
+	private String assignedTo;
+}
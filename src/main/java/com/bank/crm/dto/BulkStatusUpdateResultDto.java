@@ -0,0 +1,17 @@
+package com.bank.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResultDto {
+
+	private int requested; // ids ที่ส่งมา หรือจำนวนที่ตรงกับ filter
+
+	private int affected;
+
+	private int skipped; // ไม่พบ หรือปิดไปแล้ว (COMPLETED/CANCELED)
+}
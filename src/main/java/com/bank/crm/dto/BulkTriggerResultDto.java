@@ -0,0 +1,25 @@
+package com.bank.crm.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkTriggerResultDto {
+
+	private int requested; // ids ไม่ซ้ำ
+
+	private int sent;
+
+	private int notFound;
+
+	private int failed;
+
+	private long elapsedMillis;
+
+	private List<TriggerOutcomeDto> outcomes; // ตามลำดับ ids ที่ส่งมา
+}
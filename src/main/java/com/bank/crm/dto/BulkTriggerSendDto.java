@@ -0,0 +1,19 @@
+package com.bank.crm.dto;
+
+import java.util.List;
+
+import com.bank.crm.entity.ActionStatus;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class BulkTriggerSendDto {
+
+	@NotEmpty(message = "At least one request id is required")
+	private List<Long> ids;
+
+	@NotNull(message = "Action is required")
+	private ActionStatus action;
+}
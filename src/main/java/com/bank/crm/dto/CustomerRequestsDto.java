@@ -0,0 +1,24 @@
+package com.bank.crm.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import com.bank.crm.entity.RequestStatus;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerRequestsDto {
+
+	private String customerId;
+	private long openCount; // ทุกสถานะยกเว้น COMPLETED/CANCELED
+	private long totalCount;
+	private Map<RequestStatus, Long> countsByStatus;
+	private LocalDateTime lastActivityAt;
+	private List<ServiceRequestDto> recentRequests; // ล่าสุดก่อน
+}
@@ -0,0 +1,27 @@
+package com.bank.crm.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRollupDto {
+
+	private LocalDate reportDate;
+	private String requestType;
+	private long created;
+	private long completed;
+	private long canceled;
+	private long forwarded; // ส่งต่อ Back Office สำเร็จ (นับทุกครั้งที่ส่ง)
+	private long forwardFailed;
+
+	// share of back-office attempts that failed; null without attempts
+	public Double getForwardFailureRate() {
+		long attempts = forwarded + forwardFailed;
+		return attempts == 0 ? null : (double) forwardFailed / attempts;
+	}
+}
@@ -0,0 +1,28 @@
+package com.bank.crm.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportReportDto {
+
+	private String importId;
+
+	private long rowsRead;
+
+	private long rowsImported;
+
+	private long rowsSkipped; // นำเข้าแล้วในรอบก่อน (resume)
+
+	private long rowsRejected;
+
+	// false when the file could not be read to the end; committed rows stay imported
+	private boolean complete;
+
+	private List<String> firstErrors; // the full list is in the error report
+}
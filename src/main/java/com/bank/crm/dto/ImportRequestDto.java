@@ -0,0 +1,23 @@
+package com.bank.crm.dto;
+
+import java.time.LocalDateTime;
+
+import com.bank.crm.entity.RequestStatus;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+// One row of a bulk import: a CreateRequestDto plus the state of a request taken over
+// from a legacy system. Empty columns mean PENDING, unassigned and created now.
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class ImportRequestDto extends CreateRequestDto {
+
+	private RequestStatus status;
+
+	private String assignedTo;
+
+	private LocalDateTime createdAt;
+
+	private LocalDateTime updatedAt;
+}
@@ -0,0 +1,29 @@
+package com.bank.crm.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+import com.bank.crm.entity.ServiceRequestPayment;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PaymentLookupDto {
+
+	private String paymentTransactionRef;
+	private BigDecimal amountPaid;
+	private OffsetDateTime paymentTimestamp;
+	private String eventId;
+	private LocalDateTime recordedAt;
+	private ServiceRequestDto request; // null when the request no longer exists
+
+	public static PaymentLookupDto of(ServiceRequestPayment payment, ServiceRequestDto request) {
+		return new PaymentLookupDto(payment.getPaymentTransactionRef(), payment.getAmountPaid(), payment.getPaidAt(),
+				payment.getEventId(), payment.getRecordedAt(), request);
+	}
+}
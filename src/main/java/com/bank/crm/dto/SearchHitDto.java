@@ -0,0 +1,15 @@
+package com.bank.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitDto {
+
+	private Long id;
+	private double score; // BM25, สูงกว่า = ตรงกว่า
+	private ServiceRequestDto request;
+}
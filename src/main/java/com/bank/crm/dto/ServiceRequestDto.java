@@ -2,13 +2,18 @@ package com.bank.crm.dto;
 
 import java.time.LocalDateTime;
 
+import com.bank.crm.entity.ArchivedServiceRequest;
 import com.bank.crm.entity.RequestStatus;
 import com.bank.crm.entity.ServiceRequest;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class ServiceRequestDto {
 
 	private Long id;
@@ -24,18 +29,18 @@ public class ServiceRequestDto {
 	public static ServiceRequestDto fromEntity(ServiceRequest entity) {
 		if (entity == null)
 			return null;
-		ServiceRequestDto dto = new ServiceRequestDto();
-		dto.setId(entity.getId());
-		dto.setCustomerId(entity.getCustomerId());
-		dto.setRequestType(entity.getRequestType());
-		dto.setRequestDetails(entity.getRequestDetails());
-		dto.setStatus(entity.getStatus());
-		dto.setAssignedTo(entity.getAssignedTo());
-		dto.setCreatedAt(entity.getCreatedAt());
-		dto.setUpdatedAt(entity.getUpdatedAt());
-
-		return dto;
+		return new ServiceRequestDto(entity.getId(), entity.getCustomerId(), entity.getRequestType(),
+				entity.getRequestDetails(), entity.getStatus(), entity.getAssignedTo(), entity.getCreatedAt(),
+				entity.getUpdatedAt());
+	}
 
+	//Archived Entity -> DTO
+	public static ServiceRequestDto fromEntity(ArchivedServiceRequest entity) {
+		if (entity == null)
+			return null;
+		return new ServiceRequestDto(entity.getId(), entity.getCustomerId(), entity.getRequestType(),
+				entity.getRequestDetails(), entity.getStatus(), entity.getAssignedTo(), entity.getCreatedAt(),
+				entity.getUpdatedAt());
 	}
 
 }
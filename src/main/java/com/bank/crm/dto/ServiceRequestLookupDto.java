@@ -0,0 +1,18 @@
+package com.bank.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// One entry of a multi-get, in the position of its id in the request
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceRequestLookupDto {
+
+	private Long id;
+
+	private boolean found; // false: ไม่มีคำขอนี้ (ทั้งในตารางหลักและ archive)
+
+	private ServiceRequestDto request; // null เมื่อ found = false
+}
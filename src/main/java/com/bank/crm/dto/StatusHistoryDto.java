@@ -0,0 +1,24 @@
+package com.bank.crm.dto;
+
+import java.time.LocalDateTime;
+
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusHistoryDto {
+
+	private Long requestId;
+	private Operation operation;
+	private RequestStatus previousStatus; // null สำหรับ CREATED
+	private RequestStatus newStatus;
+	private String assignedTo;
+	private String detail;
+	private LocalDateTime changedAt;
+}
@@ -0,0 +1,23 @@
+package com.bank.crm.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TriggerOutcomeDto {
+
+	private Long requestId;
+
+	private Outcome outcome;
+
+	private String error; // เฉพาะ FAILED
+
+	public enum Outcome {
+		SENT,
+		NOT_FOUND, // ไม่พบ หรือถูก archive ไปแล้ว
+		FAILED
+	}
+}
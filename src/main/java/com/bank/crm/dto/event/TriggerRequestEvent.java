@@ -1,7 +1,9 @@
 package com.bank.crm.dto.event;
 
-import java.util.Map;
+import com.bank.crm.dto.event.payload.TriggerPayload;
 import com.bank.crm.entity.ActionStatus;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -10,6 +12,7 @@ import lombok.NoArgsConstructor;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonDeserialize(using = TriggerRequestEventDeserializer.class)
 public class TriggerRequestEvent {
 
 	private String sourceService; // ชื่อ Service ที่เรียกมา (Optional)
@@ -20,5 +23,5 @@ public class TriggerRequestEvent {
 	@NotNull(message = "Service Request ID cannot be null")
 	private Long relatedId; // *** ID ของ ServiceRequest ที่เกี่ยวข้อง ***
 
-	private Map<String, Object> data;
+	private TriggerPayload data; // ชนิดของ payload ขึ้นกับ action
 }
@@ -0,0 +1,107 @@
+package com.bank.crm.dto.event;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import com.bank.crm.dto.event.payload.AssignAgentPayload;
+import com.bank.crm.dto.event.payload.EscalateIssuePayload;
+import com.bank.crm.dto.event.payload.NotifyStatusUpdatePayload;
+import com.bank.crm.dto.event.payload.RequestAdditionalInfoPayload;
+import com.bank.crm.dto.event.payload.TriggerPayload;
+import com.bank.crm.dto.event.payload.UpdateStatusPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.deser.ResolvableDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+// Binds "data" directly into the payload class of the event's "action".
+// Senders put "action" before "data", so the payload is read in a single pass;
+// only when "data" comes first is it buffered until the action is known.
+public class TriggerRequestEventDeserializer extends StdDeserializer<TriggerRequestEvent>
+		implements ResolvableDeserializer {
+
+	private static final Map<ActionStatus, Class<? extends TriggerPayload>> PAYLOAD_TYPES = new EnumMap<>(
+			ActionStatus.class);
+
+	static {
+		PAYLOAD_TYPES.put(ActionStatus.UPDATE_STATUS, UpdateStatusPayload.class);
+		PAYLOAD_TYPES.put(ActionStatus.ASSIGN_AGENT, AssignAgentPayload.class);
+		PAYLOAD_TYPES.put(ActionStatus.NOTIFY_STATUS_UPDATE, NotifyStatusUpdatePayload.class);
+		PAYLOAD_TYPES.put(ActionStatus.REQUEST_ADDITIONAL_INFO, RequestAdditionalInfoPayload.class);
+		PAYLOAD_TYPES.put(ActionStatus.ESCALATE_ISSUE, EscalateIssuePayload.class);
+	}
+
+	// Resolved once per ObjectMapper instead of being looked up for every trigger
+	private JsonDeserializer<Object> actionDeserializer;
+	private JsonDeserializer<Object> idDeserializer;
+	private final Map<ActionStatus, JsonDeserializer<Object>> payloadDeserializers = new EnumMap<>(ActionStatus.class);
+
+	public TriggerRequestEventDeserializer() {
+		super(TriggerRequestEvent.class);
+	}
+
+	@Override
+	public void resolve(DeserializationContext ctxt) throws JsonMappingException {
+		actionDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(ActionStatus.class));
+		idDeserializer = ctxt.findRootValueDeserializer(ctxt.constructType(Long.class));
+		for (Map.Entry<ActionStatus, Class<? extends TriggerPayload>> entry : PAYLOAD_TYPES.entrySet()) {
+			payloadDeserializers.put(entry.getKey(),
+					ctxt.findRootValueDeserializer(ctxt.constructType(entry.getValue())));
+		}
+	}
+
+	@Override
+	public TriggerRequestEvent deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+		TriggerRequestEvent event = new TriggerRequestEvent();
+		TokenBuffer pendingData = null;
+
+		JsonToken t = p.currentToken();
+		if (t == JsonToken.START_OBJECT) {
+			t = p.nextToken();
+		}
+		for (; t == JsonToken.FIELD_NAME; t = p.nextToken()) {
+			String name = p.currentName();
+			JsonToken value = p.nextToken();
+			switch (name) {
+			case "sourceService" -> event.setSourceService(value == JsonToken.VALUE_NULL ? null : p.getValueAsString());
+			case "action" -> event
+					.setAction(value == JsonToken.VALUE_NULL ? null : (ActionStatus) actionDeserializer.deserialize(p, ctxt));
+			case "relatedId" -> event
+					.setRelatedId(value == JsonToken.VALUE_NULL ? null : (Long) idDeserializer.deserialize(p, ctxt));
+			case "data" -> {
+				if (value == JsonToken.VALUE_NULL) {
+					event.setData(null);
+				} else if (event.getAction() != null) {
+					event.setData(readPayload(p, ctxt, event.getAction()));
+				} else {
+					pendingData = ctxt.bufferAsCopyOfValue(p);
+				}
+			}
+			default -> ctxt.handleUnknownProperty(p, this, TriggerRequestEvent.class, name);
+			}
+		}
+
+		if (pendingData != null && event.getAction() != null) {
+			try (JsonParser buffered = pendingData.asParserOnFirstToken()) {
+				event.setData(readPayload(buffered, ctxt, event.getAction()));
+			}
+		}
+		return event;
+	}
+
+	private TriggerPayload readPayload(JsonParser p, DeserializationContext ctxt, ActionStatus action)
+			throws IOException {
+		JsonDeserializer<Object> deserializer = payloadDeserializers.get(action);
+		if (deserializer == null) {
+			p.skipChildren();
+			return null;
+		}
+		return (TriggerPayload) deserializer.deserialize(p, ctxt);
+	}
+}
@@ -0,0 +1,13 @@
+package com.bank.crm.dto.event.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignAgentPayload implements TriggerPayload {
+
+	private String agentId;
+}
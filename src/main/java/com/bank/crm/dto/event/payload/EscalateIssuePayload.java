@@ -0,0 +1,15 @@
+package com.bank.crm.dto.event.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EscalateIssuePayload implements TriggerPayload {
+
+	private String reason;
+
+	private String escalateTo; // ถ้าไม่ระบุจะส่งเข้า EscalationQueue
+}
@@ -0,0 +1,15 @@
+package com.bank.crm.dto.event.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotifyStatusUpdatePayload implements TriggerPayload {
+
+	private String externalStatus; // สถานะฝั่ง Service ที่แจ้งมา
+
+	private String message;
+}
@@ -0,0 +1,15 @@
+package com.bank.crm.dto.event.payload;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestAdditionalInfoPayload implements TriggerPayload {
+
+	private String requestedInfo; // ข้อมูลที่ต้องการเพิ่มจากลูกค้า
+
+	private String requestedBy;
+}
@@ -0,0 +1,7 @@
+package com.bank.crm.dto.event.payload;
+
+// Typed body of TriggerRequestEvent.data; the concrete class is chosen by the
+// event's "action" while the JSON is being read (see TriggerRequestEvent).
+public interface TriggerPayload {
+
+}
@@ -0,0 +1,18 @@
+package com.bank.crm.dto.event.payload;
+
+import com.bank.crm.entity.RequestStatus;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UpdateStatusPayload implements TriggerPayload {
+
+	// Upstream services send "in_progress" as well as "IN_PROGRESS"
+	@JsonFormat(with = JsonFormat.Feature.ACCEPT_CASE_INSENSITIVE_PROPERTIES)
+	private RequestStatus newStatus;
+}
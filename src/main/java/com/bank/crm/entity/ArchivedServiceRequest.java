@@ -0,0 +1,56 @@
+package com.bank.crm.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import com.bank.crm.dictionary.AssigneeConverter;
+import com.bank.crm.dictionary.RequestTypeConverter;
+
+// Closed ServiceRequest moved out of the hot table by RequestArchivalJob.
+// Rows are written by the job's set-based DELETE ... OUTPUT INTO and are read-only.
+@Entity
+@Table(name = "service_requests_archive", schema = "dbo")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ArchivedServiceRequest {
+
+	@Id
+	private Long id; // id เดิมจาก service_requests
+
+	@Column(nullable = false)
+	private String customerId;
+
+	@Column(name = "request_type_id", nullable = false)
+	@Convert(converter = RequestTypeConverter.class)
+	private String requestType;
+
+	@Column(columnDefinition = "nvarchar(max)")
+	private String requestDetails;
+
+	@Column(nullable = false)
+	@Enumerated(EnumType.STRING)
+	private RequestStatus status;
+
+	@Column(name = "assigned_to_id")
+	@Convert(converter = AssigneeConverter.class)
+	private String assignedTo;
+
+	@Column(nullable = false)
+	private LocalDateTime createdAt;
+
+	private LocalDateTime updatedAt;
+
+	@Column(nullable = false)
+	private LocalDateTime archivedAt;
+}
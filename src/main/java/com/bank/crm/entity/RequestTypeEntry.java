@@ -0,0 +1,27 @@
+package com.bank.crm.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Row of the request type dictionary; read and written by RequestDictionaries over JDBC
+@Entity
+@Table(name = "request_types", schema = "dbo")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RequestTypeEntry {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Short id;
+
+	@Column(nullable = false, unique = true)
+	private String name;
+}
@@ -4,24 +4,32 @@ import java.time.LocalDateTime;
 
 
 import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PostLoad;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import jakarta.persistence.Transient;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import com.bank.crm.dictionary.AssigneeConverter;
+import com.bank.crm.dictionary.RequestTypeConverter;
+
 @Entity
-@Table(name = "service_requests", schema = "dbo")
+@Table(name = "service_requests", schema = "dbo", indexes = {
+		@Index(name = "ix_service_requests_status", columnList = "status, id"),
+		@Index(name = "ix_service_requests_customer", columnList = "customerId, id"),
+		@Index(name = "ix_service_requests_updated", columnList = "updatedAt") })
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class ServiceRequest {
 
 	@Id
@@ -31,7 +39,8 @@ public class ServiceRequest {
 	@Column(nullable = false)
 	private String customerId; // รหัสลูกค้า
 
-	@Column(nullable = false)
+	@Column(name = "request_type_id", nullable = false)
+	@Convert(converter = RequestTypeConverter.class)
 	private String requestType; // ประเภทคำขอ
 
 	@Column(columnDefinition="nvarchar(max)")
@@ -41,6 +50,8 @@ public class ServiceRequest {
 	@Enumerated(EnumType.STRING)
 	private RequestStatus status; // สถานะคำขอ
 
+	@Column(name = "assigned_to_id")
+	@Convert(converter = AssigneeConverter.class)
 	private String assignedTo; // ผู้รับผิดชอบใน Back-office (ถ้ามี)
 
 	@Column(nullable = false, updatable = false)
@@ -48,14 +59,44 @@ public class ServiceRequest {
 
 	private LocalDateTime updatedAt;
 
+	// When the request entered its current status; SLA deadlines count from here
+	@Column(nullable = false)
+	private LocalDateTime statusChangedAt;
+
+	@Transient
+	private RequestStatus loadedStatus;
+
+	public ServiceRequest(Long id, String customerId, String requestType, String requestDetails, RequestStatus status,
+			String assignedTo, LocalDateTime createdAt, LocalDateTime updatedAt) {
+		this.id = id;
+		this.customerId = customerId;
+		this.requestType = requestType;
+		this.requestDetails = requestDetails;
+		this.status = status;
+		this.assignedTo = assignedTo;
+		this.createdAt = createdAt;
+		this.updatedAt = updatedAt;
+	}
+
 	@PrePersist
 	protected void onCreate() {
 		createdAt = LocalDateTime.now();
+		statusChangedAt = createdAt;
 		status = RequestStatus.PENDING; // สถานะเริ่มต้น
+		loadedStatus = status;
+	}
+
+	@PostLoad
+	protected void onLoad() {
+		loadedStatus = status;
 	}
 
 	@PreUpdate
 	protected void onUpdate() {
 		updatedAt = LocalDateTime.now();
+		if (status != loadedStatus) {
+			statusChangedAt = updatedAt;
+			loadedStatus = status;
+		}
 	}
 }
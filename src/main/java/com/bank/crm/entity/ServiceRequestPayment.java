@@ -0,0 +1,58 @@
+package com.bank.crm.entity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Payment that completed a request (PaymentCompletedEvent). Lives in the database of the
+// request's shard and is written in the same transaction as the status change; the unique
+// index covers one shard, so with sharding a new ref is first reserved on shard 0
+// (PaymentRefRegistry).
+@Entity
+@Table(name = "service_request_payments", schema = "dbo", indexes = {
+		@Index(name = "ux_service_request_payments_ref", columnList = "paymentTransactionRef", unique = true),
+		@Index(name = "ix_service_request_payments_request", columnList = "requestId") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServiceRequestPayment {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long requestId;
+
+	@Column(nullable = false, length = 100)
+	private String paymentTransactionRef; // เลขอ้างอิงรายการชำระเงิน
+
+	@Column(nullable = false, precision = 19, scale = 4)
+	private BigDecimal amountPaid;
+
+	@Column(nullable = false)
+	private OffsetDateTime paidAt; // paymentTimestamp ของ Payment Service
+
+	@Column(nullable = false, length = 100)
+	private String eventId;
+
+	@Column(nullable = false, updatable = false)
+	private LocalDateTime recordedAt;
+
+	@PrePersist
+	protected void onCreate() {
+		recordedAt = LocalDateTime.now();
+	}
+}
@@ -0,0 +1,27 @@
+package com.bank.crm.event;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+
+// Published by CrmService for every create/transition of a ServiceRequest.
+// Listeners use @TransactionalEventListener so they only see committed changes.
+public record ServiceRequestChangedEvent(Operation operation, RequestStatus previousStatus, ServiceRequestDto request,
+		String detail) {
+
+	public enum Operation {
+		CREATED,
+		STATUS_UPDATED,
+		BULK_STATUS_UPDATED,
+		FORWARDED,
+		PAYMENT_COMPLETED,
+		TRIGGER_APPLIED
+	}
+
+	public Long requestId() {
+		return request.getId();
+	}
+
+	public boolean statusChanged() {
+		return previousStatus != request.getStatus();
+	}
+}
@@ -0,0 +1,82 @@
+package com.bank.crm.forward;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Lease bookkeeping on dbo.service_requests (db/005_service_requests_forward_lease.sql).
+// All times are the database's, so nodes with skewed clocks still agree on expiry
+// (DATEADD takes an int, hence millis as int: leases and backoffs up to ~24 days).
+@Component
+public class ForwardLeaseStore {
+
+	// UPDLOCK + READPAST: concurrent claimers skip each other's rows instead of
+	// waiting, and the UPDATE commits the lease atomically with the selection
+	private static final String CLAIM_SQL = """
+			UPDATE TOP (:batchSize) dbo.service_requests WITH (UPDLOCK, READPAST, ROWLOCK)
+			SET lease_owner = :owner, lease_until = DATEADD(millisecond, :leaseMillis, SYSDATETIME())
+			OUTPUT INSERTED.id, INSERTED.forward_attempts
+			WHERE status = 'FORWARD_FAILED' AND forward_attempts < :maxAttempts
+			  AND (lease_until IS NULL OR lease_until < SYSDATETIME())
+			""";
+
+	private static final String EXTEND_SQL = """
+			UPDATE dbo.service_requests
+			SET lease_until = DATEADD(millisecond, :leaseMillis, SYSDATETIME())
+			OUTPUT INSERTED.id
+			WHERE id IN (:ids) AND lease_owner = :owner
+			""";
+
+	private static final String RELEASE_SQL = """
+			UPDATE dbo.service_requests SET lease_owner = NULL, lease_until = NULL, forward_attempts = 0
+			WHERE id = :id AND lease_owner = :owner
+			""";
+
+	// lease_until doubles as "not before" for the next attempt
+	private static final String RELEASE_FOR_RETRY_SQL = """
+			UPDATE dbo.service_requests
+			SET lease_owner = NULL, lease_until = DATEADD(millisecond, :backoffMillis, SYSDATETIME()),
+			    forward_attempts = forward_attempts + 1
+			WHERE id = :id AND lease_owner = :owner
+			""";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public ForwardLeaseStore(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	public List<ClaimedRequest> claim(String owner, int batchSize, Duration lease, int maxAttempts) {
+		return jdbcTemplate.query(CLAIM_SQL, new MapSqlParameterSource()
+				.addValue("batchSize", batchSize)
+				.addValue("owner", owner)
+				.addValue("leaseMillis", Math.toIntExact(lease.toMillis()))
+				.addValue("maxAttempts", maxAttempts),
+				(rs, rowNum) -> new ClaimedRequest(rs.getLong("id"), rs.getInt("forward_attempts")));
+	}
+
+	// Ids among the given ones that this owner still holds
+	public List<Long> extend(Collection<Long> ids, String owner, Duration lease) {
+		return jdbcTemplate.queryForList(EXTEND_SQL, new MapSqlParameterSource()
+				.addValue("ids", ids)
+				.addValue("owner", owner)
+				.addValue("leaseMillis", Math.toIntExact(lease.toMillis())), Long.class);
+	}
+
+	public void release(long id, String owner) {
+		jdbcTemplate.update(RELEASE_SQL, new MapSqlParameterSource("id", id).addValue("owner", owner));
+	}
+
+	public void releaseForRetry(long id, String owner, Duration backoff) {
+		jdbcTemplate.update(RELEASE_FOR_RETRY_SQL, new MapSqlParameterSource("id", id)
+				.addValue("owner", owner)
+				.addValue("backoffMillis", Math.toIntExact(backoff.toMillis())));
+	}
+
+	public record ClaimedRequest(long id, int attempts) {
+	}
+}
@@ -0,0 +1,33 @@
+package com.bank.crm.forward;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.forward-retry")
+public class ForwardRetryProperties {
+
+	private boolean enabled = false;
+
+	// Identifies this instance in lease_owner; defaults to host name and pid
+	private String nodeId;
+
+	private Duration interval = Duration.ofSeconds(30);
+
+	// Requests claimed per shard and run
+	private int batchSize = 20;
+
+	// Other nodes may claim the request once its lease has expired
+	private Duration leaseDuration = Duration.ofMinutes(2);
+
+	// Delay before the next attempt doubles per failed attempt, up to maxBackoff
+	private Duration initialBackoff = Duration.ofMinutes(1);
+
+	private Duration maxBackoff = Duration.ofHours(1);
+
+	// Left in FORWARD_FAILED for manual handling after this many re-forwards
+	private int maxAttempts = 10;
+}
@@ -0,0 +1,149 @@
+package com.bank.crm.forward;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.forward.ForwardLeaseStore.ClaimedRequest;
+import com.bank.crm.service.CrmService;
+import com.bank.crm.shard.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Re-forwards FORWARD_FAILED requests to the back office. Every instance claims a
+// batch under a lease (ForwardLeaseStore), so N instances split the failed requests
+// between them and no request is sent twice while its lease is held. Leases are
+// extended while a long batch is still being worked through. A request that is no
+// longer FORWARD_FAILED when its turn comes (cancelled, taken back by an agent) is
+// released without being sent.
+// Counters: crm.forward.retry{outcome=forwarded|failed|lease_lost|skipped}
+@Component
+@ConditionalOnProperty(prefix = "crm.forward-retry", name = "enabled", havingValue = "true")
+public class ForwardRetryWorker {
+
+	private static final Logger log = LoggerFactory.getLogger(ForwardRetryWorker.class);
+
+	private final ForwardRetryProperties properties;
+	private final ForwardLeaseStore leases;
+	private final CrmService crmService;
+	private final ShardRouter shardRouter;
+	private final LongSupplier nanoClock;
+	private final String nodeId;
+	private final Counter forwarded;
+	private final Counter failed;
+	private final Counter leaseLost;
+	private final Counter skipped;
+
+	@Autowired
+	public ForwardRetryWorker(ForwardRetryProperties properties, ForwardLeaseStore leases, CrmService crmService,
+			ShardRouter shardRouter, MeterRegistry meterRegistry) {
+		this(properties, leases, crmService, shardRouter, meterRegistry, System::nanoTime);
+	}
+
+	ForwardRetryWorker(ForwardRetryProperties properties, ForwardLeaseStore leases, CrmService crmService,
+			ShardRouter shardRouter, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+		this.properties = properties;
+		this.leases = leases;
+		this.crmService = crmService;
+		this.shardRouter = shardRouter;
+		this.nanoClock = nanoClock;
+		// RuntimeMXBean name is "pid@host"
+		this.nodeId = properties.getNodeId() != null ? properties.getNodeId()
+				: ManagementFactory.getRuntimeMXBean().getName();
+		this.forwarded = meterRegistry.counter("crm.forward.retry", "outcome", "forwarded");
+		this.failed = meterRegistry.counter("crm.forward.retry", "outcome", "failed");
+		this.leaseLost = meterRegistry.counter("crm.forward.retry", "outcome", "lease_lost");
+		this.skipped = meterRegistry.counter("crm.forward.retry", "outcome", "skipped");
+	}
+
+	@Scheduled(fixedDelayString = "${crm.forward-retry.interval:30s}")
+	public void run() {
+		shardRouter.forEachShard(shard -> {
+			try {
+				retryClaimedBatch();
+			} catch (RuntimeException e) {
+				log.error("Re-forwarding on shard {} failed: {}", shard, e.getMessage(), e);
+			}
+		});
+	}
+
+	// Claims, re-forwards and releases one batch on the current shard; returns the number forwarded
+	int retryClaimedBatch() {
+		List<ClaimedRequest> claimed = leases.claim(nodeId, properties.getBatchSize(), properties.getLeaseDuration(),
+				properties.getMaxAttempts());
+		if (claimed.isEmpty()) {
+			return 0;
+		}
+		log.info("Node {} claimed {} FORWARD_FAILED requests for re-forwarding", nodeId, claimed.size());
+
+		long leaseNanos = properties.getLeaseDuration().toNanos();
+		long renewAt = nanoClock.getAsLong() + leaseNanos / 2;
+		Set<Long> lost = new HashSet<>();
+		int done = 0;
+		for (int i = 0; i < claimed.size(); i++) {
+			ClaimedRequest request = claimed.get(i);
+			if (nanoClock.getAsLong() >= renewAt) {
+				List<Long> remaining = claimed.subList(i, claimed.size()).stream().map(ClaimedRequest::id).toList();
+				Set<Long> held = new HashSet<>(leases.extend(remaining, nodeId, properties.getLeaseDuration()));
+				remaining.stream().filter(id -> !held.contains(id)).forEach(lost::add);
+				renewAt = nanoClock.getAsLong() + leaseNanos / 2;
+			}
+			if (lost.contains(request.id())) {
+				// the lease ran out and another node may be sending it already
+				leaseLost.increment();
+				continue;
+			}
+			if (reforward(request)) {
+				done++;
+			}
+		}
+		return done;
+	}
+
+	private boolean reforward(ClaimedRequest request) {
+		try {
+			Optional<ServiceRequestDto> retried = crmService.retryForwardToBackOffice(request.id());
+			if (retried.isEmpty()) {
+				leases.release(request.id(), nodeId);
+				skipped.increment();
+				return false;
+			}
+			if (retried.get().getStatus() != RequestStatus.FORWARD_FAILED) {
+				leases.release(request.id(), nodeId);
+				forwarded.increment();
+				log.info("Re-forwarded ServiceRequest ID: {} after {} failed attempts", request.id(),
+						request.attempts() + 1);
+				return true;
+			}
+		} catch (RuntimeException e) {
+			log.warn("Re-forwarding ServiceRequest ID: {} failed: {}", request.id(), e.getMessage());
+		}
+		Duration backoff = backoffAfter(request.attempts() + 1);
+		leases.releaseForRetry(request.id(), nodeId, backoff);
+		failed.increment();
+		if (request.attempts() + 1 >= properties.getMaxAttempts()) {
+			log.error("ServiceRequest ID: {} still FORWARD_FAILED after {} re-forwards; left for manual handling",
+					request.id(), request.attempts() + 1);
+		}
+		return false;
+	}
+
+	Duration backoffAfter(int attempts) {
+		Duration backoff = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 20));
+		return backoff.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : backoff;
+	}
+}
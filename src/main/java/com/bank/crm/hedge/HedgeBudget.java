@@ -0,0 +1,41 @@
+package com.bank.crm.hedge;
+
+// Hedges allowed per call over the last `capacity` events (calls and hedges), so a
+// long quiet spell does not bank budget for a burst against a slow back office
+final class HedgeBudget {
+
+	private final boolean[] hedgeEvents;
+	private final double maxRatio;
+	private int next;
+	private int size;
+	private int hedges;
+
+	HedgeBudget(int capacity, double maxRatio) {
+		this.hedgeEvents = new boolean[capacity];
+		this.maxRatio = maxRatio;
+	}
+
+	synchronized void recordCall() {
+		add(false);
+	}
+
+	synchronized boolean tryHedge() {
+		if (hedges + 1 > maxRatio * (size - hedges)) {
+			return false;
+		}
+		add(true);
+		return true;
+	}
+
+	private void add(boolean hedge) {
+		if (size == hedgeEvents.length && hedgeEvents[next]) {
+			hedges--;
+		}
+		hedgeEvents[next] = hedge;
+		if (hedge) {
+			hedges++;
+		}
+		next = (next + 1) % hedgeEvents.length;
+		size = Math.min(size + 1, hedgeEvents.length);
+	}
+}
@@ -0,0 +1,33 @@
+package com.bank.crm.hedge;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.hedging")
+public class HedgingProperties {
+
+	// Back-office submissions only; the back office must de-duplicate on Idempotency-Key
+	private boolean enabled = false;
+
+	// A second attempt is sent once the first has taken longer than this percentile
+	private double percentile = 0.95;
+
+	// Successful call latencies the percentile is computed over; also the number of
+	// recent calls maxHedgeRatio is measured over
+	private int window = 512;
+
+	// No hedging until this many latencies are known
+	private int minSamples = 50;
+
+	private Duration minDelay = Duration.ofMillis(20);
+
+	private Duration maxDelay = Duration.ofSeconds(2);
+
+	// Upper bound for hedged calls / all calls among the recent ones, so a slow back office
+	// does not get twice the load
+	private double maxHedgeRatio = 0.1;
+}
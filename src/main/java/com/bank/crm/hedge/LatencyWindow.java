@@ -0,0 +1,43 @@
+package com.bank.crm.hedge;
+
+import java.util.Arrays;
+
+// Latencies of the last `capacity` successful calls; the requested percentile is
+// recomputed every RECOMPUTE_EVERY samples rather than on every call
+final class LatencyWindow {
+
+	private static final int RECOMPUTE_EVERY = 16;
+
+	private final long[] nanos;
+	private final double percentile;
+	private int next;
+	private int size;
+	private int sinceRecompute;
+	private volatile long percentileNanos = -1;
+
+	LatencyWindow(int capacity, double percentile) {
+		this.nanos = new long[capacity];
+		this.percentile = percentile;
+	}
+
+	synchronized void record(long latencyNanos) {
+		nanos[next] = latencyNanos;
+		next = (next + 1) % nanos.length;
+		size = Math.min(size + 1, nanos.length);
+		if (++sinceRecompute >= RECOMPUTE_EVERY) {
+			sinceRecompute = 0;
+			long[] sorted = Arrays.copyOf(nanos, size);
+			Arrays.sort(sorted);
+			percentileNanos = sorted[(int) Math.min(size - 1, Math.ceil(percentile * size) - 1)];
+		}
+	}
+
+	synchronized int size() {
+		return size;
+	}
+
+	// -1 until the first recompute
+	long percentileNanos() {
+		return percentileNanos;
+	}
+}
@@ -0,0 +1,124 @@
+package com.bank.crm.hedge;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.deadline.Deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Hedged calls for idempotent submissions: when the first attempt has not answered
+// after the recent p95 latency (bounded by minDelay/maxDelay), a second identical
+// attempt is sent and whichever succeeds first is used; the other is interrupted.
+// If one attempt fails the other is still awaited. Attempts run on virtual threads
+// under the caller's Deadline. Disabled: the call runs on the caller's thread as before.
+@Component
+public class RequestHedger implements DisposableBean {
+
+	private final HedgingProperties properties;
+	private final LatencyWindow latencies;
+	private final ExecutorService executor;
+	private final HedgeBudget budget;
+	private final Counter hedgesSent;
+	private final Counter hedgesWon;
+
+	public RequestHedger(HedgingProperties properties, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.latencies = new LatencyWindow(properties.getWindow(), properties.getPercentile());
+		this.budget = new HedgeBudget(properties.getWindow(), properties.getMaxHedgeRatio());
+		this.executor = properties.isEnabled() ? Executors.newVirtualThreadPerTaskExecutor() : null;
+		this.hedgesSent = meterRegistry.counter("crm.hedge", "outcome", "sent");
+		this.hedgesWon = meterRegistry.counter("crm.hedge", "outcome", "won");
+	}
+
+	public <T> T call(Supplier<T> attempt) {
+		if (!properties.isEnabled()) {
+			return attempt.get();
+		}
+		budget.recordCall();
+		Callable<T> timed = Deadline.propagate(() -> {
+			long started = System.nanoTime();
+			T result = attempt.get();
+			latencies.record(System.nanoTime() - started);
+			return result;
+		});
+
+		ExecutorCompletionService<T> attempts = new ExecutorCompletionService<>(executor);
+		Future<T> primary = attempts.submit(timed);
+		Future<T> hedge = null;
+		try {
+			long delayNanos = hedgeDelayNanos();
+			Future<T> done = delayNanos < 0 ? attempts.take() : attempts.poll(delayNanos, TimeUnit.NANOSECONDS);
+			if (done == null) {
+				if (budget.tryHedge()) {
+					hedge = attempts.submit(timed);
+					hedgesSent.increment();
+				}
+				done = attempts.take();
+			}
+			try {
+				T result = done.get();
+				if (done == hedge) {
+					hedgesWon.increment();
+				}
+				return result;
+			} catch (ExecutionException first) {
+				if (hedge == null) {
+					throw unwrap(first);
+				}
+				// one attempt failed: the other may still succeed
+				Future<T> other = attempts.take();
+				try {
+					return other.get();
+				} catch (ExecutionException second) {
+					throw unwrap(second);
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while waiting for a hedged call", e);
+		} finally {
+			primary.cancel(true);
+			if (hedge != null) {
+				hedge.cancel(true);
+			}
+		}
+	}
+
+	// -1: do not hedge (not enough samples yet, or no budget left for a second attempt)
+	long hedgeDelayNanos() {
+		long p = latencies.percentileNanos();
+		if (p < 0 || latencies.size() < properties.getMinSamples()) {
+			return -1;
+		}
+		long delay = Math.max(properties.getMinDelay().toNanos(), Math.min(p, properties.getMaxDelay().toNanos()));
+		return delay < Deadline.remainingNanos() ? delay : -1;
+	}
+
+	private static RuntimeException unwrap(ExecutionException e) {
+		if (e.getCause() instanceof RuntimeException cause) {
+			return cause;
+		}
+		if (e.getCause() instanceof Error error) {
+			throw error;
+		}
+		return new IllegalStateException(e.getCause());
+	}
+
+	@Override
+	public void destroy() {
+		if (executor != null) {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,39 @@
+package com.bank.crm.history;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.history")
+public class HistoryProperties {
+
+	private boolean enabled = true;
+
+	private Durability durability = Durability.ASYNC;
+
+	// Capacity of the in-memory buffer between request threads and the writer
+	private int bufferSize = 8192;
+
+	// Rows per JDBC batch / commit
+	private int batchSize = 500;
+
+	// Longest time an entry waits for its batch to fill before it is written
+	private Duration flushInterval = Duration.ofMillis(100);
+
+	// How long a request thread waits for buffer space before writing its row itself
+	private Duration offerTimeout = Duration.ofMillis(50);
+
+	// AWAIT: longest wait for the history commit; the row stays buffered after a timeout
+	private Duration awaitTimeout = Duration.ofSeconds(2);
+
+	public enum Durability {
+		// request returns once the entry is buffered; a crash loses at most flushInterval of history
+		ASYNC,
+		// request waits (up to awaitTimeout) until the batch holding its entry is committed
+		// (group commit). That commit follows the change's own, it is not part of it
+		AWAIT
+	}
+}
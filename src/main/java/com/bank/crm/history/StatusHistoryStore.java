@@ -0,0 +1,291 @@
+package com.bank.crm.history;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.crm.dto.StatusHistoryDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+import com.bank.crm.shard.ShardContext;
+import com.bank.crm.shard.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Append-only status history of every committed ServiceRequest change.
+// Request threads only put the row into a bounded ring buffer; one writer thread
+// drains it and inserts up to batchSize rows per JDBC batch and commit, so the
+// audit trail costs one round trip per batch instead of one per change.
+// When the buffer is full for offerTimeout the caller inserts its own row
+// (backpressure without losing history). Rows are written after the change has
+// committed, in their own transaction (REQUIRES_NEW: an AFTER_COMMIT listener still
+// has the finished transaction's connection bound), in either durability mode.
+// History lives in the shard 0 database.
+@Component
+public class StatusHistoryStore implements SmartLifecycle {
+
+	private static final Logger log = LoggerFactory.getLogger(StatusHistoryStore.class);
+
+	private static final String INSERT_SQL = """
+			INSERT INTO dbo.service_request_history
+			    (request_id, operation, previous_status, new_status, assigned_to, detail, changed_at)
+			VALUES (?, ?, ?, ?, ?, ?, ?)
+			""";
+
+	private static final String SELECT_SQL = """
+			SELECT request_id, operation, previous_status, new_status, assigned_to, detail, changed_at
+			FROM dbo.service_request_history WHERE request_id = ? ORDER BY id
+			""";
+
+	private static final RowMapper<StatusHistoryDto> ROW_MAPPER = (rs, rowNum) -> new StatusHistoryDto(
+			rs.getLong("request_id"),
+			Operation.valueOf(rs.getString("operation")),
+			rs.getString("previous_status") != null ? RequestStatus.valueOf(rs.getString("previous_status")) : null,
+			RequestStatus.valueOf(rs.getString("new_status")),
+			rs.getString("assigned_to"),
+			rs.getString("detail"),
+			rs.getTimestamp("changed_at").toLocalDateTime());
+
+	private static final int MAX_WRITE_ATTEMPTS = 3;
+	private static final long RETRY_BACKOFF_MILLIS = 500;
+
+	private final HistoryProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ShardRouter shardRouter;
+	private final BlockingQueue<PendingEntry> buffer;
+	private final Counter written;
+	private final Counter overflowed;
+	private final Counter failed;
+
+	private volatile boolean running;
+	private Thread writer;
+
+	public StatusHistoryStore(HistoryProperties properties, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager, ShardRouter shardRouter, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.shardRouter = shardRouter;
+		this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+		this.written = meterRegistry.counter("crm.history.rows", "outcome", "written");
+		this.overflowed = meterRegistry.counter("crm.history.rows", "outcome", "overflow");
+		this.failed = meterRegistry.counter("crm.history.rows", "outcome", "failed");
+		Gauge.builder("crm.history.buffer.size", buffer, BlockingQueue::size)
+				.description("History rows waiting for the batch writer")
+				.register(meterRegistry);
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onServiceRequestChanged(ServiceRequestChangedEvent event) {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		record(new StatusHistoryDto(event.requestId(), event.operation(), event.previousStatus(),
+				event.request().getStatus(), event.request().getAssignedTo(), event.detail(), LocalDateTime.now()));
+	}
+
+	public void record(StatusHistoryDto row) {
+		boolean await = properties.getDurability() == HistoryProperties.Durability.AWAIT;
+		PendingEntry entry = new PendingEntry(row, await ? new CompletableFuture<>() : null);
+		if (!running || !offer(entry)) {
+			overflowed.increment();
+			writeDirect(row);
+			return;
+		}
+		if (await) {
+			try {
+				entry.committed().get(properties.getAwaitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+			} catch (ExecutionException e) {
+				// the writer has already logged the row; the business change itself is committed
+				log.warn("History row for ServiceRequest {} was not committed: {}", row.getRequestId(),
+						e.getCause().getMessage());
+			} catch (TimeoutException e) {
+				log.warn("History row for ServiceRequest {} not committed within {}, still buffered", row.getRequestId(),
+						properties.getAwaitTimeout());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+
+	// Committed history only; in ASYNC mode the newest changes show up within flushInterval
+	public List<StatusHistoryDto> findByRequestId(Long requestId) {
+		return jdbcTemplate.query(SELECT_SQL, ROW_MAPPER, requestId);
+	}
+
+	@Override
+	public void start() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		running = true;
+		writer = new Thread(this::drainLoop, "status-history-writer");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		if (writer != null) {
+			try {
+				writer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		// anything offered while the writer was exiting
+		List<PendingEntry> rest = new ArrayList<>();
+		buffer.drainTo(rest);
+		if (!rest.isEmpty()) {
+			writeBatch(rest);
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private boolean offer(PendingEntry entry) {
+		try {
+			return buffer.offer(entry, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void drainLoop() {
+		// AWAIT callers are waiting, so the writer does not linger for a fuller batch:
+		// whatever arrived while the previous batch was committing forms the next group
+		long lingerNanos = properties.getDurability() == HistoryProperties.Durability.AWAIT ? 0
+				: properties.getFlushInterval().toNanos();
+		int batchSize = properties.getBatchSize();
+		List<PendingEntry> batch = new ArrayList<>(batchSize);
+		while (running || !buffer.isEmpty()) {
+			try {
+				PendingEntry first = buffer.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + lingerNanos;
+				while (batch.size() < batchSize) {
+					buffer.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || remaining <= 0 || !running) {
+						break;
+					}
+					PendingEntry next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				// only stop() ends the loop, after the buffer is drained; rows taken so far are written below
+			}
+			if (batch.isEmpty()) {
+				continue;
+			}
+			try {
+				writeBatch(batch);
+			} catch (RuntimeException e) {
+				log.error("Status history writer failed on a batch of {} rows", batch.size(), e);
+				batch.forEach(entry -> entry.fail(e));
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	private void writeBatch(List<PendingEntry> batch) {
+		List<StatusHistoryDto> rows = batch.stream().map(PendingEntry::row).toList();
+		for (int attempt = 1;; attempt++) {
+			try (ShardContext.Scope shard = shardRouter.routeTo(0)) {
+				transactionTemplate.executeWithoutResult(
+						status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), StatusHistoryStore::bind));
+				written.increment(rows.size());
+				batch.forEach(PendingEntry::complete);
+				return;
+			} catch (RuntimeException e) {
+				if (attempt >= MAX_WRITE_ATTEMPTS) {
+					failed.increment(rows.size());
+					rows.forEach(row -> log.error("Status history row lost after {} attempts: {}", MAX_WRITE_ATTEMPTS, row));
+					batch.forEach(entry -> entry.fail(e));
+					return;
+				}
+				log.warn("Writing {} status history rows failed (attempt {}), retrying: {}", rows.size(), attempt,
+						e.getMessage());
+				try {
+					Thread.sleep(RETRY_BACKOFF_MILLIS * attempt);
+				} catch (InterruptedException ie) {
+					Thread.currentThread().interrupt();
+				}
+			}
+		}
+	}
+
+	// On the request thread, which may still be routed to the request's shard
+	private void writeDirect(StatusHistoryDto row) {
+		try (ShardContext.Scope shard = shardRouter.routeTo(0)) {
+			transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row)));
+			written.increment();
+		} catch (RuntimeException e) {
+			failed.increment();
+			log.error("Status history row lost: {}", row, e);
+		}
+	}
+
+	private static void bind(PreparedStatement ps, StatusHistoryDto row) throws SQLException {
+		ps.setLong(1, row.getRequestId());
+		ps.setString(2, row.getOperation().name());
+		ps.setString(3, row.getPreviousStatus() != null ? row.getPreviousStatus().name() : null);
+		ps.setString(4, row.getNewStatus().name());
+		ps.setString(5, row.getAssignedTo());
+		ps.setString(6, row.getDetail());
+		ps.setTimestamp(7, Timestamp.valueOf(row.getChangedAt()));
+	}
+
+	// committed is only set in AWAIT mode
+	private record PendingEntry(StatusHistoryDto row, CompletableFuture<Void> committed) {
+
+		void complete() {
+			if (committed != null) {
+				committed.complete(null);
+			}
+		}
+
+		void fail(Throwable cause) {
+			if (committed != null) {
+				committed.completeExceptionally(cause);
+			}
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.bank.crm.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import com.bank.crm.dto.ImportRequestDto;
+import com.bank.crm.entity.RequestStatus;
+
+// RFC 4180 CSV: the first record names the columns (ImportRequestDto field names, any
+// order and case); quoted fields may contain commas, "" and line breaks. Row number =
+// data record number, blank records are skipped.
+class CsvRowReader implements ImportRowReader {
+
+	private static final Map<String, BiConsumer<ImportRequestDto, String>> COLUMNS = Map.of(
+			"customerid", ImportRequestDto::setCustomerId,
+			"requesttype", ImportRequestDto::setRequestType,
+			"requestdetails", ImportRequestDto::setRequestDetails,
+			"status", (row, value) -> row.setStatus(RequestStatus.valueOf(value.toUpperCase(Locale.ROOT))),
+			"assignedto", ImportRequestDto::setAssignedTo,
+			"createdat", (row, value) -> row.setCreatedAt(LocalDateTime.parse(value)),
+			"updatedat", (row, value) -> row.setUpdatedAt(LocalDateTime.parse(value)));
+
+	private final Reader input;
+	private final int maxRecordLength;
+	private final List<String> header;
+	private final List<BiConsumer<ImportRequestDto, String>> setters = new ArrayList<>();
+	private final StringBuilder field = new StringBuilder();
+	private int pushedBack = -1;
+	private long rowNumber;
+
+	CsvRowReader(Reader input, int maxRecordLength) throws IOException {
+		this.input = input;
+		this.maxRecordLength = maxRecordLength;
+		List<String> names = readRecord();
+		this.header = names != null ? names : List.of();
+		for (String name : header) {
+			BiConsumer<ImportRequestDto, String> setter = COLUMNS.get(key(name));
+			if (setter == null) {
+				throw new IllegalArgumentException("Unknown CSV column: " + name);
+			}
+			setters.add(setter);
+		}
+		if (!header.isEmpty() && !header.stream().map(CsvRowReader::key).toList()
+				.containsAll(List.of("customerid", "requesttype"))) {
+			throw new IllegalArgumentException("CSV header must name customerId and requestType");
+		}
+	}
+
+	@Override
+	public ImportRow next() throws IOException {
+		List<String> record;
+		do {
+			record = readRecord();
+			if (record == null) {
+				return null;
+			}
+		} while (record.size() == 1 && record.get(0).isBlank());
+
+		rowNumber++;
+		if (record.size() != header.size()) {
+			return ImportRow.rejected(rowNumber,
+					"Expected " + header.size() + " columns but found " + record.size());
+		}
+		ImportRequestDto request = new ImportRequestDto();
+		for (int i = 0; i < record.size(); i++) {
+			String value = record.get(i);
+			if (value.isEmpty()) {
+				continue;
+			}
+			try {
+				setters.get(i).accept(request, value);
+			} catch (IllegalArgumentException | DateTimeParseException e) {
+				return ImportRow.rejected(rowNumber,
+						"Invalid " + header.get(i).replace("\uFEFF", "").strip() + ": " + value);
+			}
+		}
+		return new ImportRow(rowNumber, request, null);
+	}
+
+	// Excel writes a byte order mark before the first column name
+	private static String key(String columnName) {
+		return columnName.replace("\uFEFF", "").strip().toLowerCase(Locale.ROOT);
+	}
+
+	// null at the end of the input
+	private List<String> readRecord() throws IOException {
+		int c = read();
+		if (c == -1) {
+			return null;
+		}
+		List<String> fields = new ArrayList<>();
+		int length = 0;
+		boolean quoted = false;
+		boolean fieldStart = true;
+		field.setLength(0);
+		for (; c != -1; c = read()) {
+			if (++length > maxRecordLength) {
+				throw new MalformedImportException("Record " + (rowNumber + 1) + " is longer than " + maxRecordLength
+						+ " characters (unclosed quote?)");
+			}
+			if (quoted) {
+				if (c != '"') {
+					field.append((char) c);
+				} else {
+					int next = read();
+					if (next == '"') {
+						field.append('"');
+					} else {
+						quoted = false;
+						pushedBack = next;
+					}
+				}
+			} else if (c == '"' && fieldStart) {
+				quoted = true;
+				fieldStart = false;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+				fieldStart = true;
+			} else if (c == '\n') {
+				break;
+			} else if (c != '\r') {
+				field.append((char) c);
+				fieldStart = false;
+			}
+		}
+		if (quoted) {
+			throw new MalformedImportException("Record " + (rowNumber + 1) + " has an unclosed quote");
+		}
+		fields.add(field.toString());
+		return fields;
+	}
+
+	private int read() throws IOException {
+		if (pushedBack != -1) {
+			int c = pushedBack;
+			pushedBack = -1;
+			return c;
+		}
+		return input.read();
+	}
+}
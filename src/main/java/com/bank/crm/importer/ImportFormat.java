@@ -0,0 +1,28 @@
+package com.bank.crm.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+public enum ImportFormat {
+	// header row with the ImportRequestDto field names, RFC 4180 quoting
+	CSV("text/csv"),
+	// one ImportRequestDto JSON object per line
+	NDJSON("application/x-ndjson");
+
+	private final String mediaType;
+
+	ImportFormat(String mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public String mediaType() {
+		return mediaType;
+	}
+
+	ImportRowReader reader(Reader input, ObjectMapper objectMapper, int maxRecordLength) throws IOException {
+		return this == CSV ? new CsvRowReader(input, maxRecordLength)
+				: new NdjsonRowReader(input, objectMapper, maxRecordLength);
+	}
+}
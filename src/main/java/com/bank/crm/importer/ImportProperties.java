@@ -0,0 +1,25 @@
+package com.bank.crm.importer;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.import")
+public class ImportProperties {
+
+	// Valid rows per commit (and checkpoint); kept below SQL Server's lock escalation threshold (5000)
+	private int chunkSize = 2000;
+
+	// Rows per JDBC batch round trip within a chunk
+	private int batchSize = 500;
+
+	// Rejected rows are written to <errorDir>/<importId>-errors.csv
+	private String errorDir = "import-errors";
+
+	// Errors listed in the response; the report file has all of them
+	private int maxErrorsInResponse = 20;
+
+	// Longest CSV record or NDJSON line; a longer one (e.g. an unclosed quote) stops the import
+	private int maxRecordLength = 1_000_000;
+}
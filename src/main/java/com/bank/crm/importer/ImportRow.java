@@ -0,0 +1,11 @@
+package com.bank.crm.importer;
+
+import com.bank.crm.dto.ImportRequestDto;
+
+// Exactly one of request and error is set
+record ImportRow(long rowNumber, ImportRequestDto request, String error) {
+
+	static ImportRow rejected(long rowNumber, String error) {
+		return new ImportRow(rowNumber, null, error);
+	}
+}
@@ -0,0 +1,17 @@
+package com.bank.crm.importer;
+
+import java.io.IOException;
+
+// Parses an upload one row at a time, so memory does not grow with the file
+interface ImportRowReader {
+
+	// null at the end of the input; MalformedImportException when the rest cannot be read
+	ImportRow next() throws IOException;
+
+	class MalformedImportException extends IOException {
+
+		MalformedImportException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,60 @@
+package com.bank.crm.importer;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import com.bank.crm.dto.ImportRequestDto;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+// Row number = line number; blank lines are skipped
+class NdjsonRowReader implements ImportRowReader {
+
+	private final Reader input;
+	private final ObjectReader rowReader;
+	private final int maxLineLength;
+	private final StringBuilder line = new StringBuilder();
+	private long lineNumber;
+
+	NdjsonRowReader(Reader input, ObjectMapper objectMapper, int maxLineLength) {
+		this.input = input;
+		this.rowReader = objectMapper.readerFor(ImportRequestDto.class);
+		this.maxLineLength = maxLineLength;
+	}
+
+	@Override
+	public ImportRow next() throws IOException {
+		while (readLine()) {
+			lineNumber++;
+			if (line.toString().isBlank()) {
+				continue;
+			}
+			try {
+				return new ImportRow(lineNumber, rowReader.readValue(line.toString()), null);
+			} catch (JsonProcessingException e) {
+				return ImportRow.rejected(lineNumber, e.getOriginalMessage());
+			}
+		}
+		return null;
+	}
+
+	private boolean readLine() throws IOException {
+		line.setLength(0);
+		int c = input.read();
+		if (c == -1) {
+			return false;
+		}
+		while (c != -1 && c != '\n') {
+			if (c != '\r') {
+				if (line.length() >= maxLineLength) {
+					throw new MalformedImportException("Line " + (lineNumber + 1) + " is longer than " + maxLineLength
+							+ " characters");
+				}
+				line.append((char) c);
+			}
+			c = input.read();
+		}
+		return true;
+	}
+}
@@ -0,0 +1,315 @@
+package com.bank.crm.importer;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.crm.dictionary.RequestDictionaries;
+import com.bank.crm.dto.ImportReportDto;
+import com.bank.crm.dto.ImportRequestDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.shard.ShardContext;
+import com.bank.crm.shard.ShardRouter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+// Bulk load of historical requests (POST /api/crm/requests/import). The upload is parsed
+// row by row, checked against the CreateRequestDto constraints and inserted with JDBC
+// batches, one transaction per chunkSize valid rows and shard. Each shard's transaction
+// also moves its checkpoint in dbo.service_request_import (db/008), so sending the same
+// file again with the same importId continues after the last committed chunk.
+// Rejected rows go to <errorDir>/<importId>-errors.csv; rows re-read after a crash may be
+// listed there twice. No ServiceRequestChangedEvent is published and no status history
+// is written for imported rows, so the daily rollups (built from history) leave them out.
+// Counters: crm.import.rows{outcome=imported|skipped|rejected}
+@Component
+public class ServiceRequestImporter {
+
+	private static final Logger log = LoggerFactory.getLogger(ServiceRequestImporter.class);
+
+	private static final Pattern IMPORT_ID = Pattern.compile("[A-Za-z0-9._-]{1,64}");
+
+	private static final String INSERT_SQL = """
+			INSERT INTO dbo.service_requests
+			    (customer_id, request_type_id, request_details, status, assigned_to_id, created_at, updated_at,
+			     status_changed_at)
+			VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+			""";
+
+	private static final String CHECKPOINT_SQL =
+			"SELECT committed_row, shard_count FROM dbo.service_request_import WHERE import_id = ?";
+
+	private static final String ADVANCE_CHECKPOINT_SQL = """
+			UPDATE dbo.service_request_import
+			SET committed_row = ?, rows_imported = rows_imported + ?, updated_at = ?
+			WHERE import_id = ?
+			""";
+
+	private static final String INSERT_CHECKPOINT_SQL = """
+			INSERT INTO dbo.service_request_import (committed_row, rows_imported, updated_at, shard_count, import_id)
+			VALUES (?, ?, ?, ?, ?)
+			""";
+
+	private final ImportProperties properties;
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final ShardRouter shardRouter;
+	private final Validator validator;
+	private final ObjectMapper objectMapper;
+	private final RequestDictionaries dictionaries;
+	private final Counter imported;
+	private final Counter skipped;
+	private final Counter rejected;
+	private final Set<String> running = ConcurrentHashMap.newKeySet();
+
+	public ServiceRequestImporter(ImportProperties properties, JdbcTemplate jdbcTemplate,
+			PlatformTransactionManager transactionManager, ShardRouter shardRouter, Validator validator,
+			ObjectMapper objectMapper, RequestDictionaries dictionaries, MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.shardRouter = shardRouter;
+		this.validator = validator;
+		this.objectMapper = objectMapper;
+		this.dictionaries = dictionaries;
+		this.imported = meterRegistry.counter("crm.import.rows", "outcome", "imported");
+		this.skipped = meterRegistry.counter("crm.import.rows", "outcome", "skipped");
+		this.rejected = meterRegistry.counter("crm.import.rows", "outcome", "rejected");
+	}
+
+	public static boolean isValidImportId(String importId) {
+		return importId != null && IMPORT_ID.matcher(importId).matches();
+	}
+
+	public Path errorReport(String importId) {
+		if (!isValidImportId(importId)) {
+			throw new IllegalArgumentException("importId must match " + IMPORT_ID.pattern());
+		}
+		return Path.of(properties.getErrorDir(), importId + "-errors.csv");
+	}
+
+	// IllegalStateException while the same importId is being imported by this instance
+	public ImportReportDto importRequests(String importId, ImportFormat format, InputStream body) throws IOException {
+		Path errorReport = errorReport(importId);
+		if (!running.add(importId)) {
+			throw new IllegalStateException("Import " + importId + " is already running");
+		}
+		try {
+			return runImport(importId, format, body, errorReport);
+		} finally {
+			running.remove(importId);
+		}
+	}
+
+	private ImportReportDto runImport(String importId, ImportFormat format, InputStream body, Path errorReport)
+			throws IOException {
+		BufferedReader input = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8), 64 * 1024);
+		ImportRowReader rows = format.reader(input, objectMapper, properties.getMaxRecordLength());
+
+		long[] checkpoints = loadCheckpoints(importId);
+		long resumeAfter = Arrays.stream(checkpoints).min().orElse(0);
+		if (resumeAfter > 0) {
+			log.info("Import {} resumes after row {}", importId, resumeAfter);
+		}
+
+		Files.createDirectories(errorReport.toAbsolutePath().getParent());
+		Run run = new Run(importId, checkpoints);
+		try (BufferedWriter errors = Files.newBufferedWriter(errorReport, StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+			run.errors = errors;
+			ImportRow row;
+			try {
+				while ((row = rows.next()) != null) {
+					run.rowsRead++;
+					run.lastRow = row.rowNumber();
+					if (row.rowNumber() <= resumeAfter) {
+						run.rowsSkipped++;
+					} else {
+						accept(run, row);
+					}
+					if (run.chunk.size() >= properties.getChunkSize()) {
+						commit(run);
+					}
+				}
+				run.complete = true;
+			} catch (ImportRowReader.MalformedImportException e) {
+				reject(run, run.lastRow + 1, e.getMessage() + "; the rest of the input was not read");
+			}
+			commit(run);
+		}
+
+		imported.increment(run.rowsImported);
+		skipped.increment(run.rowsSkipped);
+		rejected.increment(run.rowsRejected);
+		log.info("Import {}: {} rows read, {} imported, {} skipped, {} rejected{}", importId, run.rowsRead,
+				run.rowsImported, run.rowsSkipped, run.rowsRejected, run.complete ? "" : " (stopped early)");
+		return new ImportReportDto(importId, run.rowsRead, run.rowsImported, run.rowsSkipped, run.rowsRejected,
+				run.complete, run.firstErrors);
+	}
+
+	private void accept(Run run, ImportRow row) throws IOException {
+		if (row.error() != null) {
+			reject(run, row.rowNumber(), row.error());
+			return;
+		}
+		ImportRequestDto request = row.request();
+		Set<ConstraintViolation<ImportRequestDto>> violations = validator.validate(request);
+		if (!violations.isEmpty()) {
+			reject(run, row.rowNumber(), violations.stream().map(ConstraintViolation::getMessage).sorted()
+					.collect(Collectors.joining("; ")));
+			return;
+		}
+		int shard = shardRouter.shardForCustomer(request.getCustomerId());
+		if (row.rowNumber() <= run.checkpoints[shard]) {
+			// committed on its shard before a crash that other shards did not see
+			run.rowsSkipped++;
+			return;
+		}
+		// keys are resolved here, outside the chunk's transaction
+		int requestTypeId;
+		Integer assigneeId;
+		try {
+			requestTypeId = dictionaries.requestTypes().idOf(request.getRequestType());
+			assigneeId = request.getAssignedTo() != null ? dictionaries.assignees().idOf(request.getAssignedTo()) : null;
+		} catch (IllegalArgumentException e) {
+			reject(run, row.rowNumber(), e.getMessage());
+			return;
+		}
+		run.chunk.add(new Pending(shard, request, requestTypeId, assigneeId));
+	}
+
+	private void reject(Run run, long rowNumber, String message) throws IOException {
+		run.rowsRejected++;
+		run.errors.write(rowNumber + ",\"" + message.replace("\"", "\"\"") + "\"");
+		run.errors.newLine();
+		if (run.firstErrors.size() < properties.getMaxErrorsInResponse()) {
+			run.firstErrors.add("row " + rowNumber + ": " + message);
+		}
+	}
+
+	// Rows up to run.lastRow are decided: each shard commits its part together with
+	// its checkpoint, so after a crash a shard's rows are either all there or all redone
+	private void commit(Run run) throws IOException {
+		if (run.chunk.isEmpty()) {
+			return;
+		}
+		List<List<Pending>> byShard = new ArrayList<>();
+		for (int shard = 0; shard < shardRouter.shardCount(); shard++) {
+			byShard.add(new ArrayList<>());
+		}
+		run.chunk.forEach(pending -> byShard.get(pending.shard()).add(pending));
+
+		LocalDateTime now = LocalDateTime.now();
+		Timestamp importedAt = Timestamp.valueOf(now);
+		for (int shard = 0; shard < byShard.size(); shard++) {
+			List<Pending> requests = byShard.get(shard);
+			if (requests.isEmpty()) {
+				continue;
+			}
+			long committedRow = run.lastRow;
+			try (ShardContext.Scope scope = shardRouter.routeTo(shard)) {
+				transactionTemplate.executeWithoutResult(status -> {
+					jdbcTemplate.batchUpdate(INSERT_SQL, requests, properties.getBatchSize(), (ps, pending) -> {
+						ImportRequestDto request = pending.request();
+						ps.setString(1, request.getCustomerId());
+						ps.setShort(2, (short) pending.requestTypeId());
+						ps.setString(3, request.getRequestDetails());
+						ps.setString(4, (request.getStatus() != null ? request.getStatus() : RequestStatus.PENDING).name());
+						if (pending.assigneeId() != null) {
+							ps.setInt(5, pending.assigneeId());
+						} else {
+							ps.setNull(5, Types.INTEGER);
+						}
+						Timestamp createdAt = request.getCreatedAt() != null ? Timestamp.valueOf(request.getCreatedAt()) : importedAt;
+						Timestamp updatedAt = request.getUpdatedAt() != null ? Timestamp.valueOf(request.getUpdatedAt()) : null;
+						ps.setTimestamp(6, createdAt);
+						ps.setTimestamp(7, updatedAt);
+						// the file carries no status change time; the last change is the best estimate
+						ps.setTimestamp(8, updatedAt != null ? updatedAt : createdAt);
+					});
+					if (jdbcTemplate.update(ADVANCE_CHECKPOINT_SQL, committedRow, requests.size(), importedAt,
+							run.importId) == 0) {
+						jdbcTemplate.update(INSERT_CHECKPOINT_SQL, committedRow, requests.size(), importedAt,
+								shardRouter.shardCount(), run.importId);
+					}
+				});
+			}
+			run.checkpoints[shard] = committedRow;
+			run.rowsImported += requests.size();
+		}
+		run.chunk.clear();
+		// rejections up to the checkpoint are on disk before the next chunk starts
+		run.errors.flush();
+	}
+
+	// A row's shard comes from the hash ring, so checkpoints written with a different
+	// number of shards no longer say which rows are done: such an import cannot resume
+	private long[] loadCheckpoints(String importId) {
+		long[] checkpoints = new long[shardRouter.shardCount()];
+		for (int shard = 0; shard < checkpoints.length; shard++) {
+			try (ShardContext.Scope scope = shardRouter.routeTo(shard)) {
+				for (Map<String, Object> row : jdbcTemplate.queryForList(CHECKPOINT_SQL, importId)) {
+					int startedWith = ((Number) row.get("shard_count")).intValue();
+					if (startedWith != checkpoints.length) {
+						throw new IllegalStateException("Import " + importId + " was started with " + startedWith
+								+ " shards and cannot resume on " + checkpoints.length + "; use a new importId");
+					}
+					checkpoints[shard] = ((Number) row.get("committed_row")).longValue();
+				}
+			}
+		}
+		return checkpoints;
+	}
+
+	private record Pending(int shard, ImportRequestDto request, int requestTypeId, Integer assigneeId) {
+	}
+
+	// State of one importRequests call
+	private static final class Run {
+
+		final String importId;
+		final long[] checkpoints;
+		final List<Pending> chunk = new ArrayList<>();
+		final List<String> firstErrors = new ArrayList<>();
+		BufferedWriter errors;
+		long lastRow;
+		long rowsRead;
+		long rowsImported;
+		long rowsSkipped;
+		long rowsRejected;
+		boolean complete;
+
+		Run(String importId, long[] checkpoints) {
+			this.importId = importId;
+			this.checkpoints = checkpoints;
+		}
+	}
+}
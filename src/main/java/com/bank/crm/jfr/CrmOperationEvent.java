@@ -0,0 +1,32 @@
+package com.bank.crm.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// One CrmService call, including its transaction commit
+@Name("com.bank.crm.Operation")
+@Label("CRM Operation")
+@Category({ "CRM" })
+@Description("CrmService call slower than the threshold")
+@StackTrace(false)
+@Threshold("20 ms")
+class CrmOperationEvent extends jdk.jfr.Event {
+
+	@Label("Operation")
+	String operation;
+
+	@Label("Request Id")
+	@Description("ServiceRequest id of the call, 0 when it has none")
+	long requestId;
+
+	@Label("Trigger Action")
+	String action;
+
+	@Label("Failure")
+	@Description("Exception class when the call failed")
+	String failure;
+}
@@ -0,0 +1,32 @@
+package com.bank.crm.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// One ServiceRequestRepository call (query, flush of a save, lock wait)
+@Name("com.bank.crm.DbLookup")
+@Label("CRM DB Lookup")
+@Category({ "CRM", "Database" })
+@Description("ServiceRequestRepository call slower than the threshold")
+@StackTrace(true)
+@Threshold("10 ms")
+class DbLookupEvent extends jdk.jfr.Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("Request Id")
+	@Description("Id argument of the call, 0 when it has none")
+	long requestId;
+
+	@Label("Rows")
+	@Description("Rows returned, -1 when the result is not a list")
+	int rows;
+
+	@Label("Failure")
+	String failure;
+}
@@ -0,0 +1,37 @@
+package com.bank.crm.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+// One outbound RestTemplate exchange, from sending the request to reading the status
+@Name("com.bank.crm.DownstreamCall")
+@Label("CRM Downstream Call")
+@Category({ "CRM", "HTTP" })
+@Description("Outbound RestTemplate call slower than the threshold")
+@StackTrace(false)
+@Threshold("50 ms")
+class DownstreamCallEvent extends jdk.jfr.Event {
+
+	@Label("Method")
+	String method;
+
+	@Label("URL")
+	@Description("Scheme, host and path; the query string is left out")
+	String url;
+
+	@Label("Status")
+	@Description("HTTP status, -1 when no response arrived")
+	int status;
+
+	@Label("Request Size")
+	@DataAmount
+	long requestBytes;
+
+	@Label("Failure")
+	String failure;
+}
@@ -0,0 +1,45 @@
+package com.bank.crm.jfr;
+
+import java.io.IOException;
+import java.net.URI;
+
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+// RestTemplate interceptor that emits a DownstreamCallEvent per exchange. Without a
+// recording that enables the event it only allocates the (unused) event object.
+public class DownstreamCallRecorder implements ClientHttpRequestInterceptor {
+
+	@Override
+	public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+			throws IOException {
+		DownstreamCallEvent event = new DownstreamCallEvent();
+		if (!event.isEnabled()) {
+			return execution.execute(request, body);
+		}
+		event.begin();
+		int status = -1;
+		String failure = null;
+		try {
+			ClientHttpResponse response = execution.execute(request, body);
+			status = response.getStatusCode().value();
+			return response;
+		} catch (IOException | RuntimeException e) {
+			failure = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				URI uri = request.getURI();
+				event.method = request.getMethod().name();
+				event.url = uri.getScheme() + "://" + uri.getAuthority() + uri.getPath();
+				event.status = status;
+				event.requestBytes = body.length;
+				event.failure = failure;
+				event.commit();
+			}
+		}
+	}
+}
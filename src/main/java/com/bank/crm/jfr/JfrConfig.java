@@ -0,0 +1,27 @@
+package com.bank.crm.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Custom Java Flight Recorder events (category "CRM"). They are only written while a
+// recording enables them, e.g. with scripts/crm.jfc:
+//   -XX:StartFlightRecording:settings=default,settings=scripts/crm.jfc,filename=crm.jfr
+//   jcmd <pid> JFR.start settings=default,scripts/crm.jfc
+// With crm.jfr.enabled=false the proxies and the RestTemplate interceptor are not installed.
+@Configuration
+@ConditionalOnProperty(prefix = "crm.jfr", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class JfrConfig {
+
+	// static: a BeanPostProcessor must not make this configuration class start early
+	@Bean
+	public static JfrEventsPostProcessor jfrEventsPostProcessor() {
+		return new JfrEventsPostProcessor();
+	}
+
+	@Bean
+	public RestTemplateCustomizer downstreamCallRecorder() {
+		return restTemplate -> restTemplate.getInterceptors().add(new DownstreamCallRecorder());
+	}
+}
@@ -0,0 +1,100 @@
+package com.bank.crm.jfr;
+
+import java.util.Collection;
+import java.util.Optional;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.Advised;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import com.bank.crm.dto.event.TriggerRequestEvent;
+import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.service.CrmService;
+
+// Wraps CrmService and ServiceRequestRepository so their calls emit CrmOperationEvent and
+// DbLookupEvent. The interceptor goes in front of the existing proxy (transaction,
+// validation, Spring Data), so an operation event also covers the commit.
+public class JfrEventsPostProcessor implements BeanPostProcessor {
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName) {
+		if (bean instanceof CrmService) {
+			return advise(bean, JfrEventsPostProcessor::recordOperation);
+		}
+		if (bean instanceof ServiceRequestRepository) {
+			return advise(bean, JfrEventsPostProcessor::recordLookup);
+		}
+		return bean;
+	}
+
+	private static Object advise(Object bean, MethodInterceptor interceptor) {
+		if (bean instanceof Advised advised && !advised.isFrozen()) {
+			advised.addAdvisor(0, new DefaultPointcutAdvisor(interceptor));
+			return bean;
+		}
+		ProxyFactory factory = new ProxyFactory(bean);
+		factory.setProxyTargetClass(!(bean instanceof ServiceRequestRepository));
+		factory.addAdvice(interceptor);
+		return factory.getProxy(bean.getClass().getClassLoader());
+	}
+
+	private static Object recordOperation(MethodInvocation invocation) throws Throwable {
+		CrmOperationEvent event = new CrmOperationEvent();
+		if (!event.isEnabled()) {
+			return invocation.proceed();
+		}
+		event.begin();
+		String failure = null;
+		try {
+			return invocation.proceed();
+		} catch (Throwable e) {
+			failure = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.operation = invocation.getMethod().getName();
+				Object first = invocation.getArguments().length > 0 ? invocation.getArguments()[0] : null;
+				if (first instanceof TriggerRequestEvent trigger) {
+					event.requestId = trigger.getRelatedId() == null ? 0 : trigger.getRelatedId();
+					event.action = trigger.getAction() == null ? null : trigger.getAction().name();
+				} else {
+					event.requestId = first instanceof Long id ? id : 0;
+				}
+				event.failure = failure;
+				event.commit();
+			}
+		}
+	}
+
+	private static Object recordLookup(MethodInvocation invocation) throws Throwable {
+		DbLookupEvent event = new DbLookupEvent();
+		if (!event.isEnabled()) {
+			return invocation.proceed();
+		}
+		event.begin();
+		Object result = null;
+		String failure = null;
+		try {
+			result = invocation.proceed();
+			return result;
+		} catch (Throwable e) {
+			failure = e.getClass().getSimpleName();
+			throw e;
+		} finally {
+			event.end();
+			if (event.shouldCommit()) {
+				event.method = invocation.getMethod().getName();
+				Object first = invocation.getArguments().length > 0 ? invocation.getArguments()[0] : null;
+				event.requestId = first instanceof Long id ? id : 0;
+				event.rows = result instanceof Collection<?> rows ? rows.size()
+						: result instanceof Optional<?> row ? (row.isPresent() ? 1 : 0) : -1;
+				event.failure = failure;
+				event.commit();
+			}
+		}
+	}
+}
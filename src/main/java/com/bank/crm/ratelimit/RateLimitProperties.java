@@ -0,0 +1,38 @@
+package com.bank.crm.ratelimit;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.rate-limit")
+public class RateLimitProperties {
+
+	private boolean enabled = true;
+
+	// Limit for sources that have no entry in sources
+	private Limit defaultLimit = new Limit();
+
+	// sourceService -> limit, e.g. crm.rate-limit.sources.payment-service.permits-per-second=500
+	private Map<String, Limit> sources = new HashMap<>();
+
+	// sourceService is sent by the caller; past this many buckets unknown
+	// sources share one bucket so the map and the metric tags stay bounded
+	private int maxTrackedSources = 256;
+
+	public Limit limitFor(String source) {
+		return sources.getOrDefault(source, defaultLimit);
+	}
+
+	@Data
+	public static class Limit {
+
+		private double permitsPerSecond = 100;
+
+		// Requests that may arrive at once after the source was idle
+		private int burst = 200;
+	}
+}
@@ -0,0 +1,87 @@
+package com.bank.crm.ratelimit;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Per-source limit for the inbound trigger endpoints so one noisy upstream
+// cannot take all DB connections from the agent-facing APIs.
+// Counters: crm.trigger.requests{source, outcome=allowed|throttled}
+@Component
+public class SourceRateLimiter {
+
+	private static final Logger log = LoggerFactory.getLogger(SourceRateLimiter.class);
+
+	static final String UNKNOWN_SOURCE = "unknown";
+	static final String OTHER_SOURCES = "other";
+
+	private final RateLimitProperties properties;
+	private final MeterRegistry meterRegistry;
+	private final LongSupplier nanoClock;
+	private final ConcurrentMap<String, SourceBucket> buckets = new ConcurrentHashMap<>();
+
+	@Autowired
+	public SourceRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+		this(properties, meterRegistry, System::nanoTime);
+	}
+
+	SourceRateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry, LongSupplier nanoClock) {
+		this.properties = properties;
+		this.meterRegistry = meterRegistry;
+		this.nanoClock = nanoClock;
+	}
+
+	// 0 when the request may proceed, otherwise the nanos until the source gets its next permit
+	public long tryAcquire(String source) {
+		if (!properties.isEnabled()) {
+			return 0L;
+		}
+		SourceBucket bucket = bucketFor(source == null || source.isBlank() ? UNKNOWN_SOURCE : source);
+		long wait = bucket.tokens.tryAcquire(nanoClock.getAsLong());
+		if (wait == 0L) {
+			bucket.allowed.increment();
+		} else {
+			bucket.throttled.increment();
+		}
+		return wait;
+	}
+
+	private SourceBucket bucketFor(String source) {
+		SourceBucket bucket = buckets.get(source);
+		if (bucket != null) {
+			return bucket;
+		}
+		if (buckets.size() >= properties.getMaxTrackedSources() && !properties.getSources().containsKey(source)) {
+			source = OTHER_SOURCES;
+		}
+		return buckets.computeIfAbsent(source, this::newBucket);
+	}
+
+	private SourceBucket newBucket(String source) {
+		RateLimitProperties.Limit limit = properties.limitFor(source);
+		log.info("Rate limit for trigger source '{}': {}/s, burst {}", source, limit.getPermitsPerSecond(),
+				limit.getBurst());
+		return new SourceBucket(new TokenBucket(limit.getPermitsPerSecond(), limit.getBurst(), nanoClock.getAsLong()),
+				counter(source, "allowed"), counter(source, "throttled"));
+	}
+
+	private Counter counter(String source, String outcome) {
+		return Counter.builder("crm.trigger.requests")
+				.description("Inbound trigger requests by source and rate limit outcome")
+				.tag("source", source)
+				.tag("outcome", outcome)
+				.register(meterRegistry);
+	}
+
+	// Counters are resolved once per source, not per request
+	private record SourceBucket(TokenBucket tokens, Counter allowed, Counter throttled) {
+	}
+}
@@ -0,0 +1,37 @@
+package com.bank.crm.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Token bucket in its GCRA form: the whole state is the "theoretical arrival
+// time" of the next request, so a permit is a single CAS and no thread ever
+// blocks or refills. Times are System.nanoTime() values.
+final class TokenBucket {
+
+	private final long emissionInterval; // nanos per permit
+	private final long burstTolerance; // nanos the TAT may run ahead of now
+	private final AtomicLong tat;
+
+	TokenBucket(double permitsPerSecond, int burst, long now) {
+		if (permitsPerSecond <= 0 || burst < 1) {
+			throw new IllegalArgumentException("permitsPerSecond must be > 0 and burst >= 1");
+		}
+		this.emissionInterval = Math.max(1L, Math.round(1_000_000_000d / permitsPerSecond));
+		this.burstTolerance = emissionInterval * burst;
+		this.tat = new AtomicLong(now);
+	}
+
+	// 0 when a permit was taken, otherwise the nanos until one is available
+	long tryAcquire(long now) {
+		for (;;) {
+			long current = tat.get();
+			long next = Math.max(current, now) + emissionInterval;
+			long wait = next - now - burstTolerance;
+			if (wait > 0) {
+				return wait;
+			}
+			if (tat.compareAndSet(current, next)) {
+				return 0L;
+			}
+		}
+	}
+}
@@ -0,0 +1,9 @@
+package com.bank.crm.report;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+// lastRebuiltDay is the checkpoint: after a failure, rebuild again from the day after it
+public record BackfillRunReport(LocalDate from, LocalDate to, int daysRebuilt, LocalDate lastRebuiltDay,
+		long historyRows, Duration elapsed) {
+}
@@ -0,0 +1,188 @@
+package com.bank.crm.report;
+
+import java.sql.Date;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.bank.crm.dto.DailyRollupDto;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Daily counters per request type in dbo.request_daily_rollup (db/007_request_daily_rollup.sql).
+// Committed changes are added up in memory and written every flushInterval as one
+// UPDATE ... SET n = n + ? per touched (day, type) row, so reporting never scans
+// dbo.service_requests and the OLTP path pays a map update per change.
+// Counters: crm.rollup.flush{outcome=written|failed}
+@Component
+@ConditionalOnProperty(prefix = "crm.rollup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DailyRollupStore implements DisposableBean {
+
+	private static final Logger log = LoggerFactory.getLogger(DailyRollupStore.class);
+
+	private static final String ADD_SQL = """
+			UPDATE dbo.request_daily_rollup
+			SET created = created + ?, completed = completed + ?, canceled = canceled + ?,
+			    forwarded = forwarded + ?, forward_failed = forward_failed + ?
+			WHERE report_date = ? AND request_type = ?
+			""";
+
+	private static final String INSERT_SQL = """
+			INSERT INTO dbo.request_daily_rollup
+			    (created, completed, canceled, forwarded, forward_failed, report_date, request_type)
+			VALUES (?, ?, ?, ?, ?, ?, ?)
+			""";
+
+	private static final String SELECT_SQL = """
+			SELECT report_date, request_type, created, completed, canceled, forwarded, forward_failed
+			FROM dbo.request_daily_rollup WHERE report_date BETWEEN ? AND ?
+			""";
+
+	private static final RowMapper<DailyRollupDto> ROW_MAPPER = (rs, rowNum) -> new DailyRollupDto(
+			rs.getDate("report_date").toLocalDate(),
+			rs.getString("request_type"),
+			rs.getLong("created"),
+			rs.getLong("completed"),
+			rs.getLong("canceled"),
+			rs.getLong("forwarded"),
+			rs.getLong("forward_failed"));
+
+	private final JdbcTemplate jdbcTemplate;
+	private final TransactionTemplate transactionTemplate;
+	private final Clock clock;
+	private final Counter written;
+	private final Counter failed;
+
+	// guarded by itself; swapped out as a whole by flush()
+	private final Map<Key, long[]> pending = new HashMap<>();
+	private final Object flushLock = new Object();
+
+	@Autowired
+	public DailyRollupStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry) {
+		this(jdbcTemplate, transactionManager, meterRegistry, Clock.systemDefaultZone());
+	}
+
+	DailyRollupStore(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry, Clock clock) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.clock = clock;
+		this.written = meterRegistry.counter("crm.rollup.flush", "outcome", "written");
+		this.failed = meterRegistry.counter("crm.rollup.flush", "outcome", "failed");
+	}
+
+	// Counted on the day the change was committed, like changed_at in the status history
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onServiceRequestChanged(ServiceRequestChangedEvent event) {
+		RollupColumn column = RollupColumn.of(event.operation(), event.previousStatus(), event.request().getStatus());
+		if (column == null) {
+			return;
+		}
+		Key key = new Key(LocalDate.now(clock), event.request().getRequestType());
+		synchronized (pending) {
+			pending.computeIfAbsent(key, k -> new long[RollupColumn.values().length])[column.ordinal()]++;
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${crm.rollup.flush-interval:10s}")
+	public void flush() {
+		synchronized (flushLock) {
+			Map<Key, long[]> batch;
+			synchronized (pending) {
+				if (pending.isEmpty()) {
+					return;
+				}
+				batch = new HashMap<>(pending);
+				pending.clear();
+			}
+			try {
+				transactionTemplate.executeWithoutResult(status -> write(batch));
+				written.increment(batch.size());
+			} catch (RuntimeException e) {
+				// e.g. another instance inserted the same new row first; its UPDATE succeeds next time
+				failed.increment(batch.size());
+				log.warn("Writing {} daily rollup rows failed, retrying with the next flush: {}", batch.size(),
+						e.getMessage());
+				synchronized (pending) {
+					batch.forEach((key, counts) -> {
+						long[] merged = pending.computeIfAbsent(key, k -> new long[counts.length]);
+						for (int i = 0; i < counts.length; i++) {
+							merged[i] += counts[i];
+						}
+					});
+				}
+			}
+		}
+	}
+
+	private void write(Map<Key, long[]> batch) {
+		List<Object[]> rows = new ArrayList<>(batch.size());
+		batch.forEach((key, counts) -> rows.add(row(key.reportDate(), key.requestType(), counts)));
+		int[] updated = jdbcTemplate.batchUpdate(ADD_SQL, rows);
+		List<Object[]> missing = new ArrayList<>();
+		for (int i = 0; i < updated.length; i++) {
+			if (updated[i] == 0) {
+				missing.add(rows.get(i));
+			}
+		}
+		if (!missing.isEmpty()) {
+			jdbcTemplate.batchUpdate(INSERT_SQL, missing);
+		}
+	}
+
+	// Rows of the given days, oldest first; reads at most days x request types rows
+	public List<DailyRollupDto> find(LocalDate from, LocalDate to, String requestType) {
+		if (requestType == null) {
+			return jdbcTemplate.query(SELECT_SQL + " ORDER BY report_date, request_type", ROW_MAPPER,
+					Date.valueOf(from), Date.valueOf(to));
+		}
+		return jdbcTemplate.query(SELECT_SQL + " AND request_type = ? ORDER BY report_date", ROW_MAPPER,
+				Date.valueOf(from), Date.valueOf(to), requestType);
+	}
+
+	// Replaces all rows of one day in a single transaction (RollupBackfillJob)
+	void replaceDay(LocalDate day, Map<String, long[]> countsByType) {
+		List<Object[]> rows = new ArrayList<>(countsByType.size());
+		countsByType.forEach((requestType, counts) -> rows.add(row(day, requestType, counts)));
+		transactionTemplate.executeWithoutResult(status -> {
+			jdbcTemplate.update("DELETE FROM dbo.request_daily_rollup WHERE report_date = ?", Date.valueOf(day));
+			if (!rows.isEmpty()) {
+				jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+			}
+		});
+	}
+
+	@Override
+	public void destroy() {
+		flush();
+	}
+
+	// parameter order of ADD_SQL and INSERT_SQL
+	private static Object[] row(LocalDate day, String requestType, long[] counts) {
+		return new Object[] { counts[RollupColumn.CREATED.ordinal()], counts[RollupColumn.COMPLETED.ordinal()],
+				counts[RollupColumn.CANCELED.ordinal()], counts[RollupColumn.FORWARDED.ordinal()],
+				counts[RollupColumn.FORWARD_FAILED.ordinal()], Date.valueOf(day), requestType };
+	}
+
+	private record Key(LocalDate reportDate, String requestType) {
+	}
+}
@@ -0,0 +1,200 @@
+package com.bank.crm.report;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dictionary.RequestDictionaries;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+import com.bank.crm.shard.ShardContext;
+import com.bank.crm.shard.ShardRouter;
+
+// Rebuilds dbo.request_daily_rollup from dbo.service_request_history, e.g. after the
+// table was added or when counts of a crashed instance were lost. The history is read
+// one backfillWindow at a time (ix_service_request_history_changed) and every day is
+// replaced in its own transaction, so a run can be stopped and resumed day by day.
+// The request type is not in the history; it is looked up per batch of request ids on
+// the request's shard, archived requests included, so a request whose type changed
+// later (PaymentCompletedTrigger) is counted under its current type.
+@Component
+@ConditionalOnProperty(prefix = "crm.rollup", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RollupBackfillJob {
+
+	private static final Logger log = LoggerFactory.getLogger(RollupBackfillJob.class);
+
+	private static final String HISTORY_SQL = """
+			SELECT request_id, operation, previous_status, new_status
+			FROM dbo.service_request_history WHERE changed_at >= ? AND changed_at < ?
+			""";
+
+	private static final String TYPE_SQL = """
+			SELECT id, request_type_id FROM dbo.service_requests WHERE id IN (%1$s)
+			UNION ALL
+			SELECT id, request_type_id FROM dbo.service_requests_archive WHERE id IN (%1$s)
+			""";
+
+	// requests deleted since; their changes are still counted
+	static final String UNKNOWN_TYPE = "UNKNOWN";
+
+	private final RollupProperties properties;
+	private final DailyRollupStore store;
+	private final JdbcTemplate jdbcTemplate;
+	private final ShardRouter shardRouter;
+	private final RequestDictionaries dictionaries;
+	private final Clock clock;
+	private final AtomicBoolean running = new AtomicBoolean();
+
+	private volatile BackfillRunReport lastRun;
+
+	@Autowired
+	public RollupBackfillJob(RollupProperties properties, DailyRollupStore store, JdbcTemplate jdbcTemplate,
+			ShardRouter shardRouter, RequestDictionaries dictionaries) {
+		this(properties, store, jdbcTemplate, shardRouter, dictionaries, Clock.systemDefaultZone());
+	}
+
+	RollupBackfillJob(RollupProperties properties, DailyRollupStore store, JdbcTemplate jdbcTemplate,
+			ShardRouter shardRouter, RequestDictionaries dictionaries, Clock clock) {
+		this.properties = properties;
+		this.store = store;
+		this.jdbcTemplate = jdbcTemplate;
+		this.shardRouter = shardRouter;
+		this.dictionaries = dictionaries;
+		this.clock = clock;
+	}
+
+	// Only days that have ended: today's counts are still being added by DailyRollupStore
+	public BackfillRunReport rebuild(LocalDate from, LocalDate to) {
+		if (to.isBefore(from)) {
+			throw new IllegalArgumentException("'to' must not be before 'from'");
+		}
+		if (!to.isBefore(LocalDate.now(clock))) {
+			throw new IllegalArgumentException("Only days before today can be rebuilt");
+		}
+		if (!running.compareAndSet(false, true)) {
+			throw new IllegalStateException("A rollup backfill is already running");
+		}
+		long started = System.nanoTime();
+		int daysRebuilt = 0;
+		long historyRows = 0;
+		LocalDate lastRebuiltDay = null;
+		try {
+			// counts of the rebuilt days still held in memory would otherwise land on top of the rebuild
+			store.flush();
+			log.info("Rebuilding daily rollups from {} to {}", from, to);
+			for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+				Map<String, long[]> counts = new TreeMap<>();
+				historyRows += aggregateDay(day, counts);
+				store.replaceDay(day, counts);
+				daysRebuilt++;
+				lastRebuiltDay = day;
+			}
+		} catch (RuntimeException e) {
+			log.error("Rollup backfill stopped after {}; run it again from {}", lastRebuiltDay,
+					lastRebuiltDay == null ? from : lastRebuiltDay.plusDays(1), e);
+			throw e;
+		} finally {
+			lastRun = new BackfillRunReport(from, to, daysRebuilt, lastRebuiltDay, historyRows,
+					Duration.ofNanos(System.nanoTime() - started));
+			running.set(false);
+		}
+		log.info("Rebuilt {} days of rollups from {} history rows in {} ms", daysRebuilt, historyRows,
+				lastRun.elapsed().toMillis());
+		return lastRun;
+	}
+
+	public BackfillRunReport getLastRun() {
+		return lastRun;
+	}
+
+	private long aggregateDay(LocalDate day, Map<String, long[]> counts) {
+		long rows = 0;
+		LocalDateTime end = day.plusDays(1).atStartOfDay();
+		for (LocalDateTime start = day.atStartOfDay(); start.isBefore(end); start = start
+				.plus(properties.getBackfillWindow())) {
+			LocalDateTime windowEnd = start.plus(properties.getBackfillWindow());
+			List<Counted> window = readHistory(start, windowEnd.isAfter(end) ? end : windowEnd);
+			rows += window.size();
+			Map<Long, String> types = requestTypes(window.stream().map(Counted::requestId).distinct().toList());
+			for (Counted counted : window) {
+				String type = types.getOrDefault(counted.requestId(), UNKNOWN_TYPE);
+				counts.computeIfAbsent(type, t -> new long[RollupColumn.values().length])[counted.column().ordinal()]++;
+			}
+			pause();
+		}
+		return rows;
+	}
+
+	// History lives in the shard 0 database (no ShardContext)
+	private List<Counted> readHistory(LocalDateTime from, LocalDateTime to) {
+		List<Counted> counted = new ArrayList<>();
+		jdbcTemplate.query(HISTORY_SQL, rs -> {
+			String previous = rs.getString("previous_status");
+			RollupColumn column = RollupColumn.of(Operation.valueOf(rs.getString("operation")),
+					previous != null ? RequestStatus.valueOf(previous) : null,
+					RequestStatus.valueOf(rs.getString("new_status")));
+			if (column != null) {
+				counted.add(new Counted(rs.getLong("request_id"), column));
+			}
+		}, Timestamp.valueOf(from), Timestamp.valueOf(to));
+		return counted;
+	}
+
+	private Map<Long, String> requestTypes(List<Long> ids) {
+		if (ids.isEmpty()) {
+			return Map.of();
+		}
+		Map<Integer, List<Long>> idsByShard = new HashMap<>();
+		for (Long id : ids) {
+			idsByShard.computeIfAbsent(shardRouter.shardForId(id), s -> new ArrayList<>()).add(id);
+		}
+		Map<Long, String> types = new HashMap<>(ids.size() * 2);
+		int batchSize = properties.getTypeLookupBatchSize();
+		idsByShard.forEach((shard, shardIds) -> {
+			try (ShardContext.Scope scope = shardRouter.routeTo(shard)) {
+				for (int i = 0; i < shardIds.size(); i += batchSize) {
+					List<Long> batch = shardIds.subList(i, Math.min(i + batchSize, shardIds.size()));
+					String placeholders = String.join(",", Collections.nCopies(batch.size(), "?"));
+					Object[] args = new Object[batch.size() * 2];
+					for (int j = 0; j < batch.size(); j++) {
+						args[j] = batch.get(j);
+						args[batch.size() + j] = batch.get(j);
+					}
+					jdbcTemplate.query(TYPE_SQL.formatted(placeholders),
+							rs -> {
+								types.put(rs.getLong("id"), dictionaries.requestTypes().nameOf(rs.getShort("request_type_id")));
+							}, args);
+				}
+			}
+		});
+		return types;
+	}
+
+	private void pause() {
+		try {
+			Thread.sleep(properties.getBackfillPause().toMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Rollup backfill interrupted", e);
+		}
+	}
+
+	private record Counted(long requestId, RollupColumn column) {
+	}
+}
@@ -0,0 +1,31 @@
+package com.bank.crm.report;
+
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+
+// The counters of dbo.request_daily_rollup. The same rule classifies a live change
+// (DailyRollupStore) and a history row (RollupBackfillJob), so a rebuilt day matches
+// what was counted while it happened.
+public enum RollupColumn {
+	CREATED,
+	COMPLETED,
+	CANCELED,
+	// every back-office attempt counts, including re-forwards of FORWARD_FAILED requests
+	FORWARDED,
+	FORWARD_FAILED;
+
+	// null when the change is not counted
+	public static RollupColumn of(Operation operation, RequestStatus previousStatus, RequestStatus newStatus) {
+		if (operation == Operation.CREATED) {
+			return CREATED;
+		}
+		if (operation == Operation.FORWARDED) {
+			return newStatus == RequestStatus.FORWARDED ? FORWARDED
+					: newStatus == RequestStatus.FORWARD_FAILED ? FORWARD_FAILED : null;
+		}
+		if (previousStatus == newStatus) {
+			return null;
+		}
+		return newStatus == RequestStatus.COMPLETED ? COMPLETED : newStatus == RequestStatus.CANCELED ? CANCELED : null;
+	}
+}
@@ -0,0 +1,29 @@
+package com.bank.crm.report;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.rollup")
+public class RollupProperties {
+
+	private boolean enabled = true;
+
+	// Counts are added up in memory and written once per interval; a crash loses at most this much
+	private Duration flushInterval = Duration.ofSeconds(10);
+
+	// Longest date range of one report request
+	private int maxReportDays = 366;
+
+	// History read by the backfill per query
+	private Duration backfillWindow = Duration.ofHours(1);
+
+	// Pause between backfill windows so OLTP traffic keeps the database
+	private Duration backfillPause = Duration.ofMillis(100);
+
+	// Request ids per type lookup (two IN lists, SQL Server allows 2100 parameters)
+	private int typeLookupBatchSize = 500;
+}
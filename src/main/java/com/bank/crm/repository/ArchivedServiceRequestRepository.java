@@ -0,0 +1,25 @@
+package com.bank.crm.repository;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.ArchivedServiceRequest;
+
+@Repository
+public interface ArchivedServiceRequestRepository extends JpaRepository<ArchivedServiceRequest, Long> {
+
+	@Query("select new com.bank.crm.dto.ServiceRequestDto(a.id, a.customerId, a.requestType, a.requestDetails, "
+			+ "a.status, a.assignedTo, a.createdAt, a.updatedAt) from ArchivedServiceRequest a where a.id = :id")
+	Optional<ServiceRequestDto> findDtoById(@Param("id") Long id);
+
+	@Query("select new com.bank.crm.dto.ServiceRequestDto(a.id, a.customerId, a.requestType, a.requestDetails, "
+			+ "a.status, a.assignedTo, a.createdAt, a.updatedAt) from ArchivedServiceRequest a where a.id in :ids")
+	List<ServiceRequestDto> findDtosByIds(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,13 @@
+package com.bank.crm.repository;
+
+import java.time.LocalDateTime;
+
+// Projection of the columns the SLA engine needs to compute a deadline
+public interface OpenRequestView {
+
+	Long getId();
+
+	String getRequestType();
+
+	LocalDateTime getStatusChangedAt();
+}
@@ -0,0 +1,11 @@
+package com.bank.crm.repository;
+
+// Projection of the text columns indexed by RequestSearchIndex
+public interface SearchSourceView {
+
+	Long getId();
+
+	String getRequestType();
+
+	String getRequestDetails();
+}
@@ -0,0 +1,15 @@
+package com.bank.crm.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import com.bank.crm.entity.ServiceRequestPayment;
+
+@Repository
+public interface ServiceRequestPaymentRepository extends JpaRepository<ServiceRequestPayment, Long> {
+
+	// Seek on ux_service_request_payments_ref; a list so it can run on every shard
+	List<ServiceRequestPayment> findByPaymentTransactionRef(String paymentTransactionRef);
+}
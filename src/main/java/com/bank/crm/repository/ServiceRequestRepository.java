@@ -1,11 +1,89 @@
 package com.bank.crm.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
 import com.bank.crm.entity.ServiceRequest;
 
+import jakarta.persistence.LockModeType;
+
 @Repository
 public interface ServiceRequestRepository extends JpaRepository<ServiceRequest, Long> {
 
+	// Read paths select straight into the DTO: no managed entities, no dirty-checking snapshots
+	String DTO_SELECT = "select new com.bank.crm.dto.ServiceRequestDto(r.id, r.customerId, r.requestType, "
+			+ "r.requestDetails, r.status, r.assignedTo, r.createdAt, r.updatedAt) from ServiceRequest r ";
+
+	@Query(DTO_SELECT + "where r.id = :id")
+	Optional<ServiceRequestDto> findDtoById(@Param("id") Long id);
+
+	@Query(DTO_SELECT)
+	List<ServiceRequestDto> findAllDtos();
+
+	@Query(DTO_SELECT + "where r.id in :ids")
+	List<ServiceRequestDto> findDtosByIds(@Param("ids") Collection<Long> ids);
+
+	@Query(DTO_SELECT + "where r.customerId = :customerId order by r.id desc")
+	List<ServiceRequestDto> findRecentDtosOfCustomer(@Param("customerId") String customerId, Pageable page);
+
+	// Keyset-paged scan of open requests (ix_service_requests_status)
+	@Query("select r.id as id, r.requestType as requestType, r.statusChangedAt as statusChangedAt "
+			+ "from ServiceRequest r where r.status in :statuses and r.id > :afterId order by r.id")
+	List<OpenRequestView> findOpenRequests(@Param("statuses") Collection<RequestStatus> statuses,
+			@Param("afterId") Long afterId, Pageable page);
+
+	// Bulk status update: current state of the rows that may still transition,
+	// locked until the UPDATE below runs in the same transaction
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(DTO_SELECT + "where r.id in :ids and r.status not in :closed")
+	List<ServiceRequestDto> lockOpenRequests(@Param("ids") Collection<Long> ids,
+			@Param("closed") Collection<RequestStatus> closed);
+
+	// One request, locked until the end of the transaction (forward retries re-check its status)
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("select r from ServiceRequest r where r.id = :id")
+	Optional<ServiceRequest> lockById(@Param("id") Long id);
+
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("update ServiceRequest r set r.status = :status, r.assignedTo = coalesce(:assignedTo, r.assignedTo), "
+			+ "r.statusChangedAt = case when r.status <> :status then :now else r.statusChangedAt end, "
+			+ "r.updatedAt = :now where r.id in :ids and r.status not in :closed")
+	int updateStatusOfOpenRequests(@Param("ids") Collection<Long> ids, @Param("status") RequestStatus status,
+			@Param("assignedTo") String assignedTo, @Param("now") LocalDateTime now,
+			@Param("closed") Collection<RequestStatus> closed);
+
+	@Query("select r.id from ServiceRequest r where (:status is null or r.status = :status) "
+			+ "and (:requestType is null or r.requestType = :requestType) "
+			+ "and (:customerId is null or r.customerId = :customerId) "
+			+ "and (:assignedTo is null or r.assignedTo = :assignedTo) order by r.id")
+	List<Long> findIds(@Param("status") RequestStatus status, @Param("requestType") String requestType,
+			@Param("customerId") String customerId, @Param("assignedTo") String assignedTo, Pageable page);
+
+	// Keyset-paged scan of the searchable text (rebuild of the in-memory search index)
+	@Query("select r.id as id, r.requestType as requestType, r.requestDetails as requestDetails "
+			+ "from ServiceRequest r where r.id > :afterId order by r.id")
+	List<SearchSourceView> findSearchSource(@Param("afterId") Long afterId, Pageable page);
+
+	// Requests edited since the last catch-up scan of the search index (ix_service_requests_updated)
+	@Query("select r.id as id, r.requestType as requestType, r.requestDetails as requestDetails "
+			+ "from ServiceRequest r where r.updatedAt >= :since and r.id > :afterId order by r.id")
+	List<SearchSourceView> findSearchSourceUpdatedSince(@Param("since") LocalDateTime since,
+			@Param("afterId") Long afterId, Pageable page);
+
+	// Customer screen (ix_service_requests_customer)
+	@Query("select r.status as status, count(r) as requests, max(coalesce(r.updatedAt, r.createdAt)) as lastActivity "
+			+ "from ServiceRequest r where r.customerId = :customerId group by r.status")
+	List<StatusCountView> summarizeCustomer(@Param("customerId") String customerId);
 }
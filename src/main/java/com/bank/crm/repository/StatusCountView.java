@@ -0,0 +1,15 @@
+package com.bank.crm.repository;
+
+import java.time.LocalDateTime;
+
+import com.bank.crm.entity.RequestStatus;
+
+// Requests of one customer in one status (ServiceRequestRepository.summarizeCustomer)
+public interface StatusCountView {
+
+	RequestStatus getStatus();
+
+	long getRequests();
+
+	LocalDateTime getLastActivity();
+}
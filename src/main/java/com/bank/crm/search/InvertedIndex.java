@@ -0,0 +1,212 @@
+package com.bank.crm.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Term -> postings over requestType + requestDetails, ranked with BM25.
+// Terms live in a sorted map so a prefix query is a range scan. Postings are
+// id-sorted primitive arrays (new requests append at the end); a request is only
+// re-indexed when its text actually changed, not on every status transition.
+final class InvertedIndex {
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	private final TreeMap<String, Postings> terms = new TreeMap<>();
+	private final Map<Long, Document> documents = new HashMap<>();
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+	private long totalLength;
+
+	record Hit(long id, double score) {
+	}
+
+	private record Document(int textHash, int length, String[] terms) {
+	}
+
+	void index(long id, String requestType, String details) {
+		int textHash = 31 * (requestType == null ? 0 : requestType.hashCode()) + (details == null ? 0 : details.hashCode());
+		lock.readLock().lock();
+		try {
+			Document existing = documents.get(id);
+			if (existing != null && existing.textHash() == textHash) {
+				return;
+			}
+		} finally {
+			lock.readLock().unlock();
+		}
+
+		List<String> tokens = RequestTokenizer.tokenize(requestType);
+		tokens.addAll(RequestTokenizer.tokenize(details));
+		Map<String, Integer> frequencies = new HashMap<>();
+		for (String token : tokens) {
+			frequencies.merge(token, 1, Integer::sum);
+		}
+
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+			for (Map.Entry<String, Integer> term : frequencies.entrySet()) {
+				terms.computeIfAbsent(term.getKey(), t -> new Postings()).add(id, term.getValue());
+			}
+			documents.put(id, new Document(textHash, tokens.size(), frequencies.keySet().toArray(String[]::new)));
+			totalLength += tokens.size();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	void remove(long id) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	int size() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	int termCount() {
+		lock.readLock().lock();
+		try {
+			return terms.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	// Whitespace separated words; a word ending in * matches every term starting with it
+	List<Hit> search(String query, int limit, int maxPrefixExpansions) {
+		List<String> exact = new ArrayList<>();
+		List<String> prefixes = new ArrayList<>();
+		for (String word : query.trim().split("\\s+")) {
+			if (word.endsWith("*")) {
+				List<String> prefix = RequestTokenizer.tokenize(word.substring(0, word.length() - 1));
+				if (!prefix.isEmpty()) {
+					prefixes.add(prefix.get(0));
+				}
+			} else {
+				exact.addAll(RequestTokenizer.tokenize(word));
+			}
+		}
+
+		lock.readLock().lock();
+		try {
+			if (documents.isEmpty()) {
+				return List.of();
+			}
+			double averageLength = (double) totalLength / documents.size();
+			Map<Long, Double> scores = new HashMap<>();
+			for (String term : exact) {
+				score(terms.get(term), averageLength, scores);
+			}
+			for (String prefix : prefixes) {
+				NavigableMap<String, Postings> matches = terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+				int expanded = 0;
+				for (Postings postings : matches.values()) {
+					if (expanded++ == maxPrefixExpansions) {
+						break;
+					}
+					score(postings, averageLength, scores);
+				}
+			}
+			return top(scores, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void score(Postings postings, double averageLength, Map<Long, Double> scores) {
+		if (postings == null) {
+			return;
+		}
+		int n = documents.size();
+		double idf = Math.log(1 + (n - postings.size + 0.5) / (postings.size + 0.5));
+		for (int i = 0; i < postings.size; i++) {
+			long id = postings.ids[i];
+			int tf = postings.frequencies[i];
+			double length = documents.get(id).length();
+			double weight = idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * length / averageLength));
+			scores.merge(id, weight, Double::sum);
+		}
+	}
+
+	private static List<Hit> top(Map<Long, Double> scores, int limit) {
+		Comparator<Hit> byScore = Comparator.comparingDouble(Hit::score).thenComparing(Hit::id, Comparator.reverseOrder());
+		PriorityQueue<Hit> best = new PriorityQueue<>(byScore);
+		for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+			best.offer(new Hit(entry.getKey(), entry.getValue()));
+			if (best.size() > limit) {
+				best.poll();
+			}
+		}
+		List<Hit> hits = new ArrayList<>(best);
+		hits.sort(byScore.reversed());
+		return hits;
+	}
+
+	private void removeLocked(long id) {
+		Document document = documents.remove(id);
+		if (document == null) {
+			return;
+		}
+		totalLength -= document.length();
+		for (String term : document.terms()) {
+			Postings postings = terms.get(term);
+			if (postings != null && postings.remove(id) && postings.size == 0) {
+				terms.remove(term);
+			}
+		}
+	}
+
+	private static final class Postings {
+
+		long[] ids = new long[2];
+		int[] frequencies = new int[2];
+		int size;
+
+		void add(long id, int frequency) {
+			int at = size == 0 || ids[size - 1] < id ? size : insertionPoint(id);
+			if (size == ids.length) {
+				ids = Arrays.copyOf(ids, size * 2);
+				frequencies = Arrays.copyOf(frequencies, size * 2);
+			}
+			System.arraycopy(ids, at, ids, at + 1, size - at);
+			System.arraycopy(frequencies, at, frequencies, at + 1, size - at);
+			ids[at] = id;
+			frequencies[at] = frequency;
+			size++;
+		}
+
+		boolean remove(long id) {
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			if (at < 0) {
+				return false;
+			}
+			System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+			System.arraycopy(frequencies, at + 1, frequencies, at, size - at - 1);
+			size--;
+			return true;
+		}
+
+		private int insertionPoint(long id) {
+			int at = Arrays.binarySearch(ids, 0, size, id);
+			return at >= 0 ? at : -at - 1;
+		}
+	}
+}
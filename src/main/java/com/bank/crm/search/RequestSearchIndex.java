@@ -0,0 +1,211 @@
+package com.bank.crm.search;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.repository.SearchSourceView;
+import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.shard.ShardRouter;
+
+// Full-text search over requestType + requestDetails without LIKE '%...%' scans.
+// The index lives in memory on every instance. It is built from a keyset scan in the
+// background after startup (searches return nothing until then) and rebuilt on
+// crm.search.rebuild-cron. Local changes arrive as ServiceRequestChangedEvent; changes
+// made through other instances are found by a catch-up scan every catch-up-interval
+// (new ids per shard, then updated_at since the previous scan). A rebuild fills a
+// fresh index while the old one keeps serving; changes seen meanwhile are replayed
+// into the fresh index before it is swapped in.
+@Component
+@ConditionalOnProperty(prefix = "crm.search", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class RequestSearchIndex {
+
+	private static final Logger log = LoggerFactory.getLogger(RequestSearchIndex.class);
+
+	private final SearchProperties properties;
+	private final ServiceRequestRepository repo;
+	private final ShardRouter shardRouter;
+
+	private volatile InvertedIndex index = new InvertedIndex();
+	private volatile boolean ready;
+
+	// non-null while a rebuild runs; guarded by this
+	private List<ServiceRequestDto> changedDuringRebuild;
+
+	// rebuild and catch-up scans; the watermarks below are only used under it
+	private final ReentrantLock scanLock = new ReentrantLock();
+	private final long[] lastIdOfShard;
+	private LocalDateTime lastScanStartedAt;
+
+	public RequestSearchIndex(SearchProperties properties, ServiceRequestRepository repo, ShardRouter shardRouter) {
+		this.properties = properties;
+		this.repo = repo;
+		this.shardRouter = shardRouter;
+		this.lastIdOfShard = new long[shardRouter.shardCount()];
+	}
+
+	public record Hit(long id, double score) {
+	}
+
+	public List<Hit> search(String query, int limit) {
+		int capped = Math.max(1, Math.min(limit, properties.getMaxResults()));
+		return index.search(query, capped, properties.getMaxPrefixExpansions()).stream()
+				.map(hit -> new Hit(hit.id(), hit.score())).toList();
+	}
+
+	public int size() {
+		return index.size();
+	}
+
+	// false until the first build has finished
+	public boolean isReady() {
+		return ready;
+	}
+
+	// Readiness does not wait for a scan of every shard
+	@EventListener(ApplicationReadyEvent.class)
+	public void buildInBackground() {
+		Thread builder = new Thread(this::rebuild, "search-index-build");
+		builder.setDaemon(true);
+		builder.start();
+	}
+
+	@Scheduled(cron = "${crm.search.rebuild-cron:-}")
+	public void rebuild() {
+		synchronized (this) {
+			if (changedDuringRebuild != null) {
+				return;
+			}
+			changedDuringRebuild = new ArrayList<>();
+		}
+		scanLock.lock();
+		long started = System.nanoTime();
+		try {
+			LocalDateTime scanStartedAt = LocalDateTime.now();
+			InvertedIndex fresh = new InvertedIndex();
+			long[] lastIds = new long[lastIdOfShard.length];
+			shardRouter.forEachShard(shard -> lastIds[shard] = load(fresh, 0L));
+			synchronized (this) {
+				changedDuringRebuild.forEach(request -> add(fresh, request.getId(), request.getRequestType(),
+						request.getRequestDetails()));
+				index = fresh;
+			}
+			for (int shard = 0; shard < lastIds.length; shard++) {
+				lastIdOfShard[shard] = Math.max(lastIdOfShard[shard], lastIds[shard]);
+			}
+			lastScanStartedAt = scanStartedAt;
+			ready = true;
+			log.info("Search index rebuilt with {} requests, {} terms in {} ms", fresh.size(), fresh.termCount(),
+					(System.nanoTime() - started) / 1_000_000);
+		} catch (RuntimeException e) {
+			log.error("Search index rebuild failed, the current index keeps serving", e);
+		} finally {
+			scanLock.unlock();
+			synchronized (this) {
+				changedDuringRebuild = null;
+			}
+		}
+	}
+
+	// Skipped while a rebuild runs: the rebuild reads everything anyway
+	@Scheduled(fixedDelayString = "${crm.search.catch-up-interval:30s}",
+			initialDelayString = "${crm.search.catch-up-interval:30s}")
+	public void catchUp() {
+		if (!ready || !scanLock.tryLock()) {
+			return;
+		}
+		try {
+			LocalDateTime scanStartedAt = LocalDateTime.now();
+			LocalDateTime since = lastScanStartedAt.minus(properties.getCatchUpOverlap());
+			int[] found = new int[1];
+			shardRouter.forEachShard(shard -> {
+				long lastId = lastIdOfShard[shard];
+				lastIdOfShard[shard] = Math.max(lastId, load(null, lastId));
+				found[0] += loadUpdatedSince(since);
+			});
+			lastScanStartedAt = scanStartedAt;
+			log.debug("Search index catch-up re-read {} edited requests", found[0]);
+		} catch (RuntimeException e) {
+			log.warn("Search index catch-up failed, retrying on the next run: {}", e.getMessage());
+		} finally {
+			scanLock.unlock();
+		}
+	}
+
+	// Requests of the current shard with id > afterId; into target, or as changes when
+	// target is null. Returns the highest id read.
+	private long load(InvertedIndex target, long afterId) {
+		List<SearchSourceView> page;
+		do {
+			page = repo.findSearchSource(afterId, PageRequest.ofSize(properties.getRebuildBatchSize()));
+			for (SearchSourceView view : page) {
+				if (target != null) {
+					add(target, view.getId(), view.getRequestType(), view.getRequestDetails());
+				} else {
+					apply(view);
+				}
+			}
+			if (!page.isEmpty()) {
+				afterId = page.get(page.size() - 1).getId();
+			}
+		} while (page.size() == properties.getRebuildBatchSize());
+		return afterId;
+	}
+
+	private int loadUpdatedSince(LocalDateTime since) {
+		int count = 0;
+		long afterId = 0L;
+		List<SearchSourceView> page;
+		do {
+			page = repo.findSearchSourceUpdatedSince(since, afterId,
+					PageRequest.ofSize(properties.getRebuildBatchSize()));
+			page.forEach(this::apply);
+			count += page.size();
+			if (!page.isEmpty()) {
+				afterId = page.get(page.size() - 1).getId();
+			}
+		} while (page.size() == properties.getRebuildBatchSize());
+		return count;
+	}
+
+	private void apply(SearchSourceView view) {
+		apply(new ServiceRequestDto(view.getId(), null, view.getRequestType(), view.getRequestDetails(), null, null,
+				null, null));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onServiceRequestChanged(ServiceRequestChangedEvent event) {
+		apply(event.request());
+	}
+
+	private void apply(ServiceRequestDto request) {
+		InvertedIndex target;
+		synchronized (this) {
+			target = index;
+			if (changedDuringRebuild != null) {
+				changedDuringRebuild.add(request);
+			}
+		}
+		add(target, request.getId(), request.getRequestType(), request.getRequestDetails());
+	}
+
+	private void add(InvertedIndex target, long id, String requestType, String details) {
+		if (details != null && details.length() > properties.getMaxDetailsLength()) {
+			details = details.substring(0, properties.getMaxDetailsLength());
+		}
+		target.index(id, requestType, details);
+	}
+}
@@ -0,0 +1,81 @@
+package com.bank.crm.search;
+
+import java.text.BreakIterator;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+// Splits requestDetails/requestType into index terms. Thai has no spaces between
+// words, so words come from the JDK's dictionary-based Thai BreakIterator (it also
+// handles Latin text). Codes such as "TXN-2024-0099" or "123-456-7890" are split
+// into their parts by the BreakIterator and additionally indexed as one compact
+// term ("txn20240099"), so a pasted reference matches as a whole.
+final class RequestTokenizer {
+
+	private static final Locale THAI = Locale.forLanguageTag("th");
+	private static final int MAX_TERM_LENGTH = 64;
+
+	private RequestTokenizer() {
+	}
+
+	static List<String> tokenize(String text) {
+		List<String> terms = new ArrayList<>();
+		if (text == null || text.isBlank()) {
+			return terms;
+		}
+		// NFKC folds full-width digits/letters but splits SARA AM (ำ) into NIKHAHIT + SARA AA,
+		// which the Thai dictionary does not know, so it is put back together
+		String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).replace("\u0e4d\u0e32", "\u0e33")
+				.toLowerCase(Locale.ROOT);
+
+		BreakIterator words = BreakIterator.getWordInstance(THAI);
+		words.setText(normalized);
+		int start = words.first();
+		for (int end = words.next(); end != BreakIterator.DONE; start = end, end = words.next()) {
+			addTerm(terms, normalized, start, end);
+		}
+		addCompactCodes(terms, normalized);
+		return terms;
+	}
+
+	private static void addTerm(List<String> terms, String text, int start, int end) {
+		for (int i = start; i < end; i++) {
+			if (Character.isLetterOrDigit(text.charAt(i))) {
+				terms.add(text.substring(start, Math.min(end, start + MAX_TERM_LENGTH)));
+				return;
+			}
+		}
+	}
+
+	// Runs of letters/digits joined by - / . _ that contain a digit and a separator
+	private static void addCompactCodes(List<String> terms, String text) {
+		int i = 0;
+		while (i < text.length()) {
+			if (Character.isWhitespace(text.charAt(i))) {
+				i++;
+				continue;
+			}
+			int end = i;
+			boolean digit = false;
+			boolean separator = false;
+			StringBuilder compact = new StringBuilder();
+			while (end < text.length() && !Character.isWhitespace(text.charAt(end))) {
+				char c = text.charAt(end);
+				if (Character.isLetterOrDigit(c)) {
+					compact.append(c);
+					digit |= Character.isDigit(c);
+				} else if (c == '-' || c == '/' || c == '.' || c == '_') {
+					separator = true;
+				} else {
+					break;
+				}
+				end++;
+			}
+			if (digit && separator && compact.length() > 0 && compact.length() <= MAX_TERM_LENGTH) {
+				terms.add(compact.toString());
+			}
+			i = Math.max(end, i + 1);
+		}
+	}
+}
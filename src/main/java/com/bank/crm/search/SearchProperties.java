@@ -0,0 +1,32 @@
+package com.bank.crm.search;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.search")
+public class SearchProperties {
+
+	private boolean enabled = true;
+
+	// Rows per keyset page while the index is rebuilt
+	private int rebuildBatchSize = 1000;
+
+	// Only the first part of very long requestDetails is indexed
+	private int maxDetailsLength = 4000;
+
+	// Terms a single "prefix*" word may expand to
+	private int maxPrefixExpansions = 64;
+
+	private int maxResults = 100;
+
+	// Scan for requests created or edited on other instances (their events never reach this one)
+	private Duration catchUpInterval = Duration.ofSeconds(30);
+
+	// Look-back added to each catch-up scan: clock skew between instances and transactions
+	// that committed after the previous scan with an earlier updated_at
+	private Duration catchUpOverlap = Duration.ofMinutes(2);
+}
@@ -1,38 +1,84 @@
 package com.bank.crm.service;
 
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.validation.annotation.Validated;
+import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.bank.crm.cache.RequestCache;
+import com.bank.crm.codec.WireFormats;
+import com.bank.crm.deadline.Deadline;
+import com.bank.crm.dictionary.RequestDictionaries;
 import com.bank.crm.dto.BackOfficeForwardDto;
+import com.bank.crm.dto.BulkRequestFilter;
+import com.bank.crm.dto.BulkStatusUpdateDto;
+import com.bank.crm.dto.BulkStatusUpdateResultDto;
+import com.bank.crm.dto.BulkTriggerResultDto;
+import com.bank.crm.dto.BulkTriggerSendDto;
 import com.bank.crm.dto.CreateRequestDto;
+import com.bank.crm.dto.PaymentLookupDto;
 import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.dto.ServiceRequestLookupDto;
+import com.bank.crm.dto.TriggerOutcomeDto;
 import com.bank.crm.dto.UpdateRequestStatusDto;
 import com.bank.crm.dto.event.PaymentCompletedEvent;
 import com.bank.crm.dto.event.TriggerRequestEvent;
 import com.bank.crm.entity.ActionStatus;
 import com.bank.crm.entity.RequestStatus;
 import com.bank.crm.entity.ServiceRequest;
+import com.bank.crm.entity.ServiceRequestPayment;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.hedge.RequestHedger;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+import com.bank.crm.repository.ArchivedServiceRequestRepository;
+import com.bank.crm.repository.ServiceRequestPaymentRepository;
 import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.service.trigger.TriggerHandlerRegistry;
+import com.bank.crm.shard.ShardContext;
+import com.bank.crm.shard.ShardRouter;
 
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
 
+// @Validated: @Valid parameters are checked on every call, not only behind the controllers'
+// @Valid bodies; an invalid event fails with ConstraintViolationException before any work
 @Service
 @Transactional
 @Validated
@@ -40,6 +86,13 @@ public class CrmService {
 
 	private static final Logger log = LoggerFactory.getLogger(CrmService.class);
 
+	private static final Set<RequestStatus> CLOSED_STATUSES = EnumSet.of(RequestStatus.COMPLETED,
+			RequestStatus.CANCELED);
+
+	private static final Comparator<ServiceRequestDto> BY_CREATED_AT = Comparator
+			.comparing(ServiceRequestDto::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+			.thenComparing(ServiceRequestDto::getId);
+
 	@Value("${backoffice.service.url}")
 	private String backOfficeBaseUrl;
 
@@ -49,70 +102,300 @@ public class CrmService {
 	@Value("${other.microservice.url}")
 	private String otherServiceUrl;
 
+	// ids per set-based statement (SQL Server allows 2100 parameters)
+	@Value("${crm.bulk.chunk-size:500}")
+	private int bulkChunkSize;
+
+	@Value("${crm.bulk.max-requests:10000}")
+	private int bulkMaxRequests;
+
+	// ids per multi-get call (GET /api/crm/requests/batch)
+	@Value("${crm.multi-get.max-ids:1000}")
+	private int multiGetMaxIds;
+
+	// outbound calls in flight at once for one bulk trigger send
+	@Value("${crm.bulk.trigger-parallelism:16}")
+	private int triggerParallelism;
+
 	private ServiceRequestRepository repo;
 	private RestTemplate restTemplate;
-
-	public CrmService(ServiceRequestRepository serviceRequestRepository, RestTemplate restTemplate) {
+	private TriggerHandlerRegistry triggerHandlers;
+	private ApplicationEventPublisher events;
+	private ArchivedServiceRequestRepository archiveRepo;
+	private ShardRouter shardRouter;
+	private WireFormats wireFormats;
+	private RequestHedger hedger;
+	private RequestCache requestCache;
+	private ServiceRequestPaymentRepository paymentRepo;
+	private RequestDictionaries dictionaries;
+	private PaymentRefRegistry paymentRefs;
+
+	public CrmService(ServiceRequestRepository serviceRequestRepository, RestTemplate restTemplate,
+			TriggerHandlerRegistry triggerHandlers, ApplicationEventPublisher events,
+			ArchivedServiceRequestRepository archivedServiceRequestRepository, ShardRouter shardRouter,
+			WireFormats wireFormats, RequestHedger hedger, RequestCache requestCache,
+			ServiceRequestPaymentRepository paymentRepository, RequestDictionaries dictionaries,
+			PaymentRefRegistry paymentRefs) {
 		this.repo = serviceRequestRepository;
+		this.paymentRefs = paymentRefs;
+		this.dictionaries = dictionaries;
+		this.paymentRepo = paymentRepository;
+		this.requestCache = requestCache;
+		this.wireFormats = wireFormats;
+		this.hedger = hedger;
+		this.shardRouter = shardRouter;
+		this.archiveRepo = archivedServiceRequestRepository;
 		this.restTemplate = restTemplate;
+		this.triggerHandlers = triggerHandlers;
+		this.events = events;
 	}
 
 	// Client ---CreateRequestDto: ข้อมูลคำขอ---> CRM Microservice
 	// ---บันทึกข้อมูลลงDB(Status: PENDING)---> CRM Microservice
 	// ---ServiceRequestDto: ข้อมูลที่บันทึก + ID---> Client
 	public ServiceRequestDto createServiceRequest(CreateRequestDto dto) {
+		registerNames(dto.getRequestType(), null);
 
-		ServiceRequest newRequest = new ServiceRequest();
-		newRequest.setCustomerId(dto.getCustomerId());
-		newRequest.setRequestType(dto.getRequestType());
-		newRequest.setRequestDetails(dto.getRequestDetails());
+		try (ShardContext.Scope shard = shardRouter.routeToCustomer(dto.getCustomerId())) {
+			ServiceRequest newRequest = new ServiceRequest();
+			newRequest.setCustomerId(dto.getCustomerId());
+			newRequest.setRequestType(dto.getRequestType());
+			newRequest.setRequestDetails(dto.getRequestDetails());
 
-		ServiceRequest savedRequest = repo.save(newRequest);
-		log.info("Created new service request with ID: {}", savedRequest.getId());
+			ServiceRequest savedRequest = repo.save(newRequest);
+			log.info("Created new service request with ID: {}", savedRequest.getId());
 
-		return ServiceRequestDto.fromEntity(savedRequest);
+			ServiceRequestDto result = ServiceRequestDto.fromEntity(savedRequest);
+			publishChange(Operation.CREATED, null, result, null);
+			return result;
+		}
 
 	}
 
 	// CRM Microservice find ServiceRequest By "Id"
+	// (closed requests moved out by RequestArchivalJob are served from the archive)
+	// SUPPORTS: a cache hit takes no connection; a miss runs the repository's read-only queries
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
 	public ServiceRequestDto getServiceRequestById(Long id) {
-		ServiceRequest request = repo.findById(id).orElseThrow(
-				() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "ServiceRequest not found with id: " + id));
-		return ServiceRequestDto.fromEntity(request);
+		return requestCache.get(id, () -> {
+			try (ShardContext.Scope shard = shardRouter.routeToRequest(id)) {
+				return repo.findDtoById(id).or(() -> archiveRepo.findDtoById(id))
+						.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+								"ServiceRequest not found with id: " + id));
+			}
+		});
 	}
 
-	// CRM Microservice find All ServiceRequest
+	// Reconciliation: the payment with this transaction ref and the request it completed.
+	// An index seek per shard (ux_service_request_payments_ref); archived requests come
+	// from the archive, a request deleted since is returned as null.
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public PaymentLookupDto findPaymentByTransactionRef(String paymentTransactionRef) {
+		ServiceRequestPayment payment = shardRouter
+				.queryAllShards(() -> paymentRepo.findByPaymentTransactionRef(paymentTransactionRef),
+						Comparator.comparing(ServiceRequestPayment::getRecordedAt))
+				.stream().findFirst()
+				.orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND,
+						"No payment found with paymentTransactionRef: " + paymentTransactionRef));
+		Long requestId = payment.getRequestId();
+		try (ShardContext.Scope shard = shardRouter.routeToRequest(requestId)) {
+			return PaymentLookupDto.of(payment,
+					repo.findDtoById(requestId).or(() -> archiveRepo.findDtoById(requestId)).orElse(null));
+		}
+	}
+
+	// CRM Microservice find All ServiceRequest (every shard, oldest first when sharded)
+	@Transactional(readOnly = true)
 	public List<ServiceRequestDto> getAllServiceRequests() {
-		return repo.findAll().stream().map(ServiceRequestDto::fromEntity).collect(Collectors.toList());
+		return shardRouter.queryAllShards(repo::findAllDtos, BY_CREATED_AT);
+	}
+
+	// Active requests with the given ids, by id: each id is read on its own shard in chunked
+	// IN queries (loadByIds); unknown or archived ids are left out
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public Map<Long, ServiceRequestDto> getServiceRequestsByIds(Collection<Long> ids) {
+		return loadByIds(ids, false);
+	}
+
+	// Multi-get for lists of linked requests: cached requests first, the rest with
+	// chunked IN queries on their own shard, closed ones from the archive. One entry per
+	// requested id in request order (repeated ids repeat), found=false when it doesn't exist.
+	@Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+	public List<ServiceRequestLookupDto> getServiceRequestsInOrder(List<Long> ids) {
+		if (ids.size() > multiGetMaxIds) {
+			throw new IllegalArgumentException("At most " + multiGetMaxIds + " ids per call, got " + ids.size());
+		}
+		if (ids.stream().anyMatch(Objects::isNull)) {
+			throw new IllegalArgumentException("ids must not contain null");
+		}
+		Map<Long, ServiceRequestDto> found = requestCache.getAll(ids.stream().distinct().toList(),
+				missing -> loadByIds(missing, true));
+		List<ServiceRequestLookupDto> result = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			ServiceRequestDto request = found.get(id);
+			result.add(new ServiceRequestLookupDto(id, request != null, request));
+		}
+		return result;
+	}
+
+	// A shard's ids are read in their own transaction on that shard (ShardRouter.inTransaction)
+	private Map<Long, ServiceRequestDto> loadByIds(Collection<Long> ids, boolean withArchived) {
+		Map<Integer, List<Long>> byShard = ids.stream()
+				.collect(Collectors.groupingBy(shardRouter::shardForId, TreeMap::new, Collectors.toList()));
+		Map<Long, ServiceRequestDto> loaded = new HashMap<>();
+		byShard.forEach(
+				(shard, shardIds) -> loaded.putAll(shardRouter.inTransaction(shard, () -> loadFromShard(shardIds, withArchived))));
+		return loaded;
+	}
+
+	private Map<Long, ServiceRequestDto> loadFromShard(List<Long> ids, boolean withArchived) {
+		Map<Long, ServiceRequestDto> loaded = new HashMap<>();
+		for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+			repo.findDtosByIds(ids.subList(from, Math.min(from + bulkChunkSize, ids.size())))
+					.forEach(request -> loaded.put(request.getId(), request));
+		}
+		if (!withArchived) {
+			return loaded;
+		}
+		List<Long> notActive = ids.stream().filter(id -> !loaded.containsKey(id)).toList();
+		for (int from = 0; from < notActive.size(); from += bulkChunkSize) {
+			archiveRepo.findDtosByIds(notActive.subList(from, Math.min(from + bulkChunkSize, notActive.size())))
+					.forEach(request -> loaded.put(request.getId(), request));
+		}
+		return loaded;
+	}
+
+	// Latest active requests of one customer, newest first (ix_service_requests_customer).
+	// Asks every shard: a customer re-homed by an added shard keeps its older rows behind
+	@Transactional(readOnly = true)
+	public List<ServiceRequestDto> getRecentRequestsOfCustomer(String customerId, int limit) {
+		List<ServiceRequestDto> recent = shardRouter.queryAllShards(
+				() -> repo.findRecentDtosOfCustomer(customerId, PageRequest.ofSize(limit)), BY_CREATED_AT.reversed());
+		return recent.size() > limit ? recent.subList(0, limit) : recent;
 	}
 
 	public ServiceRequestDto updateServiceRequestStatus(Long id, UpdateRequestStatusDto dto) {
-		ServiceRequest request = repo.findById(id)
-				.orElseThrow(() -> new EntityNotFoundException("ServiceRequest not found with id: " + id));
+		try (ShardContext.Scope shard = shardRouter.routeToRequest(id)) {
+			ServiceRequest request = repo.findById(id)
+					.orElseThrow(() -> new EntityNotFoundException("ServiceRequest not found with id: " + id));
 
-		request.setStatus(dto.getStatus());
+			RequestStatus previousStatus = request.getStatus();
+			request.setStatus(dto.getStatus());
 
-		if (dto.getAssignedTo() != null && dto.getAssignedTo().isBlank()) {
-			request.setAssignedTo(dto.getAssignedTo());
+			if (dto.getAssignedTo() != null && dto.getAssignedTo().isBlank()) {
+				request.setAssignedTo(dto.getAssignedTo());
+			}
+
+			registerNames(request);
+			ServiceRequest updatedRequest = repo.save(request);
+			log.info("Updated status for service request ID {}: {}", id, dto.getStatus());
+
+			ServiceRequestDto result = ServiceRequestDto.fromEntity(updatedRequest);
+			publishChange(Operation.STATUS_UPDATED, previousStatus, result, null);
+			return result;
+		}
+
+	}
+
+	// Set-based variant of updateServiceRequestStatus for supervisors: one locking
+	// SELECT and one UPDATE per chunk of ids instead of a load/save per request.
+	// COMPLETED and CANCELED requests are never moved out of their final status.
+	public BulkStatusUpdateResultDto bulkUpdateStatus(BulkStatusUpdateDto dto) {
+		List<Long> ids = resolveBulkIds(dto);
+		String assignedTo = dto.getAssignedTo() != null && !dto.getAssignedTo().isBlank() ? dto.getAssignedTo() : null;
+		registerNames(null, assignedTo);
+		LocalDateTime now = LocalDateTime.now();
+
+		// one transaction per shard when sharded
+		Map<Integer, List<Long>> idsByShard = ids.stream()
+				.collect(Collectors.groupingBy(shardRouter::shardForId, TreeMap::new, Collectors.toList()));
+		int affected = 0;
+		for (Map.Entry<Integer, List<Long>> shardIds : idsByShard.entrySet()) {
+			affected += shardRouter.inTransaction(shardIds.getKey(),
+					() -> updateOpenRequests(shardIds.getValue(), dto.getStatus(), assignedTo, now));
 		}
 
-		ServiceRequest updatedRequest = repo.save(request);
-		log.info("Updated status for service request ID {}: {}", id, dto.getStatus());
+		log.info("Bulk status update to {}: requested={}, affected={}", dto.getStatus(), ids.size(), affected);
+		return new BulkStatusUpdateResultDto(ids.size(), affected, ids.size() - affected);
+	}
+
+	private int updateOpenRequests(List<Long> ids, RequestStatus status, String assignedTo, LocalDateTime now) {
+		int affected = 0;
+		for (int from = 0; from < ids.size(); from += bulkChunkSize) {
+			List<Long> chunk = ids.subList(from, Math.min(from + bulkChunkSize, ids.size()));
+			List<ServiceRequestDto> current = repo.lockOpenRequests(chunk, CLOSED_STATUSES);
+			if (current.isEmpty()) {
+				continue;
+			}
+			affected += repo.updateStatusOfOpenRequests(chunk, status, assignedTo, now, CLOSED_STATUSES);
 
-		return ServiceRequestDto.fromEntity(updatedRequest);
+			for (ServiceRequestDto request : current) {
+				RequestStatus previousStatus = request.getStatus();
+				request.setStatus(status);
+				if (assignedTo != null) {
+					request.setAssignedTo(assignedTo);
+				}
+				request.setUpdatedAt(now);
+				publishChange(Operation.BULK_STATUS_UPDATED, previousStatus, request, null);
+			}
+		}
+		return affected;
+	}
 
+	private List<Long> resolveBulkIds(BulkStatusUpdateDto dto) {
+		boolean byIds = dto.getIds() != null && !dto.getIds().isEmpty();
+		if (byIds == (dto.getFilter() != null)) {
+			throw new IllegalArgumentException("Exactly one of 'ids' or 'filter' must be given");
+		}
+		List<Long> ids;
+		if (byIds) {
+			ids = dto.getIds().stream().filter(Objects::nonNull).distinct().collect(Collectors.toList());
+		} else {
+			BulkRequestFilter filter = dto.getFilter();
+			ids = shardRouter.queryAllShards(() -> repo.findIds(filter.getCurrentStatus(), filter.getRequestType(),
+					filter.getCustomerId(), filter.getAssignedTo(), PageRequest.ofSize(bulkMaxRequests + 1)),
+					Comparator.naturalOrder());
+		}
+		if (ids.size() > bulkMaxRequests) {
+			throw new IllegalArgumentException("Bulk update is limited to " + bulkMaxRequests + " requests");
+		}
+		return ids;
 	}
 
 	public ServiceRequestDto forwardRequestToBackOffice(Long id) {
-		// --- จำลองการส่งต่อ ---
-		// 1. ดึงข้อมูล Entity (เหมือนเดิม)
-		ServiceRequest request = repo.findById(id)
-				.orElseThrow(() -> new EntityNotFoundException("ServiceRequest not found with id: " + id));
-
-		if (request.getStatus() == RequestStatus.FORWARDED || request.getStatus() == RequestStatus.COMPLETED) {
-			log.warn("Request ID {} is already forwarded or completed. Skipping.", id);
-			return ServiceRequestDto.fromEntity(request);
+		try (ShardContext.Scope shard = shardRouter.routeToRequest(id)) {
+			// --- จำลองการส่งต่อ ---
+			// 1. ดึงข้อมูล Entity (เหมือนเดิม)
+			ServiceRequest request = repo.findById(id)
+					.orElseThrow(() -> new EntityNotFoundException("ServiceRequest not found with id: " + id));
+
+			if (request.getStatus() == RequestStatus.FORWARDED || request.getStatus() == RequestStatus.COMPLETED) {
+				log.warn("Request ID {} is already forwarded or completed. Skipping.", id);
+				return ServiceRequestDto.fromEntity(request);
+			}
+			return forward(request);
+		}
+
+	}
+
+	// ForwardRetryWorker: sends the request again only while it is still FORWARD_FAILED.
+	// The row stays locked until the forward commits, so an agent who cancels it or moves
+	// it back to IN_PROGRESS after the worker's claim is neither sent nor overwritten;
+	// empty when the request is no longer FORWARD_FAILED.
+	public Optional<ServiceRequestDto> retryForwardToBackOffice(Long id) {
+		try (ShardContext.Scope shard = shardRouter.routeToRequest(id)) {
+			ServiceRequest request = repo.lockById(id)
+					.orElseThrow(() -> new EntityNotFoundException("ServiceRequest not found with id: " + id));
+			if (request.getStatus() != RequestStatus.FORWARD_FAILED) {
+				log.info("Request ID {} is {} now, not re-forwarding it.", id, request.getStatus());
+				return Optional.empty();
+			}
+			return Optional.of(forward(request));
 		}
+	}
+
+	private ServiceRequestDto forward(ServiceRequest request) {
+		Long id = request.getId();
 
 		// 2. เตรียมข้อมูลสำหรับส่งไป Back Office (ใช้ DTO)
 		BackOfficeForwardDto forwardDto = new BackOfficeForwardDto();
@@ -122,10 +405,11 @@ public class CrmService {
 		forwardDto.setDetails(request.getRequestDetails());
 
 		// 3.พยายามส่งข้อมูลไปยัง Back Office
+		RequestStatus previousStatus = request.getStatus();
 		log.info("Forwarding request ID {} to Back Office URL: {}", id, backOfficeBaseUrl);
 
 		try {
-			ResponseEntity<String> response = restTemplate.postForEntity(backOfficeBaseUrl, forwardDto, String.class);
+			ResponseEntity<String> response = submitToBackOffice(forwardDto);
 
 			if (response.getStatusCode().is2xxSuccessful()) {
 				log.info("Successfully forwarded request ID {}. Back office response: {}", id,
@@ -146,11 +430,13 @@ public class CrmService {
 			request.setAssignedTo("BackOfficeQueue");
 		}
 
+		registerNames(request);
 		ServiceRequest finalUpdatedRequest = repo.save(request);
 		log.info("Persisted final status [{}] for request ID {}.", finalUpdatedRequest.getStatus(), id);
 
-		return ServiceRequestDto.fromEntity(finalUpdatedRequest);
-
+		ServiceRequestDto result = ServiceRequestDto.fromEntity(finalUpdatedRequest);
+		publishChange(Operation.FORWARDED, previousStatus, result, null);
+		return result;
 	}
 
 	// รับTrigger จาก Microservice -> PaymentCompletedTrigger ประมวลผล Event
@@ -159,7 +445,7 @@ public class CrmService {
 		log.info("Trigger PaymentCompletedEvent: eventId={}, serviceRequestId={}", event.getEventId(),
 				event.getServiceRequestId());
 
-		try {
+		try (ShardContext.Scope shard = shardRouter.routeToRequest(event.getServiceRequestId())) {
 			// 1. ค้นหา Service Request ที่เกี่ยวข้อง
 			Long requestId = event.getServiceRequestId();
 			ServiceRequest request = repo.findById(requestId).orElseThrow(() -> new EntityNotFoundException(
@@ -182,19 +468,47 @@ public class CrmService {
 						"Unable to continue: ServiceRequest (ID:" + request.getId() + ") has been canceled.");
 			}
 
-			// 3. อัปเดตสถานะและข้อมูล (ถ้าจำเป็น)
+			// เลขอ้างอิงเดียวกันใช้ปิดคำขออื่นไปแล้ว: checked on every shard, since the other
+			// request may live on another shard than this one
+			List<ServiceRequestPayment> recorded = shardRouter.queryAllShards(
+					() -> paymentRepo.findByPaymentTransactionRef(event.getPaymentTransactionRef()),
+					Comparator.comparing(ServiceRequestPayment::getRecordedAt));
+			if (!recorded.isEmpty()) {
+				throw new IllegalStateException("Payment transaction ref " + event.getPaymentTransactionRef()
+						+ " is already recorded for ServiceRequest ID: " + recorded.get(0).getRequestId());
+			}
+			// the lookup above misses a payment of another shard that is not committed yet:
+			// reserving the ref on shard 0 first lets only one request take it
+			long holder = paymentRefs.reserve(event.getPaymentTransactionRef(), request.getId());
+			if (holder != request.getId()) {
+				throw new IllegalStateException("Payment transaction ref " + event.getPaymentTransactionRef()
+						+ " is already recorded for ServiceRequest ID: " + holder);
+			}
+
+			// 3. อัปเดตสถานะ; requestType/requestDetails เดิมของลูกค้าไม่ถูกเขียนทับ
+			// ข้อมูลการชำระเงินเก็บใน dbo.service_request_payments (transaction เดียวกัน)
+			RequestStatus previousStatus = request.getStatus();
 			request.setStatus(RequestStatus.COMPLETED);
-			request.setRequestDetails("paymentTransactionRef : " + event.getPaymentTransactionRef() + " , "
-					+ "amountPaid : " + event.getAmountPaid());
-			request.setRequestType("PaymentCompletedTrigger");
 
 			ServiceRequest finalUpdatedRequest = repo.save(request);
+			try {
+				// IDENTITY id: the insert runs here, so a concurrent duplicate fails on
+				// ux_service_request_payments_ref now rather than at commit
+				paymentRepo.save(new ServiceRequestPayment(null, request.getId(), event.getPaymentTransactionRef(),
+						event.getAmountPaid(), event.getPaymentTimestamp(), event.getEventId(), null));
+			} catch (DataIntegrityViolationException e) {
+				throw new IllegalStateException(
+						"Payment transaction ref " + event.getPaymentTransactionRef() + " is already recorded", e);
+			}
 
 			log.info(
 					"Successfully updated ServiceRequest ID: {} status to COMPLETED from PaymentCompletedEvent eventId: {}",
 					request.getId(), event.getEventId());
 
-			return ServiceRequestDto.fromEntity(finalUpdatedRequest);
+			ServiceRequestDto result = ServiceRequestDto.fromEntity(finalUpdatedRequest);
+			publishChange(Operation.PAYMENT_COMPLETED, previousStatus, result,
+					"paymentTransactionRef=" + event.getPaymentTransactionRef());
+			return result;
 
 		} catch (EntityNotFoundException | IllegalStateException e) {
 			log.error("An error occurred while processing PaymentCompletedEvent (eventId: {}): {}", event.getEventId(),
@@ -220,71 +534,100 @@ public class CrmService {
 			return;
 		}
 
-		// ค้นหา ServiceRequest จาก ID ที่ได้รับมา
-		ServiceRequest request = repo.findById(triggerRequest.getRelatedId())
-				.orElseThrow(() -> new EntityNotFoundException(
-						"ServiceRequest not found with id: " + triggerRequest.getRelatedId()));
-
-		log.info("Found ServiceRequest to update: ID {}", request.getId());
-
-		// ประมวลผลตาม Action ที่ระบุมา
-		ActionStatus action = triggerRequest.getAction();
-		Map<String, Object> data = triggerRequest.getData();
-
-		if (ActionStatus.UPDATE_STATUS == action) {
-			if (data != null && data.containsKey("newStatus")) {
-				try {
-					String newStatusStr = (String) data.get("newStatus");
-					RequestStatus newStatus = RequestStatus.valueOf(newStatusStr.toUpperCase());
-					request.setStatus(newStatus);
-				} catch (IllegalArgumentException e) {
-					log.error("Invalid status value '{}' received in trigger data for action 'update_status'.",
-							data.get("newStatus"));
-
-				} catch (ClassCastException e) {
-					log.error("Expected 'newStatus' in data to be a String for action 'update_status'. Data: {}", data);
-				}
-			} else {
-				log.warn("Action 'update_status' received but 'newStatus' is missing in data.");
+		try (ShardContext.Scope shard = shardRouter.routeToRequest(triggerRequest.getRelatedId())) {
+			// ค้นหา ServiceRequest จาก ID ที่ได้รับมา
+			ServiceRequest request = repo.findById(triggerRequest.getRelatedId())
+					.orElseThrow(() -> new EntityNotFoundException(
+							"ServiceRequest not found with id: " + triggerRequest.getRelatedId()));
+
+			log.info("Found ServiceRequest to update: ID {}", request.getId());
+
+			// ประมวลผลตาม Action ที่ระบุมา
+			RequestStatus previousStatus = request.getStatus();
+			boolean changed = triggerHandlers.dispatch(triggerRequest.getAction(), request, triggerRequest.getData());
+
+			// บันทึกการเปลี่ยนแปลงลง DB (เฉพาะเมื่อมีการเปลี่ยนแปลง)
+			if (changed) {
+				registerNames(request);
+				ServiceRequest savedRequest = repo.save(request);
+				publishChange(Operation.TRIGGER_APPLIED, previousStatus, ServiceRequestDto.fromEntity(savedRequest),
+						triggerRequest.getAction() + " from " + triggerRequest.getSourceService());
 			}
-		} else if (ActionStatus.ASSIGN_AGENT == action) {
-			if (data != null && data.containsKey("agentId")) {
-				String agentId = (String) data.get("agentId");
-				request.setAssignedTo(agentId);
-				log.info("Assigning agent '{}' to ServiceRequest ID: {}", agentId, request.getId());
-			} else {
-				log.warn("Action 'assign_agent' received but 'agentId' is missing in data.");
+			log.info("Finished processing incoming trigger for ServiceRequest ID: {}", request.getId());
+		}
+
+	}
+
+	// One group commit of TriggerWriteBehind; all triggers belong to the current shard.
+	// Each request is loaded once and its triggers run against it in arrival order, so
+	// repeated triggers for one request are written as a single UPDATE at commit. Every
+	// trigger that changed something still publishes its own TRIGGER_APPLIED event.
+	// Returns the ids that were not found.
+	public Set<Long> applyTriggerBatch(List<TriggerRequestEvent> triggers) {
+		List<Long> ids = triggers.stream().map(TriggerRequestEvent::getRelatedId).distinct().toList();
+		Map<Long, ServiceRequest> requests = new HashMap<>(ids.size() * 2);
+		repo.findAllById(ids).forEach(request -> requests.put(request.getId(), request));
+
+		Set<Long> missing = new HashSet<>();
+		// by id: @Data hashCode changes with every field a handler sets
+		Map<Long, ServiceRequest> changed = new LinkedHashMap<>();
+		for (TriggerRequestEvent trigger : triggers) {
+			ServiceRequest request = requests.get(trigger.getRelatedId());
+			if (request == null) {
+				missing.add(trigger.getRelatedId());
+				continue;
+			}
+			RequestStatus previousStatus = request.getStatus();
+			if (triggerHandlers.dispatch(trigger.getAction(), request, trigger.getData())) {
+				changed.put(request.getId(), request);
+				publishChange(Operation.TRIGGER_APPLIED, previousStatus, ServiceRequestDto.fromEntity(request),
+						trigger.getAction() + " from " + trigger.getSourceService());
 			}
-		} else {
-			log.warn("Unknown or unhandled action received: {}", action);
 		}
+		changed.values().forEach(this::registerNames);
+		repo.saveAll(changed.values());
+		log.info("Applied {} triggers to {} service requests in one transaction ({} not found)", triggers.size(),
+				changed.size(), missing.size());
+		return missing;
+	}
 
-		// บันทึกการเปลี่ยนแปลงลง DB
-		repo.save(request);
-		log.info("Finished processing incoming trigger for ServiceRequest ID: {}", request.getId());
+	private void registerNames(ServiceRequest request) {
+		registerNames(request.getRequestType(), request.getAssignedTo());
+	}
 
+	// Resolves the dictionary keys before the entity is saved, so the converters find
+	// them cached and the flush never takes a second connection to register a name
+	private void registerNames(String requestType, String assignedTo) {
+		try {
+			if (requestType != null) {
+				dictionaries.requestTypes().idOf(requestType);
+			}
+			if (assignedTo != null) {
+				dictionaries.assignees().idOf(assignedTo);
+			}
+		} catch (IllegalArgumentException e) {
+			throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+		}
 	}
 
 	// เมธอดสำหรับ Trigger Microservice อื่น (ใช้ ServiceRequest data)
 	public void triggerOtherMicroservice(Long requestId, ActionStatus action) {
-		ServiceRequest request = repo.findById(requestId)
-				.orElseThrow(() -> new EntityNotFoundException("ServiceRequest not found with id: " + requestId));
+		ServiceRequest request;
+		try (ShardContext.Scope shard = shardRouter.routeToRequest(requestId)) {
+			request = repo.findById(requestId)
+					.orElseThrow(() -> new EntityNotFoundException("ServiceRequest not found with id: " + requestId));
+		}
 
 		log.info("Triggering action '{}' on other microservice for ServiceRequest ID: {} (Customer: {})", action,
 				requestId, request.getCustomerId());
 
 		String url = otherServiceUrl + "/api/external/actions"; // ตัวอย่าง Endpoint ของ Service ปลายทาง
 
-		Map<String, Object> requestBody = new HashMap<>();
-		requestBody.put("sourceService", "my-crm-service");
-		requestBody.put("action", action);
-		requestBody.put("relatedCrmRequestId", request.getId());
-		requestBody.put("customerId", request.getCustomerId());
-		requestBody.put("requestType", request.getRequestType());
-		requestBody.put("details", request.getRequestDetails());
+		Map<String, Object> requestBody = triggerBody(action, request.getId(), request.getCustomerId(),
+				request.getRequestType(), request.getRequestDetails());
 
 		try {
-			ResponseEntity<String> response = restTemplate.postForEntity(url, requestBody, String.class);
+			ResponseEntity<String> response = post(url, requestBody);
 		} catch (RestClientException e) {
 			log.error("Error triggering other microservice for request {}: {}", requestId, e.getMessage(), e);
 			throw new RuntimeException("Failed to trigger other microservice for request ID: " + requestId, e);
@@ -292,4 +635,119 @@ public class CrmService {
 
 	}
 
+	// triggerOtherMicroservice for many requests: the requests are loaded with one query
+	// per chunk of ids and the calls run concurrently, at most triggerParallelism at a
+	// time, so the total time grows with ids / parallelism rather than with ids.
+	// No transaction (and DB connection) is held while the calls are in flight.
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public BulkTriggerResultDto bulkTriggerOtherMicroservice(BulkTriggerSendDto dto) {
+		List<Long> ids = dto.getIds().stream().filter(Objects::nonNull).distinct().toList();
+		if (ids.size() > bulkMaxRequests) {
+			throw new IllegalArgumentException("Bulk trigger send is limited to " + bulkMaxRequests + " requests");
+		}
+		long started = System.nanoTime();
+
+		Map<Long, ServiceRequestDto> requests = getServiceRequestsByIds(ids);
+
+		String url = otherServiceUrl + "/api/external/actions";
+		ActionStatus action = dto.getAction();
+		Semaphore inFlight = new Semaphore(triggerParallelism);
+		List<Future<TriggerOutcomeDto>> pending = new ArrayList<>(ids.size());
+		// virtual threads: waiting for a permit or a response costs no platform thread
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (Long id : ids) {
+				ServiceRequestDto request = requests.get(id);
+				if (request == null) {
+					pending.add(CompletableFuture.completedFuture(
+							new TriggerOutcomeDto(id, TriggerOutcomeDto.Outcome.NOT_FOUND, null)));
+					continue;
+				}
+				Map<String, Object> body = triggerBody(action, id, request.getCustomerId(), request.getRequestType(),
+						request.getRequestDetails());
+				pending.add(executor.submit(Deadline.propagate(() -> {
+					inFlight.acquire();
+					try {
+						post(url, body);
+						return new TriggerOutcomeDto(id, TriggerOutcomeDto.Outcome.SENT, null);
+					} catch (RestClientException e) {
+						return new TriggerOutcomeDto(id, TriggerOutcomeDto.Outcome.FAILED, e.getMessage());
+					} finally {
+						inFlight.release();
+					}
+				})));
+			}
+		}
+
+		List<TriggerOutcomeDto> outcomes = new ArrayList<>(ids.size());
+		int[] counts = new int[TriggerOutcomeDto.Outcome.values().length];
+		for (Future<TriggerOutcomeDto> future : pending) {
+			TriggerOutcomeDto outcome = outcomeOf(future);
+			outcomes.add(outcome);
+			counts[outcome.getOutcome().ordinal()]++;
+		}
+		int sent = counts[TriggerOutcomeDto.Outcome.SENT.ordinal()];
+		int notFound = counts[TriggerOutcomeDto.Outcome.NOT_FOUND.ordinal()];
+		int failed = counts[TriggerOutcomeDto.Outcome.FAILED.ordinal()];
+		long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+		log.info("Bulk trigger send of {}: requested={}, sent={}, notFound={}, failed={} in {} ms", action, ids.size(),
+				sent, notFound, failed, elapsedMillis);
+		return new BulkTriggerResultDto(ids.size(), sent, notFound, failed, elapsedMillis, outcomes);
+	}
+
+	// The executor has been closed, so every future is done
+	private static TriggerOutcomeDto outcomeOf(Future<TriggerOutcomeDto> outcome) {
+		try {
+			return outcome.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("Interrupted while collecting trigger outcomes", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("Trigger send failed unexpectedly", e.getCause());
+		}
+	}
+
+	private static Map<String, Object> triggerBody(ActionStatus action, Long requestId, String customerId,
+			String requestType, String details) {
+		Map<String, Object> requestBody = new HashMap<>();
+		requestBody.put("sourceService", "my-crm-service");
+		requestBody.put("action", action);
+		requestBody.put("relatedCrmRequestId", requestId);
+		requestBody.put("customerId", customerId);
+		requestBody.put("requestType", requestType);
+		requestBody.put("details", details);
+		return requestBody;
+	}
+
+	// The back office de-duplicates on Idempotency-Key, so a submission may be hedged
+	// (crm.hedging) and a re-forward of the same request is answered, not repeated
+	// The key is sent on every attempt, hedged or not, so the back office can also drop
+	// the duplicate of a forward retried after a timeout
+	private ResponseEntity<String> submitToBackOffice(BackOfficeForwardDto forwardDto) {
+		HttpHeaders headers = new HttpHeaders();
+		headers.set("Idempotency-Key", "crm-forward-" + forwardDto.getOriginalRequestId());
+		return hedger.call(() -> post(backOfficeBaseUrl, forwardDto, headers));
+	}
+
+	private ResponseEntity<String> post(String url, Object body) {
+		return post(url, body, HttpHeaders.EMPTY);
+	}
+
+	// POST in the encoding configured for the target host (crm.wire-format), again as JSON if it answers 415.
+	// Timeouts are capped at the inbound request's Deadline by DeadlineAwareRequestFactory.
+	private ResponseEntity<String> post(String url, Object body, HttpHeaders headers) {
+		try {
+			return restTemplate.postForEntity(url, wireFormats.request(url, body, headers), String.class);
+		} catch (HttpClientErrorException.UnsupportedMediaType e) {
+			if (!wireFormats.fallBackToJson(url)) {
+				throw e;
+			}
+			return restTemplate.postForEntity(url, wireFormats.request(url, body, headers), String.class);
+		}
+	}
+
+	private void publishChange(Operation operation, RequestStatus previousStatus, ServiceRequestDto request,
+			String detail) {
+		events.publishEvent(new ServiceRequestChangedEvent(operation, previousStatus, request, detail));
+	}
+
 }
@@ -0,0 +1,53 @@
+package com.bank.crm.service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.shard.ShardRouter;
+
+// dbo.payment_transaction_refs on shard 0 (db/016_payment_transaction_refs.sql): one row per
+// payment transaction ref, naming the request it completed. With sharding the unique index
+// on dbo.service_request_payments only covers the request's own shard, so a ref is reserved
+// here, committed on its own, before the payment is stored next to the request. A ref stays
+// reserved if that later transaction rolls back; the same request can still take it again.
+// Without sharding the unique index covers every payment and nothing is reserved.
+@Component
+public class PaymentRefRegistry {
+
+	private static final String RESERVE_SQL = """
+			INSERT INTO dbo.payment_transaction_refs (payment_transaction_ref, request_id, reserved_at)
+			VALUES (?, ?, ?)
+			""";
+
+	private static final String HOLDER_SQL =
+			"SELECT request_id FROM dbo.payment_transaction_refs WHERE payment_transaction_ref = ?";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final ShardRouter shardRouter;
+
+	public PaymentRefRegistry(JdbcTemplate jdbcTemplate, ShardRouter shardRouter) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.shardRouter = shardRouter;
+	}
+
+	// Id of the request that holds the ref: requestId when this call reserved it or the
+	// request already held it, another id when the ref belongs to another request
+	public long reserve(String paymentTransactionRef, long requestId) {
+		if (!shardRouter.isEnabled()) {
+			return requestId;
+		}
+		return shardRouter.inTransaction(0, () -> {
+			try {
+				jdbcTemplate.update(RESERVE_SQL, paymentTransactionRef, requestId, Timestamp.valueOf(LocalDateTime.now()));
+				return requestId;
+			} catch (DuplicateKeyException e) {
+				// rows are never deleted, so the holder is there to read
+				return jdbcTemplate.queryForObject(HOLDER_SQL, Long.class, paymentTransactionRef);
+			}
+		});
+	}
+}
@@ -0,0 +1,36 @@
+package com.bank.crm.service.trigger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dto.event.payload.AssignAgentPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.ServiceRequest;
+
+@Component
+public class AssignAgentHandler implements TriggerActionHandler<AssignAgentPayload> {
+
+	private static final Logger log = LoggerFactory.getLogger(AssignAgentHandler.class);
+
+	@Override
+	public ActionStatus action() {
+		return ActionStatus.ASSIGN_AGENT;
+	}
+
+	@Override
+	public Class<AssignAgentPayload> payloadType() {
+		return AssignAgentPayload.class;
+	}
+
+	@Override
+	public boolean handle(ServiceRequest request, AssignAgentPayload payload) {
+		if (payload == null || payload.getAgentId() == null) {
+			log.warn("Action 'assign_agent' received but 'agentId' is missing in data.");
+			return false;
+		}
+		request.setAssignedTo(payload.getAgentId());
+		log.info("Assigning agent '{}' to ServiceRequest ID: {}", payload.getAgentId(), request.getId());
+		return true;
+	}
+}
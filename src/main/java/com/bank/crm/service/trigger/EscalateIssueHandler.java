@@ -0,0 +1,46 @@
+package com.bank.crm.service.trigger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dto.event.payload.EscalateIssuePayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.entity.ServiceRequest;
+
+@Component
+public class EscalateIssueHandler implements TriggerActionHandler<EscalateIssuePayload> {
+
+	static final String ESCALATION_QUEUE = "EscalationQueue";
+
+	private static final Logger log = LoggerFactory.getLogger(EscalateIssueHandler.class);
+
+	@Override
+	public ActionStatus action() {
+		return ActionStatus.ESCALATE_ISSUE;
+	}
+
+	@Override
+	public Class<EscalateIssuePayload> payloadType() {
+		return EscalateIssuePayload.class;
+	}
+
+	@Override
+	public boolean handle(ServiceRequest request, EscalateIssuePayload payload) {
+		if (TriggerActionHandler.isClosed(request)) {
+			log.warn("ServiceRequest ID: {} is {}; escalation ignored.", request.getId(), request.getStatus());
+			return false;
+		}
+		String escalateTo = payload != null && payload.getEscalateTo() != null && !payload.getEscalateTo().isBlank()
+				? payload.getEscalateTo()
+				: ESCALATION_QUEUE;
+		request.setAssignedTo(escalateTo);
+		if (request.getStatus() == RequestStatus.PENDING || request.getStatus() == RequestStatus.FORWARD_FAILED) {
+			request.setStatus(RequestStatus.IN_PROGRESS);
+		}
+		log.info("Escalated ServiceRequest ID: {} to '{}'. Reason: {}", request.getId(), escalateTo,
+				payload != null ? payload.getReason() : null);
+		return true;
+	}
+}
@@ -0,0 +1,38 @@
+package com.bank.crm.service.trigger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dto.event.payload.NotifyStatusUpdatePayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.ServiceRequest;
+
+// Informational only: the other service tells us about its own progress,
+// the ServiceRequest itself is left untouched (no save)
+@Component
+public class NotifyStatusUpdateHandler implements TriggerActionHandler<NotifyStatusUpdatePayload> {
+
+	private static final Logger log = LoggerFactory.getLogger(NotifyStatusUpdateHandler.class);
+
+	@Override
+	public ActionStatus action() {
+		return ActionStatus.NOTIFY_STATUS_UPDATE;
+	}
+
+	@Override
+	public Class<NotifyStatusUpdatePayload> payloadType() {
+		return NotifyStatusUpdatePayload.class;
+	}
+
+	@Override
+	public boolean handle(ServiceRequest request, NotifyStatusUpdatePayload payload) {
+		if (payload == null) {
+			log.info("Status update notification for ServiceRequest ID: {} without details.", request.getId());
+			return false;
+		}
+		log.info("Status update notification for ServiceRequest ID: {}: externalStatus={}, message={}",
+				request.getId(), payload.getExternalStatus(), payload.getMessage());
+		return false;
+	}
+}
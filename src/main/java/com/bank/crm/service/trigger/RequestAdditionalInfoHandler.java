@@ -0,0 +1,43 @@
+package com.bank.crm.service.trigger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dto.event.payload.RequestAdditionalInfoPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.entity.ServiceRequest;
+
+// The request goes back to PENDING until the customer supplies the missing information
+@Component
+public class RequestAdditionalInfoHandler implements TriggerActionHandler<RequestAdditionalInfoPayload> {
+
+	private static final Logger log = LoggerFactory.getLogger(RequestAdditionalInfoHandler.class);
+
+	@Override
+	public ActionStatus action() {
+		return ActionStatus.REQUEST_ADDITIONAL_INFO;
+	}
+
+	@Override
+	public Class<RequestAdditionalInfoPayload> payloadType() {
+		return RequestAdditionalInfoPayload.class;
+	}
+
+	@Override
+	public boolean handle(ServiceRequest request, RequestAdditionalInfoPayload payload) {
+		if (TriggerActionHandler.isClosed(request)) {
+			log.warn("ServiceRequest ID: {} is {}; additional info request ignored.", request.getId(),
+					request.getStatus());
+			return false;
+		}
+		log.info("Additional info requested for ServiceRequest ID: {} by {}: {}", request.getId(),
+				payload != null ? payload.getRequestedBy() : null, payload != null ? payload.getRequestedInfo() : null);
+		if (request.getStatus() == RequestStatus.PENDING) {
+			return false;
+		}
+		request.setStatus(RequestStatus.PENDING);
+		return true;
+	}
+}
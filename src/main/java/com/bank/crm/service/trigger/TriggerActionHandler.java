@@ -0,0 +1,23 @@
+package com.bank.crm.service.trigger;
+
+import com.bank.crm.dto.event.payload.TriggerPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.entity.ServiceRequest;
+
+// One handler per ActionStatus, looked up by TriggerHandlerRegistry
+public interface TriggerActionHandler<P extends TriggerPayload> {
+
+	ActionStatus action();
+
+	Class<P> payloadType();
+
+	// Returns true when the ServiceRequest was changed and has to be saved.
+	// payload is null when the trigger arrived without "data".
+	boolean handle(ServiceRequest request, P payload);
+
+	static boolean isClosed(ServiceRequest request) {
+		return request.getStatus() == RequestStatus.COMPLETED
+				|| request.getStatus() == RequestStatus.CANCELED;
+	}
+}
@@ -0,0 +1,51 @@
+package com.bank.crm.service.trigger;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dto.event.payload.TriggerPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.ServiceRequest;
+
+@Component
+public class TriggerHandlerRegistry {
+
+	private static final Logger log = LoggerFactory.getLogger(TriggerHandlerRegistry.class);
+
+	private final Map<ActionStatus, TriggerActionHandler<?>> handlers = new EnumMap<>(ActionStatus.class);
+
+	public TriggerHandlerRegistry(List<TriggerActionHandler<?>> handlers) {
+		for (TriggerActionHandler<?> handler : handlers) {
+			TriggerActionHandler<?> previous = this.handlers.put(handler.action(), handler);
+			if (previous != null) {
+				throw new IllegalStateException("Duplicate trigger handlers for action " + handler.action() + ": "
+						+ previous.getClass().getName() + ", " + handler.getClass().getName());
+			}
+		}
+	}
+
+	// Returns true when the handler changed the request
+	public boolean dispatch(ActionStatus action, ServiceRequest request, TriggerPayload payload) {
+		TriggerActionHandler<?> handler = handlers.get(action);
+		if (handler == null) {
+			log.warn("Unknown or unhandled action received: {}", action);
+			return false;
+		}
+		return invoke(handler, request, payload);
+	}
+
+	private static <P extends TriggerPayload> boolean invoke(TriggerActionHandler<P> handler, ServiceRequest request,
+			TriggerPayload payload) {
+		if (payload != null && !handler.payloadType().isInstance(payload)) {
+			log.error("Payload {} does not match action {}. Skipping.", payload.getClass().getSimpleName(),
+					handler.action());
+			return false;
+		}
+		return handler.handle(request, handler.payloadType().cast(payload));
+	}
+}
@@ -0,0 +1,250 @@
+package com.bank.crm.service.trigger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dto.event.TriggerRequestEvent;
+import com.bank.crm.service.CrmService;
+import com.bank.crm.shard.ShardRouter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+// Group commit for incoming UPDATE_STATUS / ASSIGN_AGENT triggers (crm.trigger-write-behind).
+// Request threads queue their trigger and wait; one writer thread collects triggers for
+// up to maxDelay and applies them with CrmService.applyTriggerBatch in one transaction
+// per shard, where repeated triggers for the same request collapse into one UPDATE.
+// Each caller returns once the transaction holding its trigger has committed, so the
+// response still means "applied". If a batch fails its triggers are retried one by one,
+// so one bad trigger only fails its own caller. A caller waits at most awaitTimeout, and
+// every trigger the writer takes is completed or failed, whatever stops its batch.
+// Counters: crm.trigger.write_behind{outcome=batched|collapsed|inline|fallback}
+@Component
+public class TriggerWriteBehind implements SmartLifecycle {
+
+	private static final Logger log = LoggerFactory.getLogger(TriggerWriteBehind.class);
+
+	private final TriggerWriteBehindProperties properties;
+	private final CrmService crmService;
+	private final ShardRouter shardRouter;
+	private final BlockingQueue<PendingTrigger> buffer;
+	private final Counter batched;
+	private final Counter collapsed;
+	private final Counter inline;
+	private final Counter fallback;
+
+	private volatile boolean running;
+	private Thread writer;
+
+	public TriggerWriteBehind(TriggerWriteBehindProperties properties, CrmService crmService, ShardRouter shardRouter,
+			MeterRegistry meterRegistry) {
+		this.properties = properties;
+		this.crmService = crmService;
+		this.shardRouter = shardRouter;
+		this.buffer = new ArrayBlockingQueue<>(properties.getBufferSize());
+		this.batched = meterRegistry.counter("crm.trigger.write_behind", "outcome", "batched");
+		this.collapsed = meterRegistry.counter("crm.trigger.write_behind", "outcome", "collapsed");
+		this.inline = meterRegistry.counter("crm.trigger.write_behind", "outcome", "inline");
+		this.fallback = meterRegistry.counter("crm.trigger.write_behind", "outcome", "fallback");
+		Gauge.builder("crm.trigger.write_behind.buffer.size", buffer, BlockingQueue::size)
+				.description("Triggers waiting for the write-behind writer")
+				.register(meterRegistry);
+	}
+
+	// Applies the trigger through the writer and waits for its commit. Returns false when
+	// the trigger is not grouped (disabled, other action, queue full); the caller then
+	// applies it with CrmService.processIncomingTrigger. Failures are rethrown as-is.
+	public boolean apply(TriggerRequestEvent trigger) {
+		if (!running || trigger.getRelatedId() == null || !properties.getActions().contains(trigger.getAction())) {
+			return false;
+		}
+		PendingTrigger pending = new PendingTrigger(trigger, new CompletableFuture<>());
+		if (!offer(pending)) {
+			inline.increment();
+			return false;
+		}
+		try {
+			pending.committed().get(properties.getAwaitTimeout().toNanos(), TimeUnit.NANOSECONDS);
+			return true;
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			return withdraw(pending, "not committed within " + properties.getAwaitTimeout());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return withdraw(pending, "interrupted while waiting for its commit");
+		}
+	}
+
+	// Still queued: taken back, so the caller applies it itself. Already taken: the writer may
+	// commit it yet, so the caller cannot report it either way and fails.
+	private boolean withdraw(PendingTrigger pending, String reason) {
+		if (buffer.remove(pending)) {
+			inline.increment();
+			return false;
+		}
+		throw new IllegalStateException(
+				"Trigger for ServiceRequest " + pending.trigger().getRelatedId() + " " + reason);
+	}
+
+	@Override
+	public void start() {
+		if (!properties.isEnabled()) {
+			return;
+		}
+		running = true;
+		writer = new Thread(this::drainLoop, "trigger-write-behind");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	@Override
+	public void stop() {
+		running = false;
+		if (writer != null) {
+			try {
+				writer.join();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		}
+		// anything offered while the writer was exiting
+		List<PendingTrigger> rest = new ArrayList<>();
+		buffer.drainTo(rest);
+		if (!rest.isEmpty()) {
+			write(rest);
+		}
+	}
+
+	@Override
+	public boolean isRunning() {
+		return running;
+	}
+
+	private boolean offer(PendingTrigger pending) {
+		try {
+			return buffer.offer(pending, properties.getOfferTimeout().toNanos(), TimeUnit.NANOSECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
+		}
+	}
+
+	private void drainLoop() {
+		long lingerNanos = properties.getMaxDelay().toNanos();
+		int batchSize = properties.getBatchSize();
+		List<PendingTrigger> batch = new ArrayList<>(batchSize);
+		while (running || !buffer.isEmpty()) {
+			try {
+				PendingTrigger first = buffer.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				long deadline = System.nanoTime() + lingerNanos;
+				while (batch.size() < batchSize) {
+					buffer.drainTo(batch, batchSize - batch.size());
+					long remaining = deadline - System.nanoTime();
+					if (batch.size() >= batchSize || remaining <= 0 || !running) {
+						break;
+					}
+					PendingTrigger next = buffer.poll(remaining, TimeUnit.NANOSECONDS);
+					if (next == null) {
+						break;
+					}
+					batch.add(next);
+				}
+			} catch (InterruptedException e) {
+				// only stop() ends the loop, after the buffer is drained; triggers taken so far are written below
+			}
+			if (batch.isEmpty()) {
+				continue;
+			}
+			try {
+				write(batch);
+			} finally {
+				batch.clear();
+			}
+		}
+	}
+
+	// Settles every future of the batch: those the write did not complete are failed
+	private void write(List<PendingTrigger> batch) {
+		try {
+			writeBatch(batch);
+		} catch (RuntimeException e) {
+			log.error("Trigger write-behind failed on a batch of {} triggers", batch.size(), e);
+			batch.forEach(pending -> pending.committed().completeExceptionally(e));
+		} finally {
+			if (batch.stream().anyMatch(pending -> !pending.committed().isDone())) {
+				IllegalStateException notApplied = new IllegalStateException(
+						"Trigger write-behind stopped before the trigger was applied");
+				batch.forEach(pending -> pending.committed().completeExceptionally(notApplied));
+			}
+		}
+	}
+
+	private void writeBatch(List<PendingTrigger> batch) {
+		Map<Integer, List<PendingTrigger>> byShard = new TreeMap<>();
+		for (PendingTrigger pending : batch) {
+			byShard.computeIfAbsent(shardRouter.shardForId(pending.trigger().getRelatedId()), s -> new ArrayList<>())
+					.add(pending);
+		}
+		byShard.forEach(this::writeShardBatch);
+	}
+
+	private void writeShardBatch(int shard, List<PendingTrigger> batch) {
+		List<TriggerRequestEvent> triggers = batch.stream().map(PendingTrigger::trigger).toList();
+		Set<Long> missing;
+		try {
+			missing = shardRouter.inTransaction(shard, () -> crmService.applyTriggerBatch(triggers));
+		} catch (RuntimeException e) {
+			log.warn("Batch of {} triggers failed, applying them one by one: {}", batch.size(), e.getMessage());
+			fallback.increment(batch.size());
+			batch.forEach(this::applyAlone);
+			return;
+		}
+		batched.increment(batch.size());
+		collapsed.increment(batch.size() - triggers.stream().map(TriggerRequestEvent::getRelatedId).distinct().count());
+		for (PendingTrigger pending : batch) {
+			Long id = pending.trigger().getRelatedId();
+			if (missing.contains(id)) {
+				pending.committed().completeExceptionally(
+						new EntityNotFoundException("ServiceRequest not found with id: " + id));
+			} else {
+				pending.committed().complete(null);
+			}
+		}
+	}
+
+	private void applyAlone(PendingTrigger pending) {
+		try {
+			crmService.processIncomingTrigger(pending.trigger());
+			pending.committed().complete(null);
+		} catch (RuntimeException e) {
+			pending.committed().completeExceptionally(e);
+		}
+	}
+
+	private record PendingTrigger(TriggerRequestEvent trigger, CompletableFuture<Void> committed) {
+	}
+}
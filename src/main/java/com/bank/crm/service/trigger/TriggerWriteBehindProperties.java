@@ -0,0 +1,38 @@
+package com.bank.crm.service.trigger;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.bank.crm.entity.ActionStatus;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.trigger-write-behind")
+public class TriggerWriteBehindProperties {
+
+	// Off: every incoming trigger is applied in its own transaction as before
+	private boolean enabled = false;
+
+	// Actions that are grouped; the others keep the one-transaction-per-trigger path
+	private Set<ActionStatus> actions = EnumSet.of(ActionStatus.UPDATE_STATUS, ActionStatus.ASSIGN_AGENT);
+
+	// Longest time a trigger waits for others to share its commit
+	private Duration maxDelay = Duration.ofMillis(5);
+
+	// Triggers per transaction (also ids per IN list, so keep it well below 2100)
+	private int batchSize = 200;
+
+	// Capacity of the queue between request threads and the writer
+	private int bufferSize = 4096;
+
+	// How long a request thread waits for queue space before applying its trigger itself
+	private Duration offerTimeout = Duration.ofMillis(10);
+
+	// How long a request thread waits for the commit; a trigger the writer has not taken yet
+	// is then applied by the caller itself, one already being written fails the call
+	private Duration awaitTimeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,35 @@
+package com.bank.crm.service.trigger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.dto.event.payload.UpdateStatusPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.ServiceRequest;
+
+@Component
+public class UpdateStatusHandler implements TriggerActionHandler<UpdateStatusPayload> {
+
+	private static final Logger log = LoggerFactory.getLogger(UpdateStatusHandler.class);
+
+	@Override
+	public ActionStatus action() {
+		return ActionStatus.UPDATE_STATUS;
+	}
+
+	@Override
+	public Class<UpdateStatusPayload> payloadType() {
+		return UpdateStatusPayload.class;
+	}
+
+	@Override
+	public boolean handle(ServiceRequest request, UpdateStatusPayload payload) {
+		if (payload == null || payload.getNewStatus() == null) {
+			log.warn("Action 'update_status' received but 'newStatus' is missing in data.");
+			return false;
+		}
+		request.setStatus(payload.getNewStatus());
+		return true;
+	}
+}
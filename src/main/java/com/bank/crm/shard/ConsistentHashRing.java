@@ -0,0 +1,41 @@
+package com.bank.crm.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Maps a key to a shard so that adding shard N+1 only moves about 1/(N+1) of the
+// keys, all of them to the new shard. Each shard owns virtualNodes points on the ring.
+final class ConsistentHashRing {
+
+	private final TreeMap<Long, Integer> ring = new TreeMap<>();
+
+	ConsistentHashRing(int shardCount, int virtualNodes) {
+		for (int shard = 0; shard < shardCount; shard++) {
+			for (int node = 0; node < virtualNodes; node++) {
+				ring.put(hash("shard-" + shard + "#" + node), shard);
+			}
+		}
+	}
+
+	int shardFor(String key) {
+		Map.Entry<Long, Integer> owner = ring.ceilingEntry(hash(key));
+		return owner != null ? owner.getValue() : ring.firstEntry().getValue();
+	}
+
+	// 64-bit FNV-1a with the murmur3 finalizer; String.hashCode clusters on the
+	// sequential customer ids we use (CUST100, CUST101, ...)
+	static long hash(String key) {
+		long h = 0xcbf29ce484222325L;
+		for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+			h ^= b;
+			h *= 0x100000001b3L;
+		}
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return h;
+	}
+}
@@ -0,0 +1,39 @@
+package com.bank.crm.shard;
+
+// Shard of the work running on the current thread, read by ShardRoutingDataSource
+// when a transaction takes its first physical connection.
+public final class ShardContext {
+
+	private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+	// Returned when sharding is disabled; closing it changes nothing
+	static final Scope NONE = () -> {
+	};
+
+	private ShardContext() {
+	}
+
+	public static Integer current() {
+		return CURRENT.get();
+	}
+
+	static Scope enter(int shard) {
+		Integer previous = CURRENT.get();
+		CURRENT.set(shard);
+		return () -> {
+			if (previous == null) {
+				CURRENT.remove();
+			} else {
+				CURRENT.set(previous);
+			}
+		};
+	}
+
+	// try (ShardContext.Scope shard = shardRouter.routeToRequest(id)) { ... }
+	@FunctionalInterface
+	public interface Scope extends AutoCloseable {
+
+		@Override
+		void close();
+	}
+}
@@ -0,0 +1,147 @@
+package com.bank.crm.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Decides which shard a piece of work runs on. New requests go to the shard of
+// their customerId on a consistent hash ring; an existing request is found from
+// its id alone (id % idStride). Appending a shard moves part of the ring to it but
+// no rows, so a customer's requests may sit on more than one shard: reads by
+// customer go through queryAllShards. With crm.sharding.enabled=false every method
+// is a pass-through on the caller's thread and transaction.
+@Component
+public class ShardRouter implements DisposableBean {
+
+	private final boolean enabled;
+	private final int shardCount;
+	private final int idStride;
+	private final ConsistentHashRing ring;
+	private final TransactionTemplate readOnlyTransaction;
+	private final TransactionTemplate newTransaction;
+	private final ExecutorService scatterExecutor;
+
+	public ShardRouter(ShardingProperties properties, PlatformTransactionManager transactionManager) {
+		this.enabled = properties.isEnabled();
+		this.shardCount = enabled ? properties.getShards().size() : 1;
+		this.idStride = properties.getIdStride();
+		if (enabled && (shardCount == 0 || shardCount > idStride)) {
+			throw new IllegalStateException("crm.sharding.shards must list between 1 and " + idStride + " shards");
+		}
+		this.ring = new ConsistentHashRing(shardCount, properties.getVirtualNodes());
+		if (enabled) {
+			this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+			this.readOnlyTransaction.setReadOnly(true);
+			this.newTransaction = new TransactionTemplate(transactionManager);
+			this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+			this.scatterExecutor = Executors.newVirtualThreadPerTaskExecutor();
+		} else {
+			this.readOnlyTransaction = null;
+			this.newTransaction = null;
+			this.scatterExecutor = null;
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int shardCount() {
+		return shardCount;
+	}
+
+	// Where a new request of the customer goes; its older requests may be elsewhere
+	public int shardForCustomer(String customerId) {
+		return enabled ? ring.shardFor(customerId) : 0;
+	}
+
+	// Ids whose residue names no configured shard exist nowhere; shard 0 answers "not found"
+	public int shardForId(long id) {
+		if (!enabled) {
+			return 0;
+		}
+		int shard = (int) Math.floorMod(id, (long) idStride);
+		return shard < shardCount ? shard : 0;
+	}
+
+	public ShardContext.Scope routeToCustomer(String customerId) {
+		return enabled ? ShardContext.enter(shardForCustomer(customerId)) : ShardContext.NONE;
+	}
+
+	public ShardContext.Scope routeToRequest(Long id) {
+		return enabled && id != null ? ShardContext.enter(shardForId(id)) : ShardContext.NONE;
+	}
+
+	public ShardContext.Scope routeTo(int shard) {
+		return enabled ? ShardContext.enter(shard) : ShardContext.NONE;
+	}
+
+	// Runs query on every shard in parallel, each in its own read-only transaction,
+	// and merges the results in the given order
+	public <T> List<T> queryAllShards(Supplier<List<T>> query, Comparator<? super T> order) {
+		if (!enabled) {
+			return query.get();
+		}
+		List<CompletableFuture<List<T>>> parts = new ArrayList<>(shardCount);
+		for (int shard = 0; shard < shardCount; shard++) {
+			int target = shard;
+			parts.add(CompletableFuture.supplyAsync(() -> {
+				try (ShardContext.Scope scope = ShardContext.enter(target)) {
+					return readOnlyTransaction.execute(status -> query.get());
+				}
+			}, scatterExecutor));
+		}
+		List<T> merged = new ArrayList<>();
+		try {
+			for (CompletableFuture<List<T>> part : parts) {
+				merged.addAll(part.join());
+			}
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+		merged.sort(order);
+		return merged;
+	}
+
+	// A transaction can only use one shard: work for another shard runs in its own
+	// transaction. Disabled: joins the caller's transaction as before.
+	public <T> T inTransaction(int shard, Supplier<T> work) {
+		if (!enabled) {
+			return work.get();
+		}
+		try (ShardContext.Scope scope = ShardContext.enter(shard)) {
+			return newTransaction.execute(status -> work.get());
+		}
+	}
+
+	// Sequentially, for jobs that page through every shard
+	public void forEachShard(IntConsumer work) {
+		for (int shard = 0; shard < shardCount; shard++) {
+			try (ShardContext.Scope scope = routeTo(shard)) {
+				work.accept(shard);
+			}
+		}
+	}
+
+	@Override
+	public void destroy() {
+		if (scatterExecutor != null) {
+			scatterExecutor.shutdown();
+		}
+	}
+}
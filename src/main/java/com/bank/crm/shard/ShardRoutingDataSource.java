@@ -0,0 +1,38 @@
+package com.bank.crm.shard;
+
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// One connection pool per shard; the pool is chosen by ShardContext. Without a
+// shard on the thread (schema validation, jobs on shard 0 only) shard 0 is used.
+public class ShardRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+	public ShardRoutingDataSource(Map<Object, Object> shards) {
+		setTargetDataSources(shards);
+		setDefaultTargetDataSource(shards.get(0));
+		afterPropertiesSet();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		return ShardContext.current();
+	}
+
+	public DataSource shard(int index) {
+		return getResolvedDataSources().get(index);
+	}
+
+	@Override
+	public void close() {
+		for (DataSource shard : getResolvedDataSources().values()) {
+			if (shard instanceof HikariDataSource pool) {
+				pool.close();
+			}
+		}
+	}
+}
@@ -0,0 +1,46 @@
+package com.bank.crm.shard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+// Replaces the single spring.datasource pool with one pool per crm.sharding.shards entry
+@Configuration
+@ConditionalOnProperty(prefix = "crm.sharding", name = "enabled", havingValue = "true")
+public class ShardingDataSourceConfig {
+
+	@Bean
+	public ShardRoutingDataSource shardRoutingDataSource(ShardingProperties properties) {
+		List<ShardingProperties.Shard> shards = properties.getShards();
+		Map<Object, Object> pools = new HashMap<>();
+		for (int index = 0; index < shards.size(); index++) {
+			ShardingProperties.Shard shard = shards.get(index);
+			HikariDataSource pool = DataSourceBuilder.create().type(HikariDataSource.class).url(shard.getUrl())
+					.username(shard.getUsername()).password(shard.getPassword())
+					.driverClassName(shard.getDriverClassName()).build();
+			pool.setPoolName("crm-shard-" + index);
+			pool.setMaximumPoolSize(shard.getMaximumPoolSize());
+			pools.put(index, pool);
+		}
+		return new ShardRoutingDataSource(pools);
+	}
+
+	// Transactions begin before CrmService knows the request's shard; the lazy proxy
+	// takes the physical connection at the first statement, after the shard is set
+	@Bean
+	@Primary
+	public DataSource dataSource(ShardRoutingDataSource shardRoutingDataSource) {
+		return new LazyConnectionDataSourceProxy(shardRoutingDataSource);
+	}
+}
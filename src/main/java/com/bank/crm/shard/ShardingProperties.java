@@ -0,0 +1,41 @@
+package com.bank.crm.shard;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.sharding")
+public class ShardingProperties {
+
+	private boolean enabled = false;
+
+	// Shard i generates ids with IDENTITY(idStride + i, idStride), so id % idStride is
+	// the shard of any request. Also the maximum number of shards; never change it once
+	// data exists (see db/004_sharded_service_requests.sql)
+	private int idStride = 64;
+
+	// Points per shard on the consistent hash ring of customerId
+	private int virtualNodes = 160;
+
+	// Shard index = position in this list; only ever append new shards. Existing rows
+	// stay where they are, only new requests of re-homed customers go to the new shard
+	private List<Shard> shards = new ArrayList<>();
+
+	@Data
+	public static class Shard {
+
+		private String url;
+
+		private String username;
+
+		private String password;
+
+		private String driverClassName;
+
+		private int maximumPoolSize = 10;
+	}
+}
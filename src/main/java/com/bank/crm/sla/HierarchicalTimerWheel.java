@@ -0,0 +1,186 @@
+package com.bank.crm.sla;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Hashed hierarchical timer wheel: LEVELS wheels of SLOTS buckets each, level n
+// covering SLOTS^(n+1) ticks. schedule/cancel are O(1); advance() only touches the
+// buckets that are due, plus one cascade of a higher-level bucket every SLOTS^n ticks.
+// Deadlines further out than the whole wheel are parked in the top level and
+// re-placed when their bucket comes round.
+// Not thread-safe on its own; SlaEscalationEngine serialises access.
+class HierarchicalTimerWheel<K> {
+
+	static final int SLOT_BITS = 6;
+	static final int SLOTS = 1 << SLOT_BITS;
+	static final int LEVELS = 4;
+
+	private static final int SLOT_MASK = SLOTS - 1;
+
+	private final long tickMillis;
+	private final Node<K>[][] buckets;
+	private final Map<K, Node<K>> nodes = new HashMap<>();
+	private final List<Node<K>> overdue = new ArrayList<>();
+	private long currentTick;
+
+	@SuppressWarnings("unchecked")
+	HierarchicalTimerWheel(long tickMillis, long startMillis) {
+		if (tickMillis <= 0) {
+			throw new IllegalArgumentException("tickMillis must be positive");
+		}
+		this.tickMillis = tickMillis;
+		this.buckets = new Node[LEVELS][SLOTS];
+		this.currentTick = startMillis / tickMillis;
+	}
+
+	// Replaces any deadline already held for the key
+	void schedule(K key, long deadlineMillis) {
+		cancel(key);
+		Node<K> node = new Node<>(key, ceilTick(deadlineMillis));
+		nodes.put(key, node);
+		place(node);
+	}
+
+	boolean cancel(K key) {
+		Node<K> node = nodes.remove(key);
+		if (node == null) {
+			return false;
+		}
+		if (node.level < 0) {
+			overdue.remove(node);
+		} else {
+			unlink(node);
+		}
+		return true;
+	}
+
+	boolean contains(K key) {
+		return nodes.containsKey(key);
+	}
+
+	int size() {
+		return nodes.size();
+	}
+
+	// Moves the wheel forward to nowMillis and returns the keys whose deadline passed
+	List<K> advance(long nowMillis) {
+		List<K> expired = new ArrayList<>();
+		drainOverdue(expired);
+		long targetTick = nowMillis / tickMillis;
+		while (currentTick < targetTick) {
+			currentTick++;
+			for (int level = LEVELS - 1; level > 0; level--) {
+				if ((currentTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+					cascade(level, (int) ((currentTick >>> (SLOT_BITS * level)) & SLOT_MASK));
+				}
+			}
+			Node<K> node = detachBucket(0, (int) (currentTick & SLOT_MASK));
+			while (node != null) {
+				Node<K> next = node.next;
+				node.next = null;
+				if (node.deadlineTick <= currentTick) {
+					expire(node, expired);
+				} else {
+					place(node);
+				}
+				node = next;
+			}
+			drainOverdue(expired);
+		}
+		return expired;
+	}
+
+	private void drainOverdue(List<K> expired) {
+		if (overdue.isEmpty()) {
+			return;
+		}
+		for (Node<K> node : overdue) {
+			expire(node, expired);
+		}
+		overdue.clear();
+	}
+
+	private void expire(Node<K> node, List<K> expired) {
+		nodes.remove(node.key);
+		expired.add(node.key);
+	}
+
+	private void cascade(int level, int slot) {
+		Node<K> node = detachBucket(level, slot);
+		while (node != null) {
+			Node<K> next = node.next;
+			node.next = null;
+			place(node);
+			node = next;
+		}
+	}
+
+	private void place(Node<K> node) {
+		long delta = node.deadlineTick - currentTick;
+		if (delta <= 0) {
+			node.level = -1;
+			overdue.add(node);
+			return;
+		}
+		int level = 0;
+		while (level < LEVELS - 1 && delta >= (1L << (SLOT_BITS * (level + 1)))) {
+			level++;
+		}
+		long slotTick = node.deadlineTick;
+		if (delta >= (1L << (SLOT_BITS * LEVELS))) {
+			// beyond the wheel: park in the top level, one rotation ahead
+			slotTick = currentTick + (1L << (SLOT_BITS * LEVELS)) - 1;
+		}
+		int slot = (int) ((slotTick >>> (SLOT_BITS * level)) & SLOT_MASK);
+		node.level = level;
+		node.slot = slot;
+		node.prev = null;
+		node.next = buckets[level][slot];
+		if (node.next != null) {
+			node.next.prev = node;
+		}
+		buckets[level][slot] = node;
+	}
+
+	private void unlink(Node<K> node) {
+		if (node.prev != null) {
+			node.prev.next = node.next;
+		} else {
+			buckets[node.level][node.slot] = node.next;
+		}
+		if (node.next != null) {
+			node.next.prev = node.prev;
+		}
+		node.prev = null;
+		node.next = null;
+	}
+
+	private Node<K> detachBucket(int level, int slot) {
+		Node<K> head = buckets[level][slot];
+		buckets[level][slot] = null;
+		for (Node<K> n = head; n != null; n = n.next) {
+			n.prev = null;
+		}
+		return head;
+	}
+
+	private long ceilTick(long millis) {
+		return Math.floorDiv(millis + tickMillis - 1, tickMillis);
+	}
+
+	private static final class Node<K> {
+		final K key;
+		final long deadlineTick;
+		int level;
+		int slot;
+		Node<K> prev;
+		Node<K> next;
+
+		Node(K key, long deadlineTick) {
+			this.key = key;
+			this.deadlineTick = deadlineTick;
+		}
+	}
+}
@@ -0,0 +1,68 @@
+package com.bank.crm.sla;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.bank.crm.entity.RequestStatus;
+
+// Escalation claims on dbo.service_requests (db/013_service_requests_sla_escalation.sql).
+// A claim is keyed by the time the request entered its status (status_changed_at,
+// db/015), so each breach is escalated by exactly one instance, a request that
+// re-enters a watched status can be escalated again and other edits change nothing.
+@Component
+public class SlaEscalationClaims {
+
+	// The WHERE re-checks status and deadline in the same statement, so a request closed
+	// or moved to another status after the deadline was scheduled is not claimed early
+	private static final String CLAIM_SQL = """
+			UPDATE dbo.service_requests
+			SET sla_escalated_for = status_changed_at
+			OUTPUT INSERTED.status
+			WHERE id = :id AND status IN (:statuses) AND status_changed_at <= :dueBefore
+			  AND (sla_escalated_for IS NULL OR sla_escalated_for <> status_changed_at)
+			""";
+
+	private static final String PENDING_SQL = """
+			SELECT status_changed_at FROM dbo.service_requests
+			WHERE id = :id AND status IN (:statuses)
+			  AND (sla_escalated_for IS NULL OR sla_escalated_for <> status_changed_at)
+			""";
+
+	private static final String RELEASE_SQL = "UPDATE dbo.service_requests SET sla_escalated_for = NULL WHERE id = :id";
+
+	private final NamedParameterJdbcTemplate jdbcTemplate;
+
+	public SlaEscalationClaims(NamedParameterJdbcTemplate jdbcTemplate) {
+		this.jdbcTemplate = jdbcTemplate;
+	}
+
+	// Status of the request when this caller won the claim, empty when another instance
+	// already escalated it, it is no longer in a watched status or it entered its status
+	// after dueBefore (now minus the SLA of its request type)
+	public Optional<RequestStatus> claim(long id, Collection<RequestStatus> statuses, LocalDateTime dueBefore) {
+		List<String> claimed = jdbcTemplate.queryForList(CLAIM_SQL, params(id, statuses)
+				.addValue("dueBefore", dueBefore), String.class);
+		return claimed.stream().findFirst().map(RequestStatus::valueOf);
+	}
+
+	// When the request entered its status, if it is in a watched status that has not
+	// been escalated yet
+	public Optional<LocalDateTime> pendingSince(long id, Collection<RequestStatus> statuses) {
+		return jdbcTemplate.queryForList(PENDING_SQL, params(id, statuses), LocalDateTime.class).stream().findFirst();
+	}
+
+	// After a failed trigger call, so the retry can claim again
+	public void release(long id) {
+		jdbcTemplate.update(RELEASE_SQL, new MapSqlParameterSource("id", id));
+	}
+
+	private static MapSqlParameterSource params(long id, Collection<RequestStatus> statuses) {
+		return new MapSqlParameterSource("id", id).addValue("statuses", statuses.stream().map(Enum::name).toList());
+	}
+}
@@ -0,0 +1,213 @@
+package com.bank.crm.sla;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.repository.OpenRequestView;
+import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.service.CrmService;
+import com.bank.crm.shard.ShardContext;
+import com.bank.crm.shard.ShardRouter;
+
+// Keeps the SLA deadline of every open ServiceRequest in a timer wheel, so finding
+// breached requests never scans service_requests. The wheel is rebuilt from an
+// indexed keyset scan at startup and kept current from ServiceRequestChangedEvent.
+// Deadlines count from status_changed_at (db/015), so edits that keep the status do
+// not restart the clock. Every instance holds every deadline; SlaEscalationClaims lets
+// one of them escalate, and only once the deadline has passed in the database too:
+// a wheel that missed a status change made on another instance is corrected then.
+@Component
+@ConditionalOnProperty(prefix = "crm.sla", name = "enabled", havingValue = "true")
+public class SlaEscalationEngine {
+
+	private static final Logger log = LoggerFactory.getLogger(SlaEscalationEngine.class);
+
+	private final SlaProperties properties;
+	private final ServiceRequestRepository repo;
+	private final CrmService crmService;
+	private final SlaEscalationClaims claims;
+	private final ShardRouter shardRouter;
+	private final Clock clock;
+	private final HierarchicalTimerWheel<Long> wheel;
+	// SLA of every id in the wheel, guarded by the wheel
+	private final Map<Long, Duration> slas = new HashMap<>();
+
+	@Autowired
+	public SlaEscalationEngine(SlaProperties properties, ServiceRequestRepository repo, CrmService crmService,
+			SlaEscalationClaims claims, ShardRouter shardRouter) {
+		this(properties, repo, crmService, claims, shardRouter, Clock.systemDefaultZone());
+	}
+
+	SlaEscalationEngine(SlaProperties properties, ServiceRequestRepository repo, CrmService crmService,
+			SlaEscalationClaims claims, ShardRouter shardRouter, Clock clock) {
+		this.properties = properties;
+		this.repo = repo;
+		this.crmService = crmService;
+		this.claims = claims;
+		this.shardRouter = shardRouter;
+		this.clock = clock;
+		this.wheel = new HierarchicalTimerWheel<>(properties.getTick().toMillis(), clock.millis());
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void rebuild() {
+		long started = System.nanoTime();
+		int[] loaded = { 0 };
+		shardRouter.forEachShard(shard -> loaded[0] += rebuildFromCurrentShard());
+
+		log.info("SLA engine rebuilt with {} open requests in {} ms", loaded[0], (System.nanoTime() - started) / 1_000_000);
+	}
+
+	private int rebuildFromCurrentShard() {
+		int loaded = 0;
+		long afterId = 0L;
+		List<OpenRequestView> page;
+		do {
+			page = repo.findOpenRequests(properties.getStatuses(), afterId,
+					PageRequest.ofSize(properties.getRebuildBatchSize()));
+			synchronized (wheel) {
+				for (OpenRequestView view : page) {
+					schedule(view.getId(), properties.slaFor(view.getRequestType()), toMillis(view.getStatusChangedAt()));
+				}
+			}
+			loaded += page.size();
+			if (!page.isEmpty()) {
+				afterId = page.get(page.size() - 1).getId();
+			}
+		} while (page.size() == properties.getRebuildBatchSize());
+		return loaded;
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onServiceRequestChanged(ServiceRequestChangedEvent event) {
+		ServiceRequestDto request = event.request();
+		synchronized (wheel) {
+			if (!properties.getStatuses().contains(request.getStatus())) {
+				wheel.cancel(request.getId());
+				slas.remove(request.getId());
+			} else if (event.statusChanged() || !wheel.contains(request.getId())) {
+				// the clock restarts whenever the request enters a watched status
+				schedule(request.getId(), properties.slaFor(request.getRequestType()), clock.millis());
+			}
+		}
+	}
+
+	@Scheduled(fixedDelayString = "${crm.sla.tick:1s}")
+	public void tick() {
+		List<Long> expired;
+		synchronized (wheel) {
+			expired = wheel.advance(clock.millis());
+		}
+		for (Long id : expired) {
+			escalate(id);
+		}
+	}
+
+	int pendingDeadlines() {
+		synchronized (wheel) {
+			return wheel.size();
+		}
+	}
+
+	private void escalate(Long id) {
+		Duration sla;
+		synchronized (wheel) {
+			sla = slas.get(id);
+		}
+		if (sla == null) {
+			return;
+		}
+		boolean claimed = false;
+		try {
+			// empty when another instance escalated it, or a commit this wheel has not seen
+			// closed it or moved it to another status less than sla ago
+			Optional<RequestStatus> status;
+			try (ShardContext.Scope shard = shardRouter.routeToRequest(id)) {
+				status = claims.claim(id, properties.getStatuses(), toDateTime(clock.millis() - sla.toMillis()));
+				if (status.isEmpty()) {
+					rescheduleIfStillOpen(id, sla);
+					return;
+				}
+			}
+			claimed = true;
+			crmService.triggerOtherMicroservice(id, ActionStatus.ESCALATE_ISSUE);
+			log.warn("SLA breached for ServiceRequest ID: {} (status: {}). ESCALATE_ISSUE sent.", id, status.get());
+		} catch (RuntimeException e) {
+			log.error("SLA escalation failed for ServiceRequest ID: {}. Retrying in {}: {}", id,
+					properties.getRetryDelay(), e.getMessage());
+			if (claimed) {
+				release(id);
+			}
+			synchronized (wheel) {
+				if (!wheel.contains(id) && slas.containsKey(id)) {
+					wheel.schedule(id, clock.millis() + properties.getRetryDelay().toMillis());
+				}
+			}
+			return;
+		}
+		synchronized (wheel) {
+			if (!wheel.contains(id)) {
+				slas.remove(id);
+			}
+		}
+	}
+
+	// A lost claim on a request that is still waiting for its escalation means its status
+	// changed after this wheel last saw it: wait for the deadline of the new status
+	private void rescheduleIfStillOpen(Long id, Duration sla) {
+		Optional<LocalDateTime> since = claims.pendingSince(id, properties.getStatuses());
+		synchronized (wheel) {
+			if (since.isPresent() && !wheel.contains(id)) {
+				wheel.schedule(id, Math.max(toMillis(since.get()) + sla.toMillis(),
+						clock.millis() + properties.getTick().toMillis()));
+			} else if (!wheel.contains(id)) {
+				slas.remove(id);
+			}
+		}
+	}
+
+	// Caller holds the wheel
+	private void schedule(Long id, Duration sla, long sinceMillis) {
+		slas.put(id, sla);
+		wheel.schedule(id, sinceMillis + sla.toMillis());
+	}
+
+	private void release(Long id) {
+		try (ShardContext.Scope shard = shardRouter.routeToRequest(id)) {
+			claims.release(id);
+		} catch (RuntimeException e) {
+			// the claim stays taken and the retry finds nothing to claim
+			log.error("Could not release the SLA escalation claim of ServiceRequest ID: {}: {}", id, e.getMessage());
+		}
+	}
+
+	private long toMillis(LocalDateTime time) {
+		return time == null ? clock.millis() : time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+	}
+
+	private LocalDateTime toDateTime(long millis) {
+		return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+	}
+}
@@ -0,0 +1,42 @@
+package com.bank.crm.sla;
+
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import com.bank.crm.entity.RequestStatus;
+
+import lombok.Data;
+
+@Data
+@ConfigurationProperties(prefix = "crm.sla")
+public class SlaProperties {
+
+	private boolean enabled = false;
+
+	// SLA for request types that have no entry in requestTypes
+	private Duration defaultSla = Duration.ofHours(24);
+
+	// requestType -> SLA, e.g. crm.sla.request-types.NEW_CARD=48h
+	private Map<String, Duration> requestTypes = new HashMap<>();
+
+	// Statuses that keep the SLA clock running
+	private Set<RequestStatus> statuses = EnumSet.of(RequestStatus.PENDING, RequestStatus.IN_PROGRESS,
+			RequestStatus.FORWARD_FAILED);
+
+	// Resolution of the timer wheel; also the period of the expiry check
+	private Duration tick = Duration.ofSeconds(1);
+
+	// Wait before retrying an escalation whose trigger call failed
+	private Duration retryDelay = Duration.ofMinutes(5);
+
+	private int rebuildBatchSize = 1000;
+
+	public Duration slaFor(String requestType) {
+		return requestType == null ? defaultSla : requestTypes.getOrDefault(requestType, defaultSla);
+	}
+}
@@ -0,0 +1,4 @@
+-- SLA engine rebuild scan (ServiceRequestRepository.findOpenRequests)
+CREATE NONCLUSTERED INDEX ix_service_requests_status
+    ON dbo.service_requests (status, id)
+    INCLUDE (request_type, created_at, updated_at);
@@ -0,0 +1,12 @@
+-- Closed requests moved out of dbo.service_requests by RequestArchivalJob
+CREATE TABLE dbo.service_requests_archive (
+    id              BIGINT         NOT NULL PRIMARY KEY,
+    customer_id     VARCHAR(255)   NOT NULL,
+    request_type    VARCHAR(255)   NOT NULL,
+    request_details NVARCHAR(MAX)  NULL,
+    status          VARCHAR(255)   NOT NULL,
+    assigned_to     VARCHAR(255)   NULL,
+    created_at      DATETIME2(6)   NOT NULL,
+    updated_at      DATETIME2(6)   NULL,
+    archived_at     DATETIME2(6)   NOT NULL
+);
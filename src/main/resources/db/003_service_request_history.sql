@@ -0,0 +1,13 @@
+-- Append-only status history written in batches by StatusHistoryStore
+CREATE TABLE dbo.service_request_history (
+    id              BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    request_id      BIGINT         NOT NULL,
+    operation       VARCHAR(32)    NOT NULL,
+    previous_status VARCHAR(255)   NULL,
+    new_status      VARCHAR(255)   NOT NULL,
+    assigned_to     VARCHAR(255)   NULL,
+    detail          NVARCHAR(MAX)  NULL,
+    changed_at      DATETIME2(6)   NOT NULL
+);
+
+CREATE INDEX ix_service_request_history_request ON dbo.service_request_history (request_id, id);
@@ -0,0 +1,52 @@
+-- Schema of one shard database when crm.sharding.enabled=true. Run once per shard:
+--   sqlcmd -d crm_shard_1 -i 004_sharded_service_requests.sql -v ID_SEED=65 ID_STRIDE=64
+-- ID_STRIDE is crm.sharding.id-stride and ID_SEED is ID_STRIDE + shard index, so every id
+-- generated here satisfies id % ID_STRIDE = shard index (ShardRouter.shardForId).
+-- The status history table and the dictionaries (009) stay in the shard 0 database.
+CREATE TABLE dbo.service_requests (
+    id              BIGINT IDENTITY($(ID_SEED), $(ID_STRIDE)) NOT NULL PRIMARY KEY,
+    customer_id     VARCHAR(255)   NOT NULL,
+    request_type_id SMALLINT       NOT NULL,
+    request_details NVARCHAR(MAX)  NULL,
+    status          VARCHAR(255)   NOT NULL,
+    assigned_to_id  INT            NULL,
+    created_at      DATETIME2(6)   NOT NULL,
+    updated_at      DATETIME2(6)   NULL,
+    status_changed_at DATETIME2(6) NOT NULL,
+    lease_owner      VARCHAR(64)   NULL,
+    lease_until      DATETIME2(6)  NULL,
+    forward_attempts INT           NOT NULL DEFAULT 0,
+    sla_escalated_for DATETIME2(6) NULL
+);
+
+CREATE NONCLUSTERED INDEX ix_service_requests_status
+    ON dbo.service_requests (status, id)
+    INCLUDE (request_type_id, status_changed_at);
+
+CREATE NONCLUSTERED INDEX ix_service_requests_customer
+    ON dbo.service_requests (customer_id, id DESC)
+    INCLUDE (status, created_at, updated_at);
+
+CREATE NONCLUSTERED INDEX ix_service_requests_updated
+    ON dbo.service_requests (updated_at);
+
+CREATE NONCLUSTERED INDEX ix_service_requests_archivable
+    ON dbo.service_requests (status, updated_at)
+    INCLUDE (created_at);
+
+CREATE NONCLUSTERED INDEX ix_service_requests_forward_retry
+    ON dbo.service_requests (lease_until)
+    INCLUDE (forward_attempts)
+    WHERE status = 'FORWARD_FAILED';
+
+CREATE TABLE dbo.service_requests_archive (
+    id              BIGINT         NOT NULL PRIMARY KEY,
+    customer_id     VARCHAR(255)   NOT NULL,
+    request_type_id SMALLINT       NOT NULL,
+    request_details NVARCHAR(MAX)  NULL,
+    status          VARCHAR(255)   NOT NULL,
+    assigned_to_id  INT            NULL,
+    created_at      DATETIME2(6)   NOT NULL,
+    updated_at      DATETIME2(6)   NULL,
+    archived_at     DATETIME2(6)   NOT NULL
+);
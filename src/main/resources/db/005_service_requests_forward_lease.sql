@@ -0,0 +1,12 @@
+-- Leases for ForwardRetryWorker (crm.forward-retry.enabled=true). The columns are not
+-- mapped by the ServiceRequest entity, so JPA saves never overwrite a lease.
+ALTER TABLE dbo.service_requests ADD
+    lease_owner      VARCHAR(64)   NULL,
+    lease_until      DATETIME2(6)  NULL,
+    forward_attempts INT           NOT NULL CONSTRAINT df_service_requests_forward_attempts DEFAULT 0;
+
+-- Claim scan: only FORWARD_FAILED rows, which are few
+CREATE NONCLUSTERED INDEX ix_service_requests_forward_retry
+    ON dbo.service_requests (lease_until)
+    INCLUDE (forward_attempts)
+    WHERE status = 'FORWARD_FAILED';
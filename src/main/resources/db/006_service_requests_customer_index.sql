@@ -0,0 +1,5 @@
+-- Customer screen (GET /api/crm/customers/{customerId}/requests): status counts and
+-- the latest requests of one customer are a seek on this index, newest id first
+CREATE NONCLUSTERED INDEX ix_service_requests_customer
+    ON dbo.service_requests (customer_id, id DESC)
+    INCLUDE (status, created_at, updated_at);
@@ -0,0 +1,16 @@
+-- Daily counts per request type for GET /api/crm/reports/daily, kept current by
+-- DailyRollupStore and rebuilt from dbo.service_request_history by RollupBackfillJob.
+-- Lives in the shard 0 database next to the history.
+CREATE TABLE dbo.request_daily_rollup (
+    report_date     DATE           NOT NULL,
+    request_type    VARCHAR(255)   NOT NULL,
+    created         BIGINT         NOT NULL DEFAULT 0,
+    completed       BIGINT         NOT NULL DEFAULT 0,
+    canceled        BIGINT         NOT NULL DEFAULT 0,
+    forwarded       BIGINT         NOT NULL DEFAULT 0,
+    forward_failed  BIGINT         NOT NULL DEFAULT 0,
+    CONSTRAINT pk_request_daily_rollup PRIMARY KEY (report_date, request_type)
+);
+
+-- Backfill reads the history one time window at a time
+CREATE INDEX ix_service_request_history_changed ON dbo.service_request_history (changed_at);
@@ -0,0 +1,9 @@
+-- Checkpoints of POST /api/crm/requests/import. With crm.sharding.enabled=true run it on
+-- every shard database: a shard's checkpoint is committed together with its rows.
+CREATE TABLE dbo.service_request_import (
+    import_id       VARCHAR(64)    NOT NULL PRIMARY KEY,
+    committed_row   BIGINT         NOT NULL, -- rows up to here that belong to this shard are imported
+    rows_imported   BIGINT         NOT NULL,
+    updated_at      DATETIME2(6)   NOT NULL,
+    shard_count     INT            NOT NULL  -- crm.sharding.shards when the import started
+);
@@ -0,0 +1,11 @@
+-- Dictionaries of the low-cardinality strings of a service request (RequestDictionaries).
+-- Keys are global: with crm.sharding.enabled=true create them in the shard 0 database only.
+CREATE TABLE dbo.request_types (
+    id   SMALLINT       IDENTITY(1, 1) NOT NULL PRIMARY KEY,
+    name VARCHAR(255)   NOT NULL CONSTRAINT uq_request_types_name UNIQUE
+);
+
+CREATE TABLE dbo.assignees (
+    id   INT            IDENTITY(1, 1) NOT NULL PRIMARY KEY,
+    name VARCHAR(255)   NOT NULL CONSTRAINT uq_assignees_name UNIQUE
+);
@@ -0,0 +1,42 @@
+-- Replaces request_type and assigned_to of service_requests and service_requests_archive
+-- with keys into the dictionaries of 009 (2 and 4 bytes instead of up to 255 per row and
+-- ix_service_requests_status entry). Run after 009 on every database holding service requests:
+--   sqlcmd -d crm_db -i 010_service_requests_dictionary_keys.sql -v DICT_DB=crm_db
+-- DICT_DB is the database with the dictionaries (shard 0 when sharding is enabled).
+INSERT INTO $(DICT_DB).dbo.request_types (name)
+SELECT request_type FROM dbo.service_requests
+UNION SELECT request_type FROM dbo.service_requests_archive
+EXCEPT SELECT name FROM $(DICT_DB).dbo.request_types;
+
+INSERT INTO $(DICT_DB).dbo.assignees (name)
+SELECT assigned_to FROM dbo.service_requests WHERE assigned_to IS NOT NULL
+UNION SELECT assigned_to FROM dbo.service_requests_archive WHERE assigned_to IS NOT NULL
+EXCEPT SELECT name FROM $(DICT_DB).dbo.assignees;
+
+ALTER TABLE dbo.service_requests ADD request_type_id SMALLINT NULL, assigned_to_id INT NULL;
+ALTER TABLE dbo.service_requests_archive ADD request_type_id SMALLINT NULL, assigned_to_id INT NULL;
+GO
+
+UPDATE r SET request_type_id = t.id, assigned_to_id = a.id
+FROM dbo.service_requests r
+JOIN $(DICT_DB).dbo.request_types t ON t.name = r.request_type
+LEFT JOIN $(DICT_DB).dbo.assignees a ON a.name = r.assigned_to;
+
+UPDATE r SET request_type_id = t.id, assigned_to_id = a.id
+FROM dbo.service_requests_archive r
+JOIN $(DICT_DB).dbo.request_types t ON t.name = r.request_type
+LEFT JOIN $(DICT_DB).dbo.assignees a ON a.name = r.assigned_to;
+
+DROP INDEX ix_service_requests_status ON dbo.service_requests;
+ALTER TABLE dbo.service_requests DROP COLUMN request_type, assigned_to;
+ALTER TABLE dbo.service_requests ALTER COLUMN request_type_id SMALLINT NOT NULL;
+ALTER TABLE dbo.service_requests_archive DROP COLUMN request_type, assigned_to;
+ALTER TABLE dbo.service_requests_archive ALTER COLUMN request_type_id SMALLINT NOT NULL;
+
+CREATE NONCLUSTERED INDEX ix_service_requests_status
+    ON dbo.service_requests (status, id)
+    INCLUDE (request_type_id, created_at, updated_at);
+
+-- dropped columns keep their space until the rows are rewritten
+ALTER TABLE dbo.service_requests REBUILD;
+ALTER TABLE dbo.service_requests_archive REBUILD;
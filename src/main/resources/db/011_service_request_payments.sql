@@ -0,0 +1,52 @@
+-- Payments reported by PaymentCompletedEvent, for reconciliation by transaction reference
+-- (GET /api/crm/requests/payments/{paymentTransactionRef}). With crm.sharding.enabled=true
+-- run it on every shard database: a payment is stored next to its request. The unique index
+-- covers one database; with sharding a new ref is also reserved on shard 0 first (db/016).
+CREATE TABLE dbo.service_request_payments (
+    id                      BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    request_id              BIGINT             NOT NULL,
+    payment_transaction_ref VARCHAR(100)       NOT NULL,
+    amount_paid             DECIMAL(19,4)      NOT NULL,
+    paid_at                 DATETIMEOFFSET(6)  NOT NULL,
+    event_id                VARCHAR(100)       NOT NULL,
+    recorded_at             DATETIME2(6)       NOT NULL
+);
+
+CREATE UNIQUE INDEX ux_service_request_payments_ref
+    ON dbo.service_request_payments (payment_transaction_ref)
+    INCLUDE (request_id);
+
+CREATE INDEX ix_service_request_payments_request
+    ON dbo.service_request_payments (request_id);
+
+-- Payment details used to be written into request_details as
+-- "paymentTransactionRef : <ref> , amountPaid : <amount>". Copy them out of completed requests,
+-- active and archived (db/002), so old payments can be looked up too; the payment time was
+-- not kept, updated_at stands in.
+WITH completed AS (
+    SELECT id, request_details, created_at, updated_at
+    FROM dbo.service_requests
+    WHERE status = 'COMPLETED'
+    UNION ALL
+    SELECT id, request_details, created_at, updated_at
+    FROM dbo.service_requests_archive
+    WHERE status = 'COMPLETED'
+), old_payments AS (
+    SELECT r.id AS request_id,
+           LTRIM(RTRIM(SUBSTRING(r.request_details, 25,
+               CHARINDEX(' , amountPaid : ', r.request_details) - 25))) AS payment_transaction_ref,
+           TRY_CAST(SUBSTRING(r.request_details,
+               CHARINDEX(' , amountPaid : ', r.request_details) + 16, 40) AS DECIMAL(19,4)) AS amount_paid,
+           COALESCE(r.updated_at, r.created_at) AS completed_at
+    FROM completed r
+    WHERE r.request_details LIKE 'paymentTransactionRef : % , amountPaid : %'
+), numbered AS (
+    SELECT *, ROW_NUMBER() OVER (PARTITION BY payment_transaction_ref ORDER BY request_id) AS n
+    FROM old_payments
+    WHERE amount_paid IS NOT NULL AND LEN(payment_transaction_ref) BETWEEN 1 AND 100
+)
+INSERT INTO dbo.service_request_payments
+    (request_id, payment_transaction_ref, amount_paid, paid_at, event_id, recorded_at)
+SELECT request_id, payment_transaction_ref, amount_paid, TODATETIMEOFFSET(completed_at, 0), 'migrated', SYSUTCDATETIME()
+FROM numbered
+WHERE n = 1;
@@ -0,0 +1,4 @@
+-- Catch-up scan of the in-memory search index (RequestSearchIndex.catchUp): requests
+-- edited on any instance since the previous scan. With sharding, run it on every shard.
+CREATE NONCLUSTERED INDEX ix_service_requests_updated
+    ON dbo.service_requests (updated_at);
@@ -0,0 +1,6 @@
+-- Escalation claims of SlaEscalationEngine (crm.sla.enabled=true). Every instance keeps
+-- the same deadlines, so the instance whose UPDATE sets sla_escalated_for to the time the
+-- request entered its status is the one that sends ESCALATE_ISSUE. Not mapped by the
+-- ServiceRequest entity. With sharding, run it on every shard.
+ALTER TABLE dbo.service_requests ADD
+    sla_escalated_for DATETIME2(6) NULL;
@@ -0,0 +1,6 @@
+-- Batches of RequestArchivalJob (crm.archive.enabled=true): closed requests last changed
+-- before the cutoff, one seek per status on updated_at, plus the never-updated rows
+-- (updated_at IS NULL) checked on created_at. With sharding, run it on every shard.
+CREATE NONCLUSTERED INDEX ix_service_requests_archivable
+    ON dbo.service_requests (status, updated_at)
+    INCLUDE (created_at);
@@ -0,0 +1,20 @@
+-- Time each request entered its current status. SlaEscalationEngine counts deadlines
+-- from it and SlaEscalationClaims keys claims on it, so edits that leave the status as
+-- it was (details, assignee) neither restart an SLA nor let a breach be escalated twice.
+-- Existing rows take their last change, as the engine did before. With sharding, run it
+-- on every shard.
+ALTER TABLE dbo.service_requests ADD status_changed_at DATETIME2(6) NULL;
+GO
+
+UPDATE dbo.service_requests SET status_changed_at = COALESCE(updated_at, created_at);
+
+-- claims taken before this script were keyed on the same value
+UPDATE dbo.service_requests SET sla_escalated_for = status_changed_at
+WHERE sla_escalated_for IS NOT NULL;
+
+ALTER TABLE dbo.service_requests ALTER COLUMN status_changed_at DATETIME2(6) NOT NULL;
+
+CREATE NONCLUSTERED INDEX ix_service_requests_status
+    ON dbo.service_requests (status, id)
+    INCLUDE (request_type_id, status_changed_at)
+    WITH (DROP_EXISTING = ON);
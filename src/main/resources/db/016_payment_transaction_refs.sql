@@ -0,0 +1,18 @@
+-- Payment transaction refs reserved by PaymentRefRegistry (crm.sharding.enabled=true only):
+-- the primary key makes a ref unique across shards, where ux_service_request_payments_ref
+-- (db/011) covers one shard. Run on every shard database, shard 0 first:
+--   sqlcmd -d crm_shard_1 -i 016_payment_transaction_refs.sql -v REGISTRY_DB=crm_shard_0
+-- REGISTRY_DB is the shard 0 database; each run copies in the refs already stored there.
+IF OBJECT_ID('$(REGISTRY_DB).dbo.payment_transaction_refs') IS NULL
+    CREATE TABLE $(REGISTRY_DB).dbo.payment_transaction_refs (
+        payment_transaction_ref VARCHAR(100)   NOT NULL PRIMARY KEY,
+        request_id              BIGINT         NOT NULL,
+        reserved_at             DATETIME2(6)   NOT NULL
+    );
+GO
+
+INSERT INTO $(REGISTRY_DB).dbo.payment_transaction_refs (payment_transaction_ref, request_id, reserved_at)
+SELECT p.payment_transaction_ref, p.request_id, p.recorded_at
+FROM dbo.service_request_payments p
+WHERE NOT EXISTS (SELECT 1 FROM $(REGISTRY_DB).dbo.payment_transaction_refs r
+                  WHERE r.payment_transaction_ref = p.payment_transaction_ref);
@@ -0,0 +1,114 @@
+package com.bank.crm.archive;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+// The cutoff predicate runs against H2 (MSSQLServer mode) with the shard 0 schema;
+// H2 has no DELETE ... OUTPUT INTO, so the batch loop runs against a mocked JdbcTemplate
+class RequestArchivalJobTest {
+
+	private static final LocalDateTime CUTOFF = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+	private JdbcTemplate h2;
+
+	@BeforeEach
+	void setUp() {
+		SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(),
+				"jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1");
+		new ResourceDatabasePopulator(new ClassPathResource("shard/shard-0.sql")).execute(dataSource);
+		h2 = new JdbcTemplate(dataSource);
+	}
+
+	@Test
+	@DisplayName("Should select only requests closed and last changed before the cutoff")
+	void archivable_shouldMatchOnlyRowsClosedBeforeCutoff() {
+		long closedLongAgo = insert("COMPLETED", CUTOFF.minusDays(200), CUTOFF.minusDays(100));
+		long canceledNeverUpdated = insert("CANCELED", CUTOFF.minusDays(1), null);
+		insert("COMPLETED", CUTOFF.minusDays(200), CUTOFF.plusHours(1)); // reopened and closed again lately
+		insert("CANCELED", CUTOFF.plusDays(1), null);
+		insert("PENDING", CUTOFF.minusDays(200), null);
+		insert("IN_PROGRESS", CUTOFF.minusDays(200), CUTOFF.minusDays(100));
+
+		List<Long> archivable = h2.queryForList(
+				"SELECT id FROM dbo.service_requests WHERE " + RequestArchivalJob.ARCHIVABLE + " ORDER BY id",
+				Long.class, Timestamp.valueOf(CUTOFF), Timestamp.valueOf(CUTOFF));
+
+		assertEquals(List.of(closedLongAgo, canceledNeverUpdated), archivable);
+	}
+
+	@Test
+	@DisplayName("Should move batches of rows older than minAge until a batch comes back short")
+	void archive_shouldStopAfterShortBatch() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.update(eq(RequestArchivalJob.MOVE_BATCH_SQL), any(), any(), any())).thenReturn(10, 10, 3);
+		ArchivalProperties properties = properties(Duration.ofMinutes(1));
+
+		ArchivalRunReport report = job(properties, jdbcTemplate).archive();
+
+		assertEquals(23, report.rowsMoved());
+		assertEquals(3, report.batches());
+		assertEquals(report.startedAt().minus(properties.getMinAge()), report.cutoff());
+		ArgumentCaptor<Object> cutoff = ArgumentCaptor.forClass(Object.class);
+		verify(jdbcTemplate, times(3)).update(eq(RequestArchivalJob.MOVE_BATCH_SQL), eq(10), cutoff.capture(),
+				cutoff.capture());
+		assertTrue(cutoff.getAllValues().stream().allMatch(Timestamp.valueOf(report.cutoff())::equals));
+	}
+
+	@Test
+	@DisplayName("Should stop once maxRunTime is spent even while full batches keep coming")
+	void archive_shouldStopWhenBudgetSpent() {
+		JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+		when(jdbcTemplate.update(eq(RequestArchivalJob.MOVE_BATCH_SQL), any(), any(), any())).thenReturn(10);
+		Duration budget = Duration.ofMillis(200);
+
+		ArchivalRunReport report = job(properties(budget), jdbcTemplate).archive();
+
+		assertTrue(report.batches() > 1);
+		assertEquals(report.batches() * 10L, report.rowsMoved());
+		// the batch under way when the budget runs out is the last one
+		assertTrue(report.elapsed().compareTo(budget.plusSeconds(1)) < 0, report.elapsed().toString());
+	}
+
+	private static ArchivalProperties properties(Duration maxRunTime) {
+		ArchivalProperties properties = new ArchivalProperties();
+		properties.setBatchSize(10);
+		properties.setPause(Duration.ofMillis(20));
+		properties.setMaxRunTime(maxRunTime);
+		return properties;
+	}
+
+	private static RequestArchivalJob job(ArchivalProperties properties, JdbcTemplate jdbcTemplate) {
+		return new RequestArchivalJob(properties, jdbcTemplate, mock(PlatformTransactionManager.class),
+				new ShardRouter(new ShardingProperties(), null));
+	}
+
+	private long insert(String status, LocalDateTime createdAt, LocalDateTime updatedAt) {
+		h2.update("""
+				INSERT INTO dbo.service_requests (customer_id, request_type_id, status, created_at, updated_at,
+				    status_changed_at)
+				VALUES ('CUST100', 1, ?, ?, ?, ?)""", status, Timestamp.valueOf(createdAt),
+				updatedAt != null ? Timestamp.valueOf(updatedAt) : null,
+				Timestamp.valueOf(updatedAt != null ? updatedAt : createdAt));
+		return h2.queryForObject("SELECT MAX(id) FROM dbo.service_requests", Long.class);
+	}
+}
@@ -0,0 +1,121 @@
+package com.bank.crm.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.dto.event.PaymentCompletedEvent;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.entity.ServiceRequest;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+// Response path of GET /api/crm/requests (entity -> DTO -> JSON, 50 requests) and
+// the inbound payment trigger, with reflective Jackson accessors ("reflection") and
+// with the BlackbirdModule registered by JacksonConfig ("blackbird").
+// mapSetters is the former setter-based fromEntity, mapConstructor the current one.
+// Run with: mvn -Pbenchmark test -DskipTests -Djmh.include=DtoSerialization
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoSerializationBenchmark {
+
+	@Param({ "reflection", "blackbird" })
+	public String accessors;
+
+	private List<ServiceRequest> entities;
+	private List<ServiceRequestDto> dtos;
+	private ObjectMapper mapper;
+	private ObjectWriter listWriter;
+	private ObjectReader paymentReader;
+	private byte[] paymentJson;
+
+	@Setup
+	public void setUp() throws Exception {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		if ("blackbird".equals(accessors)) {
+			builder.modulesToInstall(new BlackbirdModule());
+		}
+		mapper = builder.build();
+		listWriter = mapper.writerFor(new TypeReference<List<ServiceRequestDto>>() {
+		});
+		paymentReader = mapper.readerFor(PaymentCompletedEvent.class);
+		paymentJson = mapper.writeValueAsBytes(new PaymentCompletedEvent("evt-payment-12345", 123456L,
+				"TXN-2024-0099", new BigDecimal("1500.75"), OffsetDateTime.parse("2024-05-01T10:15:30+07:00")));
+
+		LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 15, 30);
+		entities = new ArrayList<>();
+		for (int i = 0; i < 50; i++) {
+			entities.add(new ServiceRequest((long) i, "CUST-00" + i, "CARD_DISPUTE",
+					"Customer disputes a card transaction made abroad, reference TXN-2024-" + i,
+					RequestStatus.IN_PROGRESS, "agent-007", now.minusDays(2), now));
+		}
+		dtos = entities.stream().map(ServiceRequestDto::fromEntity).toList();
+	}
+
+	@Benchmark
+	public List<ServiceRequestDto> mapSetters() {
+		List<ServiceRequestDto> result = new ArrayList<>(entities.size());
+		for (ServiceRequest entity : entities) {
+			ServiceRequestDto dto = new ServiceRequestDto();
+			dto.setId(entity.getId());
+			dto.setCustomerId(entity.getCustomerId());
+			dto.setRequestType(entity.getRequestType());
+			dto.setRequestDetails(entity.getRequestDetails());
+			dto.setStatus(entity.getStatus());
+			dto.setAssignedTo(entity.getAssignedTo());
+			dto.setCreatedAt(entity.getCreatedAt());
+			dto.setUpdatedAt(entity.getUpdatedAt());
+			result.add(dto);
+		}
+		return result;
+	}
+
+	@Benchmark
+	public List<ServiceRequestDto> mapConstructor() {
+		List<ServiceRequestDto> result = new ArrayList<>(entities.size());
+		for (ServiceRequest entity : entities) {
+			result.add(ServiceRequestDto.fromEntity(entity));
+		}
+		return result;
+	}
+
+	// what MappingJackson2HttpMessageConverter does per response
+	@Benchmark
+	public byte[] writeListMapper() throws Exception {
+		return mapper.writeValueAsBytes(dtos);
+	}
+
+	@Benchmark
+	public byte[] writeListCachedWriter() throws Exception {
+		return listWriter.writeValueAsBytes(dtos);
+	}
+
+	@Benchmark
+	public PaymentCompletedEvent readPayment() throws Exception {
+		return paymentReader.readValue(paymentJson);
+	}
+}
@@ -0,0 +1,76 @@
+package com.bank.crm.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Level;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bank.crm.ratelimit.RateLimitProperties;
+import com.bank.crm.ratelimit.SourceRateLimiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+// Cost the limiter adds to every inbound trigger: bucket lookup, one CAS and a
+// counter increment. "allowed" never runs out of permits, "throttled" always has;
+// the 4-thread variants hammer the same source to show CAS contention.
+// Run with: mvn -Pbenchmark test -DskipTests -Djmh.include=RateLimiter
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+	private SourceRateLimiter limiter;
+
+	@Setup
+	public void setUp() {
+		((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+
+		RateLimitProperties properties = new RateLimitProperties();
+		properties.getDefaultLimit().setPermitsPerSecond(1e12);
+		properties.getDefaultLimit().setBurst(1_000_000);
+		RateLimitProperties.Limit throttled = new RateLimitProperties.Limit();
+		throttled.setPermitsPerSecond(0.001);
+		throttled.setBurst(1);
+		properties.getSources().put("throttled-service", throttled);
+		limiter = new SourceRateLimiter(properties, new SimpleMeterRegistry());
+		limiter.tryAcquire("throttled-service");
+	}
+
+	@Benchmark
+	public long allowed() {
+		return limiter.tryAcquire("BackOfficeService");
+	}
+
+	@Benchmark
+	public long throttled() {
+		return limiter.tryAcquire("throttled-service");
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long allowedContended() {
+		return limiter.tryAcquire("BackOfficeService");
+	}
+
+	@Benchmark
+	@Threads(4)
+	public long throttledContended() {
+		return limiter.tryAcquire("throttled-service");
+	}
+}
@@ -0,0 +1,106 @@
+package com.bank.crm.benchmark;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import ch.qos.logback.classic.Level;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.bank.crm.dto.event.TriggerRequestEvent;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.entity.ServiceRequest;
+import com.bank.crm.service.trigger.AssignAgentHandler;
+import com.bank.crm.service.trigger.EscalateIssueHandler;
+import com.bank.crm.service.trigger.NotifyStatusUpdateHandler;
+import com.bank.crm.service.trigger.RequestAdditionalInfoHandler;
+import com.bank.crm.service.trigger.TriggerHandlerRegistry;
+import com.bank.crm.service.trigger.UpdateStatusHandler;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import lombok.Data;
+
+// Parse + dispatch of an incoming trigger body: the former Map<String, Object>
+// path with string keys and an if/else chain vs. typed payloads and the EnumMap registry.
+// Run with: mvn -Pbenchmark test -DskipTests -Djmh.include=TriggerDispatch
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriggerDispatchBenchmark {
+
+	@Param({ "UPDATE_STATUS", "ASSIGN_AGENT" })
+	public String action;
+
+	private byte[] body;
+	private ObjectReader legacyReader;
+	private ObjectReader typedReader;
+	private TriggerHandlerRegistry registry;
+	private ServiceRequest request;
+
+	@Setup
+	public void setUp() throws Exception {
+		// handler logging would dominate the numbers
+		((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Logger.ROOT_LOGGER_NAME)).setLevel(Level.WARN);
+		ObjectMapper mapper = new ObjectMapper();
+		legacyReader = mapper.readerFor(LegacyTriggerRequestEvent.class);
+		typedReader = mapper.readerFor(TriggerRequestEvent.class);
+		registry = new TriggerHandlerRegistry(List.of(new UpdateStatusHandler(), new AssignAgentHandler(),
+				new NotifyStatusUpdateHandler(), new RequestAdditionalInfoHandler(), new EscalateIssueHandler()));
+		request = new ServiceRequest(1L, "CUST100", "ACCOUNT_BALANCE", "details", RequestStatus.PENDING, null, null,
+				null);
+		String data = "UPDATE_STATUS".equals(action) ? "{\"newStatus\":\"in_progress\"}" : "{\"agentId\":\"agent-007\"}";
+		body = ("{\"sourceService\":\"BackOfficeService\",\"action\":\"" + action + "\",\"relatedId\":1,\"data\":"
+				+ data + "}").getBytes();
+	}
+
+	@Benchmark
+	public ServiceRequest mapBased() throws Exception {
+		LegacyTriggerRequestEvent event = legacyReader.readValue(body);
+		Map<String, Object> data = event.getData();
+		if (ActionStatus.UPDATE_STATUS == event.getAction()) {
+			if (data != null && data.containsKey("newStatus")) {
+				String newStatusStr = (String) data.get("newStatus");
+				request.setStatus(RequestStatus.valueOf(newStatusStr.toUpperCase()));
+			}
+		} else if (ActionStatus.ASSIGN_AGENT == event.getAction()) {
+			if (data != null && data.containsKey("agentId")) {
+				request.setAssignedTo((String) data.get("agentId"));
+			}
+		}
+		return request;
+	}
+
+	@Benchmark
+	public ServiceRequest typed() throws Exception {
+		TriggerRequestEvent event = typedReader.readValue(body);
+		registry.dispatch(event.getAction(), request, event.getData());
+		return request;
+	}
+
+	// Shape of TriggerRequestEvent before payloads were typed
+	@Data
+	public static class LegacyTriggerRequestEvent {
+		private String sourceService;
+		private ActionStatus action;
+		private Long relatedId;
+		private Map<String, Object> data;
+	}
+}
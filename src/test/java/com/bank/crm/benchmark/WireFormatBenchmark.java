@@ -0,0 +1,128 @@
+package com.bank.crm.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.bank.crm.codec.WireFormat;
+import com.bank.crm.dto.BackOfficeForwardDto;
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.dto.event.PaymentCompletedEvent;
+import com.bank.crm.dto.event.TriggerRequestEvent;
+import com.bank.crm.dto.event.payload.UpdateStatusPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+
+// Serialize + deserialize cost of the service-to-service DTOs per wire format, with
+// mappers built the way WireFormatConfig builds them. Payload sizes are printed
+// once per format in setUp.
+// Run with: mvn -Pbenchmark test -DskipTests -Djmh.include=WireFormat
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WireFormatBenchmark {
+
+	@Param({ "JSON", "CBOR", "SMILE" })
+	public WireFormat format;
+
+	private final Codec<ServiceRequestDto> request = new Codec<>();
+	private final Codec<PaymentCompletedEvent> payment = new Codec<>();
+	private final Codec<TriggerRequestEvent> trigger = new Codec<>();
+	private final Codec<BackOfficeForwardDto> forward = new Codec<>();
+
+	private static final class Codec<T> {
+		T value;
+		ObjectWriter writer;
+		ObjectReader reader;
+		byte[] bytes;
+
+		void init(ObjectMapper mapper, T value) throws Exception {
+			this.value = value;
+			this.writer = mapper.writerFor(value.getClass());
+			this.reader = mapper.readerFor(value.getClass());
+			this.bytes = writer.writeValueAsBytes(value);
+		}
+	}
+
+	@Setup
+	public void setUp() throws Exception {
+		Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+		ObjectMapper mapper = switch (format) {
+		case JSON -> builder.build();
+		case CBOR -> builder.factory(new CBORFactory()).build();
+		case SMILE -> builder.factory(new SmileFactory()).build();
+		};
+
+		LocalDateTime now = LocalDateTime.of(2024, 5, 1, 10, 15, 30);
+		request.init(mapper, new ServiceRequestDto(123456L, "CUST-0042", "CARD_DISPUTE",
+				"Customer disputes two card transactions made abroad on 28 April, amounts 1,250.00 and 980.50 THB",
+				RequestStatus.IN_PROGRESS, "agent-007", now.minusDays(2), now));
+		payment.init(mapper, new PaymentCompletedEvent("evt-payment-12345", 123456L, "TXN-2024-0099",
+				new BigDecimal("1500.75"), OffsetDateTime.parse("2024-05-01T10:15:30+07:00")));
+		UpdateStatusPayload data = new UpdateStatusPayload();
+		data.setNewStatus(RequestStatus.IN_PROGRESS);
+		trigger.init(mapper, new TriggerRequestEvent("BackOfficeService", ActionStatus.UPDATE_STATUS, 123456L, data));
+		BackOfficeForwardDto forwardDto = new BackOfficeForwardDto();
+		forwardDto.setOriginalRequestId(123456L);
+		forwardDto.setCustomerId("CUST-0042");
+		forwardDto.setRequestType("CARD_DISPUTE");
+		forwardDto.setDetails(request.value.getRequestDetails());
+		forward.init(mapper, forwardDto);
+
+		System.out.printf("%n%s payload bytes: ServiceRequestDto=%d PaymentCompletedEvent=%d TriggerRequestEvent=%d "
+				+ "BackOfficeForwardDto=%d%n", format, request.bytes.length, payment.bytes.length, trigger.bytes.length,
+				forward.bytes.length);
+	}
+
+	@Benchmark
+	public byte[] writeServiceRequest() throws Exception {
+		return request.writer.writeValueAsBytes(request.value);
+	}
+
+	@Benchmark
+	public Object readServiceRequest() throws Exception {
+		return request.reader.readValue(request.bytes);
+	}
+
+	@Benchmark
+	public byte[] writePaymentCompleted() throws Exception {
+		return payment.writer.writeValueAsBytes(payment.value);
+	}
+
+	@Benchmark
+	public Object readPaymentCompleted() throws Exception {
+		return payment.reader.readValue(payment.bytes);
+	}
+
+	@Benchmark
+	public Object readTrigger() throws Exception {
+		return trigger.reader.readValue(trigger.bytes);
+	}
+
+	@Benchmark
+	public byte[] writeBackOfficeForward() throws Exception {
+		return forward.writer.writeValueAsBytes(forward.value);
+	}
+}
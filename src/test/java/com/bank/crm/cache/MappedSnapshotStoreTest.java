@@ -0,0 +1,85 @@
+package com.bank.crm.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+
+class MappedSnapshotStoreTest {
+
+	private static final long TTL = 60_000;
+	private static final long NOW = 1_700_000_000_000L;
+
+	@TempDir
+	Path dir;
+
+	private static ServiceRequestDto request(long id, String details) {
+		return new ServiceRequestDto(id, "CUST" + id, "LOAN", details, RequestStatus.PENDING, null,
+				LocalDateTime.of(2024, 5, 1, 9, 0), LocalDateTime.of(2024, 5, 2, 9, 0));
+	}
+
+	@Test
+	void compactsInPlaceWhenFull() throws IOException {
+		Path file = dir.resolve("snapshot.bin");
+		try (MappedSnapshotStore store = new MappedSnapshotStore(file, 4096, TTL, NOW)) {
+			// 20 ids rewritten 10 times: far more than 4KB written, about 2KB live
+			for (int round = 0; round < 10; round++) {
+				for (long id = 1; id <= 20; id++) {
+					store.put(request(id, "round " + round), NOW);
+				}
+			}
+			assertEquals(20, store.size());
+			assertTrue(store.usedBytes() <= 4096);
+			for (long id = 1; id <= 20; id++) {
+				assertEquals(request(id, "round 9"), store.get(id, NOW));
+			}
+		}
+		try (MappedSnapshotStore reopened = new MappedSnapshotStore(file, 4096, TTL, NOW)) {
+			assertEquals(20, reopened.size());
+			assertEquals(request(20, "round 9"), reopened.get(20, NOW));
+		}
+	}
+
+	@Test
+	void stopsAtACorruptRecordOnReopen() throws IOException {
+		Path file = dir.resolve("snapshot.bin");
+		int firstEnd;
+		try (MappedSnapshotStore store = new MappedSnapshotStore(file, 4096, TTL, NOW)) {
+			store.put(request(1, "kept"), NOW);
+			firstEnd = store.usedBytes();
+			store.put(request(2, "torn"), NOW);
+		}
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+			channel.write(ByteBuffer.wrap(new byte[] { 0x55 }), firstEnd + 20);
+		}
+
+		try (MappedSnapshotStore reopened = new MappedSnapshotStore(file, 4096, TTL, NOW)) {
+			assertEquals(request(1, "kept"), reopened.get(1, NOW));
+			assertNull(reopened.get(2, NOW));
+			assertEquals(firstEnd, reopened.usedBytes());
+		}
+	}
+
+	@Test
+	void skipsRequestsTooLargeForTheFile() throws IOException {
+		try (MappedSnapshotStore store = new MappedSnapshotStore(dir.resolve("snapshot.bin"), 4096, TTL, NOW)) {
+			store.put(request(1, "small"), NOW);
+			store.put(request(1, "x".repeat(2000)), NOW);
+
+			assertNull(store.get(1, NOW));
+			assertEquals(0, store.size());
+		}
+	}
+}
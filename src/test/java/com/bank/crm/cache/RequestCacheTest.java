@@ -0,0 +1,165 @@
+package com.bank.crm.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestCacheTest {
+
+	private static final ServiceRequestDto REQUEST = new ServiceRequestDto(7L, "CUST100", "ACCOUNT_BALANCE",
+			"ตรวจสอบยอดเงิน", RequestStatus.IN_PROGRESS, "Agent007", LocalDateTime.of(2024, 5, 1, 9, 0, 0, 123_456_000),
+			null);
+
+	@TempDir
+	Path dir;
+
+	private final RequestCacheProperties properties = new RequestCacheProperties();
+	private final AtomicInteger loads = new AtomicInteger();
+	private Instant now = Instant.parse("2024-05-01T10:00:00Z");
+	private RequestCache cache;
+
+	@BeforeEach
+	void setUp() {
+		properties.setEnabled(true);
+		properties.getSnapshot().setEnabled(true);
+		properties.getSnapshot().setPath(dir.resolve("snapshot.bin").toString());
+		cache = open();
+	}
+
+	@AfterEach
+	void tearDown() throws Exception {
+		cache.close();
+	}
+
+	private RequestCache open() {
+		Clock clock = new Clock() {
+			@Override
+			public ZoneId getZone() {
+				return ZoneOffset.UTC;
+			}
+
+			@Override
+			public Clock withZone(ZoneId zone) {
+				return this;
+			}
+
+			@Override
+			public Instant instant() {
+				return now;
+			}
+		};
+		return new RequestCache(properties, new SimpleMeterRegistry(), clock);
+	}
+
+	private Supplier<ServiceRequestDto> loader(ServiceRequestDto request) {
+		return () -> {
+			loads.incrementAndGet();
+			return request;
+		};
+	}
+
+	@Test
+	void loadsOnceAndEvictsOnChange() {
+		assertSame(REQUEST, cache.get(7L, loader(REQUEST)));
+		assertSame(REQUEST, cache.get(7L, loader(REQUEST)));
+		assertEquals(1, loads.get());
+
+		cache.onServiceRequestChanged(new ServiceRequestChangedEvent(Operation.STATUS_UPDATED, RequestStatus.PENDING,
+				REQUEST, null));
+		cache.get(7L, loader(REQUEST));
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void servesFromSnapshotAfterRestart() throws Exception {
+		cache.get(7L, loader(REQUEST));
+		cache.close();
+
+		cache = open();
+		ServiceRequestDto reopened = cache.get(7L, loader(null));
+
+		assertEquals(REQUEST, reopened);
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void doesNotServeEvictedOrExpiredEntriesAfterRestart() throws Exception {
+		ServiceRequestDto other = new ServiceRequestDto(8L, "CUST200", "LOAN", null, RequestStatus.PENDING, null,
+				LocalDateTime.of(2024, 5, 1, 9, 30), null);
+		cache.get(7L, loader(REQUEST));
+		cache.get(8L, loader(other));
+		cache.invalidate(7L);
+		cache.close();
+
+		now = now.plus(Duration.ofMinutes(1));
+		cache = open();
+		assertEquals(other, cache.get(8L, loader(null)));
+		assertEquals(REQUEST, cache.get(7L, loader(REQUEST)));
+		assertEquals(3, loads.get());
+		cache.close();
+
+		now = now.plus(properties.getTtl());
+		cache = open();
+		cache.get(8L, loader(other));
+		assertEquals(4, loads.get());
+	}
+
+	@Test
+	void loadRacingAChangeIsNotCached() {
+		cache.get(7L, () -> {
+			loads.incrementAndGet();
+			// committed while the stale row was being read
+			cache.invalidate(7L);
+			return REQUEST;
+		});
+		cache.get(7L, loader(REQUEST));
+
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void getAllLoadsOnlyTheMissesInOneCall() {
+		ServiceRequestDto other = new ServiceRequestDto(8L, "CUST200", "LOAN", null, RequestStatus.PENDING, null,
+				LocalDateTime.of(2024, 5, 1, 9, 30), null);
+		cache.get(7L, loader(REQUEST));
+		List<List<Long>> loaderCalls = new ArrayList<>();
+
+		Map<Long, ServiceRequestDto> found = cache.getAll(List.of(7L, 8L, 9L), missing -> {
+			loaderCalls.add(missing);
+			return Map.of(8L, other);
+		});
+
+		assertEquals(Map.of(7L, REQUEST, 8L, other), found);
+		assertEquals(List.of(List.of(8L, 9L)), loaderCalls);
+		// 8 is cached now, 9 (not found) is not
+		cache.getAll(List.of(8L, 9L), missing -> {
+			loaderCalls.add(missing);
+			return Map.of();
+		});
+		assertEquals(List.of(9L), loaderCalls.get(1));
+	}
+}
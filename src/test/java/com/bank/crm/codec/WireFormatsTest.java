@@ -0,0 +1,75 @@
+package com.bank.crm.codec;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+
+class WireFormatsTest {
+
+	private final WireFormatProperties properties = new WireFormatProperties();
+	private Instant now = Instant.parse("2024-05-01T10:00:00Z");
+	private final WireFormats wireFormats = new WireFormats(properties, new Clock() {
+		@Override
+		public ZoneOffset getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(java.time.ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	});
+
+	@Test
+	void passesBodyThroughForJsonHosts() {
+		Map<String, Object> body = Map.of("action", "UPDATE_STATUS");
+
+		assertSame(body, wireFormats.request("http://other-service/api/external/actions", body));
+		assertFalse(wireFormats.fallBackToJson("http://other-service/api/external/actions"));
+	}
+
+	@Test
+	void wrapsBodyWithContentTypeOfConfiguredHost() {
+		properties.getHosts().put("backoffice:8080", WireFormat.SMILE);
+
+		Object request = wireFormats.request("http://backoffice:8080/forward", "body");
+
+		HttpEntity<?> entity = assertInstanceOfEntity(request);
+		assertEquals(new MediaType("application", "x-jackson-smile"), entity.getHeaders().getContentType());
+		assertEquals("body", entity.getBody());
+		assertEquals(WireFormat.JSON, wireFormats.formatFor("http://backoffice/forward"));
+	}
+
+	@Test
+	void retriesBinaryFormatAfterFallbackPeriod() {
+		properties.setOutbound(WireFormat.CBOR);
+		properties.setJsonFallback(Duration.ofMinutes(10));
+
+		assertTrue(wireFormats.fallBackToJson("http://backoffice/forward"));
+		assertEquals(WireFormat.JSON, wireFormats.formatFor("http://backoffice/other"));
+
+		now = now.plus(Duration.ofMinutes(11));
+		assertEquals(WireFormat.CBOR, wireFormats.formatFor("http://backoffice/forward"));
+	}
+
+	private static HttpEntity<?> assertInstanceOfEntity(Object request) {
+		assertTrue(request instanceof HttpEntity<?>, "expected an HttpEntity but got " + request);
+		return (HttpEntity<?>) request;
+	}
+}
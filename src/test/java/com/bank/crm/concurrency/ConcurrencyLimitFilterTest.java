@@ -0,0 +1,129 @@
+package com.bank.crm.concurrency;
+
+import java.util.concurrent.TimeUnit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyLimitFilterTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+
+	private static ConcurrencyLimitProperties.Limit bounds(int initial, int min, int max) {
+		ConcurrencyLimitProperties.Limit limit = new ConcurrencyLimitProperties.Limit();
+		limit.setInitialLimit(initial);
+		limit.setMinLimit(min);
+		limit.setMaxLimit(max);
+		return limit;
+	}
+
+	// samples taken with the limit fully used
+	private static void sample(GradientLimit limit, long rttNanos, int times) {
+		for (int i = 0; i < times; i++) {
+			int inFlight = limit.tryAcquire();
+			limit.release(Math.max(inFlight, limit.limit()), rttNanos, false);
+		}
+	}
+
+	@Test
+	@DisplayName("The limit grows while latency is steady and shrinks when it rises")
+	void limit_shouldFollowLatency() {
+		GradientLimit limit = new GradientLimit(bounds(20, 5, 200), new ConcurrencyLimitProperties());
+
+		sample(limit, FAST, 50);
+		int grown = limit.limit();
+		assertTrue(grown > 20, "limit " + grown);
+
+		// the database slows down: latency x4
+		sample(limit, 4 * FAST, 30);
+		int shrunk = limit.limit();
+		assertTrue(shrunk < grown / 2, "limit " + shrunk + " after " + grown);
+		assertTrue(shrunk >= 5);
+	}
+
+	@Test
+	@DisplayName("Failures back off the limit and an idle limit does not grow")
+	void limit_shouldBackOffOnFailureAndNotGrowWhenUnused() {
+		GradientLimit limit = new GradientLimit(bounds(20, 5, 200), new ConcurrencyLimitProperties());
+
+		for (int i = 0; i < 50; i++) {
+			limit.release(limit.tryAcquire(), FAST, false);
+		}
+		assertEquals(20, limit.limit());
+
+		limit.release(limit.tryAcquire(), FAST, true);
+		assertEquals(18, limit.limit());
+		assertEquals(0, limit.inFlight());
+	}
+
+	@Test
+	@DisplayName("A request beyond its group's limit gets 503 + Retry-After; the other group is not affected")
+	void filter_shouldShedBeyondLimitPerGroup() throws Exception {
+		ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		properties.setReads(bounds(1, 1, 1));
+		properties.setWrites(bounds(1, 1, 1));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+
+		MockHttpServletResponse secondRead = new MockHttpServletResponse();
+		MockHttpServletResponse write = new MockHttpServletResponse();
+		MockHttpServletResponse firstRead = new MockHttpServletResponse();
+		// while the first read is in flight, a second read and a write arrive
+		filter.doFilter(new MockHttpServletRequest("GET", "/api/crm/requests/1"), firstRead, (request, response) -> {
+			filter.doFilter(new MockHttpServletRequest("GET", "/api/crm/requests/2"), secondRead, (r, s) -> fail());
+			filter.doFilter(new MockHttpServletRequest("PUT", "/api/crm/requests/3/status"), write, (r, s) -> {
+			});
+		});
+
+		assertEquals(200, firstRead.getStatus());
+		assertEquals(503, secondRead.getStatus());
+		assertEquals("1", secondRead.getHeader("Retry-After"));
+		assertEquals(200, write.getStatus());
+		assertEquals(1.0, meterRegistry.get("crm.concurrency.rejected").tag("group", "reads").counter().count());
+		assertEquals(0.0, meterRegistry.get("crm.concurrency.rejected").tag("group", "writes").counter().count());
+		assertEquals(1.0, meterRegistry.get("crm.concurrency.limit").tag("group", "reads").gauge().value());
+	}
+
+	@Test
+	@DisplayName("Bulk updates and bulk trigger sends share their own limit, not the writes limit")
+	void filter_shouldLimitBulkEndpointsSeparately() throws Exception {
+		ConcurrencyLimitProperties properties = new ConcurrencyLimitProperties();
+		properties.setWrites(bounds(1, 1, 1));
+		properties.setBulk(bounds(1, 1, 1));
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(properties, meterRegistry);
+
+		MockHttpServletResponse bulkUpdate = new MockHttpServletResponse();
+		MockHttpServletResponse triggerSend = new MockHttpServletResponse();
+		MockHttpServletResponse write = new MockHttpServletResponse();
+		// while a bulk update is in flight, a bulk trigger send and a single write arrive
+		filter.doFilter(new MockHttpServletRequest("PUT", "/api/crm/requests/bulk/status"), bulkUpdate, (request, response) -> {
+			filter.doFilter(new MockHttpServletRequest("POST", "/api/crm/requests/trigger/send"), triggerSend, (r, s) -> fail());
+			filter.doFilter(new MockHttpServletRequest("PUT", "/api/crm/requests/3/status"), write, (r, s) -> {
+			});
+		});
+
+		assertEquals(200, bulkUpdate.getStatus());
+		assertEquals(503, triggerSend.getStatus());
+		assertEquals(200, write.getStatus());
+		assertEquals(1.0, meterRegistry.get("crm.concurrency.rejected").tag("group", "bulk").counter().count());
+		assertEquals(0.0, meterRegistry.get("crm.concurrency.rejected").tag("group", "writes").counter().count());
+	}
+
+	@Test
+	@DisplayName("A POST multi-get counts as a read")
+	void groupOf_shouldTreatReadPathsAsReads() {
+		ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new ConcurrencyLimitProperties(),
+				new SimpleMeterRegistry());
+
+		assertSame(filter.groupOf(new MockHttpServletRequest("GET", "/api/crm/requests/1")),
+				filter.groupOf(new MockHttpServletRequest("POST", "/api/crm/requests/batch")));
+		assertNotSame(filter.groupOf(new MockHttpServletRequest("GET", "/api/crm/requests/1")),
+				filter.groupOf(new MockHttpServletRequest("POST", "/api/crm/requests")));
+	}
+}
@@ -15,12 +15,18 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
+import com.bank.crm.dto.BulkStatusUpdateDto;
 import com.bank.crm.dto.CreateRequestDto;
 import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.dto.ServiceRequestLookupDto;
 import com.bank.crm.dto.UpdateRequestStatusDto;
 import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.ratelimit.SourceRateLimiter;
 import com.bank.crm.service.CrmService;
+import com.bank.crm.service.trigger.TriggerWriteBehind;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
@@ -35,6 +41,13 @@ public class CrmControllerTest {
 	@MockitoBean
 	private CrmService crmService;
 
+	@MockitoBean
+	private SourceRateLimiter rateLimiter;
+
+	// the mock returns false: triggers take the processIncomingTrigger path
+	@MockitoBean
+	private TriggerWriteBehind triggerWriteBehind;
+
 	@Autowired
 	private MockMvc mockMvc;
 
@@ -108,6 +121,43 @@ public class CrmControllerTest {
 				.andExpect(jsonPath("$[0].id", is(1))).andExpect(jsonPath("$[1].id", is(2)));
 	}
 
+	@Test
+	@DisplayName("GET /api/crm/requests/batch - Entries in request order with not-found markers (200 OK)")
+	void whenGetRequestsByIds_shouldReturnEntriesInRequestOrder() throws Exception {
+		ServiceRequestDto request = new ServiceRequestDto();
+		request.setId(2L);
+		request.setCustomerId("CUST200");
+		given(crmService.getServiceRequestsInOrder(List.of(2L, 99L))).willReturn(
+				List.of(new ServiceRequestLookupDto(2L, true, request), new ServiceRequestLookupDto(99L, false, null)));
+
+		mockMvc.perform(get("/api/crm/requests/batch").param("ids", "2,99")).andExpect(status().isOk())
+				.andExpect(jsonPath("$", hasSize(2))).andExpect(jsonPath("$[0].found", is(true)))
+				.andExpect(jsonPath("$[0].request.customerId", is("CUST200")))
+				.andExpect(jsonPath("$[1].id", is(99))).andExpect(jsonPath("$[1].found", is(false)));
+	}
+
+	@Test
+	@DisplayName("POST /api/crm/requests/batch - Ids in the body, entries in request order (200 OK)")
+	void whenPostRequestsByIds_shouldReturnEntriesInRequestOrder() throws Exception {
+		given(crmService.getServiceRequestsInOrder(List.of(99L, 2L))).willReturn(
+				List.of(new ServiceRequestLookupDto(99L, false, null), new ServiceRequestLookupDto(2L, false, null)));
+
+		mockMvc.perform(post("/api/crm/requests/batch").contentType(MediaType.APPLICATION_JSON).content("[99, 2]"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$", hasSize(2)))
+				.andExpect(jsonPath("$[0].id", is(99))).andExpect(jsonPath("$[1].id", is(2)));
+	}
+
+	@Test
+	@DisplayName("PUT /api/crm/requests/bulk/status - Invalid selection returns the reason (400 Bad Request)")
+	void whenBulkUpdateStatusInvalid_shouldReturnReason() throws Exception {
+		given(crmService.bulkUpdateStatus(any(BulkStatusUpdateDto.class)))
+				.willThrow(new IllegalArgumentException("Select requests by either ids or filter"));
+
+		mockMvc.perform(put("/api/crm/requests/bulk/status").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"status\":\"CANCELED\"}")).andExpect(status().isBadRequest())
+				.andExpect(content().string("Select requests by either ids or filter"));
+	}
+
 	@Test
 	@DisplayName("PUT /api/crm/requests/{id}/status - Success Case (200 OK)")
 	void whenPutRequestStatus_shouldUpdateRequest_shouldReturnOk() throws Exception {
@@ -145,4 +195,31 @@ public class CrmControllerTest {
 				.andExpect(jsonPath("$.status", is(RequestStatus.FORWARDED.toString())));
 	}
 
+
+	@Test
+	@DisplayName("POST /api/crm/requests - CBOR request and response")
+	void whenPostRequestAsCbor_thenRespondInCbor() throws Exception {
+		ObjectMapper cbor = new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+		CreateRequestDto inputDto = new CreateRequestDto();
+		inputDto.setCustomerId("CUST123");
+		inputDto.setRequestType("Balance Inquiry");
+
+		ServiceRequestDto outputDto = new ServiceRequestDto();
+		outputDto.setId(1L);
+		outputDto.setCustomerId("CUST123");
+		outputDto.setStatus(RequestStatus.PENDING);
+		outputDto.setCreatedAt(LocalDateTime.now());
+
+		given(crmService.createServiceRequest(any(CreateRequestDto.class))).willReturn(outputDto);
+
+		byte[] body = mockMvc
+				.perform(post("/api/crm/requests").contentType(MediaType.APPLICATION_CBOR)
+						.accept(MediaType.APPLICATION_CBOR).content(cbor.writeValueAsBytes(inputDto)))
+				.andExpect(status().isCreated()).andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+				.andReturn().getResponse().getContentAsByteArray();
+
+		ServiceRequestDto response = cbor.readValue(body, ServiceRequestDto.class);
+		assertEquals(1L, response.getId());
+		assertEquals(RequestStatus.PENDING, response.getStatus());
+	}
 }
@@ -14,10 +14,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import com.bank.crm.dto.PaymentLookupDto;
 import com.bank.crm.dto.ServiceRequestDto;
 import com.bank.crm.dto.event.PaymentCompletedEvent;
 import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.ratelimit.SourceRateLimiter;
 import com.bank.crm.service.CrmService;
+import com.bank.crm.service.trigger.TriggerWriteBehind;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -40,6 +43,13 @@ public class CrmControllerTestPaymentTrigger {
 	@MockitoBean
 	private CrmService crmService;
 
+	@MockitoBean
+	private SourceRateLimiter rateLimiter;
+
+	// the mock returns false: triggers take the processIncomingTrigger path
+	@MockitoBean
+	private TriggerWriteBehind triggerWriteBehind;
+
 	@Autowired
 	private ObjectMapper objectMapper;
 
@@ -99,4 +109,18 @@ public class CrmControllerTestPaymentTrigger {
 		verify(crmService, times(1)).processPaymentCompletedTrigger(any(PaymentCompletedEvent.class));
 	}
 
+	@Test
+	@DisplayName("GET /payments/{paymentTransactionRef} - Payment with its request (200 OK)")
+	void findPayment_whenFound_shouldReturnPaymentAndRequest() throws Exception {
+		given(crmService.findPaymentByTransactionRef("PAYREF789012")).willReturn(new PaymentLookupDto("PAYREF789012",
+				new BigDecimal("1500.75"), validPaymentEvent.getPaymentTimestamp(), "evt-payment-12345",
+				LocalDateTime.now(), expectedServiceRequestDto));
+
+		mockMvc.perform(get("/api/crm/requests/payments/PAYREF789012")).andExpect(status().isOk())
+				.andExpect(jsonPath("$.paymentTransactionRef", is("PAYREF789012")))
+				.andExpect(jsonPath("$.amountPaid", is(1500.75)))
+				.andExpect(jsonPath("$.request.id", is(101)))
+				.andExpect(jsonPath("$.request.requestType", is("CC_PAYMENT")));
+	}
+
 }
@@ -16,8 +16,12 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.web.client.RestClientException;
 
 import com.bank.crm.dto.event.TriggerRequestEvent;
+import com.bank.crm.dto.event.payload.UpdateStatusPayload;
 import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.ratelimit.SourceRateLimiter;
 import com.bank.crm.service.CrmService;
+import com.bank.crm.service.trigger.TriggerWriteBehind;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.persistence.EntityNotFoundException;
@@ -26,10 +30,10 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
-import java.util.Collections;
-
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.never;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.ArgumentMatchers.eq;
 
 @WebMvcTest(CrmController.class)
@@ -39,6 +43,13 @@ public class CrmControllerTestTriggerMicroservice {
 	@MockitoBean
 	private CrmService crmService;
 
+	@MockitoBean
+	private SourceRateLimiter rateLimiter;
+
+	// the mock returns false: triggers take the processIncomingTrigger path
+	@MockitoBean
+	private TriggerWriteBehind triggerWriteBehind;
+
 	@Autowired
 	private MockMvc mockMvc;
 
@@ -55,7 +66,7 @@ public class CrmControllerTestTriggerMicroservice {
 		@BeforeEach
 		void setUpReceiveTrigger() {
 			validTriggerEvent = new TriggerRequestEvent("BackOfficeService", ActionStatus.UPDATE_STATUS, 201L,
-					Collections.singletonMap("newStatus", "IN_PROGRESS"));
+					new UpdateStatusPayload(RequestStatus.IN_PROGRESS));
 			expectedSuccessMessage = "Trigger received and processing started for action: "
 					+ validTriggerEvent.getAction() + " on ServiceRequest ID: " + validTriggerEvent.getRelatedId();
 		}
@@ -104,6 +115,20 @@ public class CrmControllerTestTriggerMicroservice {
 
 			verify(crmService, times(1)).processIncomingTrigger(any(TriggerRequestEvent.class));
 		}
+
+		@Test
+		@DisplayName("POST /api/crm/requests/trigger/receive - Rate Limited Case (429)")
+		void receiveTrigger_whenSourceIsThrottled_shouldReturnTooManyRequests() throws Exception {
+
+			given(rateLimiter.tryAcquire("BackOfficeService")).willReturn(1_500_000_000L);
+
+			mockMvc.perform(post("/api/crm/requests/trigger/receive").contentType(MediaType.APPLICATION_JSON)
+					.content(objectMapper.writeValueAsString(validTriggerEvent)))
+					.andExpect(status().isTooManyRequests())
+					.andExpect(header().string("Retry-After", "2"));
+
+			verify(crmService, never()).processIncomingTrigger(any(TriggerRequestEvent.class));
+		}
 	}
 
 	@Nested
@@ -0,0 +1,139 @@
+package com.bank.crm.customer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.repository.StatusCountView;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class CustomerSummaryCacheTest {
+
+	private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 9, 0);
+
+	private final ServiceRequestRepository repo = mock(ServiceRequestRepository.class);
+	private final CustomerSummaryProperties properties = new CustomerSummaryProperties();
+	private Instant now = Instant.parse("2024-05-01T10:00:00Z");
+	private CustomerSummaryCache cache;
+
+	@BeforeEach
+	void setUp() {
+		Clock clock = new Clock() {
+			@Override
+			public ZoneId getZone() {
+				return ZoneOffset.UTC;
+			}
+
+			@Override
+			public Clock withZone(ZoneId zone) {
+				return this;
+			}
+
+			@Override
+			public Instant instant() {
+				return now;
+			}
+		};
+		cache = new CustomerSummaryCache(properties, repo, new ShardRouter(new ShardingProperties(), null),
+				new SimpleMeterRegistry(), clock);
+		when(repo.summarizeCustomer("CUST100")).thenReturn(
+				List.of(row(RequestStatus.PENDING, 2, T0), row(RequestStatus.COMPLETED, 1, T0.minusDays(1))));
+	}
+
+	@Test
+	void loadsOnceAndAppliesTransitions() {
+		CustomerSummary first = cache.get("CUST100");
+		assertEquals(2, first.openCount());
+		assertEquals(3, first.total());
+
+		cache.onServiceRequestChanged(event(Operation.STATUS_UPDATED, RequestStatus.PENDING, RequestStatus.IN_PROGRESS,
+				T0.plusHours(1)));
+		cache.onServiceRequestChanged(event(Operation.CREATED, null, RequestStatus.PENDING, T0.plusHours(2)));
+		cache.onServiceRequestChanged(event(Operation.STATUS_UPDATED, RequestStatus.IN_PROGRESS,
+				RequestStatus.COMPLETED, T0.plusHours(3)));
+
+		CustomerSummary summary = cache.get("CUST100");
+		assertEquals(Map.of(RequestStatus.PENDING, 2L, RequestStatus.COMPLETED, 2L), summary.countsByStatus());
+		assertEquals(2, summary.openCount());
+		assertEquals(T0.plusHours(3), summary.lastActivityAt());
+		verify(repo, times(1)).summarizeCustomer("CUST100");
+	}
+
+	@Test
+	void reloadsAfterTtl() {
+		properties.setTtl(Duration.ofMinutes(5));
+		cache.get("CUST100");
+		now = now.plus(Duration.ofMinutes(6));
+		cache.get("CUST100");
+
+		verify(repo, times(2)).summarizeCustomer("CUST100");
+	}
+
+	@Test
+	void doesNotCacheALoadThatRacedWithAChange() {
+		when(repo.summarizeCustomer("CUST100")).thenAnswer(invocation -> {
+			cache.onServiceRequestChanged(event(Operation.CREATED, null, RequestStatus.PENDING, T0));
+			return List.of(row(RequestStatus.PENDING, 2, T0));
+		});
+
+		cache.get("CUST100");
+		cache.get("CUST100");
+
+		verify(repo, times(2)).summarizeCustomer("CUST100");
+		assertEquals(0, cache.size());
+	}
+
+	@Test
+	void ignoresChangesOfCustomersNotCached() {
+		cache.onServiceRequestChanged(event(Operation.CREATED, null, RequestStatus.PENDING, T0));
+
+		assertEquals(0, cache.size());
+	}
+
+	private static ServiceRequestChangedEvent event(Operation operation, RequestStatus previous, RequestStatus status,
+			LocalDateTime at) {
+		ServiceRequestDto request = new ServiceRequestDto(7L, "CUST100", "LOAN", null, status, null, T0, at);
+		return new ServiceRequestChangedEvent(operation, previous, request, null);
+	}
+
+	private static StatusCountView row(RequestStatus status, long requests, LocalDateTime lastActivity) {
+		return new StatusCountView() {
+			@Override
+			public RequestStatus getStatus() {
+				return status;
+			}
+
+			@Override
+			public long getRequests() {
+				return requests;
+			}
+
+			@Override
+			public LocalDateTime getLastActivity() {
+				return lastActivity;
+			}
+		};
+	}
+}
@@ -0,0 +1,91 @@
+package com.bank.crm.deadline;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.sun.net.httpserver.HttpServer;
+
+class DeadlineAwareRequestFactoryTest {
+
+	private HttpServer server;
+	private RestTemplate restTemplate;
+	private String slowUrl;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/slow", exchange -> {
+			try {
+				Thread.sleep(2_000);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			exchange.sendResponseHeaders(200, 2);
+			exchange.getResponseBody().write("ok".getBytes());
+			exchange.close();
+		});
+		server.start();
+		slowUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/slow";
+
+		DeadlineAwareRequestFactory factory = new DeadlineAwareRequestFactory();
+		factory.setReadTimeout(Duration.ofSeconds(30));
+		restTemplate = new RestTemplate(factory);
+	}
+
+	@AfterEach
+	void tearDown() {
+		server.stop(0);
+	}
+
+	@Test
+	void readTimeoutIsCappedAtRemainingBudget() {
+		long started = System.nanoTime();
+		try (Deadline.Scope deadline = Deadline.start(Duration.ofMillis(200))) {
+			assertThrows(ResourceAccessException.class, () -> restTemplate.getForObject(slowUrl, String.class));
+		}
+		long tookMillis = (System.nanoTime() - started) / 1_000_000;
+		assertTrue(tookMillis < 1_500, "took " + tookMillis + " ms");
+	}
+
+	@Test
+	void spentBudgetFailsWithoutCalling() {
+		try (Deadline.Scope deadline = Deadline.start(Duration.ZERO)) {
+			ResourceAccessException e = assertThrows(ResourceAccessException.class,
+					() -> restTemplate.getForObject(slowUrl, String.class));
+			assertTrue(e.getMessage().contains("deadline exceeded"));
+		}
+		assertTrue(!Deadline.isSet());
+	}
+
+	@Test
+	void budgetComesFromHeaderEndpointOrDefault() {
+		DeadlineProperties properties = new DeadlineProperties();
+		properties.getEndpoints().put("/api/crm/requests/*/forward", Duration.ofSeconds(10));
+		DeadlineFilter filter = new DeadlineFilter(properties);
+
+		MockHttpServletRequest fromHeader = new MockHttpServletRequest("POST", "/api/crm/requests/1/forward");
+		fromHeader.addHeader("X-Request-Timeout-Ms", "1500");
+		assertEquals(Duration.ofMillis(1500), filter.budgetFor(fromHeader));
+
+		MockHttpServletRequest capped = new MockHttpServletRequest("GET", "/api/crm/requests");
+		capped.addHeader("X-Request-Timeout-Ms", "3600000");
+		assertEquals(properties.getMaxBudget(), filter.budgetFor(capped));
+
+		assertEquals(Duration.ofSeconds(10),
+				filter.budgetFor(new MockHttpServletRequest("POST", "/api/crm/requests/7/forward")));
+		assertEquals(properties.getDefaultBudget(),
+				filter.budgetFor(new MockHttpServletRequest("GET", "/api/crm/requests/7")));
+	}
+}
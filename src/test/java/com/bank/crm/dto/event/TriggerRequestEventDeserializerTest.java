@@ -0,0 +1,65 @@
+package com.bank.crm.dto.event;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.bank.crm.dto.event.payload.AssignAgentPayload;
+import com.bank.crm.dto.event.payload.EscalateIssuePayload;
+import com.bank.crm.dto.event.payload.UpdateStatusPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@DisplayName("TriggerRequestEvent - Typed payload deserialization")
+public class TriggerRequestEventDeserializerTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	@DisplayName("Should bind data into the payload class of the action")
+	void deserialize_whenActionBeforeData_shouldBindTypedPayload() throws Exception {
+		TriggerRequestEvent event = objectMapper.readValue(
+				"{\"sourceService\":\"BackOfficeService\",\"action\":\"UPDATE_STATUS\",\"relatedId\":201,"
+						+ "\"data\":{\"newStatus\":\"in_progress\"}}",
+				TriggerRequestEvent.class);
+
+		assertEquals("BackOfficeService", event.getSourceService());
+		assertEquals(ActionStatus.UPDATE_STATUS, event.getAction());
+		assertEquals(201L, event.getRelatedId());
+		assertEquals(new UpdateStatusPayload(RequestStatus.IN_PROGRESS), event.getData());
+	}
+
+	@Test
+	@DisplayName("Should buffer data that arrives before the action")
+	void deserialize_whenDataBeforeAction_shouldBindTypedPayload() throws Exception {
+		TriggerRequestEvent event = objectMapper.readValue(
+				"{\"data\":{\"agentId\":\"agent-007\"},\"relatedId\":5,\"action\":\"ASSIGN_AGENT\"}",
+				TriggerRequestEvent.class);
+
+		assertEquals(new AssignAgentPayload("agent-007"), event.getData());
+	}
+
+	@Test
+	@DisplayName("Should accept a trigger without data")
+	void deserialize_whenDataMissing_shouldLeaveDataNull() throws Exception {
+		TriggerRequestEvent event = objectMapper.readValue("{\"action\":\"ESCALATE_ISSUE\",\"relatedId\":7}",
+				TriggerRequestEvent.class);
+
+		assertEquals(ActionStatus.ESCALATE_ISSUE, event.getAction());
+		assertNull(event.getData());
+	}
+
+	@Test
+	@DisplayName("Should round-trip through the serializer")
+	void serialize_thenDeserialize_shouldRoundTrip() throws Exception {
+		TriggerRequestEvent original = new TriggerRequestEvent("SlaSvc", ActionStatus.ESCALATE_ISSUE, 9L,
+				new EscalateIssuePayload("SLA breached", "TeamLead"));
+
+		TriggerRequestEvent copy = objectMapper.readValue(objectMapper.writeValueAsString(original),
+				TriggerRequestEvent.class);
+
+		assertEquals(original, copy);
+	}
+}
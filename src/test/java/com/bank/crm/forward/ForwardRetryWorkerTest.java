@@ -0,0 +1,126 @@
+package com.bank.crm.forward;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.forward.ForwardLeaseStore.ClaimedRequest;
+import com.bank.crm.service.CrmService;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class ForwardRetryWorkerTest {
+
+	private static final String NODE = "node-1";
+
+	@Mock
+	private ForwardLeaseStore leases;
+
+	@Mock
+	private CrmService crmService;
+
+	private final AtomicLong now = new AtomicLong();
+	private ForwardRetryProperties properties;
+	private ForwardRetryWorker worker;
+
+	@BeforeEach
+	void setUp() {
+		properties = new ForwardRetryProperties();
+		properties.setNodeId(NODE);
+		properties.setLeaseDuration(Duration.ofSeconds(60));
+		worker = new ForwardRetryWorker(properties, leases, crmService, new ShardRouter(new ShardingProperties(), null),
+				new SimpleMeterRegistry(), now::get);
+	}
+
+	private static ServiceRequestDto withStatus(long id, RequestStatus status) {
+		ServiceRequestDto dto = new ServiceRequestDto();
+		dto.setId(id);
+		dto.setStatus(status);
+		return dto;
+	}
+
+	@Test
+	@DisplayName("Forwarded requests are released, failed ones get their lease turned into a backoff")
+	void shouldReleaseOrBackOff() {
+		when(leases.claim(eq(NODE), anyInt(), any(), anyInt()))
+				.thenReturn(List.of(new ClaimedRequest(1L, 0), new ClaimedRequest(2L, 2)));
+		when(crmService.retryForwardToBackOffice(1L)).thenReturn(Optional.of(withStatus(1L, RequestStatus.FORWARDED)));
+		when(crmService.retryForwardToBackOffice(2L)).thenReturn(Optional.of(withStatus(2L, RequestStatus.FORWARD_FAILED)));
+
+		assertEquals(1, worker.retryClaimedBatch());
+
+		verify(leases).release(1L, NODE);
+		verify(leases).releaseForRetry(2L, NODE, Duration.ofMinutes(4));
+		verify(leases, never()).extend(any(), any(), any());
+	}
+
+	@Test
+	@DisplayName("A forwarding exception counts as a failed attempt")
+	void shouldBackOffOnException() {
+		when(leases.claim(eq(NODE), anyInt(), any(), anyInt())).thenReturn(List.of(new ClaimedRequest(3L, 0)));
+		when(crmService.retryForwardToBackOffice(3L)).thenThrow(new RuntimeException("back office down"));
+
+		assertEquals(0, worker.retryClaimedBatch());
+
+		verify(leases).releaseForRetry(3L, NODE, Duration.ofMinutes(1));
+	}
+
+	@Test
+	@DisplayName("Leases are extended half way through and requests whose lease was lost are skipped")
+	void shouldExtendLeaseAndSkipLostRequests() {
+		when(leases.claim(eq(NODE), anyInt(), any(), anyInt())).thenReturn(
+				List.of(new ClaimedRequest(1L, 0), new ClaimedRequest(2L, 0), new ClaimedRequest(3L, 0)));
+		when(crmService.retryForwardToBackOffice(1L)).thenAnswer(invocation -> {
+			now.addAndGet(Duration.ofSeconds(45).toNanos()); // slow back office
+			return Optional.of(withStatus(1L, RequestStatus.FORWARDED));
+		});
+		when(leases.extend(List.of(2L, 3L), NODE, properties.getLeaseDuration())).thenReturn(List.of(3L));
+		when(crmService.retryForwardToBackOffice(3L)).thenReturn(Optional.of(withStatus(3L, RequestStatus.FORWARDED)));
+
+		assertEquals(2, worker.retryClaimedBatch());
+
+		verify(crmService, never()).retryForwardToBackOffice(2L);
+		verify(leases, never()).release(eq(2L), any());
+	}
+
+	@Test
+	@DisplayName("A request whose status changed after the claim is released without being sent or backed off")
+	void shouldReleaseRequestNoLongerFailed() {
+		when(leases.claim(eq(NODE), anyInt(), any(), anyInt())).thenReturn(List.of(new ClaimedRequest(4L, 1)));
+		// an agent cancelled it while the batch was being worked through
+		when(crmService.retryForwardToBackOffice(4L)).thenReturn(Optional.empty());
+
+		assertEquals(0, worker.retryClaimedBatch());
+
+		verify(leases).release(4L, NODE);
+		verify(leases, never()).releaseForRetry(anyLong(), any(), any());
+	}
+
+	@Test
+	@DisplayName("Backoff doubles per attempt up to maxBackoff")
+	void backoffShouldDoubleUpToMax() {
+		assertEquals(Duration.ofMinutes(1), worker.backoffAfter(1));
+		assertEquals(Duration.ofMinutes(8), worker.backoffAfter(4));
+		assertEquals(Duration.ofHours(1), worker.backoffAfter(30));
+	}
+}
@@ -0,0 +1,133 @@
+package com.bank.crm.hedge;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RequestHedgerTest {
+
+	private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+	private RequestHedger hedger;
+
+	private RequestHedger hedger(double maxHedgeRatio) {
+		HedgingProperties properties = new HedgingProperties();
+		properties.setEnabled(true);
+		properties.setMinSamples(16);
+		properties.setMinDelay(Duration.ofMillis(20));
+		properties.setMaxHedgeRatio(maxHedgeRatio);
+		hedger = new RequestHedger(properties, meterRegistry);
+		for (int i = 0; i < 16; i++) {
+			hedger.call(() -> "warm-up");
+		}
+		return hedger;
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (hedger != null) {
+			hedger.destroy();
+		}
+	}
+
+	@Test
+	void slowFirstAttemptIsHedgedAndSecondWins() throws InterruptedException {
+		RequestHedger hedger = hedger(1.0);
+		CountDownLatch firstInterrupted = new CountDownLatch(1);
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = hedger.call(() -> {
+			if (attempts.incrementAndGet() == 1) {
+				try {
+					Thread.sleep(10_000);
+				} catch (InterruptedException e) {
+					firstInterrupted.countDown();
+				}
+				return "slow";
+			}
+			return "fast";
+		});
+
+		assertEquals("fast", result);
+		assertEquals(2, attempts.get());
+		assertTrue(firstInterrupted.await(1, TimeUnit.SECONDS), "losing attempt should be cancelled");
+		assertEquals(1.0, meterRegistry.counter("crm.hedge", "outcome", "won").count());
+	}
+
+	@Test
+	void failedAttemptFallsBackToTheOther() {
+		RequestHedger hedger = hedger(1.0);
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = hedger.call(() -> {
+			if (attempts.incrementAndGet() == 1) {
+				sleep(200);
+				return "primary";
+			}
+			throw new IllegalStateException("hedge failed");
+		});
+
+		assertEquals("primary", result);
+	}
+
+	@Test
+	void hedgeRatioLimitsSecondAttempts() {
+		RequestHedger hedger = hedger(0.0);
+		AtomicInteger attempts = new AtomicInteger();
+
+		String result = hedger.call(() -> {
+			attempts.incrementAndGet();
+			sleep(100);
+			return "only";
+		});
+
+		assertEquals("only", result);
+		assertEquals(1, attempts.get());
+	}
+
+	@Test
+	void hedgeBudgetOnlyCountsRecentCalls() {
+		HedgeBudget budget = new HedgeBudget(20, 0.25);
+		for (int i = 0; i < 1000; i++) {
+			budget.recordCall();
+		}
+		// quiet history does not pay for a burst: 4 hedges for the last 16 calls, then none
+		for (int i = 0; i < 4; i++) {
+			assertTrue(budget.tryHedge());
+		}
+		assertFalse(budget.tryHedge());
+
+		for (int i = 0; i < 20; i++) {
+			budget.recordCall();
+		}
+		assertTrue(budget.tryHedge());
+	}
+
+	@Test
+	void failureIsRethrownWhenNotHedged() {
+		RequestHedger hedger = hedger(0.0);
+
+		IllegalStateException e = assertThrows(IllegalStateException.class, () -> hedger.call(() -> {
+			throw new IllegalStateException("down");
+		}));
+		assertEquals("down", e.getMessage());
+	}
+
+	private static void sleep(long millis) {
+		try {
+			Thread.sleep(millis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,201 @@
+package com.bank.crm.history;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.dto.StatusHistoryDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the writer against H2 (MSSQLServer mode) with db/003_service_request_history.sql
+class StatusHistoryStoreTest {
+
+	private final ShardRouter shardRouter = new ShardRouter(new ShardingProperties(), null);
+	private String url;
+	private JdbcTemplate jdbcTemplate;
+	private DataSourceTransactionManager transactionManager;
+	private HistoryProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private StatusHistoryStore store;
+
+	@BeforeEach
+	void setUp() {
+		url = "jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS dbo";
+		SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), url);
+		new ResourceDatabasePopulator(new ClassPathResource("db/003_service_request_history.sql")).execute(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionManager = new DataSourceTransactionManager(dataSource);
+		properties = new HistoryProperties();
+		properties.setFlushInterval(Duration.ofMillis(20));
+		meterRegistry = new SimpleMeterRegistry();
+	}
+
+	@AfterEach
+	void tearDown() {
+		if (store != null) {
+			store.stop();
+		}
+	}
+
+	private StatusHistoryStore startStore() {
+		store = new StatusHistoryStore(properties, jdbcTemplate, transactionManager, shardRouter, meterRegistry);
+		store.start();
+		return store;
+	}
+
+	private static ServiceRequestChangedEvent event(Long id, Operation operation, RequestStatus previous,
+			RequestStatus current) {
+		ServiceRequestDto request = new ServiceRequestDto(id, "CUST100", "ACCOUNT_BALANCE", null, current, "Agent007",
+				LocalDateTime.now(), null);
+		return new ServiceRequestChangedEvent(operation, previous, request, null);
+	}
+
+	private double rows(String outcome) {
+		return meterRegistry.get("crm.history.rows").tag("outcome", outcome).counter().count();
+	}
+
+	@Test
+	@DisplayName("ASYNC: buffered changes are written in batches and read back in order")
+	void async_shouldWriteBufferedRowsInOrder() throws InterruptedException {
+		startStore();
+		store.onServiceRequestChanged(event(1L, Operation.CREATED, null, RequestStatus.PENDING));
+		store.onServiceRequestChanged(event(1L, Operation.STATUS_UPDATED, RequestStatus.PENDING, RequestStatus.IN_PROGRESS));
+		store.onServiceRequestChanged(event(2L, Operation.CREATED, null, RequestStatus.PENDING));
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (rows("written") < 3 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+
+		List<StatusHistoryDto> history = store.findByRequestId(1L);
+		assertEquals(2, history.size());
+		assertEquals(Operation.CREATED, history.get(0).getOperation());
+		assertNull(history.get(0).getPreviousStatus());
+		assertEquals(RequestStatus.PENDING, history.get(1).getPreviousStatus());
+		assertEquals(RequestStatus.IN_PROGRESS, history.get(1).getNewStatus());
+		assertEquals("Agent007", history.get(1).getAssignedTo());
+	}
+
+	@Test
+	@DisplayName("AWAIT: the change is committed when the listener returns")
+	void await_shouldReturnAfterCommit() {
+		properties.setDurability(HistoryProperties.Durability.AWAIT);
+		startStore();
+
+		store.onServiceRequestChanged(event(5L, Operation.FORWARDED, RequestStatus.PENDING, RequestStatus.FORWARDED));
+
+		assertEquals(1, store.findByRequestId(5L).size());
+	}
+
+	@Test
+	@DisplayName("AWAIT: a slow history commit holds the caller for at most awaitTimeout, the row is still written")
+	void await_shouldStopWaitingAfterTimeout() throws InterruptedException {
+		properties.setDurability(HistoryProperties.Durability.AWAIT);
+		properties.setAwaitTimeout(Duration.ofMillis(50));
+		DataSourceTransactionManager slow = new DataSourceTransactionManager(transactionManager.getDataSource()) {
+			@Override
+			protected void doBegin(Object transaction, TransactionDefinition definition) {
+				try {
+					Thread.sleep(500);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.doBegin(transaction, definition);
+			}
+		};
+		store = new StatusHistoryStore(properties, jdbcTemplate, slow, shardRouter, meterRegistry);
+		store.start();
+
+		long started = System.nanoTime();
+		store.onServiceRequestChanged(event(6L, Operation.CREATED, null, RequestStatus.PENDING));
+
+		assertTrue(System.nanoTime() - started < Duration.ofMillis(400).toNanos(), "waited for the slow commit");
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (rows("written") < 1 && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		assertEquals(1, store.findByRequestId(6L).size());
+	}
+
+	@Test
+	@DisplayName("A full buffer makes the caller write its own row instead of dropping it")
+	void fullBuffer_shouldFallBackToDirectWrite() {
+		properties.setBufferSize(1);
+		properties.setOfferTimeout(Duration.ofMillis(1));
+		store = new StatusHistoryStore(properties, jdbcTemplate, transactionManager, shardRouter, meterRegistry);
+		// writer not started: nothing drains the buffer
+
+		store.onServiceRequestChanged(event(7L, Operation.CREATED, null, RequestStatus.PENDING));
+		store.onServiceRequestChanged(event(7L, Operation.STATUS_UPDATED, RequestStatus.PENDING, RequestStatus.CANCELED));
+
+		assertEquals(2, store.findByRequestId(7L).size());
+		assertEquals(2.0, rows("overflow"));
+	}
+
+	@Test
+	@DisplayName("A full buffer after a real commit: the caller's own row is committed, not left in the finished transaction")
+	void fullBuffer_afterCommit_shouldCommitDirectWrite() {
+		properties.setBufferSize(1);
+		properties.setOfferTimeout(Duration.ofMillis(1));
+		store = new StatusHistoryStore(properties, jdbcTemplate, transactionManager, shardRouter, meterRegistry);
+		store.onServiceRequestChanged(event(8L, Operation.CREATED, null, RequestStatus.PENDING));
+		// another connection sees only committed rows
+		JdbcTemplate otherConnection = new JdbcTemplate(new SimpleDriverDataSource(new org.h2.Driver(), url));
+		int[] committedInListener = new int[1];
+
+		// as @TransactionalEventListener does: afterCommit, with the committed connection still bound
+		new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+			jdbcTemplate.update("UPDATE dbo.service_request_history SET detail = 'changed' WHERE request_id = 8");
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					store.onServiceRequestChanged(
+							event(8L, Operation.STATUS_UPDATED, RequestStatus.PENDING, RequestStatus.CANCELED));
+					committedInListener[0] = otherConnection.queryForObject(
+							"SELECT COUNT(*) FROM dbo.service_request_history WHERE request_id = 8", Integer.class);
+				}
+			});
+		});
+
+		assertEquals(2, committedInListener[0]);
+		assertEquals(2, otherConnection.queryForObject(
+				"SELECT COUNT(*) FROM dbo.service_request_history WHERE request_id = 8", Integer.class));
+	}
+
+	@Test
+	@DisplayName("stop() flushes everything still buffered")
+	void stop_shouldFlushBuffer() {
+		properties.setFlushInterval(Duration.ofSeconds(10));
+		startStore();
+		for (long id = 10; id < 20; id++) {
+			store.onServiceRequestChanged(event(id, Operation.CREATED, null, RequestStatus.PENDING));
+		}
+
+		store.stop();
+		store = null;
+
+		assertEquals(10, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dbo.service_request_history", Integer.class));
+	}
+}
@@ -0,0 +1,183 @@
+package com.bank.crm.importer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import com.bank.crm.dictionary.DictionaryProperties;
+import com.bank.crm.dictionary.RequestDictionaries;
+import com.bank.crm.dto.ImportReportDto;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against H2 (MSSQLServer mode) with db/008_service_request_import.sql and db/009_request_dictionaries.sql
+class ServiceRequestImporterTest {
+
+	private static final String HEADER = "customerId,requestType,requestDetails,status,createdAt\n";
+
+	@TempDir
+	Path errorDir;
+
+	private JdbcTemplate jdbcTemplate;
+	private ImportProperties properties;
+	private ServiceRequestImporter importer;
+	private SimpleDriverDataSource dataSource;
+	private DataSourceTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:"
+				+ UUID.randomUUID() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS dbo");
+		new ResourceDatabasePopulator(new ClassPathResource("db/008_service_request_import.sql"),
+				new ClassPathResource("db/009_request_dictionaries.sql")).execute(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("""
+				CREATE TABLE dbo.service_requests (
+				    id BIGINT IDENTITY(1,1) PRIMARY KEY, customer_id VARCHAR(255) NOT NULL,
+				    request_type_id SMALLINT NOT NULL, request_details NVARCHAR(MAX), status VARCHAR(255) NOT NULL,
+				    assigned_to_id INT, created_at DATETIME2(6) NOT NULL, updated_at DATETIME2(6),
+				    status_changed_at DATETIME2(6) NOT NULL)""");
+		transactionManager = new DataSourceTransactionManager(dataSource);
+
+		properties = new ImportProperties();
+		properties.setChunkSize(2);
+		properties.setErrorDir(errorDir.toString());
+		importer = importer(new RequestDictionaries(dataSource));
+	}
+
+	private ServiceRequestImporter importer(RequestDictionaries dictionaries) {
+		return new ServiceRequestImporter(properties, jdbcTemplate, transactionManager,
+				new ShardRouter(new ShardingProperties(), transactionManager),
+				Validation.buildDefaultValidatorFactory().getValidator(), JsonMapper.builder().findAndAddModules().build(),
+				dictionaries, new SimpleMeterRegistry());
+	}
+
+	private ImportReportDto importCsv(String importId, String csv) throws IOException {
+		return importer.importRequests(importId, ImportFormat.CSV,
+				new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+	}
+
+	private List<Map<String, Object>> rows() {
+		return jdbcTemplate.queryForList(
+				"""
+				SELECT r.customer_id, t.name AS request_type, r.request_details, r.status FROM dbo.service_requests r
+				JOIN dbo.request_types t ON t.id = r.request_type_id ORDER BY r.id""");
+	}
+
+	@Test
+	@DisplayName("CSV: valid rows are inserted in chunks, invalid rows go to the error report")
+	void csv_shouldImportValidRowsAndReportRejected() throws IOException {
+		ImportReportDto report = importCsv("legacy-1", HEADER
+				+ "CUST1,LOAN,\"multi-line\n\"\"quoted\"\", details\",COMPLETED,2020-01-02T10:15:30\n"
+				+ ",LOAN,no customer,,\n"
+				+ "CUST2,CARD,,,\n"
+				+ "\n"
+				+ "CUST3,CARD,bad status,CLOSED,\n"
+				+ "CUST4,CARD,too,few\n"
+				+ "CUST5,ACCOUNT,last,in_progress,\n");
+
+		assertEquals(new ImportReportDto("legacy-1", 6, 3, 0, 3, true, List.of(
+				"row 2: Customer ID is required", "row 4: Invalid status: CLOSED",
+				"row 5: Expected 5 columns but found 4")), report);
+		List<Map<String, Object>> rows = rows();
+		assertEquals(3, rows.size());
+		assertEquals("multi-line\n\"quoted\", details", rows.get(0).get("REQUEST_DETAILS"));
+		assertEquals("COMPLETED", rows.get(0).get("STATUS"));
+		assertEquals("PENDING", rows.get(1).get("STATUS"));
+		assertEquals("IN_PROGRESS", rows.get(2).get("STATUS"));
+		assertEquals(List.of("2,\"Customer ID is required\"", "4,\"Invalid status: CLOSED\"",
+				"5,\"Expected 5 columns but found 4\""), Files.readAllLines(importer.errorReport("legacy-1")));
+		assertEquals(6L, jdbcTemplate.queryForObject(
+				"SELECT committed_row FROM dbo.service_request_import WHERE import_id = 'legacy-1'", Long.class));
+	}
+
+	@Test
+	@DisplayName("An import stopped by unreadable input continues after its last committed chunk")
+	void shouldResumeAfterLastCommittedChunk() throws IOException {
+		String valid = HEADER + "CUST1,LOAN,a,,\nCUST2,LOAN,b,,\nCUST3,LOAN,c,,\n";
+
+		ImportReportDto first = importCsv("legacy-2", valid + "CUST4,LOAN,\"unclosed,,\n");
+		assertFalse(first.isComplete());
+		assertEquals(3, first.getRowsImported());
+		assertEquals(1, first.getRowsRejected());
+
+		ImportReportDto second = importCsv("legacy-2", valid + "CUST4,LOAN,d,,\nCUST5,LOAN,e,,\n");
+		assertTrue(second.isComplete());
+		assertEquals(3, second.getRowsSkipped());
+		assertEquals(2, second.getRowsImported());
+		assertEquals(List.of("CUST1", "CUST2", "CUST3", "CUST4", "CUST5"),
+				rows().stream().map(row -> row.get("CUSTOMER_ID")).toList());
+	}
+
+	@Test
+	@DisplayName("An import started with another number of shards is refused instead of resumed")
+	void shouldNotResumeAfterShardsChanged() throws IOException {
+		jdbcTemplate.update("""
+				INSERT INTO dbo.service_request_import (import_id, committed_row, rows_imported, updated_at, shard_count)
+				VALUES ('legacy-3', 2, 2, CURRENT_TIMESTAMP, 2)""");
+
+		assertThrows(IllegalStateException.class, () -> importCsv("legacy-3", HEADER + "CUST1,LOAN,a,,\n"));
+		assertTrue(rows().isEmpty());
+	}
+
+	@Test
+	@DisplayName("A row whose request type no longer fits the dictionary is rejected, the others are imported")
+	void shouldRejectRowsBeyondDictionaryLimit() throws IOException {
+		DictionaryProperties limit = new DictionaryProperties();
+		limit.setMaxRequestTypes(1);
+		importer = importer(new RequestDictionaries(dataSource, limit));
+
+		ImportReportDto report = importCsv("legacy-4", HEADER + "CUST1,LOAN,a,,\nCUST2,CARD,b,,\nCUST3,LOAN,c,,\n");
+
+		assertEquals(2, report.getRowsImported());
+		assertEquals(1, report.getRowsRejected());
+		assertTrue(report.getFirstErrors().get(0).startsWith("row 2: Cannot add 'CARD'"));
+	}
+
+	@Test
+	@DisplayName("NDJSON: one object per line, malformed lines are rejected")
+	void ndjson_shouldImportObjectsPerLine() throws IOException {
+		String ndjson = """
+				{"customerId":"CUST1","requestType":"LOAN","requestDetails":"เปิดบัญชี","createdAt":"2021-05-01T08:00:00"}
+				{"customerId":"CUST2","requestType":
+				{"customerId":"CUST3","requestType":" "}
+
+				{"customerId":"CUST4","requestType":"CARD","status":"CANCELED"}
+				""";
+		ImportReportDto report = importer.importRequests("legacy-3", ImportFormat.NDJSON,
+				new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+		assertEquals(4, report.getRowsRead());
+		assertEquals(2, report.getRowsImported());
+		assertEquals(2, report.getRowsRejected());
+		assertEquals("row 3: Request type is required", report.getFirstErrors().get(1));
+		assertEquals("เปิดบัญชี", rows().get(0).get("REQUEST_DETAILS"));
+		assertEquals("CANCELED", rows().get(1).get("STATUS"));
+	}
+
+	@Test
+	@DisplayName("Unknown CSV columns and unsafe import ids are refused before anything is read")
+	void shouldRefuseBadHeaderAndImportId() {
+		assertThrows(IllegalArgumentException.class, () -> importCsv("legacy-4", "customerId,requestType,priority\n"));
+		assertThrows(IllegalArgumentException.class, () -> importCsv("../etc", HEADER));
+	}
+}
@@ -0,0 +1,103 @@
+package com.bank.crm.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.repository.ServiceRequestRepository;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+class JfrEventsTest {
+
+	@TempDir
+	Path dir;
+
+	private Recording recording;
+
+	@BeforeEach
+	void startRecording() {
+		recording = new Recording();
+		recording.enable("com.bank.crm.DbLookup").withThreshold(Duration.ZERO);
+		recording.enable("com.bank.crm.DownstreamCall").withThreshold(Duration.ZERO);
+		recording.start();
+	}
+
+	@AfterEach
+	void closeRecording() {
+		recording.close();
+	}
+
+	private List<RecordedEvent> stopAndRead(String eventName) throws Exception {
+		recording.stop();
+		Path file = dir.resolve("test.jfr");
+		recording.dump(file);
+		return RecordingFile.readAllEvents(file).stream()
+				.filter(e -> e.getEventType().getName().equals(eventName))
+				.toList();
+	}
+
+	@Test
+	void repositoryCallsEmitDbLookupEvents() throws Exception {
+		ServiceRequestRepository target = mock(ServiceRequestRepository.class);
+		when(target.findDtoById(7L)).thenReturn(Optional.of(new ServiceRequestDto()));
+		when(target.findDtosByIds(List.of(1L, 2L))).thenReturn(List.of(new ServiceRequestDto(), new ServiceRequestDto()));
+		ServiceRequestRepository repository = (ServiceRequestRepository) new JfrEventsPostProcessor()
+				.postProcessAfterInitialization(target, "serviceRequestRepository");
+
+		repository.findDtoById(7L);
+		repository.findDtosByIds(List.of(1L, 2L));
+
+		List<RecordedEvent> events = stopAndRead("com.bank.crm.DbLookup");
+		assertEquals(2, events.size());
+		assertEquals("findDtoById", events.get(0).getString("method"));
+		assertEquals(7L, events.get(0).getLong("requestId"));
+		assertEquals(1, events.get(0).getInt("rows"));
+		assertEquals("findDtosByIds", events.get(1).getString("method"));
+		assertEquals(0L, events.get(1).getLong("requestId"));
+		assertEquals(2, events.get(1).getInt("rows"));
+	}
+
+	@Test
+	void restTemplateCallsEmitDownstreamCallEvents() throws Exception {
+		RestTemplate restTemplate = new RestTemplate();
+		restTemplate.getInterceptors().add(new DownstreamCallRecorder());
+		MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+		server.expect(requestTo("http://backoffice/api/requests?token=secret")).andRespond(withSuccess());
+		server.expect(requestTo("http://payments/api/trigger")).andRespond(withServerError());
+
+		restTemplate.postForEntity("http://backoffice/api/requests?token=secret", "{}", String.class);
+		assertThrows(HttpServerErrorException.class,
+				() -> restTemplate.postForEntity("http://payments/api/trigger", "{}", String.class));
+
+		List<RecordedEvent> events = stopAndRead("com.bank.crm.DownstreamCall");
+		assertEquals(2, events.size());
+		assertEquals("POST", events.get(0).getString("method"));
+		assertEquals("http://backoffice/api/requests", events.get(0).getString("url"));
+		assertEquals(200, events.get(0).getInt("status"));
+		assertEquals(2L, events.get(0).getLong("requestBytes"));
+		assertNull(events.get(0).getString("failure"));
+		assertEquals(500, events.get(1).getInt("status"));
+	}
+}
@@ -0,0 +1,88 @@
+package com.bank.crm.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceRateLimiterTest {
+
+	private static final long SECOND = 1_000_000_000L;
+
+	private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+	private RateLimitProperties properties;
+	private SimpleMeterRegistry meterRegistry;
+	private SourceRateLimiter limiter;
+
+	@BeforeEach
+	void setUp() {
+		properties = new RateLimitProperties();
+		properties.getDefaultLimit().setPermitsPerSecond(10);
+		properties.getDefaultLimit().setBurst(2);
+		RateLimitProperties.Limit payment = new RateLimitProperties.Limit();
+		payment.setPermitsPerSecond(1);
+		payment.setBurst(1);
+		properties.getSources().put("payment-service", payment);
+		properties.setMaxTrackedSources(2);
+		meterRegistry = new SimpleMeterRegistry();
+		limiter = new SourceRateLimiter(properties, meterRegistry, now::get);
+	}
+
+	@Test
+	@DisplayName("Should allow the burst, throttle the next request and refill over time")
+	void tryAcquire_shouldAllowBurstThenThrottle() {
+		assertEquals(0L, limiter.tryAcquire("BackOfficeService"));
+		assertEquals(0L, limiter.tryAcquire("BackOfficeService"));
+
+		long wait = limiter.tryAcquire("BackOfficeService");
+		assertEquals(SECOND / 10, wait);
+
+		now.addAndGet(wait);
+		assertEquals(0L, limiter.tryAcquire("BackOfficeService"));
+		assertTrue(limiter.tryAcquire("BackOfficeService") > 0);
+
+		assertEquals(3.0, meterRegistry.get("crm.trigger.requests").tag("source", "BackOfficeService")
+				.tag("outcome", "allowed").counter().count());
+		assertEquals(2.0, meterRegistry.get("crm.trigger.requests").tag("source", "BackOfficeService")
+				.tag("outcome", "throttled").counter().count());
+	}
+
+	@Test
+	@DisplayName("Should keep a separate bucket per source with its configured limit")
+	void tryAcquire_shouldUsePerSourceLimits() {
+		assertEquals(0L, limiter.tryAcquire("payment-service"));
+		assertEquals(SECOND, limiter.tryAcquire("payment-service"));
+
+		assertEquals(0L, limiter.tryAcquire("BackOfficeService"));
+	}
+
+	@Test
+	@DisplayName("Should share one bucket between sources beyond maxTrackedSources")
+	void tryAcquire_shouldBoundTrackedSources() {
+		limiter.tryAcquire("a");
+		limiter.tryAcquire("b");
+		limiter.tryAcquire("c");
+		limiter.tryAcquire("d");
+		assertTrue(limiter.tryAcquire("e") > 0, "c, d and e share the 'other' bucket");
+
+		assertNotNull(meterRegistry.find("crm.trigger.requests").tag("source", SourceRateLimiter.OTHER_SOURCES)
+				.counter());
+		assertNull(meterRegistry.find("crm.trigger.requests").tag("source", "e").counter());
+		assertEquals(0L, limiter.tryAcquire("payment-service"), "configured sources always get their own bucket");
+	}
+
+	@Test
+	@DisplayName("Should let everything through when disabled")
+	void tryAcquire_whenDisabled_shouldAlwaysAllow() {
+		properties.setEnabled(false);
+		for (int i = 0; i < 10; i++) {
+			assertEquals(0L, limiter.tryAcquire("payment-service"));
+		}
+		assertTrue(meterRegistry.getMeters().isEmpty());
+	}
+}
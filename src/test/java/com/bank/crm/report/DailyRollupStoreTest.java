@@ -0,0 +1,138 @@
+package com.bank.crm.report;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.UUID;
+
+import com.bank.crm.dictionary.RequestDictionaries;
+import com.bank.crm.dto.DailyRollupDto;
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs against H2 (MSSQLServer mode) with db/002, db/003, db/007 and db/009
+class DailyRollupStoreTest {
+
+	private static final LocalDate DAY = LocalDate.of(2025, 3, 10);
+
+	private JdbcTemplate jdbcTemplate;
+	private DailyRollupStore store;
+	private RollupBackfillJob backfillJob;
+	private RequestDictionaries dictionaries;
+
+	@BeforeEach
+	void setUp() {
+		SimpleDriverDataSource dataSource = new SimpleDriverDataSource(new org.h2.Driver(), "jdbc:h2:mem:"
+				+ UUID.randomUUID() + ";MODE=MSSQLServer;DB_CLOSE_DELAY=-1;INIT=CREATE SCHEMA IF NOT EXISTS dbo");
+		new ResourceDatabasePopulator(new ClassPathResource("db/002_service_requests_archive.sql"),
+				new ClassPathResource("db/003_service_request_history.sql"),
+				new ClassPathResource("db/007_request_daily_rollup.sql"),
+				new ClassPathResource("db/009_request_dictionaries.sql")).execute(dataSource);
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		// the db/010 layout
+		jdbcTemplate.execute("CREATE TABLE dbo.service_requests (id BIGINT PRIMARY KEY, request_type_id SMALLINT)");
+		jdbcTemplate.execute("ALTER TABLE dbo.service_requests_archive DROP COLUMN request_type");
+		jdbcTemplate.execute("ALTER TABLE dbo.service_requests_archive ADD request_type_id SMALLINT");
+		dictionaries = new RequestDictionaries(dataSource);
+		DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+
+		Clock clock = Clock.fixed(DAY.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+		store = new DailyRollupStore(jdbcTemplate, transactionManager, new SimpleMeterRegistry(), clock);
+		RollupProperties properties = new RollupProperties();
+		properties.setBackfillWindow(Duration.ofHours(6));
+		properties.setBackfillPause(Duration.ZERO);
+		backfillJob = new RollupBackfillJob(properties, store,
+				jdbcTemplate, new ShardRouter(new ShardingProperties(), transactionManager), dictionaries,
+				Clock.offset(clock, Duration.ofDays(1)));
+	}
+
+	private static ServiceRequestChangedEvent event(Long id, String type, Operation operation, RequestStatus previous,
+			RequestStatus current) {
+		ServiceRequestDto request = new ServiceRequestDto(id, "CUST100", type, null, current, null,
+				DAY.atStartOfDay(), null);
+		return new ServiceRequestChangedEvent(operation, previous, request, null);
+	}
+
+	private void history(long requestId, Operation operation, RequestStatus previous, RequestStatus current,
+			LocalDateTime changedAt) {
+		jdbcTemplate.update("""
+				INSERT INTO dbo.service_request_history (request_id, operation, previous_status, new_status, changed_at)
+				VALUES (?, ?, ?, ?, ?)""", requestId, operation.name(), previous != null ? previous.name() : null,
+				current.name(), Timestamp.valueOf(changedAt));
+	}
+
+	@Test
+	@DisplayName("Live changes are added up in memory and added to the day's row on every flush")
+	void shouldAddLiveChangesOnFlush() {
+		store.onServiceRequestChanged(event(1L, "LOAN", Operation.CREATED, null, RequestStatus.PENDING));
+		store.onServiceRequestChanged(event(1L, "LOAN", Operation.FORWARDED, RequestStatus.PENDING, RequestStatus.FORWARD_FAILED));
+		// not a transition into a counted status
+		store.onServiceRequestChanged(event(1L, "LOAN", Operation.STATUS_UPDATED, RequestStatus.FORWARD_FAILED, RequestStatus.IN_PROGRESS));
+		store.flush();
+
+		store.onServiceRequestChanged(event(2L, "LOAN", Operation.CREATED, null, RequestStatus.PENDING));
+		store.onServiceRequestChanged(event(1L, "LOAN", Operation.FORWARDED, RequestStatus.FORWARD_FAILED, RequestStatus.FORWARDED));
+		store.onServiceRequestChanged(event(3L, "CARD", Operation.STATUS_UPDATED, RequestStatus.PENDING, RequestStatus.CANCELED));
+		store.flush();
+
+		List<DailyRollupDto> rows = store.find(DAY, DAY, null);
+		assertEquals(List.of(new DailyRollupDto(DAY, "CARD", 0, 0, 1, 0, 0), new DailyRollupDto(DAY, "LOAN", 2, 0, 0, 1, 1)),
+				rows);
+		assertEquals(0.5, rows.get(1).getForwardFailureRate());
+		assertEquals(List.of(new DailyRollupDto(DAY, "CARD", 0, 0, 1, 0, 0)), store.find(DAY, DAY, "CARD"));
+		assertTrue(store.find(DAY.plusDays(1), DAY.plusDays(7), null).isEmpty());
+	}
+
+	@Test
+	@DisplayName("Backfill replaces a past day with counts from the history, typed from active and archived requests")
+	void shouldRebuildDayFromHistory() {
+		jdbcTemplate.update("INSERT INTO dbo.service_requests (id, request_type_id) VALUES (1, ?)",
+				dictionaries.requestTypes().idOf("LOAN"));
+		jdbcTemplate.update("""
+				INSERT INTO dbo.service_requests_archive (id, customer_id, request_type_id, status, created_at, archived_at)
+				VALUES (2, 'CUST100', ?, 'COMPLETED', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)""", dictionaries.requestTypes().idOf("CARD"));
+		history(1, Operation.CREATED, null, RequestStatus.PENDING, DAY.atTime(0, 5));
+		history(1, Operation.FORWARDED, RequestStatus.PENDING, RequestStatus.FORWARDED, DAY.atTime(9, 0));
+		history(2, Operation.CREATED, null, RequestStatus.PENDING, DAY.atTime(13, 0));
+		history(2, Operation.PAYMENT_COMPLETED, RequestStatus.PENDING, RequestStatus.COMPLETED, DAY.atTime(23, 59));
+		history(3, Operation.CREATED, null, RequestStatus.PENDING, DAY.atTime(18, 0));
+		history(1, Operation.STATUS_UPDATED, RequestStatus.FORWARDED, RequestStatus.COMPLETED, DAY.plusDays(1).atTime(0, 0));
+		// a stale row of the day that the rebuild replaces
+		store.onServiceRequestChanged(event(9L, "LOAN", Operation.CREATED, null, RequestStatus.PENDING));
+		store.flush();
+
+		BackfillRunReport report = backfillJob.rebuild(DAY, DAY);
+
+		assertEquals(1, report.daysRebuilt());
+		assertEquals(DAY, report.lastRebuiltDay());
+		assertEquals(5, report.historyRows());
+		assertEquals(List.of(new DailyRollupDto(DAY, "CARD", 1, 1, 0, 0, 0), new DailyRollupDto(DAY, "LOAN", 1, 0, 0, 1, 0),
+				new DailyRollupDto(DAY, RollupBackfillJob.UNKNOWN_TYPE, 1, 0, 0, 0, 0)), store.find(DAY, DAY, null));
+	}
+
+	@Test
+	@DisplayName("Backfill refuses today, whose counts are still being added")
+	void shouldNotRebuildToday() {
+		assertThrows(IllegalArgumentException.class, () -> backfillJob.rebuild(DAY, DAY.plusDays(1)));
+		assertThrows(IllegalArgumentException.class, () -> backfillJob.rebuild(DAY, DAY.minusDays(1)));
+	}
+}
@@ -0,0 +1,219 @@
+package com.bank.crm.repository;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.sql.DataSource;
+
+import com.bank.crm.dictionary.DictionaryProperties;
+import com.bank.crm.dictionary.DictionaryTable;
+import com.bank.crm.dictionary.RequestDictionaries;
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.entity.ServiceRequest;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Runs the bulk queries against H2 (MSSQLServer mode) in place of SQL Server
+@DataJpaTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:crm;MODE=MSSQLServer;DATABASE_TO_UPPER=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.hbm2ddl.create_namespaces=true",
+		"spring.jpa.show-sql=false" })
+@Import(RequestDictionaries.class)
+@EnableConfigurationProperties(DictionaryProperties.class)
+class ServiceRequestRepositoryTest {
+
+	private static final Set<RequestStatus> CLOSED = EnumSet.of(RequestStatus.COMPLETED, RequestStatus.CANCELED);
+
+	@Autowired
+	private ServiceRequestRepository repo;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private RequestDictionaries dictionaries;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private Long pendingId;
+	private Long assignedId;
+	private Long completedId;
+
+	@BeforeEach
+	void setUp() {
+		pendingId = insert("CUST100", "ACCOUNT_BALANCE", RequestStatus.PENDING, null);
+		assignedId = insert("CUST100", "CARD_BLOCK", RequestStatus.IN_PROGRESS, "Agent007");
+		completedId = insert("CUST200", "ACCOUNT_BALANCE", RequestStatus.COMPLETED, null);
+	}
+
+	// @PrePersist always starts a request as PENDING, so the status is set afterwards.
+	// Names are registered first, as CrmService does: the converters only look them up
+	private Long insert(String customerId, String requestType, RequestStatus status, String assignedTo) {
+		dictionaries.requestTypes().idOf(requestType);
+		if (assignedTo != null) {
+			dictionaries.assignees().idOf(assignedTo);
+		}
+		ServiceRequest request = repo.saveAndFlush(new ServiceRequest(null, customerId, requestType, "details", null,
+				assignedTo, null, null));
+		request.setStatus(status);
+		return repo.saveAndFlush(request).getId();
+	}
+
+	@Test
+	@DisplayName("[lockOpenRequests] Should return only requests that are not closed")
+	void lockOpenRequests_shouldSkipClosedRequests() {
+		List<ServiceRequestDto> open = repo.lockOpenRequests(List.of(pendingId, assignedId, completedId), CLOSED);
+
+		assertEquals(2, open.size());
+		assertTrue(open.stream().noneMatch(r -> r.getId().equals(completedId)));
+		assertEquals("CUST100", open.get(0).getCustomerId());
+	}
+
+	@Test
+	@DisplayName("[updateStatusOfOpenRequests] Should update open requests and keep assignee when none given")
+	void updateStatusOfOpenRequests_shouldUpdateOpenRowsOnly() {
+		LocalDateTime now = LocalDateTime.now();
+
+		int affected = repo.updateStatusOfOpenRequests(List.of(pendingId, assignedId, completedId),
+				RequestStatus.CANCELED, null, now, CLOSED);
+
+		assertEquals(2, affected);
+		assertEquals(RequestStatus.CANCELED, repo.findById(pendingId).orElseThrow().getStatus());
+		assertEquals("Agent007", repo.findById(assignedId).orElseThrow().getAssignedTo());
+		assertEquals(RequestStatus.COMPLETED, repo.findById(completedId).orElseThrow().getStatus());
+	}
+
+	@Test
+	@DisplayName("[statusChangedAt] Should move only when the status changes")
+	void statusChangedAt_shouldIgnoreEditsThatKeepTheStatus() {
+		entityManager.clear();
+		ServiceRequest request = repo.findById(pendingId).orElseThrow();
+		LocalDateTime entered = request.getStatusChangedAt();
+		request.setRequestDetails("edited");
+		repo.saveAndFlush(request);
+		entityManager.clear();
+		assertEquals(entered, repo.findById(pendingId).orElseThrow().getStatusChangedAt());
+
+		LocalDateTime now = entered.plusMinutes(5);
+		repo.updateStatusOfOpenRequests(List.of(pendingId, assignedId), RequestStatus.IN_PROGRESS, null, now, CLOSED);
+
+		List<OpenRequestView> open = repo.findOpenRequests(EnumSet.of(RequestStatus.IN_PROGRESS), 0L,
+				PageRequest.ofSize(10));
+		assertEquals(2, open.size());
+		assertEquals(now, open.get(0).getStatusChangedAt());
+		assertNotEquals(now, open.get(1).getStatusChangedAt());
+	}
+
+	@Test
+	@DisplayName("[findIds] Should filter on the given criteria and ignore null ones")
+	void findIds_shouldApplyNonNullCriteria() {
+		assertEquals(List.of(pendingId, completedId),
+				repo.findIds(null, "ACCOUNT_BALANCE", null, null, PageRequest.ofSize(10)));
+		assertEquals(List.of(assignedId),
+				repo.findIds(RequestStatus.IN_PROGRESS, null, "CUST100", "Agent007", PageRequest.ofSize(10)));
+		assertEquals(1, repo.findIds(null, null, null, null, PageRequest.ofSize(1)).size());
+	}
+
+	@Test
+	@DisplayName("[findIds] Should match nothing on a name that was never registered, without registering it")
+	void findIds_withUnknownName_shouldMatchNothing() {
+		JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+		Integer requestTypes = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dbo.request_types", Integer.class);
+		Integer assignees = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dbo.assignees", Integer.class);
+
+		assertTrue(repo.findIds(null, "NO_SUCH_TYPE", null, null, PageRequest.ofSize(10)).isEmpty());
+		assertTrue(repo.findIds(null, null, null, "Nobody", PageRequest.ofSize(10)).isEmpty());
+
+		assertEquals(requestTypes, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dbo.request_types", Integer.class));
+		assertEquals(assignees, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM dbo.assignees", Integer.class));
+		assertEquals(DictionaryTable.UNKNOWN, dictionaries.requestTypes().existingIdOf("NO_SUCH_TYPE"));
+	}
+
+	@Test
+	@DisplayName("[summarizeCustomer] Should count the customer's requests per status")
+	void summarizeCustomer_shouldGroupByStatus() {
+		insert("CUST100", "LOAN", RequestStatus.PENDING, null);
+
+		List<StatusCountView> rows = repo.summarizeCustomer("CUST100");
+
+		assertEquals(2, rows.size());
+		StatusCountView pending = rows.stream().filter(r -> r.getStatus() == RequestStatus.PENDING).findFirst()
+				.orElseThrow();
+		assertEquals(2, pending.getRequests());
+		assertNotNull(pending.getLastActivity());
+		assertTrue(repo.summarizeCustomer("CUST404").isEmpty());
+	}
+
+	@Test
+	@DisplayName("[findRecentDtosOfCustomer] Should return the newest requests of the customer first")
+	void findRecentDtosOfCustomer_shouldReturnNewestFirst() {
+		List<ServiceRequestDto> recent = repo.findRecentDtosOfCustomer("CUST100", PageRequest.ofSize(1));
+
+		assertEquals(1, recent.size());
+		assertEquals(assignedId, recent.get(0).getId());
+	}
+
+	@Test
+	@DisplayName("[findDtoById] Should project the row into a DTO without a managed entity")
+	void findDtoById_shouldNotManageEntities() {
+		entityManager.clear();
+
+		ServiceRequestDto dto = repo.findDtoById(assignedId).orElseThrow();
+
+		assertEquals("CUST100", dto.getCustomerId());
+		assertEquals(RequestStatus.IN_PROGRESS, dto.getStatus());
+		assertEquals("Agent007", dto.getAssignedTo());
+		assertNotNull(dto.getCreatedAt());
+		assertEquals(0, entityManager.getEntityManager().unwrap(Session.class).getStatistics().getEntityCount());
+		assertTrue(repo.findDtoById(-1L).isEmpty());
+		assertEquals(2, repo.findDtosByIds(List.of(pendingId, completedId, -1L)).size());
+		assertEquals(3, repo.findAllDtos().size());
+	}
+
+	@Test
+	@DisplayName("[dictionaries] Should store type and assignee as keys and read back one shared name instance")
+	void dictionaries_shouldStoreKeysAndShareNames() {
+		entityManager.clear();
+
+		List<ServiceRequestDto> rows = repo.findDtosByIds(List.of(pendingId, completedId));
+
+		assertEquals("ACCOUNT_BALANCE", rows.get(0).getRequestType());
+		assertSame(rows.get(0).getRequestType(), rows.get(1).getRequestType());
+		assertEquals(2, dictionaries.requestTypes().size());
+		assertEquals("Agent007", dictionaries.assignees().nameOf(dictionaries.assignees().idOf("Agent007")));
+		Object typeKey = entityManager.getEntityManager()
+				.createNativeQuery("SELECT request_type_id FROM dbo.service_requests WHERE id = " + assignedId)
+				.getSingleResult();
+		assertEquals(dictionaries.requestTypes().idOf("CARD_BLOCK"), ((Number) typeKey).intValue());
+	}
+
+	@Test
+	@DisplayName("[dictionaries] Should refuse a new name once the dictionary is full but keep serving known ones")
+	void dictionaries_whenFull_shouldRefuseNewNames() {
+		DictionaryProperties full = new DictionaryProperties();
+		full.setMaxRequestTypes(new JdbcTemplate(dataSource).queryForObject("SELECT COUNT(*) FROM dbo.request_types",
+				Integer.class));
+		RequestDictionaries capped = new RequestDictionaries(dataSource, full);
+
+		assertEquals(dictionaries.requestTypes().idOf("CARD_BLOCK"), capped.requestTypes().idOf("CARD_BLOCK"));
+		IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+				() -> capped.requestTypes().idOf("FREE_TEXT_TYPE"));
+		assertTrue(e.getMessage().contains("dbo.request_types"));
+	}
+}
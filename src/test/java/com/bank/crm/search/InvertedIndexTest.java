@@ -0,0 +1,73 @@
+package com.bank.crm.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class InvertedIndexTest {
+
+	private final InvertedIndex index = new InvertedIndex();
+
+	private List<Long> ids(String query) {
+		return index.search(query, 10, 64).stream().map(InvertedIndex.Hit::id).toList();
+	}
+
+	@Test
+	void ranksDocumentsWithMoreMatchingTermsFirst() {
+		index.index(1L, "CARD", "card blocked at ATM");
+		index.index(2L, "CARD", "card blocked after failed PIN entries at ATM");
+		index.index(3L, "LOAN", "loan restructuring request");
+
+		assertEquals(List.of(2L, 1L), ids("blocked pin"));
+		assertEquals(List.of(3L), ids("loan"));
+		assertTrue(ids("mortgage").isEmpty());
+	}
+
+	@Test
+	void matchesPrefixQueries() {
+		index.index(1L, "LOAN", "restructuring of the loan");
+		index.index(2L, "LOAN", "restart repayment plan");
+		index.index(3L, "CARD", "replacement card");
+
+		assertEquals(List.of(1L, 2L), ids("rest*").stream().sorted().toList());
+		assertEquals(3L, ids("rep* card").get(0));
+	}
+
+	@Test
+	void reindexingReplacesOldTerms() {
+		index.index(1L, "CARD", "card lost");
+		index.index(1L, "CARD", "card stolen");
+
+		assertTrue(ids("lost").isEmpty());
+		assertEquals(List.of(1L), ids("stolen"));
+		assertEquals(1, index.size());
+
+		index.remove(1L);
+		assertTrue(ids("card").isEmpty());
+		assertEquals(0, index.termCount());
+	}
+
+	@Test
+	void segmentsThaiText() {
+		index.index(1L, "CARD", "ลูกค้าแจ้งบัตรเครดิตหาย");
+		index.index(2L, "LOAN", "ขอเลื่อนชำระสินเชื่อบ้าน");
+
+		assertEquals(List.of(1L), ids("บัตร"));
+		assertEquals(List.of(2L), ids("สินเชื่อ"));
+		assertEquals(List.of(1L), ids("บัตรเครดิต"));
+		// ชำระ contains SARA AM, which NFKC decomposes
+		assertEquals(List.of(2L), ids("ชำระ"));
+	}
+
+	@Test
+	void indexesCodesAsOneTerm() {
+		index.index(1L, "PAYMENT", "Transfer TXN-2024-0099 failed");
+		index.index(2L, "PAYMENT", "Transfer TXN-2024-0100 failed");
+
+		assertEquals(List.of(1L), ids("txn20240099"));
+		assertEquals(List.of(1L), ids("TXN-2024-0099").subList(0, 1));
+	}
+}
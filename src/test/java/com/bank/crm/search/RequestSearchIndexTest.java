@@ -0,0 +1,72 @@
+package com.bank.crm.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.bank.crm.repository.SearchSourceView;
+import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+
+class RequestSearchIndexTest {
+
+	private final ServiceRequestRepository repo = mock(ServiceRequestRepository.class);
+	private final RequestSearchIndex searchIndex = new RequestSearchIndex(new SearchProperties(), repo,
+			new ShardRouter(new ShardingProperties(), null));
+
+	private static SearchSourceView row(long id, String type, String details) {
+		return new SearchSourceView() {
+			@Override
+			public Long getId() {
+				return id;
+			}
+
+			@Override
+			public String getRequestType() {
+				return type;
+			}
+
+			@Override
+			public String getRequestDetails() {
+				return details;
+			}
+		};
+	}
+
+	private List<Long> ids(String query) {
+		return searchIndex.search(query, 10).stream().map(RequestSearchIndex.Hit::id).toList();
+	}
+
+	@Test
+	void catchUpFindsRequestsCreatedAndEditedOnOtherInstances() {
+		searchIndex.catchUp();
+		verify(repo, never()).findSearchSource(any(), any());
+		assertFalse(searchIndex.isReady());
+
+		when(repo.findSearchSource(eq(0L), any())).thenReturn(List.of(row(1L, "CARD", "card blocked at ATM")));
+		searchIndex.rebuild();
+		assertTrue(searchIndex.isReady());
+		assertEquals(List.of(1L), ids("blocked"));
+
+		// another node created request 2 and edited request 1
+		when(repo.findSearchSource(eq(1L), any())).thenReturn(List.of(row(2L, "LOAN", "loan restructuring")));
+		when(repo.findSearchSourceUpdatedSince(any(), eq(0L), any()))
+				.thenReturn(List.of(row(1L, "CARD", "card replaced after fraud")));
+		searchIndex.catchUp();
+
+		assertEquals(List.of(2L), ids("loan"));
+		assertEquals(List.of(1L), ids("fraud"));
+		assertTrue(ids("blocked").isEmpty());
+	}
+}
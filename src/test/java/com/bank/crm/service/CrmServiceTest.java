@@ -2,30 +2,61 @@ package com.bank.crm.service;
 
 import java.time.LocalDateTime;
 
+import com.bank.crm.cache.RequestCache;
+import com.bank.crm.cache.RequestCacheProperties;
+import com.bank.crm.codec.WireFormat;
+import com.bank.crm.codec.WireFormatProperties;
+import com.bank.crm.codec.WireFormats;
+import com.bank.crm.dictionary.RequestDictionaries;
 import com.bank.crm.dto.*;
 import com.bank.crm.dto.event.*;
+import com.bank.crm.dto.event.payload.*;
 import com.bank.crm.entity.*;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.hedge.HedgingProperties;
+import com.bank.crm.hedge.RequestHedger;
+import com.bank.crm.repository.ArchivedServiceRequestRepository;
+import com.bank.crm.repository.ServiceRequestPaymentRepository;
 import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.service.trigger.*;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Answers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.validation.beanvalidation.MethodValidationInterceptor;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +69,46 @@ public class CrmServiceTest {
 	@Mock
 	private RestTemplate restTemplate;
 
+	@Mock
+	private ApplicationEventPublisher events;
+
+	@Mock
+	private ArchivedServiceRequestRepository archiveRepository;
+
+	@Mock
+	private ServiceRequestPaymentRepository paymentRepository;
+
+	// every name resolves to key 0 unless a test says otherwise
+	@Mock(answer = Answers.RETURNS_DEEP_STUBS)
+	private RequestDictionaries dictionaries;
+
+	@Spy
+	private TriggerHandlerRegistry triggerHandlers = new TriggerHandlerRegistry(List.of(new UpdateStatusHandler(),
+			new AssignAgentHandler(), new NotifyStatusUpdateHandler(), new RequestAdditionalInfoHandler(),
+			new EscalateIssueHandler()));
+
+	// sharding disabled: routing is a pass-through
+	@Spy
+	private ShardRouter shardRouter = new ShardRouter(new ShardingProperties(), null);
+
+	// sharding disabled: nothing is reserved on shard 0
+	@Spy
+	private PaymentRefRegistry paymentRefs = new PaymentRefRegistry(null, new ShardRouter(new ShardingProperties(), null));
+
+	// JSON unless a test configures a binary format for a host
+	private WireFormatProperties wireFormatProperties = new WireFormatProperties();
+
+	@Spy
+	private WireFormats wireFormats = new WireFormats(wireFormatProperties);
+
+	// hedging disabled: back-office calls run on the test thread
+	@Spy
+	private RequestHedger hedger = new RequestHedger(new HedgingProperties(), new SimpleMeterRegistry());
+
+	// cache disabled: every read goes to the repository
+	@Spy
+	private RequestCache requestCache = new RequestCache(new RequestCacheProperties(), new SimpleMeterRegistry());
+
 	@InjectMocks
 	private CrmService crmService;
 
@@ -56,6 +127,10 @@ public class CrmServiceTest {
 		ReflectionTestUtils.setField(crmService, "backOfficeBaseUrl", "http://mock-backoffice.local");
 		ReflectionTestUtils.setField(crmService, "paymentBaseUrl", "http://mock-payment.local");
 		ReflectionTestUtils.setField(crmService, "otherServiceUrl", "http://mock-other.local");
+		ReflectionTestUtils.setField(crmService, "bulkChunkSize", 2);
+		ReflectionTestUtils.setField(crmService, "bulkMaxRequests", 10);
+		ReflectionTestUtils.setField(crmService, "triggerParallelism", 4);
+		ReflectionTestUtils.setField(crmService, "multiGetMaxIds", 1000);
 	}
 
 	@Test
@@ -86,12 +161,33 @@ public class CrmServiceTest {
 		assertNotNull(resultDto.getCreatedAt());
 
 		verify(requestRepository, times(1)).save(any(ServiceRequest.class));
+
+		ArgumentCaptor<ServiceRequestChangedEvent> eventCaptor = ArgumentCaptor.forClass(ServiceRequestChangedEvent.class);
+		verify(events, times(1)).publishEvent(eventCaptor.capture());
+		assertEquals(ServiceRequestChangedEvent.Operation.CREATED, eventCaptor.getValue().operation());
+		assertEquals(2L, eventCaptor.getValue().requestId());
+	}
+
+	@Test
+	@DisplayName("[createServiceRequest] Should register the request type before saving and reject it when the dictionary is full")
+	void createServiceRequest_whenDictionaryFull_shouldRejectBeforeSaving() {
+		CreateRequestDto createDto = new CreateRequestDto();
+		createDto.setCustomerId("CUST200");
+		createDto.setRequestType("FREE_TEXT_TYPE");
+		when(dictionaries.requestTypes().idOf("FREE_TEXT_TYPE"))
+				.thenThrow(new IllegalArgumentException("dbo.request_types already holds 1000 names"));
+
+		ResponseStatusException e = assertThrows(ResponseStatusException.class,
+				() -> crmService.createServiceRequest(createDto));
+
+		assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+		verify(requestRepository, never()).save(any());
 	}
 
 	@Test
 	@DisplayName("[getServiceRequestById] Should return DTO when found")
 	void getServiceRequestById_whenFound_shouldReturnDto() {
-		when(requestRepository.findById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+		when(requestRepository.findDtoById(existingRequestId)).thenReturn(Optional.of(sampleRequestDto));
 
 		ServiceRequestDto resultDto = crmService.getServiceRequestById(existingRequestId);
 
@@ -99,7 +195,23 @@ public class CrmServiceTest {
 		assertEquals(existingRequestId, resultDto.getId());
 		assertEquals(sampleRequest.getCustomerId(), resultDto.getCustomerId());
 
-		verify(requestRepository, times(1)).findById(existingRequestId);
+		verify(requestRepository, times(1)).findDtoById(existingRequestId);
+		verify(requestRepository, never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("[getServiceRequestById] Should fall back to the archive when not in the hot table")
+	void getServiceRequestById_whenArchived_shouldReturnArchivedDto() {
+		ArchivedServiceRequest archived = new ArchivedServiceRequest(77L, "CUST100", "ACCOUNT_BALANCE", null,
+				RequestStatus.COMPLETED, null, LocalDateTime.now().minusYears(1), LocalDateTime.now().minusMonths(6),
+				LocalDateTime.now());
+		when(requestRepository.findDtoById(77L)).thenReturn(Optional.empty());
+		when(archiveRepository.findDtoById(77L)).thenReturn(Optional.of(ServiceRequestDto.fromEntity(archived)));
+
+		ServiceRequestDto resultDto = crmService.getServiceRequestById(77L);
+
+		assertEquals(77L, resultDto.getId());
+		assertEquals(RequestStatus.COMPLETED, resultDto.getStatus());
 	}
 
 	@Test
@@ -107,7 +219,8 @@ public class CrmServiceTest {
 	void getAllServiceRequests_shouldReturnListOfDtos() {
 		ServiceRequest anotherRequest = new ServiceRequest(2L, "CUST300", "LOAN_INFO", null, RequestStatus.IN_PROGRESS,
 				null, LocalDateTime.now(), null);
-		when(requestRepository.findAll()).thenReturn(Arrays.asList(sampleRequest, anotherRequest));
+		when(requestRepository.findAllDtos()).thenReturn(
+				Arrays.asList(sampleRequestDto, ServiceRequestDto.fromEntity(anotherRequest)));
 
 		List<ServiceRequestDto> results = crmService.getAllServiceRequests();
 
@@ -116,7 +229,8 @@ public class CrmServiceTest {
 		assertEquals(sampleRequest.getId(), results.get(0).getId());
 		assertEquals(anotherRequest.getId(), results.get(1).getId());
 
-		verify(requestRepository, times(1)).findAll();
+		verify(requestRepository, times(1)).findAllDtos();
+		verify(requestRepository, never()).findAll();
 	}
 
 	@Test
@@ -155,7 +269,7 @@ public class CrmServiceTest {
 		when(requestRepository.save(any(ServiceRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
 
 		ResponseEntity<String> mockSuccessResponse = new ResponseEntity<>("Forwarded OK", HttpStatus.OK);
-		when(restTemplate.postForEntity(anyString(), any(BackOfficeForwardDto.class), eq(String.class)))
+		when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
 				.thenReturn(mockSuccessResponse);
 
 		ServiceRequestDto resultDto = crmService.forwardRequestToBackOffice(existingRequestId);
@@ -165,10 +279,87 @@ public class CrmServiceTest {
 		assertEquals("BackOfficeQueue", resultDto.getAssignedTo()); 
 
 		verify(requestRepository, times(1)).findById(existingRequestId);
-		verify(restTemplate, times(1)).postForEntity(anyString(), any(BackOfficeForwardDto.class), eq(String.class));
+		ArgumentCaptor<HttpEntity<?>> sent = ArgumentCaptor.forClass(HttpEntity.class);
+		verify(restTemplate, times(1)).postForEntity(anyString(), sent.capture(), eq(String.class));
+		assertInstanceOf(BackOfficeForwardDto.class, sent.getValue().getBody());
+		// sent with hedging off too
+		assertEquals("crm-forward-" + existingRequestId, sent.getValue().getHeaders().getFirst("Idempotency-Key"));
 		verify(requestRepository, times(1)).save(any(ServiceRequest.class));
 	}
 
+	@Test
+	@DisplayName("[retryForwardToBackOffice] Should re-forward a request that is still FORWARD_FAILED")
+	void retryForwardToBackOffice_whenStillFailed_shouldForward() {
+		sampleRequest.setStatus(RequestStatus.FORWARD_FAILED);
+		when(requestRepository.lockById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+		when(requestRepository.save(any(ServiceRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+				.thenReturn(new ResponseEntity<>("Forwarded OK", HttpStatus.OK));
+
+		Optional<ServiceRequestDto> result = crmService.retryForwardToBackOffice(existingRequestId);
+
+		assertEquals(RequestStatus.FORWARDED, result.orElseThrow().getStatus());
+	}
+
+	@Test
+	@DisplayName("[retryForwardToBackOffice] Should neither send nor overwrite a request whose status changed after the claim")
+	void retryForwardToBackOffice_whenStatusChangedAfterClaim_shouldSkip() {
+		// claimed while FORWARD_FAILED, cancelled by an agent before the worker got to it
+		sampleRequest.setStatus(RequestStatus.CANCELED);
+		when(requestRepository.lockById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+
+		assertTrue(crmService.retryForwardToBackOffice(existingRequestId).isEmpty());
+
+		verify(restTemplate, never()).postForEntity(anyString(), any(), eq(String.class));
+		verify(requestRepository, never()).save(any());
+		assertEquals(RequestStatus.CANCELED, sampleRequest.getStatus());
+	}
+
+	@Test
+	@DisplayName("[forwardRequestToBackOffice] Should send CBOR to a host configured for it and fall back to JSON on 415")
+	void forwardRequestToBackOffice_whenHostRejectsCbor_shouldResendAsJson() {
+		wireFormatProperties.getHosts().put("mock-backoffice.local", WireFormat.CBOR);
+		when(requestRepository.findById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+		when(requestRepository.save(any(ServiceRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(restTemplate.postForEntity(anyString(), any(HttpEntity.class), eq(String.class)))
+				.thenThrow(HttpClientErrorException.create(HttpStatus.UNSUPPORTED_MEDIA_TYPE, "Unsupported Media Type",
+						null, null, null))
+				.thenReturn(new ResponseEntity<>("Forwarded OK", HttpStatus.OK));
+
+		ServiceRequestDto resultDto = crmService.forwardRequestToBackOffice(existingRequestId);
+
+		assertEquals(RequestStatus.FORWARDED, resultDto.getStatus());
+		ArgumentCaptor<HttpEntity<?>> sent = ArgumentCaptor.forClass(HttpEntity.class);
+		verify(restTemplate, times(2)).postForEntity(anyString(), sent.capture(), eq(String.class));
+		assertEquals(MediaType.APPLICATION_CBOR, sent.getAllValues().get(0).getHeaders().getContentType());
+		assertNull(sent.getAllValues().get(1).getHeaders().getContentType());
+		assertInstanceOf(BackOfficeForwardDto.class, sent.getAllValues().get(1).getBody());
+		// the host stays on JSON for the next calls
+		assertEquals(WireFormat.JSON, wireFormats.formatFor("http://mock-backoffice.local"));
+	}
+
+	// what Spring's MethodValidationPostProcessor wraps the @Validated bean in
+	private CrmService withMethodValidation() {
+		ProxyFactory factory = new ProxyFactory(crmService);
+		factory.setProxyTargetClass(true);
+		factory.addAdvice(new MethodValidationInterceptor(Validation.buildDefaultValidatorFactory().getValidator()));
+		return (CrmService) factory.getProxy();
+	}
+
+	@Test
+	@DisplayName("[method validation] Should reject invalid trigger events before touching the repository")
+	void triggers_whenInvalid_shouldFailMethodValidation() {
+		CrmService validated = withMethodValidation();
+		PaymentCompletedEvent noRequestId = new PaymentCompletedEvent("evt-1", null, "txn-1", BigDecimal.ONE,
+				OffsetDateTime.now());
+		TriggerRequestEvent noAction = new TriggerRequestEvent();
+		noAction.setRelatedId(existingRequestId);
+
+		assertThrows(ConstraintViolationException.class, () -> validated.processPaymentCompletedTrigger(noRequestId));
+		assertThrows(ConstraintViolationException.class, () -> validated.processIncomingTrigger(noAction));
+		verifyNoInteractions(requestRepository);
+	}
+
 	@Test
 	@DisplayName("[processPaymentCompletedTrigger] Should update status to COMPLETED when valid")
 	void processPaymentCompletedTrigger_whenValid_shouldUpdateStatusToCompleted() {
@@ -183,13 +374,91 @@ public class CrmServiceTest {
 
 		assertNotNull(resultDto);
 		assertEquals(RequestStatus.COMPLETED, resultDto.getStatus());
-		assertTrue(resultDto.getRequestDetails().contains(event.getPaymentTransactionRef()));
-		assertEquals("PaymentCompletedTrigger", resultDto.getRequestType());
+		// the customer's request type and details are kept; the payment goes to its own table
+		assertEquals("Check balance for account ending 1234", resultDto.getRequestDetails());
+		assertEquals("ACCOUNT_BALANCE", resultDto.getRequestType());
 
 		verify(requestRepository, times(1)).findById(existingRequestId);
 		ArgumentCaptor<ServiceRequest> captor = ArgumentCaptor.forClass(ServiceRequest.class);
 		verify(requestRepository, times(1)).save(captor.capture());
 		assertEquals(RequestStatus.COMPLETED, captor.getValue().getStatus());
+		ArgumentCaptor<ServiceRequestPayment> paymentCaptor = ArgumentCaptor.forClass(ServiceRequestPayment.class);
+		verify(paymentRepository, times(1)).save(paymentCaptor.capture());
+		ServiceRequestPayment payment = paymentCaptor.getValue();
+		assertEquals(existingRequestId, payment.getRequestId());
+		assertEquals("txn-pmt-1", payment.getPaymentTransactionRef());
+		assertEquals(BigDecimal.valueOf(100), payment.getAmountPaid());
+		assertEquals(event.getPaymentTimestamp(), payment.getPaidAt());
+		assertEquals("evt-pmt-1", payment.getEventId());
+	}
+
+	@Test
+	@DisplayName("[processPaymentCompletedTrigger] Should reject a transaction ref already used by another request")
+	void processPaymentCompletedTrigger_whenRefAlreadyRecorded_shouldThrowIllegalState() {
+		PaymentCompletedEvent event = new PaymentCompletedEvent("evt-pmt-2", existingRequestId, "txn-pmt-1",
+				BigDecimal.valueOf(100), OffsetDateTime.now());
+		when(requestRepository.findById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+		when(paymentRepository.findByPaymentTransactionRef("txn-pmt-1")).thenReturn(List.of(new ServiceRequestPayment(
+				5L, 42L, "txn-pmt-1", BigDecimal.TEN, OffsetDateTime.now(), "evt-pmt-0", LocalDateTime.now())));
+
+		assertThrows(IllegalStateException.class, () -> crmService.processPaymentCompletedTrigger(event));
+		verify(requestRepository, never()).save(any());
+		verify(paymentRepository, never()).save(any());
+	}
+
+	@Test
+	@DisplayName("[processPaymentCompletedTrigger] Should report a ref stored concurrently by another request as a conflict")
+	void processPaymentCompletedTrigger_whenRefInsertedConcurrently_shouldThrowIllegalState() {
+		PaymentCompletedEvent event = new PaymentCompletedEvent("evt-pmt-3", existingRequestId, "txn-pmt-1",
+				BigDecimal.valueOf(100), OffsetDateTime.now());
+		when(requestRepository.findById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+		when(requestRepository.save(any(ServiceRequest.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(paymentRepository.save(any(ServiceRequestPayment.class)))
+				.thenThrow(new DataIntegrityViolationException("ux_service_request_payments_ref"));
+
+		assertThrows(IllegalStateException.class, () -> crmService.processPaymentCompletedTrigger(event));
+	}
+
+	@Test
+	@DisplayName("[getServiceRequestsInOrder] Should return entries in request order with not-found markers")
+	void getServiceRequestsInOrder_shouldKeepOrderAndMarkMissingIds() {
+		ServiceRequestDto archived = new ServiceRequestDto(3L, "CUST300", "CARD_BLOCK", null, RequestStatus.COMPLETED,
+				null, LocalDateTime.now().minusDays(400), null);
+		when(requestRepository.findDtosByIds(List.of(3L, 404L))).thenReturn(List.of());
+		when(requestRepository.findDtosByIds(List.of(1L))).thenReturn(List.of(sampleRequestDto));
+		when(archiveRepository.findDtosByIds(List.of(3L, 404L))).thenReturn(List.of(archived));
+
+		List<ServiceRequestLookupDto> result = crmService.getServiceRequestsInOrder(List.of(3L, 404L, 1L, 3L));
+
+		assertEquals(List.of(3L, 404L, 1L, 3L), result.stream().map(ServiceRequestLookupDto::getId).toList());
+		assertEquals(archived, result.get(0).getRequest());
+		assertFalse(result.get(1).isFound());
+		assertNull(result.get(1).getRequest());
+		assertEquals(sampleRequestDto, result.get(2).getRequest());
+		assertTrue(result.get(3).isFound());
+		// bulkChunkSize is 2 in these tests: 3 distinct ids take two IN queries, no lookups by id
+		verify(requestRepository, times(2)).findDtosByIds(any());
+		verify(requestRepository, never()).findDtoById(any());
+	}
+
+	@Test
+	@DisplayName("[findPaymentByTransactionRef] Should return the payment with the request it completed")
+	void findPaymentByTransactionRef_shouldReturnPaymentAndRequest() {
+		OffsetDateTime paidAt = OffsetDateTime.now();
+		when(paymentRepository.findByPaymentTransactionRef("txn-pmt-1")).thenReturn(List.of(new ServiceRequestPayment(
+				5L, existingRequestId, "txn-pmt-1", BigDecimal.TEN, paidAt, "evt-pmt-1", LocalDateTime.now())));
+		when(requestRepository.findDtoById(existingRequestId)).thenReturn(Optional.of(sampleRequestDto));
+
+		PaymentLookupDto found = crmService.findPaymentByTransactionRef("txn-pmt-1");
+
+		assertEquals(BigDecimal.TEN, found.getAmountPaid());
+		assertEquals(paidAt, found.getPaymentTimestamp());
+		assertEquals(sampleRequestDto, found.getRequest());
+
+		when(paymentRepository.findByPaymentTransactionRef("unknown")).thenReturn(List.of());
+		ResponseStatusException notFound = assertThrows(ResponseStatusException.class,
+				() -> crmService.findPaymentByTransactionRef("unknown"));
+		assertEquals(HttpStatus.NOT_FOUND, notFound.getStatusCode());
 	}
 
 
@@ -197,10 +466,8 @@ public class CrmServiceTest {
 	@DisplayName("[processIncomingTrigger] Should update status when action is UPDATE_STATUS")
 	void processIncomingTrigger_whenActionIsUpdateStatus_shouldUpdateStatus() {
 		// Arrange
-		Map<String, Object> data = new HashMap<>();
-		data.put("newStatus", "IN_PROGRESS");
 		TriggerRequestEvent event = new TriggerRequestEvent("BackOfficeSvc", ActionStatus.UPDATE_STATUS,
-				existingRequestId, data);
+				existingRequestId, new UpdateStatusPayload(RequestStatus.IN_PROGRESS));
 		ServiceRequest requestToUpdate = sampleRequest;
 		when(requestRepository.findById(existingRequestId)).thenReturn(Optional.of(requestToUpdate));
 
@@ -213,6 +480,75 @@ public class CrmServiceTest {
 		assertEquals(RequestStatus.IN_PROGRESS, savedRequest.getStatus());
 	}
 
+	@Test
+	@DisplayName("[processIncomingTrigger] Should assign agent when action is ASSIGN_AGENT")
+	void processIncomingTrigger_whenActionIsAssignAgent_shouldAssignAgent() {
+		TriggerRequestEvent event = new TriggerRequestEvent("RoutingSvc", ActionStatus.ASSIGN_AGENT, existingRequestId,
+				new AssignAgentPayload("agent-007"));
+		when(requestRepository.findById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+
+		crmService.processIncomingTrigger(event);
+
+		ArgumentCaptor<ServiceRequest> captor = ArgumentCaptor.forClass(ServiceRequest.class);
+		verify(requestRepository, times(1)).save(captor.capture());
+		assertEquals("agent-007", captor.getValue().getAssignedTo());
+	}
+
+	@Test
+	@DisplayName("[processIncomingTrigger] Should escalate to the escalation queue when action is ESCALATE_ISSUE")
+	void processIncomingTrigger_whenActionIsEscalateIssue_shouldEscalate() {
+		TriggerRequestEvent event = new TriggerRequestEvent("SlaSvc", ActionStatus.ESCALATE_ISSUE, existingRequestId,
+				new EscalateIssuePayload("SLA breached", null));
+		when(requestRepository.findById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+
+		crmService.processIncomingTrigger(event);
+
+		ArgumentCaptor<ServiceRequest> captor = ArgumentCaptor.forClass(ServiceRequest.class);
+		verify(requestRepository, times(1)).save(captor.capture());
+		assertEquals("EscalationQueue", captor.getValue().getAssignedTo());
+		assertEquals(RequestStatus.IN_PROGRESS, captor.getValue().getStatus());
+	}
+
+	@Test
+	@DisplayName("[applyTriggerBatch] Should write each request once and publish an event per applied trigger")
+	@SuppressWarnings("unchecked")
+	void applyTriggerBatch_shouldCollapseTriggersPerRequest() {
+		List<TriggerRequestEvent> triggers = List.of(
+				new TriggerRequestEvent("RoutingSvc", ActionStatus.ASSIGN_AGENT, existingRequestId,
+						new AssignAgentPayload("agent-007")),
+				new TriggerRequestEvent("BackOfficeSvc", ActionStatus.UPDATE_STATUS, 404L,
+						new UpdateStatusPayload(RequestStatus.IN_PROGRESS)),
+				new TriggerRequestEvent("BackOfficeSvc", ActionStatus.UPDATE_STATUS, existingRequestId,
+						new UpdateStatusPayload(RequestStatus.IN_PROGRESS)));
+		when(requestRepository.findAllById(List.of(existingRequestId, 404L))).thenReturn(List.of(sampleRequest));
+
+		Set<Long> missing = crmService.applyTriggerBatch(triggers);
+
+		assertEquals(Set.of(404L), missing);
+		ArgumentCaptor<Iterable<ServiceRequest>> saved = ArgumentCaptor.forClass(Iterable.class);
+		verify(requestRepository).saveAll(saved.capture());
+		List<ServiceRequest> written = new ArrayList<>();
+		saved.getValue().forEach(written::add);
+		assertEquals(1, written.size());
+		assertEquals("agent-007", written.get(0).getAssignedTo());
+		assertEquals(RequestStatus.IN_PROGRESS, written.get(0).getStatus());
+		verify(events, times(2)).publishEvent(any(ServiceRequestChangedEvent.class));
+		verify(requestRepository, never()).save(any());
+	}
+
+	@Test
+	@DisplayName("[processIncomingTrigger] Should not save when action is NOTIFY_STATUS_UPDATE")
+	void processIncomingTrigger_whenActionIsNotifyStatusUpdate_shouldNotSave() {
+		TriggerRequestEvent event = new TriggerRequestEvent("NotifySvc", ActionStatus.NOTIFY_STATUS_UPDATE,
+				existingRequestId, new NotifyStatusUpdatePayload("SENT", "SMS delivered"));
+		when(requestRepository.findById(existingRequestId)).thenReturn(Optional.of(sampleRequest));
+
+		crmService.processIncomingTrigger(event);
+
+		verify(requestRepository, never()).save(any(ServiceRequest.class));
+		assertEquals(RequestStatus.PENDING, sampleRequest.getStatus());
+	}
+
 	@Test
 	@DisplayName("[triggerOtherMicroservice] Should call RestTemplate with correct arguments")
 	void triggerOtherMicroservice_shouldCallRestTemplateWithCorrectArguments() {
@@ -243,4 +579,143 @@ public class CrmServiceTest {
 		assertEquals(requestToTrigger.getRequestDetails(), capturedBody.get("details"));
 	}
 
+	@Test
+	@DisplayName("[bulkTriggerOtherMicroservice] Should load requests per chunk and report an outcome per id in order")
+	void bulkTriggerOtherMicroservice_shouldReportOutcomePerId() {
+		ServiceRequestDto request1 = new ServiceRequestDto(1L, "CUST100", "ACCOUNT_BALANCE", "d1", RequestStatus.PENDING,
+				null, null, null);
+		ServiceRequestDto request3 = new ServiceRequestDto(3L, "CUST300", "CARD_BLOCK", "d3", RequestStatus.PENDING,
+				null, null, null);
+		when(requestRepository.findDtosByIds(List.of(3L, 2L))).thenReturn(List.of(request3));
+		when(requestRepository.findDtosByIds(List.of(1L))).thenReturn(List.of(request1));
+		when(restTemplate.postForEntity(anyString(), any(Map.class), eq(String.class))).thenAnswer(invocation -> {
+			Map<String, Object> body = invocation.getArgument(1);
+			if (body.get("relatedCrmRequestId").equals(1L)) {
+				throw new ResourceAccessException("Read timed out");
+			}
+			return new ResponseEntity<>("OK", HttpStatus.OK);
+		});
+
+		BulkTriggerSendDto dto = new BulkTriggerSendDto();
+		dto.setIds(Arrays.asList(3L, 2L, 3L, 1L));
+		dto.setAction(ActionStatus.ESCALATE_ISSUE);
+		BulkTriggerResultDto result = crmService.bulkTriggerOtherMicroservice(dto);
+
+		assertEquals(3, result.getRequested());
+		assertEquals(1, result.getSent());
+		assertEquals(1, result.getNotFound());
+		assertEquals(1, result.getFailed());
+		assertEquals(List.of(new TriggerOutcomeDto(3L, TriggerOutcomeDto.Outcome.SENT, null),
+				new TriggerOutcomeDto(2L, TriggerOutcomeDto.Outcome.NOT_FOUND, null),
+				new TriggerOutcomeDto(1L, TriggerOutcomeDto.Outcome.FAILED, "Read timed out")), result.getOutcomes());
+		verify(requestRepository, never()).findById(any());
+	}
+
+	@Test
+	@DisplayName("[bulkTriggerOtherMicroservice] Should never have more calls in flight than the parallelism cap")
+	void bulkTriggerOtherMicroservice_shouldCapParallelism() {
+		ReflectionTestUtils.setField(crmService, "triggerParallelism", 3);
+		ReflectionTestUtils.setField(crmService, "bulkChunkSize", 100);
+		List<Long> ids = List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L);
+		when(requestRepository.findDtosByIds(ids)).thenReturn(ids.stream().map(id -> new ServiceRequestDto(id,
+				"CUST100", "ACCOUNT_BALANCE", null, RequestStatus.PENDING, null, null, null)).toList());
+		AtomicInteger inFlight = new AtomicInteger();
+		AtomicInteger maxInFlight = new AtomicInteger();
+		when(restTemplate.postForEntity(anyString(), any(Map.class), eq(String.class))).thenAnswer(invocation -> {
+			maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+			Thread.sleep(50);
+			inFlight.decrementAndGet();
+			return new ResponseEntity<>("OK", HttpStatus.OK);
+		});
+
+		BulkTriggerSendDto dto = new BulkTriggerSendDto();
+		dto.setIds(ids);
+		dto.setAction(ActionStatus.NOTIFY_STATUS_UPDATE);
+		BulkTriggerResultDto result = crmService.bulkTriggerOtherMicroservice(dto);
+
+		assertEquals(9, result.getSent());
+		assertEquals(3, maxInFlight.get());
+		// three waves of 50 ms, not nine
+		assertTrue(result.getElapsedMillis() < 400, "took " + result.getElapsedMillis() + " ms");
+	}
+
+	@Test
+	@DisplayName("[bulkUpdateStatus] Should update open requests chunk by chunk and publish an event per row")
+	void bulkUpdateStatus_byIds_shouldUpdateInChunks() {
+		BulkStatusUpdateDto dto = new BulkStatusUpdateDto();
+		dto.setIds(List.of(1L, 2L, 3L, 3L));
+		dto.setStatus(RequestStatus.IN_PROGRESS);
+		dto.setAssignedTo("Supervisor01");
+
+		ServiceRequestDto open1 = new ServiceRequestDto(1L, "CUST100", "ACCOUNT_BALANCE", null, RequestStatus.PENDING,
+				null, null, null);
+		ServiceRequestDto open3 = new ServiceRequestDto(3L, "CUST300", "CARD_BLOCK", null,
+				RequestStatus.FORWARD_FAILED, null, null, null);
+		when(requestRepository.lockOpenRequests(eq(List.of(1L, 2L)), any())).thenReturn(List.of(open1));
+		when(requestRepository.lockOpenRequests(eq(List.of(3L)), any())).thenReturn(List.of(open3));
+		when(requestRepository.updateStatusOfOpenRequests(eq(List.of(1L, 2L)), eq(RequestStatus.IN_PROGRESS),
+				eq("Supervisor01"), any(LocalDateTime.class), any())).thenReturn(1);
+		when(requestRepository.updateStatusOfOpenRequests(eq(List.of(3L)), eq(RequestStatus.IN_PROGRESS),
+				eq("Supervisor01"), any(LocalDateTime.class), any())).thenReturn(1);
+
+		BulkStatusUpdateResultDto result = crmService.bulkUpdateStatus(dto);
+
+		assertEquals(3, result.getRequested());
+		assertEquals(2, result.getAffected());
+		assertEquals(1, result.getSkipped());
+		verify(requestRepository, never()).save(any(ServiceRequest.class));
+
+		ArgumentCaptor<ServiceRequestChangedEvent> eventCaptor = ArgumentCaptor.forClass(ServiceRequestChangedEvent.class);
+		verify(events, times(2)).publishEvent(eventCaptor.capture());
+		ServiceRequestChangedEvent first = eventCaptor.getAllValues().get(0);
+		assertEquals(ServiceRequestChangedEvent.Operation.BULK_STATUS_UPDATED, first.operation());
+		assertEquals(RequestStatus.PENDING, first.previousStatus());
+		assertEquals(RequestStatus.IN_PROGRESS, first.request().getStatus());
+		assertEquals("Supervisor01", first.request().getAssignedTo());
+	}
+
+	@Test
+	@DisplayName("[bulkUpdateStatus] Should resolve ids from the filter")
+	void bulkUpdateStatus_byFilter_shouldResolveIds() {
+		BulkRequestFilter filter = new BulkRequestFilter();
+		filter.setCurrentStatus(RequestStatus.PENDING);
+		filter.setRequestType("ACCOUNT_BALANCE");
+		BulkStatusUpdateDto dto = new BulkStatusUpdateDto();
+		dto.setFilter(filter);
+		dto.setStatus(RequestStatus.CANCELED);
+
+		when(requestRepository.findIds(eq(RequestStatus.PENDING), eq("ACCOUNT_BALANCE"), isNull(), isNull(), any()))
+				.thenReturn(List.of(1L));
+		when(requestRepository.lockOpenRequests(eq(List.of(1L)), any())).thenReturn(List.of(sampleRequestDto));
+		when(requestRepository.updateStatusOfOpenRequests(eq(List.of(1L)), eq(RequestStatus.CANCELED), isNull(),
+				any(LocalDateTime.class), any())).thenReturn(1);
+
+		BulkStatusUpdateResultDto result = crmService.bulkUpdateStatus(dto);
+
+		assertEquals(1, result.getRequested());
+		assertEquals(1, result.getAffected());
+		assertEquals(0, result.getSkipped());
+	}
+
+	@Test
+	@DisplayName("[bulkUpdateStatus] Should reject a selection with both or neither of ids/filter, or too many ids")
+	void bulkUpdateStatus_whenSelectionInvalid_shouldThrow() {
+		BulkStatusUpdateDto neither = new BulkStatusUpdateDto();
+		neither.setStatus(RequestStatus.IN_PROGRESS);
+		assertThrows(IllegalArgumentException.class, () -> crmService.bulkUpdateStatus(neither));
+
+		BulkStatusUpdateDto both = new BulkStatusUpdateDto();
+		both.setStatus(RequestStatus.IN_PROGRESS);
+		both.setIds(List.of(1L));
+		both.setFilter(new BulkRequestFilter());
+		assertThrows(IllegalArgumentException.class, () -> crmService.bulkUpdateStatus(both));
+
+		BulkStatusUpdateDto tooMany = new BulkStatusUpdateDto();
+		tooMany.setStatus(RequestStatus.IN_PROGRESS);
+		tooMany.setIds(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L, 11L));
+		assertThrows(IllegalArgumentException.class, () -> crmService.bulkUpdateStatus(tooMany));
+
+		verifyNoInteractions(requestRepository);
+	}
+
 }
@@ -0,0 +1,157 @@
+package com.bank.crm.service.trigger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.bank.crm.dto.event.TriggerRequestEvent;
+import com.bank.crm.dto.event.payload.AssignAgentPayload;
+import com.bank.crm.dto.event.payload.EscalateIssuePayload;
+import com.bank.crm.dto.event.payload.UpdateStatusPayload;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.service.CrmService;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+
+class TriggerWriteBehindTest {
+
+	private final CrmService crmService = mock(CrmService.class);
+	private final TriggerWriteBehindProperties properties = new TriggerWriteBehindProperties();
+	private final List<List<TriggerRequestEvent>> batches = new CopyOnWriteArrayList<>();
+	private TriggerWriteBehind writeBehind;
+
+	@BeforeEach
+	void setUp() {
+		properties.setEnabled(true);
+		properties.setMaxDelay(Duration.ofMillis(200));
+		writeBehind = new TriggerWriteBehind(properties, crmService, new ShardRouter(new ShardingProperties(), null),
+				new SimpleMeterRegistry());
+		when(crmService.applyTriggerBatch(any())).thenAnswer(invocation -> {
+			List<TriggerRequestEvent> triggers = invocation.getArgument(0);
+			batches.add(triggers);
+			return triggers.stream().anyMatch(t -> t.getRelatedId() == 404L) ? Set.of(404L) : Set.of();
+		});
+		writeBehind.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		writeBehind.stop();
+	}
+
+	private static TriggerRequestEvent assign(long id, String agent) {
+		return new TriggerRequestEvent("RoutingSvc", ActionStatus.ASSIGN_AGENT, id, new AssignAgentPayload(agent));
+	}
+
+	@Test
+	void groupsConcurrentTriggersIntoOneBatch() throws Exception {
+		ExecutorService callers = Executors.newFixedThreadPool(6);
+		try {
+			List<Future<Boolean>> results = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				TriggerRequestEvent trigger = assign(i % 3 + 1, "agent-" + i);
+				results.add(callers.submit(() -> writeBehind.apply(trigger)));
+			}
+			for (Future<Boolean> result : results) {
+				assertTrue(result.get());
+			}
+		} finally {
+			callers.shutdown();
+		}
+
+		assertEquals(6, batches.stream().mapToInt(List::size).sum());
+		assertTrue(batches.size() < 6, "triggers shared a commit");
+		verify(crmService, never()).processIncomingTrigger(any());
+	}
+
+	@Test
+	void reportsMissingRequestToItsCallerOnly() {
+		assertThrows(EntityNotFoundException.class, () -> writeBehind.apply(assign(404L, "agent-1")));
+		assertTrue(writeBehind.apply(assign(1L, "agent-1")));
+	}
+
+	@Test
+	void appliesTriggersOneByOneWhenTheBatchFails() {
+		doThrow(new IllegalStateException("deadlock victim")).when(crmService).applyTriggerBatch(any());
+		TriggerRequestEvent bad = new TriggerRequestEvent("BackOfficeSvc", ActionStatus.UPDATE_STATUS, 2L,
+				new UpdateStatusPayload(RequestStatus.CANCELED));
+		doThrow(new IllegalArgumentException("bad trigger")).when(crmService).processIncomingTrigger(bad);
+
+		assertTrue(writeBehind.apply(assign(1L, "agent-1")));
+		assertThrows(IllegalArgumentException.class, () -> writeBehind.apply(bad));
+		verify(crmService, times(2)).processIncomingTrigger(any());
+	}
+
+	@Test
+	void leavesOtherActionsAndDisabledModeToTheCaller() {
+		assertFalse(writeBehind.apply(new TriggerRequestEvent("SlaSvc", ActionStatus.ESCALATE_ISSUE, 1L,
+				new EscalateIssuePayload("SLA breached", null))));
+		writeBehind.stop();
+		assertFalse(writeBehind.apply(assign(1L, "agent-1")));
+		verify(crmService, never()).applyTriggerBatch(any());
+	}
+
+	@Test
+	void stopsWaitingAfterAwaitTimeout() throws Exception {
+		properties.setAwaitTimeout(Duration.ofMillis(300));
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			writing.countDown();
+			release.await(5, TimeUnit.SECONDS);
+			return Set.of();
+		}).when(crmService).applyTriggerBatch(any());
+		ExecutorService callers = Executors.newSingleThreadExecutor();
+		try {
+			Future<Boolean> inFlight = callers.submit(() -> writeBehind.apply(assign(1L, "agent-1")));
+			assertTrue(writing.await(5, TimeUnit.SECONDS));
+
+			// still queued behind the stuck commit: handed back to the caller
+			assertFalse(writeBehind.apply(assign(2L, "agent-2")));
+			// already being written: the caller cannot tell the outcome
+			ExecutionException e = assertThrows(ExecutionException.class, () -> inFlight.get(5, TimeUnit.SECONDS));
+			assertInstanceOf(IllegalStateException.class, e.getCause());
+		} finally {
+			release.countDown();
+			callers.shutdown();
+		}
+		verify(crmService, times(1)).applyTriggerBatch(any());
+	}
+
+	@Test
+	void failsCallersWhenTheWriterStopsOnAnError() {
+		doThrow(new AssertionError("writer died")).when(crmService).applyTriggerBatch(any());
+
+		assertThrows(IllegalStateException.class, () -> writeBehind.apply(assign(1L, "agent-1")));
+	}
+}
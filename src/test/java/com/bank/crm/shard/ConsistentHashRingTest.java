@@ -0,0 +1,42 @@
+package com.bank.crm.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConsistentHashRingTest {
+
+	private static final int KEYS = 20_000;
+
+	@Test
+	@DisplayName("Customers spread evenly over the shards")
+	void shouldSpreadKeysEvenly() {
+		ConsistentHashRing ring = new ConsistentHashRing(4, 160);
+		int[] counts = new int[4];
+		for (int i = 0; i < KEYS; i++) {
+			counts[ring.shardFor("CUST" + i)]++;
+		}
+		for (int count : counts) {
+			assertTrue(count > KEYS / 4 * 0.8 && count < KEYS / 4 * 1.2, "shard holds " + count + " of " + KEYS);
+		}
+	}
+
+	@Test
+	@DisplayName("Adding a shard only moves customers onto the new shard, about 1/N of them")
+	void addingShardShouldMoveFewKeys() {
+		ConsistentHashRing four = new ConsistentHashRing(4, 160);
+		ConsistentHashRing five = new ConsistentHashRing(5, 160);
+		int moved = 0;
+		for (int i = 0; i < KEYS; i++) {
+			String key = "CUST" + i;
+			int before = four.shardFor(key);
+			int after = five.shardFor(key);
+			if (before != after) {
+				assertEquals(4, after, "keys only move to the new shard");
+				moved++;
+			}
+		}
+		assertTrue(moved > KEYS * 0.15 && moved < KEYS * 0.25, moved + " keys moved");
+	}
+}
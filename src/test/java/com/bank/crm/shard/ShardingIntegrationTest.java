@@ -0,0 +1,187 @@
+package com.bank.crm.shard;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.bank.crm.dto.CreateRequestDto;
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.dto.ServiceRequestLookupDto;
+import com.bank.crm.dto.UpdateRequestStatusDto;
+import com.bank.crm.dto.event.PaymentCompletedEvent;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.service.CrmService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Two embedded H2 databases as shards, each created from db/004_sharded_service_requests.sql
+// (IF NOT EXISTS: H2 runs INIT again for every connection a shard pool opens)
+@SpringBootTest(properties = {
+		"crm.sharding.enabled=true",
+		"crm.sharding.shards[0].url=jdbc:h2:mem:shard0;MODE=MSSQLServer;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:shard/shard-0.sql'",
+		"crm.sharding.shards[0].username=sa",
+		"crm.sharding.shards[1].url=jdbc:h2:mem:shard1;MODE=MSSQLServer;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:shard/shard-1.sql'",
+		"crm.sharding.shards[1].username=sa",
+		"spring.jpa.hibernate.ddl-auto=none",
+		"spring.jpa.show-sql=false",
+		"crm.history.enabled=false",
+		"crm.rollup.enabled=false" })
+class ShardingIntegrationTest {
+
+	@Autowired
+	private CrmService crmService;
+
+	@Autowired
+	private ShardRouter shardRouter;
+
+	@Autowired
+	private ShardRoutingDataSource shards;
+
+	private ServiceRequestDto create(String customerId) {
+		CreateRequestDto dto = new CreateRequestDto();
+		dto.setCustomerId(customerId);
+		dto.setRequestType("ACCOUNT_BALANCE");
+		dto.setRequestDetails("details of " + customerId);
+		return crmService.createServiceRequest(dto);
+	}
+
+	private int rowsIn(int shard) {
+		return new JdbcTemplate(shards.shard(shard)).queryForObject("SELECT COUNT(*) FROM dbo.service_requests",
+				Integer.class);
+	}
+
+	@Test
+	@DisplayName("Requests are stored on their customer's shard, found by id and listed across shards")
+	void shouldRouteByCustomerAndById() {
+		int before = crmService.getAllServiceRequests().size();
+		int[] rowsBefore = { rowsIn(0), rowsIn(1) };
+		Set<Integer> usedShards = new HashSet<>();
+		int[] created = new int[2];
+
+		for (int i = 0; i < 20; i++) {
+			String customerId = "CUST" + (100 + i);
+			ServiceRequestDto request = create(customerId);
+			int shard = shardRouter.shardForCustomer(customerId);
+
+			assertEquals(shard, shardRouter.shardForId(request.getId()), "id encodes the shard");
+			assertEquals(customerId, crmService.getServiceRequestById(request.getId()).getCustomerId());
+			usedShards.add(shard);
+			created[shard]++;
+		}
+
+		assertEquals(Set.of(0, 1), usedShards);
+		assertEquals(rowsBefore[0] + created[0], rowsIn(0));
+		assertEquals(rowsBefore[1] + created[1], rowsIn(1));
+
+		List<ServiceRequestDto> all = crmService.getAllServiceRequests();
+		assertEquals(before + 20, all.size());
+		for (int i = 1; i < all.size(); i++) {
+			assertFalse(all.get(i).getCreatedAt().isBefore(all.get(i - 1).getCreatedAt()), "merged oldest first");
+		}
+	}
+
+	@Test
+	@DisplayName("A customer's requests are read from every shard, not only from its current home")
+	void shouldReadCustomerFromAllShards() {
+		String customerId = "CUST-R-" + System.nanoTime();
+		ServiceRequestDto current = create(customerId);
+		int home = shardRouter.shardForCustomer(customerId);
+		// as left behind on the customer's previous home before a shard was added
+		int requestTypeId = new JdbcTemplate(shards.shard(home)).queryForObject(
+				"SELECT request_type_id FROM dbo.service_requests WHERE id = ?", Integer.class, current.getId());
+		new JdbcTemplate(shards.shard(1 - home)).update("""
+				INSERT INTO dbo.service_requests (customer_id, request_type_id, request_details, status, created_at,
+				    status_changed_at)
+				VALUES (?, ?, 'older', 'PENDING', ?, ?)""", customerId, requestTypeId, current.getCreatedAt().minusDays(1),
+				current.getCreatedAt().minusDays(1));
+
+		List<ServiceRequestDto> recent = crmService.getRecentRequestsOfCustomer(customerId, 10);
+
+		assertEquals(2, recent.size());
+		assertEquals(current.getId(), recent.get(0).getId());
+		assertEquals("older", recent.get(1).getRequestDetails());
+		assertEquals(1, crmService.getRecentRequestsOfCustomer(customerId, 1).size());
+	}
+
+	@Test
+	@DisplayName("Updates go to the shard encoded in the id")
+	void shouldUpdateOnOwningShard() {
+		ServiceRequestDto a = create("CUST-A-" + System.nanoTime());
+		ServiceRequestDto b = create("CUST-B-" + System.nanoTime());
+
+		UpdateRequestStatusDto update = new UpdateRequestStatusDto();
+		update.setStatus(RequestStatus.IN_PROGRESS);
+		crmService.updateServiceRequestStatus(a.getId(), update);
+		crmService.updateServiceRequestStatus(b.getId(), update);
+
+		assertEquals(RequestStatus.IN_PROGRESS, crmService.getServiceRequestById(a.getId()).getStatus());
+		assertEquals(RequestStatus.IN_PROGRESS, crmService.getServiceRequestById(b.getId()).getStatus());
+	}
+
+	@Test
+	@DisplayName("Multi-get reads each id on its own shard and keeps the request order")
+	void shouldMultiGetAcrossShards() {
+		ServiceRequestDto[] byShard = new ServiceRequestDto[2];
+		for (int i = 0; byShard[0] == null || byShard[1] == null; i++) {
+			ServiceRequestDto request = create("CUST-M-" + i);
+			byShard[shardRouter.shardForId(request.getId())] = request;
+		}
+
+		List<ServiceRequestLookupDto> found = crmService
+				.getServiceRequestsInOrder(List.of(byShard[1].getId(), 999_999_999L, byShard[0].getId()));
+
+		assertEquals(byShard[1].getCustomerId(), found.get(0).getRequest().getCustomerId());
+		assertFalse(found.get(1).isFound());
+		assertEquals(byShard[0].getCustomerId(), found.get(2).getRequest().getCustomerId());
+	}
+
+	@Test
+	@DisplayName("A payment ref recorded on one shard cannot complete a request on the other shard")
+	void shouldRejectPaymentRefUsedOnAnotherShard() {
+		ServiceRequestDto[] byShard = new ServiceRequestDto[2];
+		for (int i = 0; byShard[0] == null || byShard[1] == null; i++) {
+			ServiceRequestDto request = create("CUST-P-" + System.nanoTime() + "-" + i);
+			byShard[shardRouter.shardForId(request.getId())] = request;
+		}
+		String ref = "txn-" + System.nanoTime();
+
+		crmService.processPaymentCompletedTrigger(
+				new PaymentCompletedEvent("evt-1", byShard[0].getId(), ref, BigDecimal.TEN, OffsetDateTime.now()));
+
+		assertThrows(IllegalStateException.class, () -> crmService.processPaymentCompletedTrigger(
+				new PaymentCompletedEvent("evt-2", byShard[1].getId(), ref, BigDecimal.TEN, OffsetDateTime.now())));
+		assertEquals(RequestStatus.PENDING, crmService.getServiceRequestById(byShard[1].getId()).getStatus());
+		assertEquals(byShard[0].getId(), crmService.findPaymentByTransactionRef(ref).getRequest().getId());
+	}
+
+	@Test
+	@DisplayName("A payment ref reserved for a request on one shard, not committed there yet, is refused on the other shard")
+	void shouldRejectPaymentRefReservedForAnotherRequest() {
+		ServiceRequestDto[] byShard = new ServiceRequestDto[2];
+		for (int i = 0; byShard[0] == null || byShard[1] == null; i++) {
+			ServiceRequestDto request = create("CUST-R-" + System.nanoTime() + "-" + i);
+			byShard[shardRouter.shardForId(request.getId())] = request;
+		}
+		String ref = "txn-" + System.nanoTime();
+		// where a concurrent payment of the shard 0 request stands before its own commit
+		new JdbcTemplate(shards.shard(0)).update("""
+				INSERT INTO dbo.payment_transaction_refs (payment_transaction_ref, request_id, reserved_at)
+				VALUES (?, ?, CURRENT_TIMESTAMP)""", ref, byShard[0].getId());
+
+		assertThrows(IllegalStateException.class, () -> crmService.processPaymentCompletedTrigger(
+				new PaymentCompletedEvent("evt-1", byShard[1].getId(), ref, BigDecimal.TEN, OffsetDateTime.now())));
+		assertEquals(RequestStatus.PENDING, crmService.getServiceRequestById(byShard[1].getId()).getStatus());
+
+		// the holder itself can still use it, e.g. after its first attempt rolled back
+		crmService.processPaymentCompletedTrigger(
+				new PaymentCompletedEvent("evt-2", byShard[0].getId(), ref, BigDecimal.TEN, OffsetDateTime.now()));
+		assertEquals(byShard[0].getId(), crmService.findPaymentByTransactionRef(ref).getRequest().getId());
+	}
+}
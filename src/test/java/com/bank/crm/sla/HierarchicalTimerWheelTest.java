@@ -0,0 +1,89 @@
+package com.bank.crm.sla;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HierarchicalTimerWheel - Unit Tests")
+public class HierarchicalTimerWheelTest {
+
+	private static final long TICK = 1000L;
+
+	@Test
+	@DisplayName("Should expire a deadline on the tick it falls in, not before")
+	void advance_shouldExpireOnDeadlineTick() {
+		HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK, 0L);
+		wheel.schedule(1L, 5_000L);
+
+		assertTrue(wheel.advance(4_999L).isEmpty());
+		assertEquals(List.of(1L), wheel.advance(5_000L));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	@DisplayName("Should cascade deadlines from the higher levels")
+	void advance_shouldCascadeLongDeadlines() {
+		HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK, 0L);
+		long farDeadline = 3L * 64 * 64 * TICK + 17 * TICK; // third level
+		wheel.schedule(7L, farDeadline);
+
+		assertTrue(wheel.advance(farDeadline - TICK).isEmpty());
+		assertEquals(List.of(7L), wheel.advance(farDeadline));
+	}
+
+	@Test
+	@DisplayName("Should not fire cancelled or rescheduled deadlines")
+	void cancelAndReschedule_shouldReplaceDeadline() {
+		HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK, 0L);
+		wheel.schedule(1L, 2_000L);
+		wheel.schedule(2L, 2_000L);
+		wheel.cancel(1L);
+		wheel.schedule(2L, 9_000L);
+
+		assertTrue(wheel.advance(8_000L).isEmpty());
+		assertEquals(List.of(2L), wheel.advance(9_000L));
+	}
+
+	@Test
+	@DisplayName("Should fire overdue and beyond-range deadlines")
+	void schedule_whenOverdueOrBeyondRange_shouldStillFire() {
+		HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK, 100_000L);
+		wheel.schedule(1L, 50_000L);
+		long beyond = 100_000L + (1L << (HierarchicalTimerWheel.SLOT_BITS * HierarchicalTimerWheel.LEVELS)) * TICK
+				+ 5 * TICK;
+		wheel.schedule(2L, beyond);
+
+		assertEquals(List.of(1L), wheel.advance(100_000L));
+		assertTrue(wheel.advance(beyond - TICK).isEmpty());
+		assertEquals(List.of(2L), wheel.advance(beyond));
+	}
+
+	@Test
+	@DisplayName("Should fire every random deadline exactly once and on time")
+	void advance_withRandomDeadlines_shouldMatchReference() {
+		HierarchicalTimerWheel<Long> wheel = new HierarchicalTimerWheel<>(TICK, 0L);
+		Random random = new Random(42);
+		long[] deadlines = new long[2_000];
+		for (int i = 0; i < deadlines.length; i++) {
+			deadlines[i] = (random.nextInt(300_000) + 1) * TICK;
+			wheel.schedule((long) i, deadlines[i]);
+		}
+
+		List<Long> fired = new ArrayList<>();
+		for (long now = 0; now <= 300_000 * TICK; now += 997 * TICK) {
+			for (Long key : wheel.advance(now)) {
+				assertTrue(deadlines[key.intValue()] <= now, "fired early: " + key);
+				assertTrue(deadlines[key.intValue()] > now - 997 * TICK, "fired late: " + key);
+				fired.add(key);
+			}
+		}
+		fired.addAll(wheel.advance(301_000 * TICK));
+		assertEquals(deadlines.length, fired.size());
+		assertEquals(deadlines.length, fired.stream().distinct().count());
+	}
+}
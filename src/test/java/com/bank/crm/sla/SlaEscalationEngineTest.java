@@ -0,0 +1,180 @@
+package com.bank.crm.sla;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import com.bank.crm.dto.ServiceRequestDto;
+import com.bank.crm.entity.ActionStatus;
+import com.bank.crm.entity.RequestStatus;
+import com.bank.crm.event.ServiceRequestChangedEvent;
+import com.bank.crm.event.ServiceRequestChangedEvent.Operation;
+import com.bank.crm.repository.ServiceRequestRepository;
+import com.bank.crm.service.CrmService;
+import com.bank.crm.shard.ShardRouter;
+import com.bank.crm.shard.ShardingProperties;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("SLA Escalation Engine - Unit Tests")
+public class SlaEscalationEngineTest {
+
+	@Mock
+	private ServiceRequestRepository requestRepository;
+
+	@Mock
+	private CrmService crmService;
+
+	@Mock
+	private SlaEscalationClaims claims;
+
+	private MutableClock clock;
+	private SlaEscalationEngine engine;
+
+	@BeforeEach
+	void setUp() {
+		SlaProperties properties = new SlaProperties();
+		properties.setDefaultSla(Duration.ofMinutes(30));
+		properties.getRequestTypes().put("NEW_CARD", Duration.ofHours(2));
+		clock = new MutableClock(Instant.parse("2026-01-01T08:00:00Z"));
+		engine = new SlaEscalationEngine(properties, requestRepository, crmService, claims,
+				new ShardRouter(new ShardingProperties(), null), clock);
+	}
+
+	@Test
+	@DisplayName("Should send ESCALATE_ISSUE once the SLA of the request type has passed")
+	void tick_whenSlaPassed_shouldEscalate() {
+		engine.onServiceRequestChanged(event(1L, "NEW_CARD", null, RequestStatus.PENDING));
+		when(claims.claim(eq(1L), any(), any())).thenReturn(Optional.of(RequestStatus.PENDING));
+
+		clock.advance(Duration.ofMinutes(119));
+		engine.tick();
+		verify(crmService, never()).triggerOtherMicroservice(any(), any());
+
+		clock.advance(Duration.ofMinutes(1));
+		engine.tick();
+		verify(crmService, times(1)).triggerOtherMicroservice(eq(1L), eq(ActionStatus.ESCALATE_ISSUE));
+		assertEquals(0, engine.pendingDeadlines());
+	}
+
+	@Test
+	@DisplayName("Should drop the deadline when the request leaves the watched statuses")
+	void onServiceRequestChanged_whenCompleted_shouldCancelDeadline() {
+		engine.onServiceRequestChanged(event(2L, "ACCOUNT_BALANCE", null, RequestStatus.PENDING));
+		engine.onServiceRequestChanged(event(2L, "ACCOUNT_BALANCE", RequestStatus.PENDING, RequestStatus.COMPLETED));
+
+		clock.advance(Duration.ofHours(1));
+		engine.tick();
+
+		assertEquals(0, engine.pendingDeadlines());
+		verifyNoInteractions(crmService);
+	}
+
+	@Test
+	@DisplayName("Should not escalate a breach that another instance claimed")
+	void tick_whenClaimLost_shouldNotEscalate() {
+		engine.onServiceRequestChanged(event(3L, "ACCOUNT_BALANCE", null, RequestStatus.PENDING));
+		when(claims.claim(eq(3L), any(), any())).thenReturn(Optional.empty());
+
+		clock.advance(Duration.ofMinutes(30));
+		engine.tick();
+
+		verifyNoInteractions(crmService);
+		assertEquals(0, engine.pendingDeadlines());
+	}
+
+	@Test
+	@DisplayName("Should wait for the new deadline when the status changed where this wheel did not see it")
+	void tick_whenStatusChangedElsewhere_shouldRescheduleToNewDeadline() {
+		engine.onServiceRequestChanged(event(5L, "ACCOUNT_BALANCE", null, RequestStatus.PENDING));
+		// entered IN_PROGRESS 20 minutes later on another instance
+		LocalDateTime movedAt = LocalDateTime.ofInstant(clock.instant().plus(Duration.ofMinutes(20)),
+				ZoneId.systemDefault());
+		when(claims.claim(eq(5L), any(), any())).thenReturn(Optional.empty());
+		when(claims.pendingSince(eq(5L), any())).thenReturn(Optional.of(movedAt));
+
+		clock.advance(Duration.ofMinutes(30));
+		engine.tick();
+		verifyNoInteractions(crmService);
+		assertEquals(1, engine.pendingDeadlines());
+
+		doReturn(Optional.of(RequestStatus.IN_PROGRESS)).when(claims).claim(eq(5L), any(), any());
+		clock.advance(Duration.ofMinutes(19));
+		engine.tick();
+		verifyNoInteractions(crmService);
+
+		clock.advance(Duration.ofMinutes(1));
+		engine.tick();
+		ArgumentCaptor<LocalDateTime> dueBefore = ArgumentCaptor.forClass(LocalDateTime.class);
+		verify(claims, times(2)).claim(eq(5L), any(), dueBefore.capture());
+		assertEquals(movedAt, dueBefore.getValue());
+		verify(crmService).triggerOtherMicroservice(5L, ActionStatus.ESCALATE_ISSUE);
+		assertEquals(0, engine.pendingDeadlines());
+	}
+
+	@Test
+	@DisplayName("Should release the claim and retry when the trigger call fails")
+	void tick_whenTriggerFails_shouldReleaseAndRetry() {
+		engine.onServiceRequestChanged(event(4L, "ACCOUNT_BALANCE", null, RequestStatus.PENDING));
+		when(claims.claim(eq(4L), any(), any())).thenReturn(Optional.of(RequestStatus.PENDING));
+		doThrow(new IllegalStateException("down")).when(crmService).triggerOtherMicroservice(4L,
+				ActionStatus.ESCALATE_ISSUE);
+
+		clock.advance(Duration.ofMinutes(30));
+		engine.tick();
+
+		verify(claims).release(4L);
+		assertEquals(1, engine.pendingDeadlines());
+	}
+
+	private static ServiceRequestChangedEvent event(Long id, String requestType, RequestStatus previous,
+			RequestStatus current) {
+		ServiceRequestDto dto = new ServiceRequestDto();
+		dto.setId(id);
+		dto.setRequestType(requestType);
+		dto.setStatus(current);
+		return new ServiceRequestChangedEvent(Operation.STATUS_UPDATED, previous, dto, null);
+	}
+
+	private static final class MutableClock extends Clock {
+		private Instant now;
+
+		MutableClock(Instant now) {
+			this.now = now;
+		}
+
+		void advance(Duration duration) {
+			now = now.plus(duration);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneId.of("UTC");
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+
+		@Override
+		public Instant instant() {
+			return now;
+		}
+	}
+}
@@ -0,0 +1,49 @@
+-- db/004_sharded_service_requests.sql and db/011_service_request_payments.sql for shard 1
+-- of ShardingIntegrationTest
+CREATE SCHEMA IF NOT EXISTS dbo;
+
+CREATE TABLE IF NOT EXISTS dbo.service_requests (
+    id              BIGINT IDENTITY(65, 64) NOT NULL PRIMARY KEY,
+    customer_id     VARCHAR(255)   NOT NULL,
+    request_type_id SMALLINT       NOT NULL,
+    request_details NVARCHAR(MAX)  NULL,
+    status          VARCHAR(255)   NOT NULL,
+    assigned_to_id  INT            NULL,
+    created_at      DATETIME2(6)   NOT NULL,
+    updated_at      DATETIME2(6)   NULL,
+    status_changed_at DATETIME2(6) NOT NULL,
+    lease_owner      VARCHAR(64)   NULL,
+    lease_until      DATETIME2(6)  NULL,
+    forward_attempts INT           NOT NULL DEFAULT 0,
+    sla_escalated_for DATETIME2(6) NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_service_requests_status ON dbo.service_requests (status, id);
+CREATE INDEX IF NOT EXISTS ix_service_requests_customer ON dbo.service_requests (customer_id, id);
+CREATE INDEX IF NOT EXISTS ix_service_requests_updated ON dbo.service_requests (updated_at);
+CREATE INDEX IF NOT EXISTS ix_service_requests_archivable ON dbo.service_requests (status, updated_at, created_at);
+
+CREATE TABLE IF NOT EXISTS dbo.service_requests_archive (
+    id              BIGINT         NOT NULL PRIMARY KEY,
+    customer_id     VARCHAR(255)   NOT NULL,
+    request_type_id SMALLINT       NOT NULL,
+    request_details NVARCHAR(MAX)  NULL,
+    status          VARCHAR(255)   NOT NULL,
+    assigned_to_id  INT            NULL,
+    created_at      DATETIME2(6)   NOT NULL,
+    updated_at      DATETIME2(6)   NULL,
+    archived_at     DATETIME2(6)   NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS dbo.service_request_payments (
+    id                      BIGINT IDENTITY(1,1) NOT NULL PRIMARY KEY,
+    request_id              BIGINT             NOT NULL,
+    payment_transaction_ref VARCHAR(100)       NOT NULL,
+    amount_paid             DECIMAL(19,4)      NOT NULL,
+    paid_at                 TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    event_id                VARCHAR(100)       NOT NULL,
+    recorded_at             DATETIME2(6)       NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS ux_service_request_payments_ref
+    ON dbo.service_request_payments (payment_transaction_ref);